@@ -0,0 +1,65 @@
+package net.sf.log4jdbc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import net.sf.log4jdbc.Properties;
+import net.sf.log4jdbc.sql.jdbcapi.DriverSpy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cold-start time of <code>DriverSpy</code>, when the popular drivers
+ * are loaded at class load time (the default), and when they are loaded lazily
+ * (parameter <code>lazy</code>, setting the property "log4jdbc.lazy.load.drivers").
+ * A class is initialized only once per JVM, so each measurement is a single shot
+ * in a new fork.
+ * <p>
+ * To launch only this benchmark, from the root directory of the project:
+ * <pre>mvn -Pbenchmarks install
+ * java -jar log4jdbc-log4j2-benchmarks/target/benchmarks.jar DriverSpyStartupBenchmark</pre>
+ *
+ * @author Frederic Bastian
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, batchSize = 1)
+@Fork(10)
+public class DriverSpyStartupBenchmark
+{
+    /**
+     * Whether the popular drivers are loaded lazily.
+     */
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    /**
+     * Set the property defining whether the drivers are loaded lazily, then
+     * initialize the properties and the logging library, so that only
+     * the initialization specific to <code>DriverSpy</code> is measured.
+     */
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        System.setProperty("log4jdbc.lazy.load.drivers", String.valueOf(this.lazy));
+        Class.forName(Properties.class.getName());
+    }
+
+    /**
+     * Initialize the class <code>DriverSpy</code>.
+     */
+    @Benchmark
+    public Class<?> initialize() throws ClassNotFoundException {
+        return Class.forName(DriverSpy.class.getName());
+    }
+}
@@ -0,0 +1,233 @@
+package net.sf.log4jdbc.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import net.sf.log4jdbc.sql.jdbcapi.DataSourceSpy;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the overhead of log4jdbc for each JDBC operation on an in-memory
+ * H2 database. The raw H2 driver is compared with the connections obtained through
+ * <code>DriverSpy</code> and through <code>DataSourceSpy</code> (parameter
+ * <code>access</code>), for each logger configuration (parameter <code>logging</code>):
+ * <ul>
+ * <li><code>off</code>: the logger "log4jdbc.log4j2" is off.
+ * <li><code>sqltiming</code>: only the SQL statements and their execution time are logged.
+ * <li><code>audit</code>: only the JDBC calls, except on <code>ResultSet</code>s, are logged.
+ * <li><code>resultsettable</code>: only the tables of the <code>ResultSet</code>s read
+ * are logged.
+ * <li><code>debug</code>: everything is logged at level debug, with the caller
+ * of each JDBC call.
+ * </ul>
+ * Each logger configuration is a file <code>log4j2-&lt;logging&gt;.xml</code>
+ * of this module, writing to <code>target/benchmark-&lt;logging&gt;.log</code>.
+ * As log4jdbc reads its configuration when its classes are loaded, JMH runs each
+ * combination of parameters in its own JVM.
+ * <p>
+ * To build and launch the benchmarks, from the root directory of the project:
+ * <pre>mvn -Pbenchmarks install
+ * java -jar log4jdbc-log4j2-benchmarks/target/benchmarks.jar -rf json</pre>
+ *
+ * @author Frederic Bastian
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class JdbcOperationBenchmark
+{
+    /**
+     * The URL of the in-memory H2 database, kept open until the JVM exits.
+     */
+    private static final String H2_URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+    /**
+     * The number of rows in the table queried.
+     */
+    private static final int TABLE_ROWS = 1000;
+    /**
+     * The number of rows read by {@link #prepareBindExecuteIterateClose(Blackhole)}.
+     */
+    private static final int ROWS_READ = 10;
+
+    /**
+     * How the connections are obtained: "raw" from the H2 driver, "driverspy"
+     * from <code>DriverSpy</code>, "datasourcespy" from a <code>DataSourceSpy</code>
+     * wrapping a H2 <code>DataSource</code>.
+     */
+    @Param({"raw", "driverspy", "datasourcespy"})
+    public String access;
+
+    /**
+     * The logger configuration used, see the class javadoc.
+     */
+    @Param({"off", "sqltiming", "audit", "resultsettable", "debug"})
+    public String logging;
+
+    private DataSource dataSource;
+    /**
+     * The <code>Connection</code> used by the benchmarks not measuring
+     * the opening of connections.
+     */
+    private Connection connection;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, ClassNotFoundException {
+        //must be set before log4j2 and log4jdbc are initialized
+        System.setProperty("log4j.configurationFile", "log4j2-" + this.logging + ".xml");
+
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL(H2_URL);
+        if ("raw".equals(this.access)) {
+            Class.forName("org.h2.Driver");
+            this.dataSource = null;
+        } else if ("driverspy".equals(this.access)) {
+            Class.forName("net.sf.log4jdbc.sql.jdbcapi.DriverSpy");
+            this.dataSource = null;
+        } else if ("datasourcespy".equals(this.access)) {
+            this.dataSource = new DataSourceSpy(h2DataSource);
+        } else {
+            throw new IllegalArgumentException("Unknown access: " + this.access);
+        }
+
+        //the table is created without log4jdbc
+        Connection setUpConnection = h2DataSource.getConnection();
+        try {
+            Statement statement = setUpConnection.createStatement();
+            statement.execute("DROP TABLE IF EXISTS benchmark");
+            statement.execute("CREATE TABLE benchmark (id INT PRIMARY KEY, " +
+                    "name VARCHAR(64), amount DECIMAL(10, 2), created TIMESTAMP)");
+            statement.close();
+            PreparedStatement insert = setUpConnection.prepareStatement(
+                    "INSERT INTO benchmark VALUES (?, ?, ?, CURRENT_TIMESTAMP)");
+            for (int i = 0; i < TABLE_ROWS; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, "name " + i);
+                insert.setDouble(3, i * 1.5);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            insert.close();
+        } finally {
+            setUpConnection.close();
+        }
+        this.connection = this.getConnection();
+        this.nextId = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    /**
+     * @return  A new <code>Connection</code> to the H2 database, obtained as defined
+     *          by {@link #access}.
+     */
+    private Connection getConnection() throws SQLException {
+        if (this.dataSource != null) {
+            return this.dataSource.getConnection();
+        }
+        return DriverManager.getConnection(
+                "driverspy".equals(this.access) ? "jdbc:log4" + H2_URL : H2_URL);
+    }
+
+    /**
+     * Open and close a connection.
+     */
+    @Benchmark
+    public void openClose(Blackhole blackhole) throws SQLException {
+        Connection newConnection = this.getConnection();
+        blackhole.consume(newConnection.getAutoCommit());
+        newConnection.close();
+    }
+
+    /**
+     * Prepare a query, bind its parameters, execute it, read all the values
+     * of the {@value #ROWS_READ} rows returned, and close it: the usual life cycle
+     * of a query, affected by all the logger configurations.
+     */
+    @Benchmark
+    public void prepareBindExecuteIterateClose(Blackhole blackhole) throws SQLException {
+        int start = this.nextId();
+        PreparedStatement statement = this.connection.prepareStatement(
+                "SELECT id, name, amount, created FROM benchmark WHERE id >= ? AND id < ?");
+        statement.setInt(1, start);
+        statement.setInt(2, start + ROWS_READ);
+        ResultSet resultSet = statement.executeQuery();
+        while (resultSet.next()) {
+            blackhole.consume(resultSet.getInt(1));
+            blackhole.consume(resultSet.getString("name"));
+            blackhole.consume(resultSet.getBigDecimal(3));
+            blackhole.consume(resultSet.getTimestamp(4));
+        }
+        resultSet.close();
+        statement.close();
+    }
+
+    /**
+     * Prepare an update, bind its parameters, execute it and close it.
+     */
+    @Benchmark
+    public int prepareBindUpdateClose() throws SQLException {
+        PreparedStatement statement = this.connection.prepareStatement(
+                "UPDATE benchmark SET name = ?, amount = ? WHERE id = ?");
+        int id = this.nextId();
+        statement.setString(1, "updated " + id);
+        statement.setDouble(2, id * 2.5);
+        statement.setInt(3, id);
+        int updated = statement.executeUpdate();
+        statement.close();
+        return updated;
+    }
+
+    /**
+     * Execute a query without parameters through a <code>Statement</code>,
+     * and close it without reading it.
+     */
+    @Benchmark
+    public boolean statementExecuteClose() throws SQLException {
+        Statement statement = this.connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+                "SELECT name FROM benchmark WHERE id = " + this.nextId());
+        boolean hasRow = resultSet.next();
+        resultSet.close();
+        statement.close();
+        return hasRow;
+    }
+
+    /**
+     * @return  An <code>int</code> that is the next id to query, cycling through
+     *          the table, so that the rows read are not always the same.
+     */
+    private int nextId() {
+        int id = this.nextId;
+        this.nextId = (id + ROWS_READ) % (TABLE_ROWS - ROWS_READ);
+        return id;
+    }
+}
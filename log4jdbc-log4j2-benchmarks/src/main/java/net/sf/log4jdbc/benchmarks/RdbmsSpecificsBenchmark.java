@@ -0,0 +1,110 @@
+package net.sf.log4jdbc.benchmarks;
+
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.log4jdbc.sql.rdbmsspecifics.Db2RdbmsSpecifics;
+import net.sf.log4jdbc.sql.rdbmsspecifics.MySqlRdbmsSpecifics;
+import net.sf.log4jdbc.sql.rdbmsspecifics.OracleRdbmsSpecifics;
+import net.sf.log4jdbc.sql.rdbmsspecifics.RdbmsSpecifics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the formatting of <code>Timestamp</code>s bound to statements by each
+ * <code>RdbmsSpecifics</code> (parameter <code>rdbms</code>), with the previous
+ * implementation, creating a new <code>SimpleDateFormat</code> for each date.
+ * The equivalence of both implementations is checked by <code>RdbmsSpecificsTest</code>.
+ * <p>
+ * To launch only this benchmark, from the root directory of the project:
+ * <pre>mvn -Pbenchmarks install
+ * java -jar log4jdbc-log4j2-benchmarks/target/benchmarks.jar RdbmsSpecificsBenchmark</pre>
+ *
+ * @author Frederic Bastian
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RdbmsSpecificsBenchmark
+{
+    /**
+     * The <code>RdbmsSpecifics</code> used: "generic" for the default one,
+     * "mysql", "oracle", or "db2".
+     */
+    @Param({"generic", "mysql", "oracle", "db2"})
+    public String rdbms;
+
+    private RdbmsSpecifics specifics;
+    /**
+     * The dates formatted in turn, so that the same date is not always formatted.
+     */
+    private Date[] dates;
+    private int nextDate;
+
+    @Setup
+    public void setUp() {
+        if ("generic".equals(this.rdbms)) {
+            this.specifics = new RdbmsSpecifics();
+        } else if ("mysql".equals(this.rdbms)) {
+            this.specifics = new MySqlRdbmsSpecifics();
+        } else if ("oracle".equals(this.rdbms)) {
+            this.specifics = new OracleRdbmsSpecifics();
+        } else if ("db2".equals(this.rdbms)) {
+            this.specifics = new Db2RdbmsSpecifics();
+        } else {
+            throw new IllegalArgumentException("Unknown rdbms: " + this.rdbms);
+        }
+        this.dates = new Date[1000];
+        for (int i = 0; i < this.dates.length; i++) {
+            this.dates[i] = new Timestamp(1234567890123L + i * 86400123L);
+        }
+        this.nextDate = 0;
+    }
+
+    /**
+     * Format a date with the <code>RdbmsSpecifics</code>.
+     */
+    @Benchmark
+    public String datePattern() {
+        return this.specifics.formatParameterObject(this.nextDate());
+    }
+
+    /**
+     * Format a date as the <code>RdbmsSpecifics</code> previously did.
+     */
+    @Benchmark
+    public String simpleDateFormat() {
+        Date date = this.nextDate();
+        if (this.specifics instanceof MySqlRdbmsSpecifics) {
+            return "'" + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(date) + "'";
+        } else if (this.specifics instanceof OracleRdbmsSpecifics) {
+            return "to_timestamp('" + new SimpleDateFormat("MM/dd/yyyy HH:mm:ss.SSS").
+                    format(date) + "', 'mm/dd/yyyy hh24:mi:ss.ff3')";
+        } else if (this.specifics instanceof Db2RdbmsSpecifics) {
+            return new SimpleDateFormat("'TIMESTAMP('''yyyy-MM-dd HH:mm:ss.SSS''')'")
+                    .format(date);
+        }
+        return "'" + new SimpleDateFormat("MM/dd/yyyy HH:mm:ss.SSS").format(date) + "'";
+    }
+
+    private Date nextDate() {
+        Date date = this.dates[this.nextDate];
+        this.nextDate = (this.nextDate + 1) % this.dates.length;
+        return date;
+    }
+}
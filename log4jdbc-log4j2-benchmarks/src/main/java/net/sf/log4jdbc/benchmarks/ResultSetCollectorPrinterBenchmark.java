@@ -0,0 +1,144 @@
+package net.sf.log4jdbc.benchmarks;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.log4jdbc.sql.jdbcapi.ResultSetSpy;
+import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollector;
+import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollectorPrinter;
+import net.sf.log4jdbc.sql.resultsetcollector.ResultSetMethod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the printing by <code>ResultSetCollectorPrinter</code> of generated
+ * tables of <code>rowCount</code> rows and 20 columns. The equivalence with
+ * the previous implementation is checked by <code>ResultSetCollectorPrinterTest</code>.
+ * <p>
+ * To launch only this benchmark, from the root directory of the project:
+ * <pre>mvn -Pbenchmarks install
+ * java -jar log4jdbc-log4j2-benchmarks/target/benchmarks.jar ResultSetCollectorPrinterBenchmark</pre>
+ *
+ * @author Frederic Bastian
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ResultSetCollectorPrinterBenchmark
+{
+    /**
+     * The number of rows of the table printed.
+     */
+    @Param({"100", "10000"})
+    public int rowCount;
+
+    private ResultSetCollector collector;
+
+    /**
+     * A <code>ResultSetCollector</code> returning predefined rows, that can be
+     * printed several times, as {@link #reset()} does nothing.
+     */
+    private static class FixedResultSetCollector implements ResultSetCollector
+    {
+        private final List<String> columnNames;
+        private final List<List<Object>> rows;
+
+        FixedResultSetCollector(List<String> columnNames, List<List<Object>> rows) {
+            this.columnNames = columnNames;
+            this.rows = rows;
+        }
+        @Override
+        public boolean methodReturned(ResultSetSpy resultSetSpy, ResultSetMethod method,
+                CharSequence methodCall, Object returnValue, Object targetObject,
+                Object... methodParams) {
+            return false;
+        }
+        @Override
+        public void preMethod(ResultSetSpy resultSetSpy, ResultSetMethod method,
+                CharSequence methodCall, Object... methodParams) {
+        }
+        @Override
+        public List<List<Object>> getRows() {
+            return this.rows;
+        }
+        @Override
+        public int getColumnCount() {
+            return this.columnNames.size();
+        }
+        @Override
+        public String getColumnName(int column) {
+            return this.columnNames.get(column - 1);
+        }
+        @Override
+        public void reset() {
+        }
+        @Override
+        public void loadMetaDataIfNeeded(ResultSet rs) {
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        this.collector = generateTable(new Random(42), this.rowCount, 20);
+    }
+
+    /**
+     * Generate a table of <code>rowCount</code> rows and <code>columnCount</code>
+     * columns, containing <code>String</code>s, <code>Integer</code>s and
+     * <code>null</code> values of various lengths.
+     */
+    private static ResultSetCollector generateTable(Random random, int rowCount,
+            int columnCount) {
+        List<String> columnNames = new ArrayList<String>();
+        for (int column = 1; column <= columnCount; column++) {
+            columnNames.add(column % 3 == 0 ? "c" + column : "column_" + column);
+        }
+        List<List<Object>> rows = new ArrayList<List<Object>>();
+        for (int i = 0; i < rowCount; i++) {
+            List<Object> row = new ArrayList<Object>();
+            for (int column = 0; column < columnCount; column++) {
+                switch (random.nextInt(4)) {
+                case 0:
+                    row.add(null);
+                    break;
+                case 1:
+                    row.add(random.nextInt());
+                    break;
+                default:
+                    StringBuilder value = new StringBuilder();
+                    int length = random.nextInt(30);
+                    for (int j = 0; j < length; j++) {
+                        value.append((char) ('a' + random.nextInt(26)));
+                    }
+                    row.add(value.toString());
+                }
+            }
+            rows.add(row);
+        }
+        return new FixedResultSetCollector(columnNames, rows);
+    }
+
+    /**
+     * Print the table.
+     */
+    @Benchmark
+    public String print() {
+        return new ResultSetCollectorPrinter().getResultSetToPrint(this.collector);
+    }
+}
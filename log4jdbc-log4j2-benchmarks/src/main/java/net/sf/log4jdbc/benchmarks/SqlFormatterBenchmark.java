@@ -0,0 +1,90 @@
+package net.sf.log4jdbc.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.log4jdbc.log.SqlFormatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the formatting of large generated SQL statements by <code>SqlFormatter</code>,
+ * for statements of <code>length</code> characters, with line breaks inserted
+ * every <code>maxLineLength</code> characters (none if 0). The equivalence with
+ * the previous implementation is checked by <code>SqlFormatterTest</code>.
+ * <p>
+ * To launch only this benchmark, from the root directory of the project:
+ * <pre>mvn -Pbenchmarks install
+ * java -jar log4jdbc-log4j2-benchmarks/target/benchmarks.jar SqlFormatterBenchmark</pre>
+ *
+ * @author Frederic Bastian
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SqlFormatterBenchmark
+{
+    /**
+     * The minimum length of the statement formatted.
+     */
+    @Param({"10240", "102400"})
+    public int length;
+
+    /**
+     * The maximum length of the lines of the statement formatted, 0 for no limit.
+     */
+    @Param({"0", "80"})
+    public int maxLineLength;
+
+    private String sql;
+    private SqlFormatter formatter;
+
+    @Setup
+    public void setUp() {
+        this.sql = generateSql(new Random(42), this.length);
+        this.formatter = new SqlFormatter(true, this.maxLineLength, false, true, true);
+    }
+
+    /**
+     * Generate a SQL statement of at least <code>minLength</code> characters,
+     * looking like a statement generated by an ORM: lines of a few words, indented,
+     * with a few blank lines.
+     */
+    private static String generateSql(Random random, int minLength) {
+        String[] words = new String[] {"select", "a.id", "as", "id1_0_,", "a.name",
+                "name2_0_,", "from", "table_a", "a", "left", "outer", "join", "table_b", "b",
+                "on", "a.id=b.a_id", "where", "b.name", "like", "'%x y%'", "and", "a.id",
+                "in", "(?,", "?,", "?)"};
+        StringBuilder sql = new StringBuilder(minLength + 64);
+        while (sql.length() < minLength) {
+            int wordCount = 4 + random.nextInt(8);
+            sql.append("    ");
+            for (int i = 0; i < wordCount; i++) {
+                sql.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            sql.append(random.nextInt(20) == 0 ? "\n  \n\n" : "\n");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Format the statement.
+     */
+    @Benchmark
+    public String format() {
+        return this.formatter.format(this.sql);
+    }
+}
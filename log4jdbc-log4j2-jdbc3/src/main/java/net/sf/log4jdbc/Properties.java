@@ -2,8 +2,10 @@ package net.sf.log4jdbc;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
 import net.sf.log4jdbc.log.SpyLogFactory;
@@ -39,6 +41,50 @@ import net.sf.log4jdbc.log.SpyLogFactory;
  * not only to the beginning of the package name (this can obviously done using "^"). 
  * This is true only if log4j2 is used (see <code>SpyLogDelegatorName</code>), 
  * otherwise it has the standard behavior.
+ * <li>Addition of a new attribute, <code>TimingUnit</code>, corresponding to the property 
+ * "log4jdbc.timing.unit" ("ms", "us", or "ns", default "ms"). Execution times are measured 
+ * using <code>System.nanoTime()</code>, reported to the <code>SpyLogDelegator</code> 
+ * in nanoseconds, and displayed in this unit, see {@link #getTimingUnit()}.
+ * <li>The properties "log4jdbc.sqltiming.warn.threshold" and "log4jdbc.sqltiming.error.threshold" 
+ * accept decimal values (for instance, "0.5" for 500 microseconds). See 
+ * {@link #getSqlTimingWarnThresholdNanos()} and {@link #getSqlTimingErrorThresholdNanos()}.
+ * <li>Addition of new attributes, <code>AsyncLogging</code>, <code>AsyncBufferSize</code>, 
+ * and <code>AsyncOverflowPolicy</code>, corresponding to the properties "log4jdbc.async", 
+ * "log4jdbc.async.buffer.size", and "log4jdbc.async.overflow.policy", allowing 
+ * <code>Slf4jSpyLogDelegator</code> to format and log SQL statements in a background thread.
+ * <li>Addition of a new attribute, <code>ReusableMessages</code>, corresponding to the property 
+ * "log4jdbc.log4j2.reusable.messages", allowing <code>Log4j2SpyLogDelegator</code> to reuse 
+ * its log4j2 <code>Message</code>s, see {@link #isReusableMessages()}.
+ * <li>Addition of new attributes, <code>LeakDetectionThresholdNanos</code> and 
+ * <code>LeakDetectionStackSampling</code>, corresponding to the properties 
+ * "log4jdbc.leak.detection.threshold" and "log4jdbc.leak.detection.stack.sampling", 
+ * allowing to report the connections held open for too long, or never closed, 
+ * see {@link #isLeakDetectionEnabled()}.
+ * <li>Addition of a new attribute, <code>LazyLoadDrivers</code>, corresponding to the property 
+ * "log4jdbc.lazy.load.drivers", allowing <code>DriverSpy</code> to load the popular and 
+ * additional drivers only when a URL is not accepted by any registered driver, 
+ * see {@link #isLazyLoadDrivers()}.
+ * <li>Addition of new attributes, <code>ResultSetTableChunkRows</code>, 
+ * <code>ResultSetTableChunkBytes</code>, <code>ResultSetTableHeadRows</code>, 
+ * <code>ResultSetTableTailRows</code> and <code>ResultSetTableMaxBytes</code>, 
+ * corresponding to the properties "log4jdbc.resultsettable.chunk.rows", 
+ * "log4jdbc.resultsettable.chunk.bytes", "log4jdbc.resultsettable.head.rows", 
+ * "log4jdbc.resultsettable.tail.rows" and "log4jdbc.resultsettable.max.bytes", 
+ * allowing to bound the memory used to collect the result sets logged 
+ * by the logger "jdbc.resultsettable".
+ * <li>Addition of new attributes, <code>SqlSamplingRate</code> and 
+ * <code>SqlSamplingFingerprintRate</code>, corresponding to the properties 
+ * "log4jdbc.sql.sampling.rate" and "log4jdbc.sql.sampling.fingerprint.rate", 
+ * allowing to log only a sample of the SQL statements executed, 
+ * see {@link #isSqlSamplingEnabled()}.
+ * <li>Addition of a new attribute, <code>SqlTimingSlowOnly</code>, corresponding 
+ * to the property "log4jdbc.sqltiming.slow.only", allowing to log only the SQL 
+ * of the slow or failing statements, along with their caller, 
+ * see {@link #isSqlTimingSlowOnly()}.
+ * <li>Addition of new attributes, <code>JmxEnabled</code> and 
+ * <code>JmxSlowestStatements</code>, corresponding to the properties "log4jdbc.jmx" 
+ * and "log4jdbc.jmx.slowest.statements", allowing to expose live statistics 
+ * through JMX, see {@link #isJmxEnabled()}.
  * </ul>
  * 
  * @author Mathieu Seppey
@@ -89,6 +135,13 @@ public final class Properties
 	 */
 	static final long SqlTimingWarnThresholdMsec;
 
+	/**
+	 * Same as <code>SqlTimingWarnThresholdMsec</code>, but in nanoseconds, 
+	 * to accept sub-millisecond thresholds (the property can be set 
+	 * to a decimal number of milliseconds, for instance, "0.5").
+	 */
+	static final long SqlTimingWarnThresholdNanos;
+
 	/**
 	 * Flag to indicate if an error should be shown if SQL takes more than
 	 * SqlTimingErrorThresholdMsec milliseconds to run.  See below.
@@ -105,6 +158,21 @@ public final class Properties
 	 */
 	static final long SqlTimingErrorThresholdMsec;
 
+	/**
+	 * Same as <code>SqlTimingErrorThresholdMsec</code>, but in nanoseconds, 
+	 * to accept sub-millisecond thresholds (the property can be set 
+	 * to a decimal number of milliseconds, for instance, "0.5").
+	 */
+	static final long SqlTimingErrorThresholdNanos;
+
+	/**
+	 * The unit in which execution times are displayed. Execution times are always 
+	 * measured and reported to the <code>SpyLogDelegator</code> in nanoseconds, 
+	 * and converted into this unit only for display. Corresponds to the property "log4jdbc.timing.unit", 
+	 * that can be "ms", "us", or "ns". Default is "ms".
+	 */
+	static final TimeUnit TimingUnit;
+
 	/**
 	 * When dumping boolean values, dump them as 'true' or 'false'.
 	 * If this option is not set, they will be dumped as 1 or 0 as many
@@ -163,6 +231,15 @@ public final class Properties
 	 * to use beside the default drivers auto-loaded.
 	 */
 	static final Collection<String> AdditionalDrivers;
+	/**
+	 * If true, the popular drivers and <code>AdditionalDrivers</code> are not loaded 
+	 * when <code>DriverSpy</code> is initialized, but only the first time 
+	 * a <code>jdbc:log4</code> URL is not accepted by any driver already registered 
+	 * (for instance, by the <code>DriverManager</code>, that loads the JDBC 4 drivers 
+	 * declared as services). Corresponds to the property "log4jdbc.lazy.load.drivers". 
+	 * Default is false.
+	 */
+	static final boolean LazyLoadDrivers;
 
 	/**
 	 * Trim SQL before logging it?
@@ -184,6 +261,145 @@ public final class Properties
 	 */
 	static final boolean SuppressGetGeneratedKeysException;
 
+	/**
+	 * If true, the SQL statements are formatted and logged in a background thread 
+	 * by <code>Slf4jSpyLogDelegator</code>, rather than in the thread executing them. 
+	 * Corresponds to the property "log4jdbc.async". Default is false.
+	 */
+	static final boolean AsyncLogging;
+
+	/**
+	 * The number of SQL log events that can be waiting to be logged in the background 
+	 * thread, when <code>AsyncLogging</code> is true. Rounded up to a power of 2. 
+	 * Corresponds to the property "log4jdbc.async.buffer.size". Default is 1024.
+	 */
+	static final int AsyncBufferSize;
+
+	/**
+	 * What to do when a SQL log event is produced while <code>AsyncBufferSize</code> 
+	 * events are already waiting to be logged: "block" (wait for a free slot), 
+	 * "drop" (discard the event), or "drop-with-counter" (discard the event, 
+	 * and periodically log the number of events discarded). 
+	 * Corresponds to the property "log4jdbc.async.overflow.policy". Default is "block".
+	 */
+	static final String AsyncOverflowPolicy;
+
+	/**
+	 * If true, <code>Log4j2SpyLogDelegator</code> reuses one log4j2 <code>Message</code> 
+	 * of each type per thread, rather than creating a new one for each event. 
+	 * This must not be used with log4j2 asynchronous loggers, which format 
+	 * the <code>Message</code>s after they were logged. 
+	 * Corresponds to the property "log4jdbc.log4j2.reusable.messages". Default is false.
+	 */
+	static final boolean ReusableMessages;
+
+	/**
+	 * An amount of time in nanoseconds after which a connection still open 
+	 * is reported as a possible leak to the <code>SpyLogDelegator</code>. 
+	 * Corresponds to the property "log4jdbc.leak.detection.threshold", 
+	 * in milliseconds, possibly with decimals. Default is -1, leak detection disabled.
+	 */
+	static final long LeakDetectionThresholdNanos;
+
+	/**
+	 * When leak detection is enabled, the stack trace where a connection is opened 
+	 * is captured for 1 connection out of <code>LeakDetectionStackSampling</code>, 
+	 * to be reported along with the leak. Corresponds to the property 
+	 * "log4jdbc.leak.detection.stack.sampling". Default is 0, never captured.
+	 */
+	static final int LeakDetectionStackSampling;
+
+	/**
+	 * The number of rows after which the result set table collected is logged, 
+	 * the following rows being logged in another table. Corresponds to the property 
+	 * "log4jdbc.resultsettable.chunk.rows". Default is 0, the result set is logged 
+	 * in one table, when its end is reached.
+	 */
+	static final int ResultSetTableChunkRows;
+
+	/**
+	 * The estimated size in bytes of the rows after which the result set table 
+	 * collected is logged, the following rows being logged in another table. 
+	 * Corresponds to the property "log4jdbc.resultsettable.chunk.bytes". 
+	 * Default is 0, no limit.
+	 */
+	static final long ResultSetTableChunkBytes;
+
+	/**
+	 * The number of rows logged from the start of a result set, when the result set 
+	 * table is sampled: the rows between the first <code>ResultSetTableHeadRows</code> 
+	 * and the last <code>ResultSetTableTailRows</code> rows are not logged, only counted. 
+	 * Corresponds to the property "log4jdbc.resultsettable.head.rows". 
+	 * Default is -1, result sets are not sampled, unless 
+	 * <code>ResultSetTableTailRows</code> is defined.
+	 */
+	static final int ResultSetTableHeadRows;
+
+	/**
+	 * The number of rows logged from the end of a result set, when the result set 
+	 * table is sampled, see <code>ResultSetTableHeadRows</code>. Corresponds 
+	 * to the property "log4jdbc.resultsettable.tail.rows". Default is -1, 
+	 * result sets are not sampled, unless <code>ResultSetTableHeadRows</code> 
+	 * is defined.
+	 */
+	static final int ResultSetTableTailRows;
+
+	/**
+	 * The maximum estimated size in bytes of the rows retained by a result set 
+	 * collector. When it is reached, the rows collected are logged if the table 
+	 * is logged in chunks, otherwise the following rows are not logged, only counted. 
+	 * Corresponds to the property "log4jdbc.resultsettable.max.bytes". 
+	 * Default is 0, no limit.
+	 */
+	static final long ResultSetTableMaxBytes;
+
+	/**
+	 * The SQL of 1 statement out of <code>SqlSamplingRate</code> is logged 
+	 * by the loggers "jdbc.sqlonly" and "jdbc.sqltiming". The statements whose execution 
+	 * time exceeds <code>SqlTimingWarnThresholdMsec</code> or 
+	 * <code>SqlTimingErrorThresholdMsec</code>, or whose execution fails, 
+	 * are always logged. Only the SQL logged is sampled: the statistics (property 
+	 * "log4jdbc.jmx", <code>StatisticsSpyLogDelegator</code>) and the JFR events 
+	 * still record all the statements. 
+	 * Corresponds to the property "log4jdbc.sql.sampling.rate". 
+	 * Default is 1, all statements are logged.
+	 */
+	static final int SqlSamplingRate;
+
+	/**
+	 * The maximum number of statements logged per second for each fingerprint 
+	 * of SQL statements (statements differing only by their literal values 
+	 * or bind variables), after sampling by <code>SqlSamplingRate</code>. 
+	 * Slow or failing statements are always logged, as for <code>SqlSamplingRate</code>. 
+	 * Corresponds to the property "log4jdbc.sql.sampling.fingerprint.rate". 
+	 * Default is 0, no limit.
+	 */
+	static final long SqlSamplingFingerprintRate;
+
+	/**
+	 * When <code>true</code>, the SQL of the statements is logged only if their execution 
+	 * time exceeds <code>SqlTimingWarnThresholdMsec</code> or 
+	 * <code>SqlTimingErrorThresholdMsec</code>, or if their execution fails, 
+	 * along with the caller of the JDBC method. The SQL of the other statements, 
+	 * with the values of their bind variables, is never built. 
+	 * Corresponds to the property "log4jdbc.sqltiming.slow.only". Default is false.
+	 */
+	static final boolean SqlTimingSlowOnly;
+
+	/**
+	 * When <code>true</code>, statistics about the connections and the statements 
+	 * are exposed through JMX, by the MBean "net.sf.log4jdbc:type=JdbcStatistics". 
+	 * Corresponds to the property "log4jdbc.jmx". Default is false.
+	 */
+	static final boolean JmxEnabled;
+
+	/**
+	 * The number of fingerprints of the slowest SQL statements exposed through JMX, 
+	 * when <code>JmxEnabled</code> is <code>true</code>. Corresponds to the property 
+	 * "log4jdbc.jmx.slowest.statements". Default is 10.
+	 */
+	static final int JmxSlowestStatements;
+
 	
 	/**
 	 * Static initializer. 
@@ -215,23 +431,46 @@ public final class Properties
 		DebugStackPrefix = getStringOption(props, "log4jdbc.debug.stack.prefix");
 		TraceFromApplication = DebugStackPrefix != null;
 
-		Long thresh = getLongOption(props, "log4jdbc.sqltiming.warn.threshold");
+		Long thresh = getDurationOption(props, "log4jdbc.sqltiming.warn.threshold");
 		SqlTimingWarnThresholdEnabled = (thresh != null);
-		long SqlTimingWarnThresholdMsecTemp = -1;
+		long SqlTimingWarnThresholdNanosTemp = -1;
 		if (SqlTimingWarnThresholdEnabled)
 		{
-			SqlTimingWarnThresholdMsecTemp = thresh.longValue();
+			SqlTimingWarnThresholdNanosTemp = thresh.longValue();
 		}
-		SqlTimingWarnThresholdMsec = SqlTimingWarnThresholdMsecTemp;
+		SqlTimingWarnThresholdNanos = SqlTimingWarnThresholdNanosTemp;
+		SqlTimingWarnThresholdMsec = SqlTimingWarnThresholdEnabled ? 
+				TimeUnit.NANOSECONDS.toMillis(SqlTimingWarnThresholdNanos) : -1;
 
-		thresh = getLongOption(props, "log4jdbc.sqltiming.error.threshold");
+		thresh = getDurationOption(props, "log4jdbc.sqltiming.error.threshold");
 		SqlTimingErrorThresholdEnabled = (thresh != null);
-		long SqlTimingErrorThresholdMsecTemp = -1;
+		long SqlTimingErrorThresholdNanosTemp = -1;
 		if (SqlTimingErrorThresholdEnabled)
 		{
-			SqlTimingErrorThresholdMsecTemp = thresh.longValue();
+			SqlTimingErrorThresholdNanosTemp = thresh.longValue();
+		}
+		SqlTimingErrorThresholdNanos = SqlTimingErrorThresholdNanosTemp;
+		SqlTimingErrorThresholdMsec = SqlTimingErrorThresholdEnabled ? 
+				TimeUnit.NANOSECONDS.toMillis(SqlTimingErrorThresholdNanos) : -1;
+
+		String timingUnit = getStringOption(props, "log4jdbc.timing.unit");
+		if ("ns".equalsIgnoreCase(timingUnit))
+		{
+			TimingUnit = TimeUnit.NANOSECONDS;
+		}
+		else if ("us".equalsIgnoreCase(timingUnit))
+		{
+			TimingUnit = TimeUnit.MICROSECONDS;
+		}
+		else
+		{
+			if (timingUnit != null && !"ms".equalsIgnoreCase(timingUnit))
+			{
+				log.debug("x log4jdbc.timing.unit \"" + timingUnit + 
+						"\" is not a valid unit (using default of ms)");
+			}
+			TimingUnit = TimeUnit.MILLISECONDS;
 		}
-		SqlTimingErrorThresholdMsec = SqlTimingErrorThresholdMsecTemp;
 
 		DumpBooleanAsTrueFalse =
 				getBooleanOption(props, "log4jdbc.dump.booleanastruefalse",false);
@@ -272,6 +511,8 @@ public final class Properties
 			}
 		}
 
+		LazyLoadDrivers = getBooleanOption(props, "log4jdbc.lazy.load.drivers", false);
+
 		TrimSql = getBooleanOption(props, "log4jdbc.trim.sql", true);
 
 		TrimExtraBlankLinesInSql = getBooleanOption(props, "log4jdbc.trim.sql.extrablanklines", true);
@@ -280,6 +521,61 @@ public final class Properties
 				getBooleanOption(props, "log4jdbc.suppress.generated.keys.exception",
 						false);
 
+		AsyncLogging = getBooleanOption(props, "log4jdbc.async", false);
+
+		AsyncBufferSize = getLongOption(props, "log4jdbc.async.buffer.size", 1024L).intValue();
+
+		String overflowPolicy = getStringOption(props, "log4jdbc.async.overflow.policy");
+		if (overflowPolicy != null && 
+				("drop".equalsIgnoreCase(overflowPolicy.trim()) || 
+				 "drop-with-counter".equalsIgnoreCase(overflowPolicy.trim())))
+		{
+			AsyncOverflowPolicy = overflowPolicy.trim().toLowerCase();
+		}
+		else
+		{
+			if (overflowPolicy != null && !"block".equalsIgnoreCase(overflowPolicy.trim()))
+			{
+				log.debug("x log4jdbc.async.overflow.policy \"" + overflowPolicy + 
+						"\" is not a valid policy (using default of block)");
+			}
+			AsyncOverflowPolicy = "block";
+		}
+
+		ReusableMessages = getBooleanOption(props, "log4jdbc.log4j2.reusable.messages", false);
+
+		thresh = getDurationOption(props, "log4jdbc.leak.detection.threshold");
+		LeakDetectionThresholdNanos = thresh != null ? Math.max(thresh.longValue(), 0) : -1;
+
+		LeakDetectionStackSampling = Math.max(getLongOption(props, 
+				"log4jdbc.leak.detection.stack.sampling", 0L).intValue(), 0);
+
+		ResultSetTableChunkRows = Math.max(getLongOption(props, 
+				"log4jdbc.resultsettable.chunk.rows", 0L).intValue(), 0);
+		ResultSetTableChunkBytes = Math.max(getLongOption(props, 
+				"log4jdbc.resultsettable.chunk.bytes", 0L).longValue(), 0);
+		ResultSetTableHeadRows = getLongOption(props, 
+				"log4jdbc.resultsettable.head.rows", -1L).intValue();
+		ResultSetTableTailRows = getLongOption(props, 
+				"log4jdbc.resultsettable.tail.rows", -1L).intValue();
+		ResultSetTableMaxBytes = Math.max(getLongOption(props, 
+				"log4jdbc.resultsettable.max.bytes", 0L).longValue(), 0);
+
+		SqlSamplingRate = Math.max(getLongOption(props, 
+				"log4jdbc.sql.sampling.rate", 1L).intValue(), 1);
+		SqlSamplingFingerprintRate = Math.max(getLongOption(props, 
+				"log4jdbc.sql.sampling.fingerprint.rate", 0L).longValue(), 0);
+		SqlTimingSlowOnly = getBooleanOption(props, "log4jdbc.sqltiming.slow.only", false);
+		if (SqlTimingSlowOnly && !SqlTimingWarnThresholdEnabled && 
+				!SqlTimingErrorThresholdEnabled)
+		{
+			log.debug("x log4jdbc.sqltiming.slow.only is set without any " + 
+					"log4jdbc.sqltiming threshold, only the failing statements will be logged");
+		}
+		
+		JmxEnabled = getBooleanOption(props, "log4jdbc.jmx", false);
+		JmxSlowestStatements = Math.max(getLongOption(props, 
+				"log4jdbc.jmx.slowest.statements", 10L).intValue(), 0);
 		
 		log.debug("log4jdbc-logj2 properties initialization done.");
 	}   
@@ -408,6 +704,41 @@ public final class Properties
 		return longPropValue;
 	}
 
+	/**
+	 * Get a duration option, expressed in milliseconds in the property, 
+	 * possibly with decimals (for instance, "0.5"), and log a debug message about this.
+	 *
+	 * @param props Properties to get option from.
+	 * @param propName property key.
+	 *
+	 * @return the value of that property key, converted into 
+	 * a number of nanoseconds.  Or null if not defined or is invalid.
+	 */
+	private static Long getDurationOption(java.util.Properties props, String propName)
+	{
+		String propValue = props.getProperty(propName);
+		Long nanosPropValue = null;
+		if (propValue == null)
+		{
+			log.debug("x " + propName + " is not defined");
+		}
+		else
+		{
+			try
+			{
+				nanosPropValue = new Long(
+						new BigDecimal(propValue.trim()).movePointRight(6).longValue());
+				log.debug("  " + propName + " = " + propValue.trim() + " ms");
+			}
+			catch (NumberFormatException n)
+			{
+				log.debug("x " + propName + " \"" + propValue  +
+						"\" is not a valid number");
+			}
+		}
+		return nanosPropValue;
+	}
+
 	/**
 	 * Get a String option from a property and
 	 * log a debug message about this.
@@ -572,6 +903,13 @@ public final class Properties
 	  public static long getSqlTimingErrorThresholdMsec() {
 	  	return SqlTimingErrorThresholdMsec;
 	  }
+	  /**
+	   * @return the sqlTimingErrorThresholdNanos
+	   * @see #SqlTimingErrorThresholdNanos
+	   */
+	  public static long getSqlTimingErrorThresholdNanos() {
+	  	return SqlTimingErrorThresholdNanos;
+	  }
 	  
 	  /**
 	   * @return the sqlTimingWarnThresholdEnabled
@@ -585,6 +923,33 @@ public final class Properties
 	  public static long getSqlTimingWarnThresholdMsec() {
 	  	return SqlTimingWarnThresholdMsec;
 	  }
+	  /**
+	   * @return the sqlTimingWarnThresholdNanos
+	   * @see #SqlTimingWarnThresholdNanos
+	   */
+	  public static long getSqlTimingWarnThresholdNanos() {
+	  	return SqlTimingWarnThresholdNanos;
+	  }
+	  /**
+	   * @return the TimingUnit
+	   * @see #TimingUnit
+	   */
+	  public static TimeUnit getTimingUnit() {
+	  	return TimingUnit;
+	  }
+	  /**
+	   * @return the symbol of the TimingUnit ("ms", "us", or "ns"), 
+	   * 		to display execution times.
+	   * @see #TimingUnit
+	   */
+	  public static String getTimingUnitSymbol() {
+	  	if (TimingUnit == TimeUnit.NANOSECONDS) {
+	  		return "ns";
+	  	} else if (TimingUnit == TimeUnit.MICROSECONDS) {
+	  		return "us";
+	  	}
+	  	return "ms";
+	  }
 	  /**
 	   * @return the AutoLoadPopularDrivers
 	   * @see #AutoLoadPopularDrivers
@@ -599,6 +964,13 @@ public final class Properties
 	  public static Collection<String> getAdditionalDrivers() {
 		  return AdditionalDrivers;
 	  }
+	  /**
+	   * @return the LazyLoadDrivers
+	   * @see #LazyLoadDrivers
+	   */
+	  public static boolean isLazyLoadDrivers() {
+		  return LazyLoadDrivers;
+	  }
 	  
 	  /**
 	   * @return the DumpBooleanAsTrueFalse
@@ -623,5 +995,134 @@ public final class Properties
 	  public static boolean isSuppressGetGeneratedKeysException() {
 		  return SuppressGetGeneratedKeysException;
 	  }
+	  
+	  /**
+	   * @return the AsyncLogging
+	   * @see #AsyncLogging
+	   */
+	  public static boolean isAsyncLogging() {
+		  return AsyncLogging;
+	  }
+	  /**
+	   * @return the AsyncBufferSize
+	   * @see #AsyncBufferSize
+	   */
+	  public static int getAsyncBufferSize() {
+		  return AsyncBufferSize;
+	  }
+	  /**
+	   * @return the AsyncOverflowPolicy ("block", "drop", or "drop-with-counter")
+	   * @see #AsyncOverflowPolicy
+	   */
+	  public static String getAsyncOverflowPolicy() {
+		  return AsyncOverflowPolicy;
+	  }
+	  /**
+	   * @return the ReusableMessages
+	   * @see #ReusableMessages
+	   */
+	  public static boolean isReusableMessages() {
+		  return ReusableMessages;
+	  }
+	  /**
+	   * @return true if the property "log4jdbc.leak.detection.threshold" is defined.
+	   * @see #LeakDetectionThresholdNanos
+	   */
+	  public static boolean isLeakDetectionEnabled() {
+		  return LeakDetectionThresholdNanos >= 0;
+	  }
+	  /**
+	   * @return the LeakDetectionThresholdNanos, -1 if leak detection is disabled
+	   * @see #LeakDetectionThresholdNanos
+	   */
+	  public static long getLeakDetectionThresholdNanos() {
+		  return LeakDetectionThresholdNanos;
+	  }
+	  /**
+	   * @return the LeakDetectionStackSampling
+	   * @see #LeakDetectionStackSampling
+	   */
+	  public static int getLeakDetectionStackSampling() {
+		  return LeakDetectionStackSampling;
+	  }
+	  /**
+	   * @return the ResultSetTableChunkRows
+	   * @see #ResultSetTableChunkRows
+	   */
+	  public static int getResultSetTableChunkRows() {
+		  return ResultSetTableChunkRows;
+	  }
+	  /**
+	   * @return the ResultSetTableChunkBytes
+	   * @see #ResultSetTableChunkBytes
+	   */
+	  public static long getResultSetTableChunkBytes() {
+		  return ResultSetTableChunkBytes;
+	  }
+	  /**
+	   * @return the ResultSetTableHeadRows
+	   * @see #ResultSetTableHeadRows
+	   */
+	  public static int getResultSetTableHeadRows() {
+		  return ResultSetTableHeadRows;
+	  }
+	  /**
+	   * @return the ResultSetTableTailRows
+	   * @see #ResultSetTableTailRows
+	   */
+	  public static int getResultSetTableTailRows() {
+		  return ResultSetTableTailRows;
+	  }
+	  /**
+	   * @return the ResultSetTableMaxBytes
+	   * @see #ResultSetTableMaxBytes
+	   */
+	  public static long getResultSetTableMaxBytes() {
+		  return ResultSetTableMaxBytes;
+	  }
+	  /**
+	   * @return true if the property "log4jdbc.sql.sampling.rate" is greater than 1, 
+	   * 		or if the property "log4jdbc.sql.sampling.fingerprint.rate" is defined.
+	   * @see #SqlSamplingRate
+	   * @see #SqlSamplingFingerprintRate
+	   */
+	  public static boolean isSqlSamplingEnabled() {
+		  return SqlSamplingRate > 1 || SqlSamplingFingerprintRate > 0;
+	  }
+	  /**
+	   * @return the SqlSamplingRate
+	   * @see #SqlSamplingRate
+	   */
+	  public static int getSqlSamplingRate() {
+		  return SqlSamplingRate;
+	  }
+	  /**
+	   * @return the SqlSamplingFingerprintRate, 0 if there is no limit
+	   * @see #SqlSamplingFingerprintRate
+	   */
+	  public static long getSqlSamplingFingerprintRate() {
+		  return SqlSamplingFingerprintRate;
+	  }
+	  /**
+	   * @return the SqlTimingSlowOnly
+	   * @see #SqlTimingSlowOnly
+	   */
+	  public static boolean isSqlTimingSlowOnly() {
+		  return SqlTimingSlowOnly;
+	  }
+	  /**
+	   * @return the JmxEnabled
+	   * @see #JmxEnabled
+	   */
+	  public static boolean isJmxEnabled() {
+		  return JmxEnabled;
+	  }
+	  /**
+	   * @return the JmxSlowestStatements
+	   * @see #JmxSlowestStatements
+	   */
+	  public static int getJmxSlowestStatements() {
+		  return JmxSlowestStatements;
+	  }
 
 }
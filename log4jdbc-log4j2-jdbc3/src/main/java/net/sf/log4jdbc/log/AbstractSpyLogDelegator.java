@@ -12,11 +12,99 @@ import net.sf.log4jdbc.sql.Spy;
  * @version 1.17-SNAPSHOT
  */
 public abstract class AbstractSpyLogDelegator implements SpyLogDelegator {
+    /**
+     * A <code>long</code> that is the maximum time in milliseconds during which 
+     * the value returned by {@link #getEnabledCategories()} is cached, before being 
+     * computed again from the logging configuration. Implementations notified 
+     * of configuration changes can call {@link #refreshEnabledCategories()} 
+     * to apply them immediately.
+     */
+    protected static final long ENABLED_CATEGORIES_REFRESH_INTERVAL = 1000;
+    /**
+     * An <code>int</code> that is the bitmask of the categories enabled, 
+     * as returned by {@link #getEnabledCategories()}.
+     */
+    private volatile int enabledCategories;
+    /**
+     * A <code>long</code> that is the time in milliseconds after which 
+     * {@link #enabledCategories} must be computed again. It is initialized to 0, 
+     * so that the categories are computed at the first call to 
+     * {@link #getEnabledCategories()}, and not in this constructor, before 
+     * the subclasses are initialized.
+     */
+    private volatile long enabledCategoriesExpiry;
+    
     /**
      * Default constructor.
      */
     public AbstractSpyLogDelegator() {
-        
+        this.enabledCategories = 0;
+        this.enabledCategoriesExpiry = 0;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation returns the value computed by {@link #computeEnabledCategories()}, 
+     * cached for at most {@link #ENABLED_CATEGORIES_REFRESH_INTERVAL} milliseconds, 
+     * or until {@link #refreshEnabledCategories()} is called.
+     */
+    public int getEnabledCategories() {
+        //the expiry is read first, and written last by refreshEnabledCategories, 
+        //so that a non-expired expiry guarantees that the categories are up-to-date
+        if (System.currentTimeMillis() >= this.enabledCategoriesExpiry) {
+            return this.refreshEnabledCategories();
+        }
+        return this.enabledCategories;
+    }
+    
+    /**
+     * Compute again the categories enabled, and cache them, see 
+     * {@link #getEnabledCategories()}. This method should be called when 
+     * the logging configuration is modified.
+     * 
+     * @return  an <code>int</code> that is the bitmask of the categories enabled.
+     */
+    public int refreshEnabledCategories() {
+        //concurrent refreshes would compute the same value, no need to synchronize
+        int categories = this.computeEnabledCategories();
+        this.enabledCategories = categories;
+        this.enabledCategoriesExpiry = System.currentTimeMillis() + 
+                ENABLED_CATEGORIES_REFRESH_INTERVAL;
+        return categories;
+    }
+    
+    /**
+     * Query the logging library to determine the categories of events 
+     * that would currently be logged. This method is called at most once 
+     * every {@link #ENABLED_CATEGORIES_REFRESH_INTERVAL} milliseconds, 
+     * see {@link #getEnabledCategories()}.
+     * 
+     * @return  an <code>int</code> that is the bitmask of the categories enabled, 
+     *          see {@link SpyLogDelegator#getEnabledCategories()}.
+     */
+    protected abstract int computeEnabledCategories();
+    
+    /**
+     * Determine whether the events of the category <code>category</code> 
+     * would currently be logged.
+     * 
+     * @param category  an <code>int</code> that is one of the category constants 
+     *                  defined in <code>SpyLogDelegator</code> 
+     *                  (for instance, {@link SpyLogDelegator#AUDIT_CATEGORY}).
+     * @return          <code>true</code> if the events of this category are logged.
+     * @see #getEnabledCategories()
+     */
+    protected boolean isCategoryEnabled(int category) {
+        return (this.getEnabledCategories() & category) != 0;
+    }
+    
+    public boolean isResultSetLoggingEnabled() {
+        return this.isCategoryEnabled(RESULTSET_CATEGORY);
+    }
+    
+    public boolean isResultSetCollectionEnabled() {
+        return this.isCategoryEnabled(RESULTSETTABLE_CATEGORY);
     }
     
     /**
@@ -26,16 +114,16 @@ public abstract class AbstractSpyLogDelegator implements SpyLogDelegator {
      * {@code SpyLogDelegator#GET_GENERATED_KEYS_METHOD_CALL}, if the property 
      * {@code log4jdbc.suppress.generated.keys.exception} is {@code true}. If the exception 
      * is allowed to be logged, this method will then delegate to the method 
-     * {@link #filteredExceptionOccured(Spy, String, Exception, String, long)}.
+     * {@link #filteredExceptionOccured(Spy, CharSequence, Exception, String, long)}.
      * 
-     * @see SpyLogDelegator#exceptionOccured(Spy, String, Exception, String, long)
-     * @see #filteredExceptionOccured(Spy, String, Exception, String, long)
+     * @see SpyLogDelegator#exceptionOccured(Spy, CharSequence, Exception, String, long)
+     * @see #filteredExceptionOccured(Spy, CharSequence, Exception, String, long)
      */
-    public void exceptionOccured(Spy spy, String methodCall, Exception e,
+    public void exceptionOccured(Spy spy, CharSequence methodCall, Exception e,
             String sql, long execTime) {
         
         if (Properties.isSuppressGetGeneratedKeysException() && 
-                methodCall.equals(GET_GENERATED_KEYS_METHOD_CALL)) {
+                GET_GENERATED_KEYS_METHOD_CALL.contentEquals(methodCall)) {
             return;
         }
         this.filteredExceptionOccured(spy, methodCall, e, sql, execTime);
@@ -43,18 +131,18 @@ public abstract class AbstractSpyLogDelegator implements SpyLogDelegator {
     
     /**
      * This method is called following a call to 
-     * {@link #exceptionOccured(Spy, String, Exception, String, long)}, 
+     * {@link #exceptionOccured(Spy, CharSequence, Exception, String, long)}, 
      * if the exception is allowed to be logged. So this is the method performing 
-     * the actual logging. See {@link #exceptionOccured(Spy, String, Exception, String, long)} 
+     * the actual logging. See {@link #exceptionOccured(Spy, CharSequence, Exception, String, long)} 
      * for details about the filtering. 
      * 
-     * @param spy           see {@link SpyLogDelegator#exceptionOccured(Spy, String, Exception, String, long)}.
-     * @param methodCall    see {@link SpyLogDelegator#exceptionOccured(Spy, String, Exception, String, long)}.
-     * @param e             see {@link SpyLogDelegator#exceptionOccured(Spy, String, Exception, String, long)}. 
-     * @param sql           see {@link SpyLogDelegator#exceptionOccured(Spy, String, Exception, String, long)}. 
-     * @param execTime      see {@link SpyLogDelegator#exceptionOccured(Spy, String, Exception, String, long)}
-     * @see #exceptionOccured(Spy, String, Exception, String, long)
-     */
-    protected abstract void filteredExceptionOccured(Spy spy, String methodCall, Exception e,
+     * @param spy           see {@link SpyLogDelegator#exceptionOccured(Spy, CharSequence, Exception, String, long)}.
+     * @param methodCall    see {@link SpyLogDelegator#exceptionOccured(Spy, CharSequence, Exception, String, long)}.
+     * @param e             see {@link SpyLogDelegator#exceptionOccured(Spy, CharSequence, Exception, String, long)}. 
+     * @param sql           see {@link SpyLogDelegator#exceptionOccured(Spy, CharSequence, Exception, String, long)}. 
+     * @param execTime      see {@link SpyLogDelegator#exceptionOccured(Spy, CharSequence, Exception, String, long)}
+     * @see #exceptionOccured(Spy, CharSequence, Exception, String, long)
+     */
+    protected abstract void filteredExceptionOccured(Spy spy, CharSequence methodCall, Exception e,
             String sql, long execTime);
 }
@@ -0,0 +1,431 @@
+package net.sf.log4jdbc.log;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import net.sf.log4jdbc.Properties;
+
+/**
+ * Locates the caller of the JDBC methods, to display it in the logs at debug level
+ * (see {@link #getDebugInfo()}).
+ * <p>
+ * This used to be done by the <code>SpyLogDelegator</code> implementations
+ * by materializing the whole stack trace, and by matching the name of the class
+ * of each frame against the regex of the property "log4jdbc.debug.stack.prefix",
+ * recompiled each time. This class:
+ * <ul>
+ * <li>compiles the regex only once;
+ * <li>caches, for each class name, whether it is a log4jdbc class, an application
+ * class matching the regex, or another class, so that the regex is evaluated only once
+ * per class;
+ * <li>retrieves the frames one by one, so that only the frames down to the first
+ * application frame are created, using <code>java.lang.StackWalker</code> (JDK 9 and later),
+ * or <code>sun.misc.JavaLangAccess</code> (JDK 7 and 8). As this project targets older JVMs,
+ * both are accessed through reflection. Otherwise, the whole stack trace is used,
+ * as before.
+ * </ul>
+ *
+ * @author Arthur Blake
+ * @author Frederic Bastian
+ */
+public final class CallerLocator {
+    /**
+     * A <code>String</code> that is the prefix of the names of the log4jdbc classes.
+     */
+    private static final String LOG4JDBC_PACKAGE = "net.sf.log4jdbc";
+    /**
+     * Kind of classes neither part of log4jdbc, nor matching the application prefix.
+     */
+    private static final Integer OTHER_CLASS = 0;
+    /**
+     * Kind of the log4jdbc classes.
+     */
+    private static final Integer LOG4JDBC_CLASS = 1;
+    /**
+     * Kind of the classes matching the property "log4jdbc.debug.stack.prefix".
+     */
+    private static final Integer APPLICATION_CLASS = 2;
+    /**
+     * An <code>int</code> that is the maximum number of class names stored in
+     * {@link #CLASS_KINDS}, so that it cannot grow indefinitely with generated classes.
+     */
+    private static final int MAX_CACHED_CLASSES = 4096;
+    /**
+     * A <code>ConcurrentMap</code> associating names of classes to their kind
+     * (see {@link #LOG4JDBC_CLASS}, {@link #APPLICATION_CLASS}, {@link #OTHER_CLASS}).
+     */
+    private static final ConcurrentMap<String, Integer> CLASS_KINDS =
+        new ConcurrentHashMap<String, Integer>();
+    /**
+     * System dependent line separator.
+     */
+    private static final String nl = System.getProperty("line.separator");
+    /**
+     * The <code>Pattern</code> compiled from the property "log4jdbc.debug.stack.prefix",
+     * <code>null</code> if not defined. This class is only loaded when a caller
+     * is located, once the <code>Properties</code> are initialized.
+     */
+    private static final Pattern APPLICATION_PATTERN = Properties.isTraceFromApplication() ?
+        Pattern.compile(Properties.getDebugStackPrefix()) : null;
+
+    /**
+     * The <code>java.lang.StackWalker</code> instance, allowing to retrieve
+     * the frames of the current thread one by one, <code>null</code> if not
+     * available in this JVM (before JDK 9).
+     */
+    private static final Object STACK_WALKER;
+    /**
+     * The method <code>walk(Function)</code> of {@link #STACK_WALKER}.
+     */
+    private static final Method WALK;
+    /**
+     * A proxy implementing <code>java.util.function.Function</code>, provided to
+     * {@link #WALK}, see {@link CallerFinder}.
+     */
+    private static final Object CALLER_FINDER;
+    static {
+        Object walker = null;
+        Method walk = null;
+        Object finder = null;
+        try {
+            Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> functionClass = Class.forName("java.util.function.Function");
+            Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+            Class<?> optionClass = Class.forName("java.lang.StackWalker$Option");
+            //the reflection frames are part of stack traces, they are needed
+            //to locate the same frames
+            walker = walkerClass.getMethod("getInstance", optionClass).invoke(null,
+                    optionClass.getField("SHOW_REFLECT_FRAMES").get(null));
+            walk = walkerClass.getMethod("walk", functionClass);
+            finder = Proxy.newProxyInstance(CallerLocator.class.getClassLoader(),
+                    new Class<?>[] {functionClass}, new CallerFinder(
+                        Class.forName("java.util.stream.BaseStream").getMethod("iterator"),
+                        frameClass.getMethod("getClassName"),
+                        frameClass.getMethod("toStackTraceElement")));
+            //make sure that they work before using them
+            if (!(walk.invoke(walker, finder) instanceof StackTraceElement)) {
+                walker = null;
+            }
+        } catch (Exception e) {
+            walker = null;
+        } catch (LinkageError e) {
+            walker = null;
+        }
+        STACK_WALKER = walker;
+        WALK = (walker == null ? null : walk);
+        CALLER_FINDER = (walker == null ? null : finder);
+    }
+
+    /**
+     * The <code>sun.misc.JavaLangAccess</code> instance, allowing to retrieve
+     * the frames of a <code>Throwable</code> one by one, <code>null</code> if not
+     * available in this JVM.
+     */
+    private static final Object JAVA_LANG_ACCESS;
+    /**
+     * The method <code>getStackTraceDepth(Throwable)</code> of {@link #JAVA_LANG_ACCESS}.
+     */
+    private static final Method GET_STACK_TRACE_DEPTH;
+    /**
+     * The method <code>getStackTraceElement(Throwable, int)</code>
+     * of {@link #JAVA_LANG_ACCESS}.
+     */
+    private static final Method GET_STACK_TRACE_ELEMENT;
+    static {
+        Object access = null;
+        Method depth = null;
+        Method element = null;
+        try {
+            Class<?> accessClass = Class.forName("sun.misc.JavaLangAccess");
+            access = Class.forName("sun.misc.SharedSecrets")
+                .getMethod("getJavaLangAccess").invoke(null);
+            depth = accessClass.getMethod("getStackTraceDepth", Throwable.class);
+            element = accessClass.getMethod("getStackTraceElement", Throwable.class,
+                    int.class);
+            //make sure that they work before using them
+            Throwable t = new Throwable();
+            if (((Integer) depth.invoke(access, t)).intValue() !=
+                    t.getStackTrace().length) {
+                access = null;
+            } else {
+                element.invoke(access, t, 0);
+            }
+        } catch (Exception e) {
+            access = null;
+        } catch (LinkageError e) {
+            access = null;
+        }
+        JAVA_LANG_ACCESS = access;
+        GET_STACK_TRACE_DEPTH = (access == null ? null : depth);
+        GET_STACK_TRACE_ELEMENT = (access == null ? null : element);
+    }
+
+    /**
+     * Do not allow instantiation, access is through static methods.
+     */
+    private CallerLocator() {
+    }
+
+    /**
+     * Get debugging info - the module and line number that called the logger
+     * version that prints the stack trace information from the point just before
+     * we got it (net.sf.log4jdbc)
+     * <p>
+     * if the optional log4jdbc.debug.stack.prefix system property is defined then
+     * the last call point from an application is shown in the debug
+     * trace output, instead of the last direct caller into log4jdbc
+     *
+     * @return debugging info for whoever called into JDBC from within the application.
+     */
+    public static String getDebugInfo() {
+        // The DumpFullDebugStackTrace option is useful in some situations when
+        // we want to see the full stack trace in the debug info-  watch out
+        // though as this will make the logs HUGE!
+        if (Properties.isDumpFullDebugStackTrace()) {
+            return getFullStackTrace(new Throwable().getStackTrace());
+        }
+        //the Throwable, filling in the whole stack trace, is created only
+        //when the StackWalker cannot be used
+        if (STACK_WALKER != null) {
+            try {
+                StackTraceElement frame = (StackTraceElement) WALK.invoke(STACK_WALKER,
+                        CALLER_FINDER);
+                if (frame != null) {
+                    return describe(frame);
+                }
+            } catch (Exception e) {
+                //fall back to the whole stack trace
+            }
+        } else if (JAVA_LANG_ACCESS != null) {
+            Throwable t = new Throwable();
+            try {
+                return locateCaller(t, null);
+            } catch (IllegalStateException e) {
+                //fall back to the whole stack trace
+                return locateCaller(t, t.getStackTrace());
+            }
+        }
+        Throwable t = new Throwable();
+        return locateCaller(t, t.getStackTrace());
+    }
+
+    /**
+     * Locate the caller frame, and return it as a <code>String</code>.
+     *
+     * @param t             A <code>Throwable</code> created by the caller.
+     * @param stackTrace    The stack trace of <code>t</code>, or <code>null</code>
+     *                      to retrieve its frames one by one using {@link #JAVA_LANG_ACCESS}.
+     * @return              A <code>String</code> describing the frame located.
+     * @throws IllegalStateException    If the frames could not be retrieved from
+     *                                  {@link #JAVA_LANG_ACCESS}.
+     */
+    private static String locateCaller(Throwable t, StackTraceElement[] stackTrace)
+            throws IllegalStateException {
+        int depth = (stackTrace != null ? stackTrace.length :
+            ((Integer) invokeJavaLangAccess(GET_STACK_TRACE_DEPTH, t)).intValue());
+        if (depth == 0) {
+            return null;
+        }
+        int lastLog4jdbcCall = 0;
+        int applicationCall = 0;
+
+        for (int i = 0; i < depth; i++) {
+            Integer kind = getClassKind(getFrame(t, stackTrace, i).getClassName());
+            if (kind == LOG4JDBC_CLASS) {
+                lastLog4jdbcCall = i;
+            } else if (kind == APPLICATION_CLASS) {
+                applicationCall = i;
+                break;
+            }
+        }
+        int j = applicationCall;
+        // if app not found, then use whoever was the last guy that called a log4jdbc class.
+        if (j == 0) {
+            j = (depth > 1 + lastLog4jdbcCall ? 1 + lastLog4jdbcCall : lastLog4jdbcCall);
+        }
+
+        return describe(getFrame(t, stackTrace, j));
+    }
+
+    /**
+     * @param frame A <code>StackTraceElement</code> that is the frame of the caller located.
+     * @return      A <code>String</code> describing <code>frame</code>.
+     */
+    private static String describe(StackTraceElement frame) {
+        StringBuilder dump = new StringBuilder(96);
+        dump.append(" ").append(frame.getClassName()).append(".")
+            .append(frame.getMethodName()).append("(").append(frame.getFileName())
+            .append(":").append(frame.getLineNumber()).append(")");
+        return dump.toString();
+    }
+
+    /**
+     * The <code>java.util.function.Function</code> provided to <code>StackWalker#walk</code>,
+     * receiving the <code>Stream</code> of the frames of the current thread, and returning
+     * the <code>StackTraceElement</code> of the caller located, following the same rules
+     * as {@link CallerLocator#locateCaller(Throwable, StackTraceElement[])}:
+     * the first application frame, otherwise the frame following the deepest log4jdbc frame,
+     * otherwise the deepest log4jdbc frame. The frames below the first application frame
+     * are never created.
+     */
+    private static final class CallerFinder implements InvocationHandler {
+        /**
+         * The method <code>iterator()</code> of <code>java.util.stream.BaseStream</code>.
+         */
+        private final Method streamIterator;
+        /**
+         * The method <code>getClassName()</code> of <code>java.lang.StackWalker.StackFrame</code>.
+         */
+        private final Method frameClassName;
+        /**
+         * The method <code>toStackTraceElement()</code>
+         * of <code>java.lang.StackWalker.StackFrame</code>.
+         */
+        private final Method frameToElement;
+
+        private CallerFinder(Method streamIterator, Method frameClassName,
+                Method frameToElement) {
+            this.streamIterator = streamIterator;
+            this.frameClassName = frameClassName;
+            this.frameToElement = frameToElement;
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!"apply".equals(method.getName())) {
+                //methods of Object
+                if ("equals".equals(method.getName())) {
+                    return Boolean.valueOf(proxy == args[0]);
+                } else if ("hashCode".equals(method.getName())) {
+                    return Integer.valueOf(System.identityHashCode(proxy));
+                }
+                return CallerFinder.class.getName();
+            }
+            Iterator<?> frames = (Iterator<?>) this.streamIterator.invoke(args[0]);
+            Object lastLog4jdbcFrame = null;
+            Object followingFrame = null;
+            while (frames.hasNext()) {
+                Object frame = frames.next();
+                Integer kind = getClassKind((String) this.frameClassName.invoke(frame));
+                if (kind == LOG4JDBC_CLASS) {
+                    lastLog4jdbcFrame = frame;
+                    followingFrame = null;
+                    continue;
+                }
+                if (kind == APPLICATION_CLASS) {
+                    return this.toStackTraceElement(frame);
+                }
+                if (followingFrame == null && lastLog4jdbcFrame != null) {
+                    followingFrame = frame;
+                }
+            }
+            return this.toStackTraceElement(followingFrame != null ?
+                    followingFrame : lastLog4jdbcFrame);
+        }
+
+        /**
+         * @param frame A <code>java.lang.StackWalker.StackFrame</code>, possibly <code>null</code>.
+         * @return      The <code>StackTraceElement</code> of <code>frame</code>,
+         *              <code>null</code> if <code>frame</code> is <code>null</code>.
+         */
+        private StackTraceElement toStackTraceElement(Object frame) throws Exception {
+            if (frame == null) {
+                return null;
+            }
+            return (StackTraceElement) this.frameToElement.invoke(frame);
+        }
+    }
+
+    /**
+     * @return  <code>true</code> if the frames are retrieved using
+     *          <code>java.lang.StackWalker</code> (JDK 9 and later).
+     */
+    static boolean isStackWalkerUsed() {
+        return STACK_WALKER != null;
+    }
+
+    /**
+     * @param t             A <code>Throwable</code>.
+     * @param stackTrace    The stack trace of <code>t</code>, or <code>null</code>
+     *                      to retrieve the frame using {@link #JAVA_LANG_ACCESS}.
+     * @param index         An <code>int</code> that is the index of the frame requested.
+     * @return              The <code>StackTraceElement</code> at <code>index</code>.
+     * @throws IllegalStateException    If the frame could not be retrieved from
+     *                                  {@link #JAVA_LANG_ACCESS}.
+     */
+    private static StackTraceElement getFrame(Throwable t, StackTraceElement[] stackTrace,
+            int index) throws IllegalStateException {
+        if (stackTrace != null) {
+            return stackTrace[index];
+        }
+        return (StackTraceElement) invokeJavaLangAccess(GET_STACK_TRACE_ELEMENT, t, index);
+    }
+
+    /**
+     * Invoke <code>method</code> on {@link #JAVA_LANG_ACCESS}.
+     *
+     * @param method    The <code>Method</code> to invoke.
+     * @param args      The arguments to pass to <code>method</code>.
+     * @return          The <code>Object</code> returned by <code>method</code>.
+     * @throws IllegalStateException    If <code>method</code> could not be invoked.
+     */
+    private static Object invokeJavaLangAccess(Method method, Object... args)
+            throws IllegalStateException {
+        try {
+            return method.invoke(JAVA_LANG_ACCESS, args);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param className A <code>String</code> that is the name of the class of a frame.
+     * @return          An <code>Integer</code> that is the kind of the class
+     *                  (see {@link #LOG4JDBC_CLASS}, {@link #APPLICATION_CLASS},
+     *                  {@link #OTHER_CLASS}).
+     */
+    private static Integer getClassKind(String className) {
+        Integer kind = CLASS_KINDS.get(className);
+        if (kind == null) {
+            if (className.startsWith(LOG4JDBC_PACKAGE)) {
+                kind = LOG4JDBC_CLASS;
+            } else if (APPLICATION_PATTERN != null &&
+                    APPLICATION_PATTERN.matcher(className).matches()) {
+                kind = APPLICATION_CLASS;
+            } else {
+                kind = OTHER_CLASS;
+            }
+            if (CLASS_KINDS.size() < MAX_CACHED_CLASSES) {
+                CLASS_KINDS.put(className, kind);
+            }
+        }
+        return kind;
+    }
+
+    /**
+     * @param stackTrace    An <code>Array</code> of <code>StackTraceElement</code>s.
+     * @return              A <code>String</code> listing all the frames
+     *                      of <code>stackTrace</code> not part of log4jdbc.
+     */
+    private static String getFullStackTrace(StackTraceElement[] stackTrace) {
+        StringBuilder dump = new StringBuilder();
+        boolean first = true;
+        for (int i = 0; i < stackTrace.length; i++) {
+            if (!stackTrace[i].getClassName().startsWith(LOG4JDBC_PACKAGE)) {
+                if (first) {
+                    first = false;
+                } else {
+                    dump.append("  ");
+                }
+                dump.append("at ");
+                dump.append(stackTrace[i]);
+                dump.append(nl);
+            }
+        }
+        return dump.toString();
+    }
+}
@@ -1,6 +1,8 @@
 package net.sf.log4jdbc.log.log4j2.message;
 
+import net.sf.log4jdbc.Properties;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.Utilities;
 import net.sf.log4jdbc.sql.jdbcapi.ConnectionSpy;
 
 import org.apache.logging.log4j.message.Message;
@@ -30,12 +32,12 @@ public class ConnectionMessage extends SqlMessage implements Message
   }; 
 
   /**
-   * <code>ConnectionSpy</code> that was opened or closed. 
+   * the number of the <code>ConnectionSpy</code> that was opened or closed. 
    * Will be used to build the <code>message</code>, only when needed.
    * @see #message
    * @see #buildMessage()
    */
-  private Spy spy;
+  private Integer connectionNumber;
   /**
    * an <code>int</code> to define if the operation was to open, or to close connection. 
    * Should be equals to <code>OPENING</code> if the operation was to open the connection, 
@@ -47,12 +49,20 @@ public class ConnectionMessage extends SqlMessage implements Message
    */
   private Operation operation;  
   /**
-   * A <code>long</code> defining the time elapsed to open or close the connection in ms. 
+   * A <code>long</code> defining the time elapsed to open or close the connection, 
+   * in nanoseconds, negative if unknown. 
    * Will be used to build the <code>message</code>, only when needed.
    * @see #message
    * @see #buildMessage()
    */
   private long execTime;
+  /**
+   * A <code>String</code> listing the connections open when this message was created, 
+   * captured only if debug info should be displayed, <code>null</code> otherwise. 
+   * @see #message
+   * @see #buildMessage()
+   */
+  private String openConnectionsDump;
 
   /**
    * Default constructor
@@ -65,7 +75,7 @@ public class ConnectionMessage extends SqlMessage implements Message
   /**
    * 
    * @param spy 			<code>ConnectionSpy</code> that was opened or closed.
-   * @param execTime 		A <code>long</code> defining the time elapsed to open or close the connection in ms
+   * @param execTime 		A <code>long</code> defining the time elapsed to open or close the connection in nanoseconds
    * 					Caller should pass -1 if not used
    * @param operation 	an <code>int</code> to define if the operation was to open, or to close connection. 
    * 						Should be equals to <code>OPENING</code> if the operation was to open the connection, 
@@ -74,28 +84,41 @@ public class ConnectionMessage extends SqlMessage implements Message
    */
   public ConnectionMessage(Spy spy, long execTime, Operation operation, boolean isDebugEnabled)
   {
-    super(isDebugEnabled);
+    super(false);
+    this.set(spy, execTime, operation, isDebugEnabled);
+  }
+
+  /**
+   * Reuse this <code>ConnectionMessage</code> for a new log event. 
+   * Arguments are the same as for the constructor.
+   * 
+   * @return  this <code>ConnectionMessage</code>.
+   * @see #ConnectionMessage(Spy, long, Operation, boolean)
+   */
+  public ConnectionMessage set(Spy spy, long execTime, Operation operation, boolean isDebugEnabled)
+  {
+    this.reset(isDebugEnabled);
 
-    this.spy = spy;
+    this.connectionNumber = (spy == null ? null : spy.getConnectionNumber());
     this.execTime = execTime;
     if (operation == Operation.OPENING || operation == Operation.CLOSING || operation == Operation.ABORTING) {
       this.operation = operation;
     } else {
       this.operation = null;
     }
+    this.openConnectionsDump = (isDebugEnabled ? ConnectionSpy.getOpenConnectionsDump() : null);
+    return this;
   }
 
   @Override
-  protected void buildMessage() 
+  public void formatTo(StringBuilder buildMsg) 
   {
-    StringBuffer buildMsg = new StringBuffer();
-
     if (this.isDebugEnabled()) {
-      buildMsg.append(SqlMessage.getDebugInfo());
+      buildMsg.append(this.getCallerDebugInfo());
       buildMsg.append(SqlMessage.nl);
     }
 
-    buildMsg.append(spy.getConnectionNumber()).append(". Connection ");
+    buildMsg.append(this.connectionNumber).append(". Connection ");
     if (this.operation == Operation.OPENING) {
       buildMsg.append("opened.");
     } else if (this.operation == Operation.CLOSING) {
@@ -106,13 +129,12 @@ public class ConnectionMessage extends SqlMessage implements Message
       buildMsg.append("opened, closed or aborted.");
     }
     if (this.execTime != -1) {
-      buildMsg.append(" {executed in ").append(this.execTime).append("ms} ");
+      buildMsg.append(" {executed in ").append(Utilities.toTimingUnit(this.execTime))
+              .append(Properties.getTimingUnitSymbol()).append("} ");
     }
     if (this.isDebugEnabled()) {
       buildMsg.append(SqlMessage.nl);
-      buildMsg.append(ConnectionSpy.getOpenConnectionsDump());
+      buildMsg.append(this.openConnectionsDump);
     }
-
-    this.setMessage(buildMsg.toString());
   }
 }
@@ -1,44 +1,83 @@
 package net.sf.log4jdbc.log.log4j2.message;
 
-import java.io.IOException;
-import java.io.LineNumberReader;
-import java.io.StringReader;
-import java.util.StringTokenizer;
-import java.util.regex.Pattern;
+import java.io.Serializable;
 
-import net.sf.log4jdbc.Properties;
+import net.sf.log4jdbc.log.CallerLocator;
+import net.sf.log4jdbc.log.SqlFormatter;
 
 /**
  * Parent class of all <code>Message</code>s associated with log4jdbc log events, 
  * to perform common operations such as sql formatting.
  * <p>
- * Subclasses must implement the abstract <code>buildMessage()</code> method, 
+ * Subclasses must implement the abstract <code>formatTo(StringBuilder)</code> method, 
  * that will then be called by the method <code>getFormattedMessage()</code> of this class, 
- * to populate the <code>message</code> attribute, only once. 
+ * to populate the <code>message</code> attribute, only once, using a <code>StringBuilder</code> 
+ * reused by each thread. 
  * This way, messages are generated only once, and only when needed 
- * (avoid useless strings concatenations for instance).
+ * (avoid useless strings concatenations for instance). <code>formatTo(StringBuilder)</code> 
+ * can also be called directly, to append the message to a <code>StringBuilder</code> 
+ * without creating any <code>String</code>.
+ * <p>
+ * Subclasses also provide a <code>set</code> method, taking the same arguments 
+ * as their constructor, allowing to reuse an instance for a new log event 
+ * (see <code>Properties#isReusableMessages()</code>). Such an instance must not be reused 
+ * before the previous log event was completely processed by log4j2.
+ * <p>
+ * As messages can be formatted in another thread than the one that created them 
+ * (for instance, when using log4j2 asynchronous loggers), subclasses must store 
+ * at creation only copies of the information they need 
+ * (connection number, SQL, method call, etc.), and never the JDBC objects 
+ * themselves, that would be retained until formatting, and could have changed meanwhile. 
+ * For the same reason, the caller of the JDBC method is located at creation when 
+ * debug info should be displayed (see {@link #getCallerDebugInfo()}).
  * 
  * @author Frederic Bastian
  * @version 1.0
  * @since 1.0
  */
-public abstract class SqlMessage
+public abstract class SqlMessage implements Serializable
 {
+	private static final long serialVersionUID = -2428397046215476924L;
 	/**
 	 * System dependent line separator. 
 	 */
 	protected static String nl = System.getProperty("line.separator");
+	/**
+	 * An <code>int</code> that is the maximum capacity of the <code>StringBuilder</code>s 
+	 * kept in {@link #BUFFERS}, so that a thread that once logged a huge SQL statement 
+	 * does not retain a huge buffer.
+	 */
+	private static final int MAX_BUFFER_CAPACITY = 16384;
+	/**
+	 * A <code>ThreadLocal</code> holding the <code>StringBuilder</code> used by each thread 
+	 * to build messages, see {@link #buildMessage()}.
+	 */
+	private static final ThreadLocal<StringBuilder> BUFFERS = new ThreadLocal<StringBuilder>() {
+		@Override
+		protected StringBuilder initialValue() {
+			return new StringBuilder(256);
+		}
+	};
 	/**
 	 * A <code>boolean</code> to define whether debugInfo should be displayed.
 	 * @see #getDebugInfo()
 	 */
 	private boolean isDebugEnabled;
+	/**
+	 * A <code>String</code> representing the caller of the JDBC method, 
+	 * located when <code>isDebugEnabled</code> was set to <code>true</code>, 
+	 * <code>null</code> if debug info should not be displayed.
+	 * @see #getCallerDebugInfo()
+	 */
+	private String callerDebugInfo;
 	/**
 	 * A <code>String</code> representing the final message 
-	 * built when needed using the attributes of this class.
+	 * built when needed using the attributes of this class. 
+	 * It is volatile as the message can be built by another thread 
+	 * than the one that created it.
      * @see #buildMessage()
 	 */
-	private String message;
+	private volatile String message;
 
 	/**
 	 * Default constructor.
@@ -54,21 +93,50 @@ public abstract class SqlMessage
      */
     public SqlMessage(boolean isDebugEnabled)
     {
+    	this.reset(isDebugEnabled);
+    }
+    
+    /**
+     * Reset this <code>SqlMessage</code> so that it can be reused for a new log event: 
+     * discard the message previously built, and the caller previously located, 
+     * and set the <code>isDebugEnabled</code> attribute.
+     * 
+     * @param isDebugEnabled A <code>boolean</code> used to set the <code>isDebugEnabled</code> attribute
+     */
+    protected void reset(boolean isDebugEnabled)
+    {
+    	this.callerDebugInfo = null;
     	this.setDebugEnabled(isDebugEnabled);
     	this.setMessage(null);
     }
     
     /**
-     * Populate the <code>message</code> attribute.
-     * All subclasses can implement this method as they want, 
-     * but the outcome must be to assign a <code>String</code> not <code>null</code> 
-     * to the <code>message</code> attribute.
+     * Append the message to <code>buffer</code>, using the attributes of this class.
+     * Implementations should append the values directly, without building 
+     * intermediate <code>String</code>s.
+     * 
+     * @param buffer	The <code>StringBuilder</code> to append the message to.
+     */
+    public abstract void formatTo(StringBuilder buffer);
+    
+    /**
+     * Populate the <code>message</code> attribute, using {@link #formatTo(StringBuilder)} 
+     * with a <code>StringBuilder</code> reused by the current thread.
      * This method is called only when this <code>Message</code> is actually logged, 
      * avoiding useless concatenation costs, etc.
      * 
      * @see #message
      */
-    protected abstract void buildMessage();
+    protected void buildMessage()
+    {
+    	StringBuilder buffer = BUFFERS.get();
+    	buffer.setLength(0);
+    	this.formatTo(buffer);
+    	this.setMessage(buffer.toString());
+    	if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+    		BUFFERS.set(new StringBuilder(256));
+    	}
+    }
 
 	public String getFormattedMessage() {
 		if (this.getMessage() == null) {
@@ -100,89 +168,11 @@ public abstract class SqlMessage
      * @param sql SQL to break up.
      * @return SQL broken up into multiple lines
      * @author Arthur Blake
+     * @see SqlFormatter
      */
     protected String processSql(String sql)
     {
-    	if (sql==null) {
-    		return null;
-    	}
-
-    	if (Properties.isSqlTrim()) {
-    		sql = sql.trim();
-    	}
-
-    	StringBuilder output = new StringBuilder();
-
-    	if (Properties.getDumpSqlMaxLineLength() <= 0) {
-    		output.append(sql);
-    	} else {
-    		// insert line breaks into sql to make it more readable
-    		StringTokenizer st = new StringTokenizer(sql);
-    		String token;
-    		int linelength = 0;
-
-    		while (st.hasMoreElements()) {
-    			token = (String) st.nextElement();
-
-    			output.append(token);
-    			linelength += token.length();
-    			output.append(" ");
-    			linelength++;
-    			if (linelength > Properties.getDumpSqlMaxLineLength()) {
-    				output.append(nl);
-    				linelength = 0;
-    			}
-    		}
-    	}
-
-    	if (Properties.isDumpSqlAddSemicolon()) {
-    		output.append(";");
-    	}
-
-    	String stringOutput = output.toString();
-
-    	if (Properties.isTrimExtraBlankLinesInSql()) {
-    		LineNumberReader lineReader = new LineNumberReader(new StringReader(stringOutput));
-
-    		output = new StringBuilder();
-
-    		int contiguousBlankLines = 0;
-    		int lineCount = 0;
-    		try {
-    			while (true) {
-    				String line = lineReader.readLine();
-    				if (line==null) {
-    					break;
-    				}
-    				//add a line return only if several lines;
-    				//it is the responsibility of the caller to add a final line return if needed
-    				if (lineCount > 0) {
-        				output.append(nl);
-    				}
-
-    				// is this line blank?
-    				if (line.trim().length() == 0) {
-    					contiguousBlankLines ++;
-    					// skip contiguous blank lines
-    					if (contiguousBlankLines > 1) {
-    						continue;
-    					}
-    				} else {
-    					contiguousBlankLines = 0;
-    					output.append(line);
-    				}
-    				lineCount++;
-    			}
-    		}
-    		catch (IOException e)
-    		{
-    			// since we are reading from a buffer, this isn't likely to happen,
-    			// but if it does we just ignore it and treat it like its the end of the stream
-    		}
-    		stringOutput = output.toString();
-    	}
-
-    	return stringOutput;
+    	return SqlFormatter.getInstance(false).format(sql);
     }
     
     /**
@@ -196,71 +186,11 @@ public abstract class SqlMessage
      *
      * @return debugging info for whoever called into JDBC from within the application.
      * @author Arthur Blake
+     * @see CallerLocator#getDebugInfo()
      */
     protected static String getDebugInfo()
     {
-    	Throwable t = new Throwable();
-    	t.fillInStackTrace();
-
-    	StackTraceElement[] stackTrace = t.getStackTrace();
-
-    	if (stackTrace != null) {
-    		String className;
-    		StringBuffer dump = new StringBuffer();
-
-    		/**
-    		 * The DumpFullDebugStackTrace option is useful in some situations when
-    		 * we want to see the full stack trace in the debug info-  watch out
-    		 * though as this will make the logs HUGE!
-    		 */
-    		if (Properties.isDumpFullDebugStackTrace()) {
-    			boolean first=true;
-    			for (int i = 0; i < stackTrace.length; i++) {
-    				className = stackTrace[i].getClassName();
-    				if (!className.startsWith("net.sf.log4jdbc")) {
-    					if (first) {
-    						first = false;
-    					} else {
-    						dump.append("  ");
-    					}
-    					dump.append("at ");
-    					dump.append(stackTrace[i]);
-    					dump.append(nl);
-    				}
-    			}
-    		} else {
-    			dump.append(" ");
-    			int firstLog4jdbcCall = 0;
-    			int lastApplicationCall = 0;
-
-    			for (int i = 0; i < stackTrace.length; i++) {
-    				className = stackTrace[i].getClassName();
-    				if (className.startsWith("net.sf.log4jdbc")) {
-    					firstLog4jdbcCall = i;
-    					
-    				} else if (Properties.isTraceFromApplication() &&
-    						Pattern.matches(Properties.getDebugStackPrefix(), className)) {
-    					lastApplicationCall = i;
-    					break;
-    				}
-    			}
-    			int j = lastApplicationCall;
-
-    			if (j == 0) { // if app not found, then use whoever was the last guy that called a log4jdbc class.
-    				if (stackTrace.length > 1 + firstLog4jdbcCall) {
-    				    j = 1 + firstLog4jdbcCall;
-    				} else {
-    					j = firstLog4jdbcCall;
-    				}
-    			}
-
-    			dump.append(stackTrace[j].getClassName()).append(".").append(stackTrace[j].getMethodName()).append("(").
-    			append(stackTrace[j].getFileName()).append(":").append(stackTrace[j].getLineNumber()).append(")");
-    		}
-
-    		return dump.toString();
-    	}
-    	return null;
+    	return CallerLocator.getDebugInfo();
     }
 
 	/**
@@ -270,10 +200,27 @@ public abstract class SqlMessage
 		return this.isDebugEnabled;
 	}
 	/**
+	 * Set the <code>isDebugEnabled</code> attribute. If <code>true</code>, the caller 
+	 * of the JDBC method is located immediately, in the thread executing it, 
+	 * see {@link #getCallerDebugInfo()}.
 	 * @param isDebugEnabled the isDebugEnabled to set
 	 */
 	protected void setDebugEnabled(boolean isDebugEnabled) {
 		this.isDebugEnabled = isDebugEnabled;
+		if (isDebugEnabled && this.callerDebugInfo == null) {
+			this.callerDebugInfo = SqlMessage.getDebugInfo();
+		} else if (!isDebugEnabled) {
+			this.callerDebugInfo = null;
+		}
+	}
+	/**
+	 * @return 	A <code>String</code> representing the caller of the JDBC method, 
+	 * 			located when this message was created, to be used instead of 
+	 * 			{@link #getDebugInfo()} when building the message, as it might be built 
+	 * 			in another thread. <code>null</code> if debug info should not be displayed.
+	 */
+	protected String getCallerDebugInfo() {
+		return this.callerDebugInfo;
 	}
 	
 	/**
@@ -1,6 +1,9 @@
 package net.sf.log4jdbc.log.log4j2.message;
 
+import net.sf.log4jdbc.Properties;
+import net.sf.log4jdbc.log.SqlFormatter;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.Utilities;
 
 import org.apache.logging.log4j.message.Message;
 
@@ -8,37 +11,28 @@ import org.apache.logging.log4j.message.Message;
  * <code>SqlMessage</code> related to the logging of SQL statements, with execution time information.
  * 
  * @author Frederic Bastian
- * @see net.sf.log4jdbc.log4j2.Log4j2SpyLogDelegator#sqlTimingOccurred(Spy, long, String, String)
+ * @see net.sf.log4jdbc.log4j2.Log4j2SpyLogDelegator#sqlTimingOccurred(Spy, long, CharSequence, String)
  * @version 1.0
  * @since 1.0
  */
 public class SqlTimingOccurredMessage extends SqlMessage implements Message 
 {
     private static final long serialVersionUID = 6455975917838453692L;
-    /**
-     * a <code>String</code> describing the name and call parameters 
-     * of the method that generated the SQL. 
-     * Will be used to build the <code>message</code>, only when needed.
-     * It is not used in the current implementation of log4jdbc
-     * @see #message
-     * @see #buildMessage()
-     */
-	@SuppressWarnings("unused")
-	private String methodCall;
 	/**
-     * how long it took the sql to run, in ms. 
+     * how long it took the sql to run, in nanoseconds. 
      * Will be used to build the <code>message</code>, only when needed.
      * @see #message
      * @see #buildMessage()
      */
 	private long execTime;
 	/**
-     * the <code>Spy</code> wrapping the class where the SQL occurred. 
+     * the number of the connection of the <code>Spy</code> wrapping the class 
+     * where the SQL occurred. 
      * Will be used to build the <code>message</code>, only when needed.
      * @see #message
      * @see #buildMessage()
      */
-	private Spy spy;
+	private Integer connectionNumber;
 	/**
      * A <code>String</code> representing the sql that occurred. 
      * Will be used to build the <code>message</code>, only when needed.
@@ -58,42 +52,55 @@ public class SqlTimingOccurredMessage extends SqlMessage implements Message
     /**
      * 
      * @param spy 			the <code>Spy</code> wrapping the class where the SQL occurred.
-     * @param execTime   	how long it took the sql to run, in ms.
+     * @param execTime   	how long it took the sql to run, in nanoseconds.
      * @param methodCall 	a <code>String</code> describing the name and call parameters 
-     * 						of the method that generated the SQL.
+     * 						of the method that generated the SQL. It is not used 
+     * 						in the current implementation of log4jdbc, and is not retained.
      * @param sql       	A <code>String</code> representing the sql that occurred.
      * @param isDebugEnabled A <code>boolean</code> to define whether debugInfo should be displayed.
      */
-    public SqlTimingOccurredMessage(Spy spy, long execTime, String methodCall, String sql, 
+    public SqlTimingOccurredMessage(Spy spy, long execTime, CharSequence methodCall, String sql, 
     		boolean isDebugEnabled)
     {
-    	super(isDebugEnabled);
-		this.spy = spy;
+    	super(false);
+    	this.set(spy, execTime, methodCall, sql, isDebugEnabled);
+    }
+    
+    /**
+     * Reuse this <code>SqlTimingOccurredMessage</code> for a new log event. 
+     * Arguments are the same as for the constructor.
+     * 
+     * @return	this <code>SqlTimingOccurredMessage</code>.
+     * @see #SqlTimingOccurredMessage(Spy, long, CharSequence, String, boolean)
+     */
+    public SqlTimingOccurredMessage set(Spy spy, long execTime, CharSequence methodCall, 
+    		String sql, boolean isDebugEnabled)
+    {
+    	this.reset(isDebugEnabled);
+		this.connectionNumber = (spy == null ? null : spy.getConnectionNumber());
 		this.execTime = execTime;
-		this.methodCall = methodCall;
 		this.sql = sql;
+		return this;
     }
 
 	@Override
-	protected void buildMessage() 
+	public void formatTo(StringBuilder buffer) 
 	{
-	    StringBuffer out = new StringBuffer();
-
 	    if (this.isDebugEnabled())
 	    {
-	      out.append(SqlMessage.getDebugInfo());
-	      out.append(SqlMessage.nl);
+	      buffer.append(this.getCallerDebugInfo());
+	      buffer.append(SqlMessage.nl);
 	    }
 
-	    out.append(this.spy.getConnectionNumber());
-	    out.append(". ");
+	    buffer.append(this.connectionNumber);
+	    buffer.append(". ");
 	      
-	    out.append(this.processSql(this.sql));
-	    out.append(" {executed in ");
-	    out.append(this.execTime);
-	    out.append(" ms}");
-
-	    this.setMessage(out.toString());
+	    SqlFormatter.getInstance(false).format(this.sql, buffer);
+	    buffer.append(" {executed in ");
+	    buffer.append(Utilities.toTimingUnit(this.execTime));
+	    buffer.append(' ');
+	    buffer.append(Properties.getTimingUnitSymbol());
+	    buffer.append('}');
 	}
 
 }
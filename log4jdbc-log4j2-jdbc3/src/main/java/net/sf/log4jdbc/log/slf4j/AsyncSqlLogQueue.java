@@ -0,0 +1,366 @@
+package net.sf.log4jdbc.log.slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded queue of {@link SqlLogEvent}s, filled by the threads executing
+ * SQL statements, and consumed by one background thread, that formats and logs
+ * the events. This allows to remove the cost of formatting SQL statements
+ * from the JDBC calls.
+ * <p>
+ * The queue is a ring buffer of preallocated <code>SqlLogEvent</code>s: producers
+ * claim a slot using a compare-and-set on a sequence counter, copy the raw fields
+ * of the event into it, then publish it by updating the sequence of the slot,
+ * so that no lock is acquired and no object is created to enqueue an event.
+ * When the buffer is full, the {@link OverflowPolicy} defines whether
+ * producers wait for a slot to be freed, or discard the event.
+ * <p>
+ * The background thread is a daemon thread, a shutdown hook gives it
+ * some time to log the remaining events when the JVM exits. It survives
+ * any failure of the <code>Handler</code>; should it terminate anyway,
+ * producers stop waiting for it (see {@link #isConsumerAlive()}).
+ *
+ * @author Frederic Bastian
+ */
+final class AsyncSqlLogQueue
+{
+    /**
+     * Defines what to do when an event is produced while the buffer is full.
+     */
+    enum OverflowPolicy
+    {
+        /**
+         * Wait for the background thread to free a slot.
+         */
+        BLOCK,
+        /**
+         * Discard the event.
+         */
+        DROP,
+        /**
+         * Discard the event, and count it, so that the number of events discarded
+         * can be reported by the background thread.
+         */
+        DROP_WITH_COUNTER;
+
+        /**
+         * @param name  A <code>String</code> that is the name of a policy, as accepted
+         *              by the property "log4jdbc.async.overflow.policy"
+         *              (e.g., "drop-with-counter").
+         * @return      The corresponding <code>OverflowPolicy</code>,
+         *              <code>BLOCK</code> if not recognized.
+         */
+        static OverflowPolicy fromName(String name)
+        {
+            if ("drop".equalsIgnoreCase(name))
+            {
+                return DROP;
+            }
+            if ("drop-with-counter".equalsIgnoreCase(name))
+            {
+                return DROP_WITH_COUNTER;
+            }
+            return BLOCK;
+        }
+    }
+
+    /**
+     * Formats and logs the events consumed from the queue.
+     */
+    interface Handler
+    {
+        /**
+         * Format and log <code>event</code>. The event is reused after this method returns.
+         */
+        void handle(SqlLogEvent event);
+        /**
+         * Report that <code>count</code> events were discarded since the last call
+         * to this method, with the policy <code>DROP_WITH_COUNTER</code>.
+         */
+        void eventsDropped(long count);
+    }
+
+    /**
+     * A <code>long</code> that is the time in nanoseconds a producer waits
+     * before retrying, when the buffer is full and the policy is <code>BLOCK</code>.
+     */
+    private static final long BLOCKED_PRODUCER_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    /**
+     * A <code>long</code> that is the maximum time in nanoseconds the background thread
+     * waits when the queue is empty, before checking it again.
+     */
+    private static final long IDLE_CONSUMER_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    /**
+     * A <code>long</code> that is the maximum time in milliseconds the shutdown hook
+     * waits for the remaining events to be logged.
+     */
+    private static final long SHUTDOWN_FLUSH_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * The <code>SqlLogEvent</code>s of the ring buffer.
+     */
+    private final SqlLogEvent[] events;
+    /**
+     * Stores for each slot of the ring buffer the position at which it can be claimed
+     * by a producer (equal to the position when free), or consumed (equal to
+     * the position + 1 when published).
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * An <code>int</code> used to compute the index of a slot from a position,
+     * the size of the buffer being a power of 2.
+     */
+    private final int mask;
+    /**
+     * An <code>AtomicLong</code> that is the next position to be claimed by a producer.
+     */
+    private final AtomicLong tail;
+    /**
+     * A <code>long</code> that is the next position to be consumed,
+     * only written by the background thread.
+     */
+    private volatile long head;
+    /**
+     * The <code>OverflowPolicy</code> applied when the buffer is full.
+     */
+    private final OverflowPolicy overflowPolicy;
+    /**
+     * An <code>AtomicLong</code> counting the events discarded and not yet reported.
+     */
+    private final AtomicLong droppedCount;
+    /**
+     * The <code>Handler</code> formatting and logging the events.
+     */
+    private final Handler handler;
+    /**
+     * The background <code>Thread</code> consuming the events.
+     */
+    private final Thread consumer;
+    /**
+     * A <code>boolean</code> that is <code>true</code> when the background thread
+     * is waiting for events, so that producers know they should wake it up.
+     */
+    private volatile boolean consumerWaiting;
+
+    /**
+     * Create the queue and start the background thread.
+     *
+     * @param handler           The <code>Handler</code> formatting and logging the events.
+     * @param bufferSize        An <code>int</code> that is the number of events that can
+     *                          be waiting to be logged, rounded up to a power of 2.
+     * @param overflowPolicy    The <code>OverflowPolicy</code> applied when the buffer
+     *                          is full.
+     */
+    AsyncSqlLogQueue(Handler handler, int bufferSize, OverflowPolicy overflowPolicy)
+    {
+        int capacity = 1;
+        while (capacity < bufferSize && capacity < (1 << 30))
+        {
+            capacity <<= 1;
+        }
+        this.events = new SqlLogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++)
+        {
+            this.events[i] = new SqlLogEvent();
+            this.sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        this.tail = new AtomicLong(0);
+        this.head = 0;
+        this.overflowPolicy = overflowPolicy;
+        this.droppedCount = new AtomicLong(0);
+        this.handler = handler;
+        this.consumerWaiting = false;
+
+        this.consumer = new Thread(new Runnable() {
+            public void run()
+            {
+                consume();
+            }
+        }, "log4jdbc-async-logger");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+
+        try
+        {
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                public void run()
+                {
+                    flush(SHUTDOWN_FLUSH_TIMEOUT_MILLIS);
+                }
+            }, "log4jdbc-async-logger-shutdown"));
+        }
+        catch (IllegalStateException e)
+        {
+            //the JVM is already shutting down
+        }
+    }
+
+    /**
+     * Enqueue an event, to be logged by the background thread. The arguments
+     * are the fields of a <code>SqlLogEvent</code>.
+     *
+     * @return  <code>true</code> if the event was enqueued, <code>false</code>
+     *          if it was discarded because the buffer was full.
+     */
+    boolean offer(boolean timing, SqlLogEvent.Level level, Integer connectionNumber,
+            String sql, long execTime, String debugInfo)
+    {
+        long position = this.tail.get();
+        int index;
+        while (true)
+        {
+            index = (int) position & this.mask;
+            long available = this.sequences.get(index) - position;
+            if (available == 0)
+            {
+                if (this.tail.compareAndSet(position, position + 1))
+                {
+                    break;
+                }
+            }
+            else if (available < 0)
+            {
+                //the slot has not been consumed since the previous lap: the buffer is full. 
+                //Never wait for a background thread that terminated
+                if (this.overflowPolicy == OverflowPolicy.BLOCK && this.consumer.isAlive())
+                {
+                    this.wakeUpConsumer();
+                    LockSupport.parkNanos(BLOCKED_PRODUCER_WAIT_NANOS);
+                }
+                else
+                {
+                    if (this.overflowPolicy == OverflowPolicy.DROP_WITH_COUNTER)
+                    {
+                        this.droppedCount.incrementAndGet();
+                    }
+                    return false;
+                }
+            }
+            position = this.tail.get();
+        }
+
+        this.events[index].set(timing, level, connectionNumber, sql, execTime, debugInfo);
+        //volatile write, so that the event is visible to the background thread,
+        //and that the read of consumerWaiting cannot be reordered before it
+        this.sequences.set(index, position + 1);
+        this.wakeUpConsumer();
+        return true;
+    }
+
+    /**
+     * Wake up the background thread if it is waiting for events.
+     */
+    private void wakeUpConsumer()
+    {
+        if (this.consumerWaiting)
+        {
+            LockSupport.unpark(this.consumer);
+        }
+    }
+
+    /**
+     * Loop of the background thread, consuming the events as they are published.
+     */
+    private void consume()
+    {
+        while (true)
+        {
+            long position = this.head;
+            int index = (int) position & this.mask;
+            if (this.sequences.get(index) == position + 1)
+            {
+                SqlLogEvent event = this.events[index];
+                try
+                {
+                    this.handler.handle(event);
+                }
+                catch (Throwable e)
+                {
+                    //the logging library failed (possibly with an Error, 
+                    //e.g., a NoClassDefFoundError), the background thread must not die
+                }
+                event.clear();
+                //free the slot for the next lap
+                this.sequences.set(index, position + this.events.length);
+                this.head = position + 1;
+            }
+            else
+            {
+                this.reportDroppedEvents();
+                this.consumerWaiting = true;
+                if (this.sequences.get(index) != position + 1)
+                {
+                    LockSupport.parkNanos(IDLE_CONSUMER_WAIT_NANOS);
+                }
+                this.consumerWaiting = false;
+            }
+        }
+    }
+
+    /**
+     * Report the events discarded since the last report, if any.
+     */
+    private void reportDroppedEvents()
+    {
+        if (this.droppedCount.get() > 0)
+        {
+            long count = this.droppedCount.getAndSet(0);
+            try
+            {
+                this.handler.eventsDropped(count);
+            }
+            catch (Throwable e)
+            {
+                //the logging library failed, the background thread must not die
+            }
+        }
+    }
+
+    /**
+     * Wait for the events enqueued before this call to be logged.
+     *
+     * @param timeoutMillis A <code>long</code> that is the maximum time to wait,
+     *                      in milliseconds.
+     * @return              <code>true</code> if the events were logged,
+     *                      <code>false</code> if the timeout elapsed before.
+     */
+    boolean flush(long timeoutMillis)
+    {
+        long target = this.tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (this.head < target)
+        {
+            if (System.nanoTime() - deadline >= 0)
+            {
+                return false;
+            }
+            LockSupport.unpark(this.consumer);
+            LockSupport.parkNanos(BLOCKED_PRODUCER_WAIT_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * @return  <code>true</code> if the background thread is still consuming
+     *          the events, <code>false</code> if it terminated, in which case
+     *          the events should be logged synchronously.
+     */
+    boolean isConsumerAlive()
+    {
+        return this.consumer.isAlive();
+    }
+
+    /**
+     * @return  A <code>long</code> that is the number of events discarded
+     *          and not yet reported.
+     */
+    long getDroppedCount()
+    {
+        return this.droppedCount.get();
+    }
+}
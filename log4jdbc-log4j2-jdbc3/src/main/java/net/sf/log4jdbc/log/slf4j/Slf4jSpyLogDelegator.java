@@ -15,16 +15,16 @@
  */
 package net.sf.log4jdbc.log.slf4j;
 
-import java.io.IOException;
-import java.io.LineNumberReader;
-import java.io.StringReader;
-import java.util.StringTokenizer;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
 
 
 import net.sf.log4jdbc.Properties;
 import net.sf.log4jdbc.log.AbstractSpyLogDelegator;
+import net.sf.log4jdbc.log.CallerLocator;
+import net.sf.log4jdbc.log.SqlFormatter;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.Utilities;
+import net.sf.log4jdbc.sql.jdbcapi.ConnectionLeak;
 import net.sf.log4jdbc.sql.jdbcapi.ConnectionSpy;
 import net.sf.log4jdbc.sql.jdbcapi.ResultSetSpy;
 import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollector;
@@ -48,6 +48,12 @@ import org.slf4j.Logger;
  * defining the time elapsed to open the connection in ms. This new method simply delegates 
  * to the formerly existing method, now private, so that the behavior of the slf4j logger is not modified. 
  * See <code>SpyLogDelegator</code> for more details. 
+ * <li>When the property "log4jdbc.async" is <code>true</code>, the SQL statements 
+ * reported to <code>sqlOccurred</code> and <code>sqlTimingOccurred</code> are formatted 
+ * and logged by a background thread: only their raw fields (connection number, SQL, 
+ * execution time, and caller, if displayed) are captured in the thread executing them, 
+ * see {@link AsyncSqlLogQueue}. The level of the events is still decided 
+ * in the thread executing them. Exceptions are always logged synchronously.
  * </ul>
  *
  * @author Arthur Blake
@@ -103,6 +109,20 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
      */
     private final Logger resultSetTableLogger = LoggerFactory.getLogger("jdbc.resultsettable");  
 
+    /**
+     * The <code>AsyncSqlLogQueue</code> used to log SQL statements in a background thread, 
+     * <code>null</code> if they are logged synchronously. As this class can be instantiated 
+     * during the initialization of <code>Properties</code>, it is created lazily, 
+     * see {@link #getAsyncQueue()}.
+     */
+    private volatile AsyncSqlLogQueue asyncQueue;
+
+    /**
+     * A <code>boolean</code> that is <code>true</code> when {@link #asyncQueue} 
+     * has been initialized.
+     */
+    private volatile boolean asyncQueueInitialized = false;
+
     /**
      * Determine if any of the 5 log4jdbc spy loggers are turned on (jdbc.audit | jdbc.resultset |
      * jdbc.sqlonly | jdbc.sqltiming | jdbc.connection)
@@ -116,7 +136,7 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
     }
 
     @Override
-    public void filteredExceptionOccured(Spy spy, String methodCall, Exception e, String sql, long execTime)
+    public void filteredExceptionOccured(Spy spy, CharSequence methodCall, Exception e, String sql, long execTime)
     {
         String classType = spy.getClassType();
         Integer spyNo = spy.getConnectionNumber();
@@ -133,7 +153,7 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
             jdbcLogger.error(header + " " + sql, e);
 
             // if at debug level, display debug info to error log
-            if (sqlOnlyLogger.isDebugEnabled())
+            if (isDebugInfoEnabled(sqlOnlyLogger))
             {
                 sqlOnlyLogger.error(getDebugInfo() + nl + spyNo + ". " + sql, e);
             }
@@ -142,28 +162,81 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
                 sqlOnlyLogger.error(header + " " + sql, e);
             }
 
-            // if at debug level, display debug info to error log
-            if (sqlTimingLogger.isDebugEnabled())
+            // if at debug level, or in slow only mode, display debug info to error log
+            if (isDebugInfoEnabled(sqlTimingLogger) || Properties.isSqlTimingSlowOnly())
             {
-                sqlTimingLogger.error(getDebugInfo() + nl + spyNo + ". " + sql + " {FAILED after " + execTime + " msec}", e);
+                sqlTimingLogger.error(getDebugInfo() + nl + spyNo + ". " + sql + " {FAILED after " + 
+                        Utilities.toTimingUnit(execTime) + " " + getTimingUnitLabel() + "}", e);
             }
             else
             {
-                sqlTimingLogger.error(header + " FAILED! " + sql + " {FAILED after " + execTime + " msec}", e);
+                sqlTimingLogger.error(header + " FAILED! " + sql + " {FAILED after " + 
+                        Utilities.toTimingUnit(execTime) + " " + getTimingUnitLabel() + "}", e);
             }
         }
     }
 
-    public void methodReturned(Spy spy, String methodCall, String returnMsg)
+    protected int computeEnabledCategories()
     {
-        String classType = spy.getClassType();
-        Logger logger=ResultSetSpy.classTypeDescription.equals(classType)?
-                resultSetLogger:jdbcLogger;
-        if (logger.isInfoEnabled())
+        int categories = 0;
+        if (jdbcLogger.isInfoEnabled())
         {
+            categories |= AUDIT_CATEGORY;
+        }
+        if (resultSetLogger.isInfoEnabled())
+        {
+            categories |= RESULTSET_CATEGORY;
+        }
+        if (sqlOnlyLogger.isInfoEnabled())
+        {
+            categories |= SQLONLY_CATEGORY;
+        }
+        if (sqlTimingLogger.isInfoEnabled() ||
+                (Properties.isSqlTimingWarnThresholdEnabled() && sqlTimingLogger.isWarnEnabled()) ||
+                (Properties.isSqlTimingErrorThresholdEnabled() && sqlTimingLogger.isErrorEnabled()))
+        {
+            categories |= SQLTIMING_CATEGORY;
+        }
+        if (connectionLogger.isInfoEnabled())
+        {
+            categories |= CONNECTION_CATEGORY;
+        }
+        if (resultSetTableLogger.isInfoEnabled())
+        {
+            categories |= RESULTSETTABLE_CATEGORY;
+        }
+        if (jdbcLogger.isDebugEnabled() || resultSetLogger.isDebugEnabled() ||
+                sqlOnlyLogger.isDebugEnabled() || sqlTimingLogger.isDebugEnabled() ||
+                connectionLogger.isDebugEnabled())
+        {
+            categories |= DEBUGINFO_CATEGORY;
+        }
+        return categories;
+    }
+
+    /**
+     * Determine whether debug information should be added to the events logged 
+     * by <code>logger</code>. The logger is queried only when 
+     * {@link #DEBUGINFO_CATEGORY} is enabled.
+     *
+     * @param logger    the <code>Logger</code> of the event to log.
+     * @return          <code>true</code> if the debug level is enabled for <code>logger</code>.
+     */
+    private boolean isDebugInfoEnabled(Logger logger)
+    {
+        return isCategoryEnabled(DEBUGINFO_CATEGORY) && logger.isDebugEnabled();
+    }
+
+    public void methodReturned(Spy spy, CharSequence methodCall, String returnMsg)
+    {
+        boolean resultSet = spy instanceof ResultSetSpy;
+        if (isCategoryEnabled(resultSet ? RESULTSET_CATEGORY : AUDIT_CATEGORY))
+        {
+            Logger logger = resultSet ? resultSetLogger : jdbcLogger;
+            String classType = spy.getClassType();
             String header = spy.getConnectionNumber() + ". " + classType + "." +
                     methodCall + " returned " + returnMsg;
-            if (logger.isDebugEnabled())
+            if (isDebugInfoEnabled(logger))
             {
                 logger.debug(header + " " + getDebugInfo());
             }
@@ -209,121 +282,171 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
                 (Properties.isDumpSqlCreate() && "create".equals(sql));
     }
 
-    public void sqlOccurred(Spy spy, String methodCall, String sql)
+    public void sqlOccurred(Spy spy, CharSequence methodCall, String sql)
     {
-        if (!Properties.isDumpSqlFilteringOn() || shouldSqlBeLogged(sql))
+        if (isCategoryEnabled(SQLONLY_CATEGORY) &&
+                (!Properties.isDumpSqlFilteringOn() || shouldSqlBeLogged(sql)))
         {
-            if (sqlOnlyLogger.isDebugEnabled())
+            if (isDebugInfoEnabled(sqlOnlyLogger))
             {
-                sqlOnlyLogger.debug(getDebugInfo() + nl + spy.getConnectionNumber() +
-                        ". " + processSql(sql));
+                logSql(false, SqlLogEvent.Level.DEBUG, spy.getConnectionNumber(), sql, -1,
+                        getDebugInfo());
             }
             else if (sqlOnlyLogger.isInfoEnabled())
             {
-                sqlOnlyLogger.info(processSql(sql));
+                logSql(false, SqlLogEvent.Level.INFO, spy.getConnectionNumber(), sql, -1,
+                        null);
             }
         }
     }
 
     /**
-     * Break an SQL statement up into multiple lines in an attempt to make it
-     * more readable
+     * Log a SQL statement on the "jdbc.sqlonly" or "jdbc.sqltiming" logger, 
+     * either synchronously, or by enqueuing it in the {@link AsyncSqlLogQueue}, 
+     * if "log4jdbc.async" is <code>true</code>.
      *
-     * @param sql SQL to break up.
-     * @return SQL broken up into multiple lines
+     * @param timing            <code>true</code> to log on the "jdbc.sqltiming" logger, 
+     *                          <code>false</code> on the "jdbc.sqlonly" logger.
+     * @param level             the level at which the statement is logged.
+     * @param connectionNumber  the number of the connection that executed the statement.
+     * @param sql               the SQL statement, not yet formatted.
+     * @param execTime          how long it took the SQL to run, if <code>timing</code> 
+     *                          is <code>true</code>.
+     * @param debugInfo         the caller of the JDBC method to display, 
+     *                          <code>null</code> if not displayed.
      */
-    private String processSql(String sql)
+    private void logSql(boolean timing, SqlLogEvent.Level level, Integer connectionNumber,
+            String sql, long execTime, String debugInfo)
     {
-        if (sql==null)
+        AsyncSqlLogQueue queue = getAsyncQueue();
+        if (queue != null && queue.isConsumerAlive())
         {
-            return null;
+            // if the buffer is full, the event might be discarded, depending on 
+            // the overflow policy, but it is never logged synchronously, 
+            // unless the background thread terminated
+            queue.offer(timing, level, connectionNumber, sql, execTime, debugInfo);
         }
-
-        if (Properties.isSqlTrim())
+        else if (timing)
         {
-            sql = sql.trim();
+            writeSqlTiming(level, connectionNumber, sql, execTime, debugInfo);
         }
+        else
+        {
+            writeSqlOnly(level, connectionNumber, sql, debugInfo);
+        }
+    }
 
-        StringBuilder output = new StringBuilder();
-
-        if (Properties.getDumpSqlMaxLineLength() <= 0)
+    /**
+     * Format and log a SQL statement on the "jdbc.sqlonly" logger.
+     *
+     * @param level             the level at which the statement is logged 
+     *                          (<code>DEBUG</code> or <code>INFO</code>).
+     * @param connectionNumber  the number of the connection that executed the statement.
+     * @param sql               the SQL statement, not yet formatted.
+     * @param debugInfo         the caller of the JDBC method to display at debug level.
+     */
+    private void writeSqlOnly(SqlLogEvent.Level level, Integer connectionNumber, String sql,
+            String debugInfo)
+    {
+        if (level == SqlLogEvent.Level.DEBUG)
         {
-            output.append(sql);
+            sqlOnlyLogger.debug(debugInfo + nl + connectionNumber + ". " + processSql(sql));
         }
         else
         {
-            // insert line breaks into sql to make it more readable
-            StringTokenizer st = new StringTokenizer(sql);
-            String token;
-            int linelength = 0;
-
-            while (st.hasMoreElements())
-            {
-                token = (String) st.nextElement();
-
-                output.append(token);
-                linelength += token.length();
-                output.append(" ");
-                linelength++;
-                if (linelength > Properties.getDumpSqlMaxLineLength())
-                {
-                    output.append(nl);
-                    linelength = 0;
-                }
-            }
+            sqlOnlyLogger.info(processSql(sql));
         }
+    }
 
-        if (Properties.isDumpSqlAddSemicolon())
+    /**
+     * Format and log a SQL statement on the "jdbc.sqltiming" logger.
+     *
+     * @param level             the level at which the statement is logged.
+     * @param connectionNumber  the number of the connection that executed the statement.
+     * @param sql               the SQL statement, not yet formatted.
+     * @param execTime          how long it took the SQL to run.
+     * @param debugInfo         the caller of the JDBC method to display, 
+     *                          <code>null</code> if not displayed.
+     */
+    private void writeSqlTiming(SqlLogEvent.Level level, Integer connectionNumber, String sql,
+            long execTime, String debugInfo)
+    {
+        String dump = buildSqlTimingDump(connectionNumber, execTime, sql, debugInfo);
+        switch (level)
         {
-            output.append(";");
+            case ERROR:
+                sqlTimingLogger.error(dump);
+                break;
+            case WARN:
+                sqlTimingLogger.warn(dump);
+                break;
+            case DEBUG:
+                sqlTimingLogger.debug(dump);
+                break;
+            default:
+                sqlTimingLogger.info(dump);
         }
+    }
 
-        String stringOutput = output.toString();
-
-        if (Properties.isTrimExtraBlankLinesInSql())
+    /**
+     * Get the <code>AsyncSqlLogQueue</code> used to log SQL statements in a background 
+     * thread, creating it the first time this method is called, if the property 
+     * "log4jdbc.async" is <code>true</code>.
+     *
+     * @return the <code>AsyncSqlLogQueue</code>, or <code>null</code> if SQL statements 
+     *         are logged synchronously.
+     */
+    private AsyncSqlLogQueue getAsyncQueue()
+    {
+        if (!asyncQueueInitialized)
         {
-            LineNumberReader lineReader = new LineNumberReader(new StringReader(stringOutput));
-
-            output = new StringBuilder();
-
-            int contiguousBlankLines = 0;
-            try
+            synchronized (this)
             {
-                while (true)
+                if (!asyncQueueInitialized)
                 {
-                    String line = lineReader.readLine();
-                    if (line==null)
-                    {
-                        break;
-                    }
-
-                    // is this line blank?
-                    if (line.trim().length() == 0)
-                    {
-                        contiguousBlankLines ++;
-                        // skip contiguous blank lines
-                        if (contiguousBlankLines > 1)
-                        {
-                            continue;
-                        }
-                    }
-                    else
+                    if (Properties.isAsyncLogging())
                     {
-                        contiguousBlankLines = 0;
-                        output.append(line);
+                        asyncQueue = new AsyncSqlLogQueue(new AsyncSqlLogQueue.Handler() {
+                            public void handle(SqlLogEvent event)
+                            {
+                                if (event.timing)
+                                {
+                                    writeSqlTiming(event.level, event.connectionNumber,
+                                            event.sql, event.execTime, event.debugInfo);
+                                }
+                                else
+                                {
+                                    writeSqlOnly(event.level, event.connectionNumber,
+                                            event.sql, event.debugInfo);
+                                }
+                            }
+                            public void eventsDropped(long count)
+                            {
+                                debugLogger.warn(count + " SQL log events were dropped, " +
+                                        "the buffer of log4jdbc.async.buffer.size events was full");
+                            }
+                        }, Properties.getAsyncBufferSize(),
+                        AsyncSqlLogQueue.OverflowPolicy.fromName(
+                                Properties.getAsyncOverflowPolicy()));
                     }
-                    output.append(nl);
+                    asyncQueueInitialized = true;
                 }
             }
-            catch (IOException e)
-            {
-                // since we are reading from a buffer, this isn't likely to happen,
-                // but if it does we just ignore it and treat it like its the end of the stream
-            }
-            stringOutput = output.toString();
         }
+        return asyncQueue;
+    }
 
-        return stringOutput;
+    /**
+     * Break an SQL statement up into multiple lines in an attempt to make it
+     * more readable
+     *
+     * @param sql SQL to break up.
+     * @return SQL broken up into multiple lines
+     * @see SqlFormatter
+     */
+    private String processSql(String sql)
+    {
+        return SqlFormatter.getInstance(true).format(sql);
     }
 
     /**
@@ -331,41 +454,42 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
      *
      * @param spy        the Spy wrapping the class where the SQL occurred.
      *
-     * @param execTime   how long it took the SQL to run, in milliseconds.
+     * @param execTime   how long it took the SQL to run, in nanoseconds.
      *
      * @param methodCall a description of the name and call parameters of the
      *                   method that generated the SQL.
      *
      * @param sql        SQL that occurred.
      */
-    public void sqlTimingOccurred(Spy spy, long execTime, String methodCall, String sql)
+    public void sqlTimingOccurred(Spy spy, long execTime, CharSequence methodCall, String sql)
     {
-        if (sqlTimingLogger.isErrorEnabled() &&
+        if (isCategoryEnabled(SQLTIMING_CATEGORY) &&
                 (!Properties.isDumpSqlFilteringOn() || shouldSqlBeLogged(sql)))
         {
+            // thresholds are compared in nanoseconds, as they can be sub-millisecond
             if (Properties.isSqlTimingErrorThresholdEnabled() &&
-                    execTime >= Properties.getSqlTimingErrorThresholdMsec())
+                    execTime >= Properties.getSqlTimingErrorThresholdNanos())
             {
-                sqlTimingLogger.error(
-                        buildSqlTimingDump(spy, execTime, methodCall, sql, sqlTimingLogger.isDebugEnabled()));
+                logSql(true, SqlLogEvent.Level.ERROR, spy.getConnectionNumber(), sql, execTime,
+                        isSlowSqlDebugInfoLogged() ? getDebugInfo() : null);
             }
             else if (sqlTimingLogger.isWarnEnabled())
             {
                 if (Properties.isSqlTimingWarnThresholdEnabled() &&
-                        execTime >= Properties.getSqlTimingWarnThresholdMsec())
+                        execTime >= Properties.getSqlTimingWarnThresholdNanos())
                 {
-                    sqlTimingLogger.warn(
-                            buildSqlTimingDump(spy, execTime, methodCall, sql, sqlTimingLogger.isDebugEnabled()));
+                    logSql(true, SqlLogEvent.Level.WARN, spy.getConnectionNumber(), sql, execTime,
+                            isSlowSqlDebugInfoLogged() ? getDebugInfo() : null);
                 }
-                else if (sqlTimingLogger.isDebugEnabled())
+                else if (isDebugInfoEnabled(sqlTimingLogger))
                 {
-                    sqlTimingLogger.debug(
-                            buildSqlTimingDump(spy, execTime, methodCall, sql, true));
+                    logSql(true, SqlLogEvent.Level.DEBUG, spy.getConnectionNumber(), sql, execTime,
+                            getDebugInfo());
                 }
                 else if (sqlTimingLogger.isInfoEnabled())
                 {
-                    sqlTimingLogger.info(
-                            buildSqlTimingDump(spy, execTime, methodCall, sql, false));
+                    logSql(true, SqlLogEvent.Level.INFO, spy.getConnectionNumber(), sql, execTime,
+                            null);
                 }
             }
         }
@@ -375,29 +499,26 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
      * Helper method to quickly build a SQL timing dump output String for
      * logging.
      *
-     * @param spy        the Spy wrapping the class where the SQL occurred.
-     *
-     * @param execTime   how long it took the SQL to run, in milliseconds.
+     * @param connectionNumber the number of the connection where the SQL occurred.
      *
-     * @param methodCall a description of the name and call parameters of the
-     *                   method that generated the SQL.
+     * @param execTime   how long it took the SQL to run, in nanoseconds.
      *
      * @param sql        SQL that occurred.
      *
-     * @param debugInfo  if true, include debug info at the front of the output.
+     * @param debugInfo  if not null, debug info to include at the front of the output.
      *
      * @return a SQL timing dump String for logging.
      */
-    private String buildSqlTimingDump(Spy spy, long execTime, String methodCall,
-            String sql, boolean debugInfo)
+    private String buildSqlTimingDump(Integer connectionNumber, long execTime,
+            String sql, String debugInfo)
     {
         StringBuffer out = new StringBuffer();
 
-        if (debugInfo)
+        if (debugInfo != null)
         {
-            out.append(getDebugInfo());
+            out.append(debugInfo);
             out.append(nl);
-            out.append(spy.getConnectionNumber());
+            out.append(connectionNumber);
             out.append(". ");
         }
 
@@ -410,12 +531,33 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
 
         out.append(sql);
         out.append(" {executed in ");
-        out.append(execTime);
-        out.append(" msec}");
+        out.append(Utilities.toTimingUnit(execTime));
+        out.append(" ");
+        out.append(getTimingUnitLabel());
+        out.append("}");
 
         return out.toString();
     }
 
+    /**
+     * Get the label of the unit of the execution times logged
+     * (see Properties.getTimingUnit()).
+     *
+     * @return "msec" (the default), "usec", or "nsec".
+     */
+    private static String getTimingUnitLabel()
+    {
+        if (Properties.getTimingUnit() == TimeUnit.NANOSECONDS)
+        {
+            return "nsec";
+        }
+        else if (Properties.getTimingUnit() == TimeUnit.MICROSECONDS)
+        {
+            return "usec";
+        }
+        return "msec";
+    }
+
     /**
      * Get debugging info - the module and line number that called the logger
      * version that prints the stack trace information from the point just before
@@ -426,81 +568,20 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
      * trace output, instead of the last direct caller into log4jdbc
      *
      * @return debugging info for whoever called into JDBC from within the application.
+     * @see CallerLocator#getDebugInfo()
      */
     private static String getDebugInfo()
     {
-        Throwable t = new Throwable();
-        t.fillInStackTrace();
-
-        StackTraceElement[] stackTrace = t.getStackTrace();
-
-        if (stackTrace != null)
-        {
-            String className;
-
-            StringBuffer dump = new StringBuffer();
-
-            /**
-             * The DumpFullDebugStackTrace option is useful in some situations when
-             * we want to see the full stack trace in the debug info-  watch out
-             * though as this will make the logs HUGE!
-             */
-            if (Properties.isDumpFullDebugStackTrace())
-            {
-                boolean first=true;
-                for (int i = 0; i < stackTrace.length; i++)
-                {
-                    className = stackTrace[i].getClassName();
-                    if (!className.startsWith("net.sf.log4jdbc"))
-                    {
-                        if (first)
-                        {
-                            first = false;
-                        }
-                        else
-                        {
-                            dump.append("  ");
-                        }
-                        dump.append("at ");
-                        dump.append(stackTrace[i]);
-                        dump.append(nl);
-                    }
-                }
-            }
-            else
-            {
-                dump.append(" ");
-                int firstLog4jdbcCall = 0;
-                int lastApplicationCall = 0;
-
-                for (int i = 0; i < stackTrace.length; i++)
-                {
-                    className = stackTrace[i].getClassName();
-                    if (className.startsWith("net.sf.log4jdbc"))
-                    {
-                        firstLog4jdbcCall = i;
-                    }
-                    else if (Properties.isTraceFromApplication() &&
-                    		Pattern.matches(Properties.getDebugStackPrefix(), className))
-                    {
-                        lastApplicationCall = i;
-                        break;
-                    }
-                }
-                int j = lastApplicationCall;
-
-                if (j == 0)  // if app not found, then use whoever was the last guy that called a log4jdbc class.
-                {
-                    j = 1 + firstLog4jdbcCall;
-                }
-
-                dump.append(stackTrace[j].getClassName()).append(".").append(stackTrace[j].getMethodName()).append("(").
-                append(stackTrace[j].getFileName()).append(":").append(stackTrace[j].getLineNumber()).append(")");
-            }
+        return CallerLocator.getDebugInfo();
+    }
 
-            return dump.toString();
-        }
-        return null;
+    /**
+     * @return true if the caller is logged along with the SQL of slow statements, 
+     *         at debug level, or in slow only mode (property "log4jdbc.sqltiming.slow.only").
+     */
+    private boolean isSlowSqlDebugInfoLogged()
+    {
+        return isDebugInfoEnabled(sqlTimingLogger) || Properties.isSqlTimingSlowOnly();
     }
 
     public void debug(String msg)
@@ -510,6 +591,10 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
 
     public void connectionOpened(Spy spy, long execTime)
     {
+        if (!isCategoryEnabled(CONNECTION_CATEGORY))
+        {
+            return;
+        }
         //we just delegate to the already existing method, 
         //so that we do not change the behavior of the standard implementation
         this.connectionOpened(spy);
@@ -522,7 +607,7 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
      */
     private void connectionOpened(Spy spy)
     {
-        if (connectionLogger.isDebugEnabled())
+        if (isDebugInfoEnabled(connectionLogger))
         {		  
             connectionLogger.info(spy.getConnectionNumber() + ". Connection opened " +
                     getDebugInfo());
@@ -536,6 +621,10 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
 
     public void connectionClosed(Spy spy, long execTime)
     {
+        if (!isCategoryEnabled(CONNECTION_CATEGORY))
+        {
+            return;
+        }
         //we just delegate to the already existing method, 
         //so that we do not change the behavior of the standard implementation
         this.connectionClosed(spy);
@@ -548,7 +637,7 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
      */
     private void connectionClosed(Spy spy)
     {
-        if (connectionLogger.isDebugEnabled())
+        if (isDebugInfoEnabled(connectionLogger))
         {
             connectionLogger.info(spy.getConnectionNumber() + ". Connection closed " +
                     getDebugInfo());
@@ -562,6 +651,10 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
 
     public void connectionAborted(Spy spy, long execTime)
     {
+        if (!isCategoryEnabled(CONNECTION_CATEGORY))
+        {
+            return;
+        }
         this.connectionAborted(spy);
     }
 
@@ -572,7 +665,7 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
      */
     private void connectionAborted(Spy spy)
     {
-        if (connectionLogger.isDebugEnabled())
+        if (isDebugInfoEnabled(connectionLogger))
         {
             connectionLogger.info(spy.getConnectionNumber() + ". Connection aborted " +
                     getDebugInfo());
@@ -584,14 +677,64 @@ public class Slf4jSpyLogDelegator extends AbstractSpyLogDelegator
         }
     }
 
-    public boolean isResultSetCollectionEnabled() {
-        return resultSetTableLogger.isInfoEnabled();
-    }
-
     public boolean isResultSetCollectionEnabledWithUnreadValueFillIn() {
         return resultSetTableLogger.isDebugEnabled();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Never called, as {@link #UPDATECOUNT_CATEGORY} is not enabled: 
+     * the numbers of rows affected are logged along with the returns 
+     * of the methods (see {@link #methodReturned(Spy, CharSequence, String)}).
+     */
+    public void updateCountReturned(Spy spy, CharSequence methodCall, int updateCount)
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Never called, as {@link #EXECUTION_CATEGORY} is not enabled: 
+     * the statements are logged by {@link #sqlTimingOccurred(Spy, long, CharSequence, String)}.
+     */
+    public void statementExecuted(Spy spy, CharSequence methodCall, String sql, long execTime)
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Leaks are logged by the connection logger, whatever the categories enabled, 
+     * as leak detection must be explicitly enabled: a connection garbage collected 
+     * without being closed is logged with the level error, a connection held 
+     * for too long with the level warn, with its allocation site, if captured.
+     */
+    public void connectionLeaked(ConnectionLeak leak)
+    {
+        String message = leak.toString();
+        Throwable allocationSite = leak.getAllocationSite();
+        if (leak.isCollected())
+        {
+            if (allocationSite == null)
+            {
+                connectionLogger.error(message);
+            }
+            else
+            {
+                connectionLogger.error(message, allocationSite);
+            }
+        }
+        else if (allocationSite == null)
+        {
+            connectionLogger.warn(message);
+        }
+        else
+        {
+            connectionLogger.warn(message, allocationSite);
+        }
+    }
+
     public void resultSetCollected(ResultSetCollector resultSetCollector) {
         String resultsToPrint = new ResultSetCollectorPrinter().getResultSetToPrint(resultSetCollector);    
         resultSetTableLogger.info(resultsToPrint);
@@ -0,0 +1,73 @@
+package net.sf.log4jdbc.log.slf4j;
+
+/**
+ * Holds the raw fields of a SQL log event, captured in the thread executing
+ * the SQL statement, so that the event can be formatted and logged
+ * by a background thread (see {@link AsyncSqlLogQueue}). Instances are
+ * preallocated and reused by the <code>AsyncSqlLogQueue</code>, they are not
+ * thread-safe by themselves.
+ *
+ * @author Frederic Bastian
+ */
+final class SqlLogEvent
+{
+    /**
+     * The level at which an event is logged.
+     */
+    enum Level
+    {
+        DEBUG, INFO, WARN, ERROR;
+    }
+
+    /**
+     * A <code>boolean</code> that is <code>true</code> if this event should be logged
+     * by the "jdbc.sqltiming" logger, <code>false</code> if it should be logged
+     * by the "jdbc.sqlonly" logger.
+     */
+    boolean timing;
+    /**
+     * The <code>Level</code> at which this event should be logged.
+     */
+    Level level;
+    /**
+     * An <code>Integer</code> that is the number of the connection
+     * that executed the SQL statement.
+     */
+    Integer connectionNumber;
+    /**
+     * A <code>String</code> that is the SQL statement executed, not yet formatted.
+     */
+    String sql;
+    /**
+     * A <code>long</code> that is the execution time of the SQL statement,
+     * if <code>timing</code> is <code>true</code>.
+     */
+    long execTime;
+    /**
+     * A <code>String</code> that is the caller of the JDBC method, to be displayed
+     * at the debug level, <code>null</code> if not displayed.
+     */
+    String debugInfo;
+
+    /**
+     * Set all the fields of this event.
+     */
+    void set(boolean timing, Level level, Integer connectionNumber, String sql,
+            long execTime, String debugInfo)
+    {
+        this.timing = timing;
+        this.level = level;
+        this.connectionNumber = connectionNumber;
+        this.sql = sql;
+        this.execTime = execTime;
+        this.debugInfo = debugInfo;
+    }
+
+    /**
+     * Release the references held by this event, once it has been logged.
+     */
+    void clear()
+    {
+        this.set(false, null, null, null, 0, null);
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The SQL of a prepared statement, parsed into the literal segments
+ * surrounding its parameter placeholders, so that the SQL with the bind values
+ * in place of the placeholders can be built in a single pass
+ * (see {@link #fill(List)}).
+ * <p>
+ * Before, <code>PreparedStatementSpy</code> searched the placeholders in the SQL
+ * each time a statement was executed, and considered any question mark
+ * as a placeholder, including those in string literals, quoted identifiers, or comments.
+ * The SQL is now parsed only once, when the statement is prepared, and question marks
+ * are not considered as placeholders when they are:
+ * <ul>
+ * <li>in string literals, between single quotes (a quote being escaped
+ * by doubling it, backslashes are not considered as escape characters);
+ * <li>in quoted identifiers, between double quotes, or backquotes;
+ * <li>in comments, either following "--" up to the end of the line,
+ * or between "/&#42;" and "&#42;/".
+ * </ul>
+ * <code>SqlTemplate</code>s are immutable, and are shared between the statements
+ * with identical SQL, through a bounded cache (see {@link #getTemplate(String)}).
+ *
+ * @author Frederic Bastian
+ * @see net.sf.log4jdbc.sql.jdbcapi.PreparedStatementSpy
+ */
+public final class SqlTemplate
+{
+	/**
+	 * An <code>int</code> that is the maximum number of <code>SqlTemplate</code>s
+	 * stored in {@link #TEMPLATES}. When it is reached, the cache is cleared,
+	 * so that it cannot grow indefinitely when the SQL of the prepared statements
+	 * is generated dynamically, while the statements frequently used are soon cached again.
+	 */
+	private static final int MAX_CACHED_TEMPLATES = 1024;
+	/**
+	 * A <code>ConcurrentMap</code> associating SQL statements to their
+	 * <code>SqlTemplate</code>.
+	 */
+	private static final ConcurrentMap<String, SqlTemplate> TEMPLATES =
+			new ConcurrentHashMap<String, SqlTemplate>();
+
+	/**
+	 * A <code>String</code> that is the SQL parsed.
+	 */
+	private final String sql;
+	/**
+	 * An <code>Array</code> of <code>String</code>s that are the literal segments
+	 * of the SQL, before, between, and after the parameter placeholders.
+	 * Its length is the number of placeholders + 1.
+	 */
+	private final String[] segments;
+	/**
+	 * An <code>int</code> that is the sum of the lengths of <code>segments</code>.
+	 */
+	private final int segmentsLength;
+
+	/**
+	 * Get the <code>SqlTemplate</code> of <code>sql</code>, from the cache
+	 * if the same SQL was already parsed.
+	 *
+	 * @param sql 	A <code>String</code> that is the SQL of a prepared statement.
+	 * @return 		The <code>SqlTemplate</code> of <code>sql</code>,
+	 * 				<code>null</code> if <code>sql</code> is <code>null</code>.
+	 */
+	public static SqlTemplate getTemplate(String sql)
+	{
+		if (sql == null) {
+			return null;
+		}
+		SqlTemplate template = TEMPLATES.get(sql);
+		if (template == null) {
+			template = new SqlTemplate(sql);
+			if (TEMPLATES.size() >= MAX_CACHED_TEMPLATES) {
+				TEMPLATES.clear();
+			}
+			TEMPLATES.put(sql, template);
+		}
+		return template;
+	}
+
+	/**
+	 * Parse <code>sql</code>.
+	 *
+	 * @param sql 	A <code>String</code> that is the SQL of a prepared statement.
+	 */
+	SqlTemplate(String sql)
+	{
+		this.sql = sql;
+		List<String> segmentList = new ArrayList<String>();
+		int segmentStart = 0;
+		int length = sql.length();
+		int i = 0;
+		while (i < length) {
+			char c = sql.charAt(i);
+			if (c == '?') {
+				segmentList.add(sql.substring(segmentStart, i));
+				segmentStart = i + 1;
+				i++;
+			} else if (c == '\'' || c == '"' || c == '`') {
+				//skip to the closing quote, to the end if not closed
+				int closing = sql.indexOf(c, i + 1);
+				i = (closing == -1 ? length : closing + 1);
+			} else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+				int lineEnd = i + 2;
+				while (lineEnd < length && sql.charAt(lineEnd) != '\n' &&
+						sql.charAt(lineEnd) != '\r') {
+					lineEnd++;
+				}
+				i = lineEnd;
+			} else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+				int commentEnd = sql.indexOf("*/", i + 2);
+				i = (commentEnd == -1 ? length : commentEnd + 2);
+			} else {
+				i++;
+			}
+		}
+		segmentList.add(sql.substring(segmentStart));
+
+		this.segments = segmentList.toArray(new String[segmentList.size()]);
+		int segmentsLength = 0;
+		for (String segment: this.segments) {
+			segmentsLength += segment.length();
+		}
+		this.segmentsLength = segmentsLength;
+	}
+
+	/**
+	 * @return 	A <code>String</code> that is the SQL parsed.
+	 */
+	public String getSql()
+	{
+		return this.sql;
+	}
+
+	/**
+	 * @return 	An <code>int</code> that is the number of parameter placeholders
+	 * 			in the SQL.
+	 */
+	public int getParameterCount()
+	{
+		return this.segments.length - 1;
+	}
+
+	/**
+	 * Build the SQL with each parameter placeholder replaced by the corresponding
+	 * element of <code>arguments</code> (first placeholder replaced by the first element,
+	 * etc.). If an element is <code>null</code>, or missing, the placeholder is kept.
+	 * The caller must prevent any concurrent modification of <code>arguments</code>.
+	 *
+	 * @param arguments 	A <code>List</code> of <code>String</code>s that are
+	 * 						the bind values to display.
+	 * @return 				A <code>String</code> that is the SQL with the bind values.
+	 */
+	public String fill(List<String> arguments)
+	{
+		int parameterCount = this.getParameterCount();
+		int argumentCount = Math.min(parameterCount, arguments.size());
+		int length = this.segmentsLength + parameterCount;
+		for (int i = 0; i < argumentCount; i++) {
+			String argument = arguments.get(i);
+			if (argument != null) {
+				length += argument.length() - 1;
+			}
+		}
+
+		StringBuilder sql = new StringBuilder(length);
+		sql.append(this.segments[0]);
+		for (int i = 0; i < parameterCount; i++) {
+			String argument = (i < argumentCount ? arguments.get(i) : null);
+			if (argument == null) {
+				sql.append('?');
+			} else {
+				sql.append(argument);
+			}
+			sql.append(this.segments[i + 1]);
+		}
+		return sql.toString();
+	}
+}
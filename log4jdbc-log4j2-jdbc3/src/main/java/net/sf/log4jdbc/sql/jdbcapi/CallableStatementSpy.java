@@ -33,6 +33,7 @@ import java.util.Calendar;
 import java.util.Map;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
 
 /**
  * Wraps a CallableStatement and reports method calls, returns and exceptions.
@@ -42,7 +43,7 @@ import net.sf.log4jdbc.log.SpyLogDelegator;
  */
 public class CallableStatementSpy extends PreparedStatementSpy implements CallableStatement
 {
-	protected void reportAllReturns(String methodCall, String msg)
+	protected void reportAllReturns(CharSequence methodCall, String msg)
 	{
 		log.methodReturned(this, methodCall, msg);
 	}
@@ -87,7 +88,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	// forwarding methods
 	public Date getDate(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getDate(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getDate", parameterIndex);
 		try
 		{
 			return (Date) reportReturn(methodCall, realCallableStatement.getDate(parameterIndex));
@@ -101,7 +102,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Date getDate(int parameterIndex, Calendar cal) throws SQLException
 	{
-		String methodCall = "getDate(" + parameterIndex + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getDate", parameterIndex, cal);
 		try
 		{
 			return (Date) reportReturn(methodCall, realCallableStatement.getDate(parameterIndex, cal));
@@ -115,7 +116,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Ref getRef(String parameterName) throws SQLException
 	{
-		String methodCall = "getRef(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getRef", parameterName);
 		try
 		{
 			return (Ref) reportReturn(methodCall, realCallableStatement.getRef(parameterName));
@@ -129,7 +130,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Time getTime(String parameterName) throws SQLException
 	{
-		String methodCall = "getTime(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getTime", parameterName);
 		try
 		{
 			return (Time) reportReturn(methodCall, realCallableStatement.getTime(parameterName));
@@ -143,22 +144,24 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setTime(String parameterName, Time x) throws SQLException
 	{
-		String methodCall = "setTime(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setTime(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setTime", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setTime", parameterName, x));
+		}
 	}
 
 	public Blob getBlob(int i) throws SQLException
 	{
-		String methodCall = "getBlob(" + i + ")";
+		MethodCall methodCall = new MethodCall("getBlob", i);
 		try
 		{
 			return (Blob) reportReturn(methodCall, realCallableStatement.getBlob(i));
@@ -172,7 +175,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Clob getClob(int i) throws SQLException
 	{
-		String methodCall = "getClob(" + i + ")";
+		MethodCall methodCall = new MethodCall("getClob", i);
 		try
 		{
 			return (Clob) reportReturn(methodCall, realCallableStatement.getClob(i));
@@ -186,7 +189,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Array getArray(int i) throws SQLException
 	{
-		String methodCall = "getArray(" + i + ")";
+		MethodCall methodCall = new MethodCall("getArray", i);
 		try
 		{
 			return (Array) reportReturn(methodCall, realCallableStatement.getArray(i));
@@ -200,7 +203,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public byte[] getBytes(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getBytes(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getBytes", parameterIndex);
 		try
 		{
 			return (byte[]) reportReturn(methodCall, realCallableStatement.getBytes(parameterIndex));
@@ -214,7 +217,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public double getDouble(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getDouble(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getDouble", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getDouble(parameterIndex));
@@ -228,7 +231,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public int getInt(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getInt(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getInt", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getInt(parameterIndex));
@@ -256,7 +259,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Time getTime(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getTime(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getTime", parameterIndex);
 		try
 		{
 			return (Time) reportReturn(methodCall, realCallableStatement.getTime(parameterIndex));
@@ -270,7 +273,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Time getTime(int parameterIndex, Calendar cal) throws SQLException
 	{
-		String methodCall = "getTime(" + parameterIndex + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getTime", parameterIndex, cal);
 		try
 		{
 			return (Time) reportReturn(methodCall, realCallableStatement.getTime(parameterIndex, cal));
@@ -284,7 +287,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Timestamp getTimestamp(String parameterName) throws SQLException
 	{
-		String methodCall = "getTimestamp(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getTimestamp", parameterName);
 		try
 		{
 			return (Timestamp) reportReturn(methodCall, realCallableStatement.getTimestamp(parameterName));
@@ -298,22 +301,24 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setTimestamp(String parameterName, Timestamp x) throws SQLException
 	{
-		String methodCall = "setTimestamp(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setTimestamp(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setTimestamp", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setTimestamp", parameterName, x));
+		}
 	}
 
 	public String getString(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getString(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getString", parameterIndex);
 		try
 		{
 			return (String) reportReturn(methodCall, realCallableStatement.getString(parameterIndex));
@@ -327,7 +332,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void registerOutParameter(int parameterIndex, int sqlType) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterIndex + ", " + sqlType + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterIndex, sqlType);
 		argTraceSet(parameterIndex, null, "<OUT>");
 		try
 		{
@@ -343,7 +348,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void registerOutParameter(int parameterIndex, int sqlType, int scale) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterIndex + ", " + sqlType + ", " + scale + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterIndex, sqlType, scale);
 		argTraceSet(parameterIndex, null, "<OUT>");
 		try
 		{
@@ -359,7 +364,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void registerOutParameter(int paramIndex, int sqlType, String typeName) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + paramIndex + ", " + sqlType + ", " + typeName + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", paramIndex, sqlType, typeName);
 		argTraceSet(paramIndex, null, "<OUT>");
 		try
 		{
@@ -375,7 +380,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public byte getByte(String parameterName) throws SQLException
 	{
-		String methodCall = "getByte(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getByte", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getByte(parameterName));
@@ -389,7 +394,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public double getDouble(String parameterName) throws SQLException
 	{
-		String methodCall = "getDouble(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getDouble", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getDouble(parameterName));
@@ -403,7 +408,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public float getFloat(String parameterName) throws SQLException
 	{
-		String methodCall = "getFloat(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getFloat", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getFloat(parameterName));
@@ -417,7 +422,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public int getInt(String parameterName) throws SQLException
 	{
-		String methodCall = "getInt(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getInt", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getInt(parameterName));
@@ -431,7 +436,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public long getLong(String parameterName) throws SQLException
 	{
-		String methodCall = "getLong(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getLong", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getLong(parameterName));
@@ -445,7 +450,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public short getShort(String parameterName) throws SQLException
 	{
-		String methodCall = "getShort(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getShort", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getShort(parameterName));
@@ -459,7 +464,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public boolean getBoolean(String parameterName) throws SQLException
 	{
-		String methodCall = "getBoolean(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getBoolean", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getBoolean(parameterName));
@@ -473,7 +478,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public byte[] getBytes(String parameterName) throws SQLException
 	{
-		String methodCall = "getBytes(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getBytes", parameterName);
 		try
 		{
 			return (byte[]) reportReturn(methodCall, realCallableStatement.getBytes(parameterName));
@@ -487,52 +492,58 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setByte(String parameterName, byte x) throws SQLException
 	{
-		String methodCall = "setByte(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setByte(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setByte", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setByte", parameterName, x));
+		}
 	}
 
 	public void setDouble(String parameterName, double x) throws SQLException
 	{
-		String methodCall = "setDouble(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setDouble(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setDouble", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setDouble", parameterName, x));
+		}
 	}
 
 	public void setFloat(String parameterName, float x) throws SQLException
 	{
-		String methodCall = "setFloat(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setFloat(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setFloat", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setFloat", parameterName, x));
+		}
 	}
 
 	public void registerOutParameter(String parameterName, int sqlType) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterName + ", " + sqlType + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterName, sqlType);
 		try
 		{
 			realCallableStatement.registerOutParameter(parameterName, sqlType);
@@ -547,37 +558,41 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setInt(String parameterName, int x) throws SQLException
 	{
-		String methodCall = "setInt(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setInt(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setInt", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setInt", parameterName, x));
+		}
 	}
 
 	public void setNull(String parameterName, int sqlType) throws SQLException
 	{
-		String methodCall = "setNull(" + parameterName + ", " + sqlType + ")";
 		try
 		{
 			realCallableStatement.setNull(parameterName, sqlType);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNull", parameterName, sqlType), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNull", parameterName, sqlType));
+		}
 	}
 
 	public void registerOutParameter(String parameterName, int sqlType, int scale) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterName + ", " + sqlType + ", " + scale + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterName, sqlType, scale);
 		try
 		{
 			realCallableStatement.registerOutParameter(parameterName, sqlType, scale);
@@ -592,68 +607,76 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setLong(String parameterName, long x) throws SQLException
 	{
-		String methodCall = "setLong(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setLong(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setLong", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setLong", parameterName, x));
+		}
 	}
 
 	public void setShort(String parameterName, short x) throws SQLException
 	{
-		String methodCall = "setShort(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setShort(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setShort", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setShort", parameterName, x));
+		}
 	}
 
 	public void setBoolean(String parameterName, boolean x) throws SQLException
 	{
-		String methodCall = "setBoolean(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setBoolean(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBoolean", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBoolean", parameterName, x));
+		}
 	}
 
 	public void setBytes(String parameterName, byte[] x) throws SQLException
 	{
 		//todo: dump byte array?
-		String methodCall = "setBytes(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setBytes(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBytes", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBytes", parameterName, x));
+		}
 	}
 
 	public boolean getBoolean(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getBoolean(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getBoolean", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getBoolean(parameterIndex));
@@ -667,7 +690,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Timestamp getTimestamp(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getTimestamp(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getTimestamp", parameterIndex);
 		try
 		{
 			return (Timestamp) reportReturn(methodCall, realCallableStatement.getTimestamp(parameterIndex));
@@ -681,52 +704,58 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setAsciiStream(String parameterName, InputStream x, int length) throws SQLException
 	{
-		String methodCall = "setAsciiStream(" + parameterName + ", " + x + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setAsciiStream(parameterName, x, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setAsciiStream", parameterName, x, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setAsciiStream", parameterName, x, length));
+		}
 	}
 
 	public void setBinaryStream(String parameterName, InputStream x, int length) throws SQLException
 	{
-		String methodCall = "setBinaryStream(" + parameterName + ", " + x + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setBinaryStream(parameterName, x, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBinaryStream", parameterName, x, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBinaryStream", parameterName, x, length));
+		}
 	}
 
 	public void setCharacterStream(String parameterName, Reader reader, int length) throws SQLException
 	{
-		String methodCall = "setCharacterStream(" + parameterName + ", " + reader + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setCharacterStream(parameterName, reader, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setCharacterStream", parameterName, reader, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setCharacterStream", parameterName, reader, length));
+		}
 	}
 
 	public Object getObject(String parameterName) throws SQLException
 	{
-		String methodCall = "getObject(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getObject", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getObject(parameterName));
@@ -740,52 +769,58 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setObject(String parameterName, Object x) throws SQLException
 	{
-		String methodCall = "setObject(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setObject(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setObject", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setObject", parameterName, x));
+		}
 	}
 
 	public void setObject(String parameterName, Object x, int targetSqlType) throws SQLException
 	{
-		String methodCall = "setObject(" + parameterName + ", " + x + ", " + targetSqlType + ")";
 		try
 		{
 			realCallableStatement.setObject(parameterName, x, targetSqlType);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setObject", parameterName, x, targetSqlType), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setObject", parameterName, x, targetSqlType));
+		}
 	}
 
 	public void setObject(String parameterName, Object x, int targetSqlType, int scale) throws SQLException
 	{
-		String methodCall = "setObject(" + parameterName + ", " + x + ", " + targetSqlType + ", " + scale + ")";
 		try
 		{
 			realCallableStatement.setObject(parameterName, x, targetSqlType, scale);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setObject", parameterName, x, targetSqlType, scale), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setObject", parameterName, x, targetSqlType, scale));
+		}
 	}
 
 	public Timestamp getTimestamp(int parameterIndex, Calendar cal) throws SQLException
 	{
-		String methodCall = "getTimestamp(" + parameterIndex + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getTimestamp", parameterIndex, cal);
 		try
 		{
 			return (Timestamp) reportReturn(methodCall, realCallableStatement.getTimestamp(parameterIndex, cal));
@@ -799,7 +834,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Date getDate(String parameterName, Calendar cal) throws SQLException
 	{
-		String methodCall = "getDate(" + parameterName + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getDate", parameterName, cal);
 		try
 		{
 			return (Date) reportReturn(methodCall, realCallableStatement.getDate(parameterName, cal));
@@ -813,7 +848,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Time getTime(String parameterName, Calendar cal) throws SQLException
 	{
-		String methodCall = "getTime(" + parameterName + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getTime", parameterName, cal);
 		try
 		{
 			return (Time) reportReturn(methodCall, realCallableStatement.getTime(parameterName, cal));
@@ -827,7 +862,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Timestamp getTimestamp(String parameterName, Calendar cal) throws SQLException
 	{
-		String methodCall = "getTimestamp(" + parameterName + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getTimestamp", parameterName, cal);
 		try
 		{
 			return (Timestamp) reportReturn(methodCall, realCallableStatement.getTimestamp(parameterName, cal));
@@ -841,52 +876,58 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setDate(String parameterName, Date x, Calendar cal) throws SQLException
 	{
-		String methodCall = "setDate(" + parameterName + ", " + x + ", " + cal + ")";
 		try
 		{
 			realCallableStatement.setDate(parameterName, x, cal);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setDate", parameterName, x, cal), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setDate", parameterName, x, cal));
+		}
 	}
 
 	public void setTime(String parameterName, Time x, Calendar cal) throws SQLException
 	{
-		String methodCall = "setTime(" + parameterName + ", " + x + ", " + cal + ")";
 		try
 		{
 			realCallableStatement.setTime(parameterName, x, cal);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setTime", parameterName, x, cal), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setTime", parameterName, x, cal));
+		}
 	}
 
 	public void setTimestamp(String parameterName, Timestamp x, Calendar cal) throws SQLException
 	{
-		String methodCall = "setTimestamp(" + parameterName + ", " + x + ", " + cal + ")";
 		try
 		{
 			realCallableStatement.setTimestamp(parameterName, x, cal);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setTimestamp", parameterName, x, cal), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setTimestamp", parameterName, x, cal));
+		}
 	}
 
 	public short getShort(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getShort(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getShort", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getShort(parameterIndex));
@@ -900,7 +941,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public long getLong(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getLong(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getLong", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getLong(parameterIndex));
@@ -914,7 +955,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public float getFloat(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getFloat(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getFloat", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getFloat(parameterIndex));
@@ -928,7 +969,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Ref getRef(int i) throws SQLException
 	{
-		String methodCall = "getRef(" + i + ")";
+		MethodCall methodCall = new MethodCall("getRef", i);
 		try
 		{
 			return (Ref) reportReturn(methodCall, realCallableStatement.getRef(i));
@@ -945,7 +986,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	 */
 	public BigDecimal getBigDecimal(int parameterIndex, int scale) throws SQLException
 	{
-		String methodCall = "getBigDecimal(" + parameterIndex + ", " + scale + ")";
+		MethodCall methodCall = new MethodCall("getBigDecimal", parameterIndex, scale);
 		try
 		{
 			return (BigDecimal) reportReturn(methodCall, realCallableStatement.getBigDecimal(parameterIndex, scale));
@@ -959,7 +1000,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public URL getURL(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getURL(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getURL", parameterIndex);
 		try
 		{
 			return (URL) reportReturn(methodCall, realCallableStatement.getURL(parameterIndex));
@@ -974,7 +1015,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public BigDecimal getBigDecimal(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getBigDecimal(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getBigDecimal", parameterIndex);
 		try
 		{
 			return (BigDecimal) reportReturn(methodCall, realCallableStatement.getBigDecimal(parameterIndex));
@@ -988,7 +1029,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public byte getByte(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getByte(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getByte", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getByte(parameterIndex));
@@ -1002,7 +1043,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Object getObject(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getObject(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getObject", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getObject(parameterIndex));
@@ -1016,7 +1057,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Object getObject(int i, Map<String,Class<?>> map) throws SQLException
 	{
-		String methodCall = "getObject(" + i + ", " + map + ")";
+		MethodCall methodCall = new MethodCall("getObject", i, map);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getObject(i, map));
@@ -1030,7 +1071,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public String getString(String parameterName) throws SQLException
 	{
-		String methodCall = "getString(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getString", parameterName);
 		try
 		{
 			return (String) reportReturn(methodCall, realCallableStatement.getString(parameterName));
@@ -1044,7 +1085,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void registerOutParameter(String parameterName, int sqlType, String typeName) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterName + ", " + sqlType + ", " + typeName + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterName, sqlType, typeName);
 		try
 		{
 			realCallableStatement.registerOutParameter(parameterName, sqlType, typeName);
@@ -1059,22 +1100,23 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setNull(String parameterName, int sqlType, String typeName) throws SQLException
 	{
-		String methodCall = "setNull(" + parameterName + ", " + sqlType + ", " + typeName + ")";
 		try
 		{
 			realCallableStatement.setNull(parameterName, sqlType, typeName);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNull", parameterName, sqlType, typeName), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNull", parameterName, sqlType, typeName));
+		}
 	}
 
 	public void setString(String parameterName, String x) throws SQLException
 	{
-		String methodCall = "setString(" + parameterName + ", " + x + ")";
 
 		try
 		{
@@ -1082,15 +1124,18 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setString", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setString", parameterName, x));
+		}
 	}
 
 	public BigDecimal getBigDecimal(String parameterName) throws SQLException
 	{
-		String methodCall = "getBigDecimal(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getBigDecimal", parameterName);
 		try
 		{
 			return (BigDecimal) reportReturn(methodCall, realCallableStatement.getBigDecimal(parameterName));
@@ -1103,7 +1148,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	}
 
 	public Object getObject(String parameterName, Map<String, Class<?>> map) throws SQLException {
-		String methodCall = "getObject(" + parameterName + ", " + map + ")";
+		MethodCall methodCall = new MethodCall("getObject", parameterName, map);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getObject(parameterName, map));
@@ -1117,22 +1162,24 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setBigDecimal(String parameterName, BigDecimal x) throws SQLException
 	{
-		String methodCall = "setBigDecimal(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setBigDecimal(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBigDecimal", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBigDecimal", parameterName, x));
+		}
 	}
 
 	public URL getURL(String parameterName) throws SQLException
 	{
-		String methodCall = "getURL(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getURL", parameterName);
 		try
 		{
 			return (URL) reportReturn(methodCall, realCallableStatement.getURL(parameterName));
@@ -1146,22 +1193,24 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setURL(String parameterName, URL val) throws SQLException
 	{
-		String methodCall = "setURL(" + parameterName + ", " + val + ")";
 		try
 		{
 			realCallableStatement.setURL(parameterName, val);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setURL", parameterName, val), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setURL", parameterName, val));
+		}
 	}
 
 	public Array getArray(String parameterName) throws SQLException
 	{
-		String methodCall = "getArray(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getArray", parameterName);
 		try
 		{
 			return (Array) reportReturn(methodCall, realCallableStatement.getArray(parameterName));
@@ -1175,7 +1224,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Blob getBlob(String parameterName) throws SQLException
 	{
-		String methodCall = "getBlob(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getBlob", parameterName);
 		try
 		{
 			return (Blob) reportReturn(methodCall, realCallableStatement.getBlob(parameterName));
@@ -1189,7 +1238,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Clob getClob(String parameterName) throws SQLException
 	{
-		String methodCall = "getClob(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getClob", parameterName);
 		try
 		{
 			return (Clob) reportReturn(methodCall, realCallableStatement.getClob(parameterName));
@@ -1203,7 +1252,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public Date getDate(String parameterName) throws SQLException
 	{
-		String methodCall = "getDate(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getDate", parameterName);
 		try
 		{
 			return (Date) reportReturn(methodCall, realCallableStatement.getDate(parameterName));
@@ -1217,16 +1266,18 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	public void setDate(String parameterName, Date x) throws SQLException
 	{
-		String methodCall = "setDate(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setDate(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setDate", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setDate", parameterName, x));
+		}
 	}
 }
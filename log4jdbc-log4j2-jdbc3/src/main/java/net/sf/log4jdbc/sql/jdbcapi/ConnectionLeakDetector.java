@@ -0,0 +1,256 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import java.util.concurrent.TimeUnit;
+
+import net.sf.log4jdbc.Properties;
+
+/**
+ * Reports the connections leaked by the application to
+ * <code>SpyLogDelegator#connectionLeaked(ConnectionLeak)</code>, when the property
+ * "log4jdbc.leak.detection.threshold" is defined. A daemon thread, with the lowest
+ * priority, periodically scans the registry of open connections of
+ * <code>ConnectionSpy</code>, and reports once each connection held open for longer
+ * than the threshold. As the registry only weakly references the
+ * <code>ConnectionSpy</code>s, the ones garbage collected without having been closed
+ * are also reported, whatever the threshold, then removed from the registry.
+ * <p>
+ * The stack trace where a connection is opened is captured only for 1 connection
+ * out of the value of the property "log4jdbc.leak.detection.stack.sampling",
+ * as it is costly to capture.
+ *
+ * @author Frederic Bastian
+ * @see ConnectionLeak
+ */
+final class ConnectionLeakDetector
+{
+	/**
+	 * A <code>long</code> that is the minimum time in nanoseconds between two scans
+	 * of the open connections.
+	 */
+	private static final long MIN_SCAN_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	/**
+	 * A <code>long</code> that is the maximum time in nanoseconds between two scans
+	 * of the open connections, so that leaks are reported soon after the threshold
+	 * is reached, even for long thresholds.
+	 */
+	private static final long MAX_SCAN_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+	/**
+	 * The <code>ConnectionLeakDetector</code> used, <code>null</code> if leak detection
+	 * is disabled. It is loaded at the first call to {@link #getInstance()},
+	 * and not when this class is initialized, as <code>Properties</code> might
+	 * not be initialized yet.
+	 */
+	private static volatile ConnectionLeakDetector instance = null;
+	/**
+	 * A <code>boolean</code> that is <code>true</code> when {@link #instance} was loaded.
+	 */
+	private static volatile boolean instanceLoaded = false;
+
+	/**
+	 * @return 	The <code>ConnectionLeakDetector</code> used, with its thread started,
+	 * 			or <code>null</code> if leak detection is disabled.
+	 */
+	static ConnectionLeakDetector getInstance()
+	{
+		if (!instanceLoaded) {
+			synchronized (ConnectionLeakDetector.class) {
+				if (!instanceLoaded) {
+					if (Properties.isLeakDetectionEnabled()) {
+						ConnectionLeakDetector detector = new ConnectionLeakDetector(
+								Properties.getLeakDetectionThresholdNanos(),
+								Properties.getLeakDetectionStackSampling());
+						detector.start();
+						instance = detector;
+					}
+					instanceLoaded = true;
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Replace the <code>ConnectionLeakDetector</code> used, stopping the previous one.
+	 * This is used by unit tests.
+	 *
+	 * @param detector 	The <code>ConnectionLeakDetector</code> to use, or <code>null</code>
+	 * 					to disable leak detection.
+	 */
+	static void setInstance(ConnectionLeakDetector detector)
+	{
+		synchronized (ConnectionLeakDetector.class) {
+			if (instance != null) {
+				instance.stop();
+			}
+			instance = detector;
+			instanceLoaded = true;
+		}
+	}
+
+	/**
+	 * A <code>long</code> that is the time in nanoseconds after which a connection
+	 * still open is reported.
+	 */
+	private final long thresholdNanos;
+	/**
+	 * An <code>int</code> defining for 1 connection out of how many the allocation
+	 * site is captured, 0 if it is never captured.
+	 */
+	private final int stackSampling;
+	/**
+	 * A <code>long</code> that is the time in nanoseconds between two scans.
+	 */
+	private final long scanPeriodNanos;
+	/**
+	 * The daemon <code>Thread</code> scanning the open connections, <code>null</code>
+	 * if not started.
+	 */
+	private Thread scanner;
+	private volatile boolean stopped;
+
+	/**
+	 * @param thresholdNanos 	A <code>long</code> that is the time in nanoseconds after
+	 * 							which a connection still open is reported.
+	 * @param stackSampling 	An <code>int</code> defining for 1 connection out of how many
+	 * 							the allocation site is captured, 0 to never capture it.
+	 */
+	ConnectionLeakDetector(long thresholdNanos, int stackSampling)
+	{
+		this.thresholdNanos = Math.max(thresholdNanos, 0);
+		this.stackSampling = Math.max(stackSampling, 0);
+		this.scanPeriodNanos = Math.min(Math.max(this.thresholdNanos / 2,
+				MIN_SCAN_PERIOD_NANOS), MAX_SCAN_PERIOD_NANOS);
+		this.scanner = null;
+		this.stopped = false;
+	}
+
+	/**
+	 * Capture the allocation site of the connection <code>connectionNumber</code>,
+	 * if it is sampled.
+	 *
+	 * @param connectionNumber 	An <code>int</code> that is the number of the connection
+	 * 							being opened.
+	 * @return 					A <code>Throwable</code> whose stack trace is where
+	 * 							the connection is opened, or <code>null</code> if
+	 * 							this connection is not sampled.
+	 */
+	Throwable captureAllocationSite(int connectionNumber)
+	{
+		if (this.stackSampling == 0 || connectionNumber % this.stackSampling != 0) {
+			return null;
+		}
+		return new Throwable("Connection " + connectionNumber + " opened");
+	}
+
+	/**
+	 * Report the connections held open for longer than the threshold, that were
+	 * not already reported.
+	 *
+	 * @return 	An <code>int</code> that is the number of connections reported.
+	 */
+	int scan()
+	{
+		int reported = 0;
+		long now = System.nanoTime();
+		for (TrackedConnection tracked: ConnectionSpy.getTrackedConnections()) {
+			if (tracked.isLeakReported() ||
+					now - tracked.getOpenNanos() < this.thresholdNanos) {
+				continue;
+			}
+			ConnectionSpy spy = tracked.get();
+			if (spy == null) {
+				//garbage collected, it will be reported when expunged
+				continue;
+			}
+			tracked.setLeakReported(true);
+			tracked.getLogDelegator().connectionLeaked(new ConnectionLeak(
+					tracked.getConnectionNumber(), spy, now - tracked.getOpenNanos(),
+					tracked.getAllocationSite()));
+			reported++;
+		}
+		return reported;
+	}
+
+	/**
+	 * Report a <code>ConnectionSpy</code> garbage collected without having been closed,
+	 * unless it was already reported as held open for longer than the threshold.
+	 *
+	 * @param tracked 	The <code>TrackedConnection</code> of the <code>ConnectionSpy</code>,
+	 * 					removed from the registry.
+	 */
+	void reportCollected(TrackedConnection tracked)
+	{
+		if (tracked.isLeakReported()) {
+			return;
+		}
+		tracked.setLeakReported(true);
+		tracked.getLogDelegator().connectionLeaked(new ConnectionLeak(
+				tracked.getConnectionNumber(), null,
+				System.nanoTime() - tracked.getOpenNanos(), tracked.getAllocationSite()));
+	}
+
+	/**
+	 * Start the daemon thread scanning the open connections.
+	 */
+	private synchronized void start()
+	{
+		this.scanner = new Thread(new Runnable() {
+			public void run()
+			{
+				runScans();
+			}
+		}, "log4jdbc-leak-detector");
+		this.scanner.setDaemon(true);
+		this.scanner.setPriority(Thread.MIN_PRIORITY);
+		this.scanner.start();
+	}
+
+	/**
+	 * Stop the daemon thread, if started.
+	 */
+	private synchronized void stop()
+	{
+		this.stopped = true;
+		if (this.scanner != null) {
+			this.scanner.interrupt();
+		}
+	}
+
+	/**
+	 * The loop of the daemon thread.
+	 */
+	private void runScans()
+	{
+		while (!this.stopped) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(this.scanPeriodNanos);
+			} catch (InterruptedException e) {
+				if (this.stopped) {
+					return;
+				}
+			}
+			try {
+				ConnectionSpy.expungeCollectedConnections();
+				this.scan();
+			} catch (RuntimeException e) {
+				//a failure of a SpyLogDelegator must not stop the detection
+			}
+		}
+	}
+}
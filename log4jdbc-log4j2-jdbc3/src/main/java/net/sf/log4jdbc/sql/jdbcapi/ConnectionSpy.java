@@ -24,13 +24,22 @@ import java.sql.SQLWarning;
 import java.sql.Savepoint;
 import java.sql.Statement;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.AbstractCollection;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.Utilities;
 import net.sf.log4jdbc.sql.rdbmsspecifics.RdbmsSpecifics;
 
 /**
@@ -49,6 +58,9 @@ import net.sf.log4jdbc.sql.rdbmsspecifics.RdbmsSpecifics;
  * or before an <code>Exception</code> is thrown if a problem occurs. </code>)
  * <li>Addition of a new method <code>ConnectionSpy#reportException(String, SQLException, long)</code> 
  * to log execution time before an <code>Exception</code> is thrown when the connection closing failed. 
+ * <li>The registry of open connections only weakly references the <code>ConnectionSpy</code>s: 
+ * the ones garbage collected without having been closed are removed from it, and reported 
+ * when leak detection is enabled (see <code>ConnectionLeakDetector</code>). 
  * </ul>
  *
  * @author Arthur Blake
@@ -72,14 +84,138 @@ public class ConnectionSpy implements Connection, Spy
   private SpyLogDelegator log;
 
   private final Integer connectionNumber;
-  private static int lastConnectionNumber = 0;
 
   /**
-   * Contains a Mapping of connectionNumber to currently open ConnectionSpy
-   * objects.
+   * The last connection number assigned. Connection numbers are <code>Integer</code>s, 
+   * as exposed by <code>Spy#getConnectionNumber()</code>.
    */
-  private static final Map<Integer, ConnectionSpy> connectionTracker = 
-		  new HashMap<Integer, ConnectionSpy>();
+  private static final AtomicInteger lastConnectionNumber = new AtomicInteger(0);
+
+  /**
+   * Contains a Mapping of connectionNumber to the TrackedConnection of currently open 
+   * ConnectionSpy objects. Connections are registered and removed without any global lock, 
+   * so that pools opening and closing connections from many threads do not contend. 
+   * The ConnectionSpy objects are only weakly referenced, so that the ones never closed 
+   * by the application are not retained (see <code>expungeCollectedConnections()</code>).
+   */
+  private static final ConcurrentMap<Integer, TrackedConnection> connectionTracker = 
+		  new ConcurrentHashMap<Integer, TrackedConnection>();
+
+  /**
+   * The queue to which the TrackedConnection of a ConnectionSpy garbage collected 
+   * without having been closed is enqueued.
+   */
+  private static final ReferenceQueue<ConnectionSpy> collectedConnections = 
+		  new ReferenceQueue<ConnectionSpy>();
+
+  /**
+   * The number of currently open ConnectionSpy objects, maintained along with 
+   * <code>connectionTracker</code>, so that it is obtained without traversing it.
+   */
+  private static final AtomicInteger openConnectionsCount = new AtomicInteger(0);
+
+  /**
+   * An unmodifiable view of the currently open ConnectionSpy objects, skipping 
+   * the ones garbage collected and not yet expunged.
+   */
+  private static final Collection<ConnectionSpy> openConnections = 
+		  new AbstractCollection<ConnectionSpy>()
+  {
+    public Iterator<ConnectionSpy> iterator()
+    {
+      final Iterator<TrackedConnection> tracked = connectionTracker.values().iterator();
+      return new Iterator<ConnectionSpy>()
+      {
+        private ConnectionSpy next = null;
+
+        public boolean hasNext()
+        {
+          while (next == null && tracked.hasNext())
+          {
+            next = tracked.next().get();
+          }
+          return next != null;
+        }
+
+        public ConnectionSpy next()
+        {
+          if (!hasNext())
+          {
+            throw new NoSuchElementException();
+          }
+          ConnectionSpy spy = next;
+          next = null;
+          return spy;
+        }
+
+        public void remove()
+        {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+
+    public int size()
+    {
+      return openConnectionsCount.get();
+    }
+  };
+
+  /**
+   * Get the number of currently open connections, in constant time.
+   *
+   * @return the number of open connections.
+   */
+  public static int getOpenConnectionsCount()
+  {
+    return openConnectionsCount.get();
+  }
+
+  /**
+   * Get the currently open connections, in constant time: the <code>Collection</code> 
+   * returned is an unmodifiable live view, that is not copied, and can be iterated 
+   * while connections are opened and closed concurrently. Its iterators reflect 
+   * the open connections at some point at or since their creation.
+   *
+   * @return an unmodifiable view of the open connections.
+   */
+  public static Collection<ConnectionSpy> getOpenConnections()
+  {
+    return openConnections;
+  }
+
+  /**
+   * @return a live view of the TrackedConnection of the open connections, 
+   *         scanned by the <code>ConnectionLeakDetector</code>.
+   */
+  static Collection<TrackedConnection> getTrackedConnections()
+  {
+    return connectionTracker.values();
+  }
+
+  /**
+   * Remove from the registry of open connections the ConnectionSpy objects garbage 
+   * collected without having been closed, and report them if leak detection is enabled. 
+   * This is called when a connection is opened, and periodically by 
+   * the <code>ConnectionLeakDetector</code>.
+   */
+  static void expungeCollectedConnections()
+  {
+    Reference<? extends ConnectionSpy> collected;
+    while ((collected = collectedConnections.poll()) != null)
+    {
+      TrackedConnection tracked = (TrackedConnection) collected;
+      if (connectionTracker.remove(tracked.getConnectionNumber(), tracked))
+      {
+        openConnectionsCount.decrementAndGet();
+        ConnectionLeakDetector leakDetector = ConnectionLeakDetector.getInstance();
+        if (leakDetector != null)
+        {
+          leakDetector.reportCollected(tracked);
+        }
+      }
+    }
+  }
 
   /**
    * Get a dump of how many connections are open, and which connection numbers
@@ -89,21 +225,15 @@ public class ConnectionSpy implements Connection, Spy
    */
   public static String getOpenConnectionsDump()
   {
-    StringBuffer dump = new StringBuffer();
-    int size;
-    Integer[] keysArr;
-    synchronized (connectionTracker)
+    Integer[] keysArr = connectionTracker.keySet().toArray(new Integer[0]);
+    int size = keysArr.length;
+    if (size==0)
     {
-      size = connectionTracker.size();
-      if (size==0)
-      {
-        return "open connections:  none";
-      }
-      Set<Integer> keys = connectionTracker.keySet();
-      keysArr = keys.toArray(new Integer[keys.size()]);
+      return "open connections:  none";
     }
 
     Arrays.sort(keysArr);
+    StringBuilder dump = new StringBuilder();
 
     dump.append("open connections:  ");
     for (int i=0; i < keysArr.length; i++)
@@ -135,7 +265,7 @@ public class ConnectionSpy implements Connection, Spy
    * Create a new ConnectionSpy that wraps a given Connection.
    *
    * @param realConnection &quot;real&quot; Connection that this ConnectionSpy wraps.
-   * @param execTime 	a <code>long</code> defining the time in ms 
+   * @param execTime 	a <code>long</code> defining the time, in nanoseconds, 
    * 					taken to open the connection to <code>realConnection</code>. 
    * @param logDelegator 	The <code>SpyLogDelegator</code> used by 
    * 						this <code>ConnectionSpy</code> and all resources obtained from it 
@@ -166,7 +296,7 @@ public class ConnectionSpy implements Connection, Spy
    *
    * @param realConnection &quot;real&quot; Connection that this ConnectionSpy wraps.
    * @param rdbmsSpecifics the RdbmsSpecifics object for formatting logging appropriate for the Rdbms used.
-   * @param execTime 	a <code>long</code> defining the time in ms 
+   * @param execTime 	a <code>long</code> defining the time, in nanoseconds, 
    * 					taken to open the connection to <code>realConnection</code>. 
    * 					Should be equals to -1 if not used. 
    * @param logDelegator 	The <code>SpyLogDelegator</code> used by 
@@ -188,10 +318,17 @@ public class ConnectionSpy implements Connection, Spy
     this.realConnection = realConnection;
     log = logDelegator;
 
-    synchronized (connectionTracker)
+    connectionNumber = Integer.valueOf(lastConnectionNumber.incrementAndGet());
+    expungeCollectedConnections();
+    ConnectionLeakDetector leakDetector = ConnectionLeakDetector.getInstance();
+    connectionTracker.put(connectionNumber, new TrackedConnection(this, collectedConnections, 
+        log, System.nanoTime(), leakDetector == null ? null : 
+          leakDetector.captureAllocationSite(connectionNumber.intValue())));
+    openConnectionsCount.incrementAndGet();
+    JdbcStatistics statistics = JdbcStatistics.getInstance();
+    if (statistics != null)
     {
-      connectionNumber = new Integer(++lastConnectionNumber);
-      connectionTracker.put(connectionNumber, this);
+      statistics.connectionOpened();
     }
     log.connectionOpened(this, execTime);
     reportReturn("new Connection");
@@ -229,47 +366,70 @@ public class ConnectionSpy implements Connection, Spy
     return "Connection";
   }
 
-  protected void reportException(String methodCall, SQLException exception, String sql)
+  protected void reportException(CharSequence methodCall, SQLException exception, String sql)
   {
     log.exceptionOccured(this, methodCall, exception, sql, -1L);
   }
 
-  protected void reportException(String methodCall, SQLException exception)
+  protected void reportException(CharSequence methodCall, SQLException exception)
   {
     log.exceptionOccured(this, methodCall, exception, null, -1L);
   }
 
-  protected void reportException(String methodCall, SQLException exception, long execTime)
+  protected void reportException(CharSequence methodCall, SQLException exception, long execTime)
   {
     log.exceptionOccured(this, methodCall, exception, null, execTime);
   }
 
-  protected void reportAllReturns(String methodCall, String returnValue)
+  protected void reportAllReturns(CharSequence methodCall, String returnValue)
   {
     log.methodReturned(this, methodCall, returnValue);
   }
 
-  private boolean reportReturn(String methodCall, boolean value)
+  /**
+   * Determine whether the returns of the methods of this class are logged, 
+   * so that the returned values are not converted into <code>String</code>s for nothing.
+   *
+   * @return true if the returns of the methods of this class are logged.
+   */
+  private boolean isReturnLoggingEnabled()
+  {
+    return (log.getEnabledCategories() & SpyLogDelegator.AUDIT_CATEGORY) != 0;
+  }
+
+  private boolean reportReturn(CharSequence methodCall, boolean value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (isReturnLoggingEnabled())
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
-  private int reportReturn(String methodCall, int value)
+  private int reportReturn(CharSequence methodCall, int value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (isReturnLoggingEnabled())
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
-  private <T> T reportReturn(String methodCall, T value)
+  private <T> T reportReturn(CharSequence methodCall, T value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (isReturnLoggingEnabled())
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
-  private void reportReturn(String methodCall)
+  private void reportReturn(CharSequence methodCall)
   {
-    reportAllReturns(methodCall, "");
+    if (isReturnLoggingEnabled())
+    {
+      reportAllReturns(methodCall, "");
+    }
   }
   
   private void reportClosed(long execTime)
@@ -323,32 +483,36 @@ public class ConnectionSpy implements Connection, Spy
 
   public void releaseSavepoint(Savepoint savepoint) throws SQLException
   {
-    String methodCall = "releaseSavepoint(" + savepoint + ")";
     try
     {
       realConnection.releaseSavepoint(savepoint);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("releaseSavepoint", savepoint), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("releaseSavepoint", savepoint));
+    }
   }
 
   public void rollback(Savepoint savepoint) throws SQLException
   {
-    String methodCall = "rollback(" + savepoint + ")";
     try
     {
       realConnection.rollback(savepoint);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("rollback", savepoint), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("rollback", savepoint));
+    }
   }
 
   public DatabaseMetaData getMetaData() throws SQLException
@@ -397,7 +561,7 @@ public class ConnectionSpy implements Connection, Spy
 
   public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException
   {
-    String methodCall = "createStatement(" + resultSetType + ", " + resultSetConcurrency + ")";
+    MethodCall methodCall = new MethodCall("createStatement", resultSetType, resultSetConcurrency);
     try
     {
       Statement statement = realConnection.createStatement(resultSetType, resultSetConcurrency);
@@ -412,7 +576,7 @@ public class ConnectionSpy implements Connection, Spy
 
   public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException
   {
-    String methodCall = "createStatement(" + resultSetType + ", " + resultSetConcurrency + ", " + resultSetHoldability + ")";
+    MethodCall methodCall = new MethodCall("createStatement", resultSetType, resultSetConcurrency, resultSetHoldability);
     try
     {
       Statement statement = realConnection.createStatement(resultSetType, resultSetConcurrency,
@@ -428,22 +592,24 @@ public class ConnectionSpy implements Connection, Spy
 
   public void setReadOnly(boolean readOnly) throws SQLException
   {
-    String methodCall = "setReadOnly(" + readOnly + ")";
     try
     {
       realConnection.setReadOnly(readOnly);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setReadOnly", readOnly), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setReadOnly", readOnly));
+    }
   }
 
   public PreparedStatement prepareStatement(String sql) throws SQLException
   {
-    String methodCall = "prepareStatement(" + sql + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql);
@@ -458,7 +624,7 @@ public class ConnectionSpy implements Connection, Spy
 
   public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException
   {
-    String methodCall = "prepareStatement(" + sql + ", " + autoGeneratedKeys + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, autoGeneratedKeys);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, autoGeneratedKeys);
@@ -473,7 +639,7 @@ public class ConnectionSpy implements Connection, Spy
 
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException
   {
-    String methodCall = "prepareStatement(" + sql + ", " + resultSetType + ", " + resultSetConcurrency + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, resultSetType, resultSetConcurrency);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, resultSetType, resultSetConcurrency);
@@ -489,7 +655,7 @@ public class ConnectionSpy implements Connection, Spy
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
                                             int resultSetHoldability) throws SQLException
   {
-    String methodCall = "prepareStatement(" + sql + ", " + resultSetType + ", " + resultSetConcurrency + ", " + resultSetHoldability + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, resultSetType, resultSetConcurrency, resultSetHoldability);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, resultSetType, resultSetConcurrency,
@@ -506,7 +672,7 @@ public class ConnectionSpy implements Connection, Spy
   public PreparedStatement prepareStatement(String sql, int columnIndexes[]) throws SQLException
   {
     //todo: dump the array here?
-    String methodCall = "prepareStatement(" + sql + ", " + columnIndexes + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, columnIndexes);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, columnIndexes);
@@ -521,7 +687,7 @@ public class ConnectionSpy implements Connection, Spy
 
   public Savepoint setSavepoint(String name) throws SQLException
   {
-    String methodCall = "setSavepoint(" + name + ")";
+    MethodCall methodCall = new MethodCall("setSavepoint", name);
     try
     {
       return reportReturn(methodCall, realConnection.setSavepoint(name));
@@ -536,7 +702,7 @@ public class ConnectionSpy implements Connection, Spy
   public PreparedStatement prepareStatement(String sql, String columnNames[]) throws SQLException
   {
     //todo: dump the array here?
-    String methodCall = "prepareStatement(" + sql + ", " + columnNames + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, columnNames);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, columnNames);
@@ -565,22 +731,24 @@ public class ConnectionSpy implements Connection, Spy
 
   public void setHoldability(int holdability) throws SQLException
   {
-    String methodCall = "setHoldability(" + holdability + ")";
     try
     {
       realConnection.setHoldability(holdability);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setHoldability", holdability), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setHoldability", holdability));
+    }
   }
 
   public CallableStatement prepareCall(String sql) throws SQLException
   {
-    String methodCall = "prepareCall(" + sql + ")";
+    MethodCall methodCall = new MethodCall("prepareCall", sql);
     try
     {
       CallableStatement statement = realConnection.prepareCall(sql);
@@ -595,7 +763,7 @@ public class ConnectionSpy implements Connection, Spy
 
   public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException
   {
-    String methodCall = "prepareCall(" + sql + ", " + resultSetType + ", " + resultSetConcurrency + ")";
+    MethodCall methodCall = new MethodCall("prepareCall", sql, resultSetType, resultSetConcurrency);
     try
     {
       CallableStatement statement = realConnection.prepareCall(sql, resultSetType, resultSetConcurrency);
@@ -611,7 +779,7 @@ public class ConnectionSpy implements Connection, Spy
   public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
                                        int resultSetHoldability) throws SQLException
   {
-    String methodCall = "prepareCall(" + sql + ", " + resultSetType + ", " + resultSetConcurrency + ", " + resultSetHoldability + ")";
+    MethodCall methodCall = new MethodCall("prepareCall", sql, resultSetType, resultSetConcurrency, resultSetHoldability);
     try
     {
       CallableStatement statement = realConnection.prepareCall(sql, resultSetType, resultSetConcurrency,
@@ -627,22 +795,24 @@ public class ConnectionSpy implements Connection, Spy
 
   public void setCatalog(String catalog) throws SQLException
   {
-    String methodCall = "setCatalog(" + catalog + ")";
     try
     {
       realConnection.setCatalog(catalog);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setCatalog", catalog), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setCatalog", catalog));
+    }
   }
 
   public String nativeSQL(String sql) throws SQLException
   {
-    String methodCall = "nativeSQL(" + sql + ")";
+    MethodCall methodCall = new MethodCall("nativeSQL", sql);
     try
     {
       return reportReturn(methodCall, realConnection.nativeSQL(sql));
@@ -670,17 +840,19 @@ public class ConnectionSpy implements Connection, Spy
 
   public void setAutoCommit(boolean autoCommit) throws SQLException
   {
-    String methodCall = "setAutoCommit(" + autoCommit + ")";
     try
     {
       realConnection.setAutoCommit(autoCommit);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setAutoCommit", autoCommit), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setAutoCommit", autoCommit));
+    }
   }
 
   public String getCatalog() throws SQLException
@@ -700,32 +872,36 @@ public class ConnectionSpy implements Connection, Spy
   public void setTypeMap(java.util.Map<String,Class<?>> map) throws SQLException
   {
     //todo: dump map??
-    String methodCall = "setTypeMap(" + map + ")";
     try
     {
       realConnection.setTypeMap(map);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTypeMap", map), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTypeMap", map));
+    }
   }
 
   public void setTransactionIsolation(int level) throws SQLException
   {
-    String methodCall = "setTransactionIsolation(" + level + ")";
     try
     {
       realConnection.setTransactionIsolation(level);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTransactionIsolation", level), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTransactionIsolation", level));
+    }
   }
 
   public boolean getAutoCommit() throws SQLException
@@ -803,23 +979,32 @@ public class ConnectionSpy implements Connection, Spy
   public void close() throws SQLException
   {
     String methodCall = "close()";
-    long tstart = System.currentTimeMillis();
+    long tstart = System.nanoTime();
     try
     {
       realConnection.close();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s, System.currentTimeMillis() - tstart);
+      reportException(methodCall, s, Utilities.getElapsedTime(tstart));
       throw s;
     }
     finally
     {
-      synchronized (connectionTracker)
+      // the count is decremented only once if the connection is closed several times
+      TrackedConnection tracked = connectionTracker.remove(connectionNumber);
+      if (tracked != null)
       {
-        connectionTracker.remove(connectionNumber);
+        // no need to enqueue it once this ConnectionSpy is collected
+        tracked.clear();
+        openConnectionsCount.decrementAndGet();
+        JdbcStatistics statistics = JdbcStatistics.getInstance();
+        if (statistics != null)
+        {
+          statistics.connectionClosed();
+        }
       }
-      reportClosed(System.currentTimeMillis() - tstart);
+      reportClosed(Utilities.getElapsedTime(tstart));
     }
     reportReturn(methodCall);
   }
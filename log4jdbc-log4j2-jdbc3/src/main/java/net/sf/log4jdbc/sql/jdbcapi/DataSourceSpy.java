@@ -24,7 +24,9 @@ import javax.sql.DataSource;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
 import net.sf.log4jdbc.log.SpyLogFactory;
+import net.sf.log4jdbc.sql.MethodCall;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.Utilities;
 import net.sf.log4jdbc.sql.rdbmsspecifics.RdbmsSpecifics;
 
 
@@ -145,6 +147,8 @@ public class DataSourceSpy implements DataSource, Spy {
         this.realDataSource = realDataSource;
         this.spyLogDelegator = logDelegator;
         this.rdbmsSpecifics = rdbmsSpecifics;
+        //register the JMX statistics, if enabled
+        JdbcStatistics.getInstance();
     }
     
     /**
@@ -193,7 +197,7 @@ public class DataSourceSpy implements DataSource, Spy {
 	 * @param methodCall the method which threw an exception
 	 * @param exception the thrown exception
 	 */
-	protected void reportException(String methodCall, SQLException exception)
+	protected void reportException(CharSequence methodCall, SQLException exception)
 	{
 		spyLogDelegator.exceptionOccured(this, methodCall, exception, null, -1L);
 	}    
@@ -205,7 +209,7 @@ public class DataSourceSpy implements DataSource, Spy {
 	 * @param value the reported value
 	 * @return Object The object originally returned by the method called
 	 */
-	private Object reportReturn(String methodCall, Object value)
+	private Object reportReturn(CharSequence methodCall, Object value)
 	{
 		spyLogDelegator.methodReturned(this, methodCall, "");
 		return value;
@@ -214,14 +218,14 @@ public class DataSourceSpy implements DataSource, Spy {
 	public Connection getConnection() throws SQLException
 	{      
 		String methodCall = "getConnection()";
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			final Connection connection = realDataSource.getConnection();
 			if (spyLogDelegator.isJdbcLoggingEnabled()) {
 			    return (Connection) reportReturn(methodCall, 
 					new ConnectionSpy(connection, this.getRdbmsSpecifics(connection), 
-							          System.currentTimeMillis() - tstart, this.spyLogDelegator));  
+							          Utilities.getElapsedTime(tstart), this.spyLogDelegator));  
 			}
 			//if logging is not enable, return the real connection, 
 			//so that there is no useless costs 
@@ -237,15 +241,15 @@ public class DataSourceSpy implements DataSource, Spy {
 	public Connection getConnection(String username, String password) throws SQLException
 	{
 
-		String methodCall = "getConnection("+ username +", password***)";
-		long tstart = System.currentTimeMillis();      
+		MethodCall methodCall = new MethodCall("getConnection", username, "password***");
+		long tstart = System.nanoTime();      
 		try
 		{
 			final Connection connection = realDataSource.getConnection(username, password);
 			if (spyLogDelegator.isJdbcLoggingEnabled()) {
 			    return (Connection) reportReturn(methodCall, 
 					new ConnectionSpy(connection, this.getRdbmsSpecifics(connection), 
-							          System.currentTimeMillis() - tstart, this.spyLogDelegator));  
+							          Utilities.getElapsedTime(tstart), this.spyLogDelegator));  
 			}
 			//if logging is not enable, return the real connection, 
 			//so that there is no useless costs 
@@ -286,7 +290,7 @@ public class DataSourceSpy implements DataSource, Spy {
 	}
 
 	public void setLoginTimeout(int seconds) throws SQLException {
-		String methodCall = "setLoginTimeout("+ seconds +")";
+		MethodCall methodCall = new MethodCall("setLoginTimeout", seconds);
 		try
 		{
 			realDataSource.setLoginTimeout(seconds);  
@@ -299,7 +303,7 @@ public class DataSourceSpy implements DataSource, Spy {
 	}
 
 	public void setLogWriter(PrintWriter out) throws SQLException {
-		String methodCall = "setLogWriter("+ out +")";
+		MethodCall methodCall = new MethodCall("setLogWriter", out);
 		try
 		{
 			realDataSource.setLogWriter(out);
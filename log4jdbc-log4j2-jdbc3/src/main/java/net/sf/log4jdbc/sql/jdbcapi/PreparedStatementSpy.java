@@ -31,11 +31,13 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.List;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
+import net.sf.log4jdbc.sql.SqlTemplate;
+import net.sf.log4jdbc.sql.Utilities;
 import net.sf.log4jdbc.sql.rdbmsspecifics.RdbmsSpecifics;
 
 /**
@@ -52,9 +54,16 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 {
 
   /**
-   * holds list of bind variables for tracing
+   * The SQL of this statement parsed into its literal segments and parameter 
+   * placeholders, to build the SQL with the bind variables in a single pass.
    */
-  protected final List<String> argTrace = new ArrayList<String>();
+  private SqlTemplate sqlTemplate;
+
+  /**
+   * holds the raw bind variables for tracing, formatted only when the SQL 
+   * is dumped (see <code>dumpedSql()</code>)
+   */
+  private final BindValues argTrace;
 
   // a way to turn on and off type help...
   // todo:  make this a configurable parameter
@@ -62,7 +71,8 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   private static final boolean showTypeHelp = false;
 
   /**
-   * Store an argument (bind variable) into the argTrace list (above) for later dumping.
+   * Store an argument (bind variable) into the argTrace slots (above) for later dumping.
+   * The argument is formatted only if the SQL is dumped.
    *
    * @param i          index of argument being set.
    * @param typeHelper optional additional info about the type that is being set in the arg
@@ -70,10 +80,87 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
    */
   protected void argTraceSet(int i, String typeHelper, Object arg)
   {
-    String tracedArg;
+    i--;  // make the index 0 based
+    synchronized (argTrace)
+    {
+      if (!showTypeHelp)
+      {
+        argTrace.setObject(i, arg);
+      }
+      else
+      {
+        argTrace.setFormatted(i, typeHelper + formatArg(arg));
+      }
+    }
+  }
+
+  protected void argTraceSet(int i, String typeHelper, boolean arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.BOOLEAN, arg ? 1 : 0);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, byte arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.BYTE, arg);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, short arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.SHORT, arg);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, int arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.INT, arg);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, long arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.LONG, arg);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, float arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.FLOAT, Float.floatToRawIntBits(arg));
+  }
+
+  protected void argTraceSet(int i, String typeHelper, double arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.DOUBLE, Double.doubleToRawLongBits(arg));
+  }
+
+  /**
+   * Store a primitive argument, unboxed, into the argTrace slots.
+   *
+   * @param i          index of argument being set.
+   * @param typeHelper optional additional info about the type that is being set in the arg
+   * @param type       the type of the argument, as defined in <code>BindValues</code>
+   * @param bits       the argument, as stored by <code>BindValues</code>
+   */
+  private void argTraceSetPrimitive(int i, String typeHelper, byte type, long bits)
+  {
+    i--;  // make the index 0 based
+    synchronized (argTrace)
+    {
+      argTrace.setPrimitive(i, type, bits);
+      if (showTypeHelp)
+      {
+        argTrace.setFormatted(i, typeHelper + formatArg(argTrace.getValue(i)));
+      }
+    }
+  }
+
+  /**
+   * Format a bind variable for dumping.
+   *
+   * @param arg argument bound.
+   * @return    the argument formatted by the <code>RdbmsSpecifics</code>.
+   */
+  private String formatArg(Object arg)
+  {
     try
     {
-      tracedArg = rdbmsSpecifics.formatParameterObject(arg);
+      return rdbmsSpecifics.formatParameterObject(arg);
     }
     catch (Throwable t)
     {
@@ -84,72 +171,97 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
         t.getMessage() + ")");
 
       // backup - so that at least we won't harm the application using us
-      tracedArg = arg==null?"null":arg.toString();
+      return arg==null?"null":arg.toString();
     }
+  }
 
-    i--;  // make the index 0 based
-    synchronized (argTrace)
+  /**
+   * @return the template of the current SQL, <code>null</code> if the SQL is <code>null</code>.
+   */
+  private SqlTemplate getSqlTemplate()
+  {
+    SqlTemplate template = sqlTemplate;
+    // the sql can be changed by the methods of StatementSpy
+    if (template == null || template.getSql() != sql)
     {
-      // if an object is being inserted out of sequence, fill up missing values with null...
-      while (i >= argTrace.size())
-      {
-        argTrace.add(argTrace.size(), null);
-      }
-      if (!showTypeHelp)
-      {
-        argTrace.set(i, tracedArg);
-      }
-      else
-      {
-        argTrace.set(i, typeHelper + tracedArg);
-      }
+      template = SqlTemplate.getTemplate(sql);
+      sqlTemplate = template;
     }
+    return template;
   }
 
+  /**
+   * @return the SQL of this statement, with its placeholders: all the statements 
+   *         of a batch of a <code>PreparedStatement</code> share it, so that their 
+   *         bind variables do not need to be formatted to report its execution.
+   */
+  protected String getBatchExecutionSql()
+  {
+    return sql;
+  }
 
   protected String dumpedSql()
   {
-    StringBuffer dumpSql = new StringBuffer();
-    int lastPos = 0;
-    int Qpos = sql.indexOf('?', lastPos);  // find position of first question mark
-    int argIdx = 0;
-    String arg;
+    SqlTemplate template = getSqlTemplate();
+    if (template == null)
+    {
+      return null;
+    }
+    synchronized (argTrace)
+    {
+      return dumpedSql(template, argTrace);
+    }
+  }
 
-    while (Qpos != -1)
+  /**
+   * Format the bind variables, and replace the placeholders of <code>template</code> 
+   * with them. Variables not set are dumped as placeholders.
+   *
+   * @param template the SQL of this statement
+   * @param args     the bind variables, that must not be modified concurrently
+   * @return         the SQL with the bind variables
+   */
+  private String dumpedSql(SqlTemplate template, BindValues args)
+  {
+    String[] tracedArgs = new String[Math.min(args.size(), template.getParameterCount())];
+    for (int i = 0; i < tracedArgs.length; i++)
     {
-      // get stored argument
-      synchronized (argTrace)
+      byte type = args.getType(i);
+      if (type == BindValues.FORMATTED)
       {
-        try
-        {
-          arg = argTrace.get(argIdx);
-        }
-        catch (IndexOutOfBoundsException e)
-        {
-          arg = "?";
-        }
+        tracedArgs[i] = (String) args.getValue(i);
       }
-      if (arg == null)
+      else if (type != BindValues.UNSET)
       {
-        arg = "?";
+        tracedArgs[i] = formatArg(args.getValue(i));
       }
+    }
+    return template.fill(Arrays.asList(tracedArgs));
+  }
 
-      argIdx++;
+  /**
+   * A row added to the current batch while the SQL was not logged: a snapshot 
+   * of the bind variables, formatted only if the SQL of the batch is dumped, 
+   * for instance because its execution failed.
+   */
+  private class BatchedSql
+  {
+    private final SqlTemplate template;
+    private final BindValues args;
 
-      dumpSql.append(sql.substring(lastPos, Qpos));  // dump segment of sql up to question mark.
-      lastPos = Qpos + 1;
-      Qpos = sql.indexOf('?', lastPos);
-      dumpSql.append(arg);
-    }
-    if (lastPos < sql.length())
+    private BatchedSql(SqlTemplate template, BindValues args)
     {
-      dumpSql.append(sql.substring(lastPos, sql.length()));  // dump last segment
+      this.template = template;
+      this.args = args;
     }
 
-    return dumpSql.toString();
+    public String toString()
+    {
+      return dumpedSql(template, args);
+    }
   }
 
-  protected void reportAllReturns(String methodCall, String msg)
+  protected void reportAllReturns(CharSequence methodCall, String msg)
   {
     log.methodReturned(this, methodCall, msg);
   }
@@ -189,6 +301,8 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   {
     super(connectionSpy, realPreparedStatement, logDelegator);  // does null check for us
     this.sql = sql;
+    this.sqlTemplate = SqlTemplate.getTemplate(sql);
+    this.argTrace = new BindValues(sqlTemplate == null ? 0 : sqlTemplate.getParameterCount());
     this.realPreparedStatement = realPreparedStatement;
     rdbmsSpecifics = connectionSpy.getRdbmsSpecifics();
   }
@@ -202,7 +316,6 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setTime(int parameterIndex, Time x) throws SQLException
   {
-    String methodCall = "setTime(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(Time)", x);
     try
     {
@@ -210,15 +323,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTime", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTime", parameterIndex, x));
+    }
   }
 
   public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException
   {
-    String methodCall = "setTime(" + parameterIndex + ", " + x + ", " + cal + ")";
     argTraceSet(parameterIndex, "(Time)", x);
     try
     {
@@ -226,15 +341,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTime", parameterIndex, x, cal), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTime", parameterIndex, x, cal));
+    }
   }
 
   public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException
   {
-    String methodCall = "setCharacterStream(" + parameterIndex + ", " + reader + ", " + length + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -242,15 +359,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setCharacterStream", parameterIndex, reader, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setCharacterStream", parameterIndex, reader, length));
+    }
   }
 
   public void setNull(int parameterIndex, int sqlType) throws SQLException
   {
-    String methodCall = "setNull(" + parameterIndex + ", " + sqlType + ")";
     argTraceSet(parameterIndex, null, null);
     try
     {
@@ -258,15 +377,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNull", parameterIndex, sqlType), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNull", parameterIndex, sqlType));
+    }
   }
 
   public void setNull(int paramIndex, int sqlType, String typeName) throws SQLException
   {
-    String methodCall = "setNull(" + paramIndex + ", " + sqlType + ", " + typeName + ")";
     argTraceSet(paramIndex, null, null);
     try
     {
@@ -274,15 +395,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNull", paramIndex, sqlType, typeName), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNull", paramIndex, sqlType, typeName));
+    }
   }
 
   public void setRef(int i, Ref x) throws SQLException
   {
-    String methodCall = "setRef(" + i + ", " + x + ")";
     argTraceSet(i, "(Ref)", x);
     try
     {
@@ -290,31 +413,35 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setRef", i, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setRef", i, x));
+    }
   }
 
   public void setBoolean(int parameterIndex, boolean x) throws SQLException
   {
-    String methodCall = "setBoolean(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(boolean)", x?Boolean.TRUE:Boolean.FALSE);
+    argTraceSet(parameterIndex, "(boolean)", x);
     try
     {
       realPreparedStatement.setBoolean(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBoolean", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBoolean", parameterIndex, x));
+    }
   }
 
   public void setBlob(int i, Blob x) throws SQLException
   {
-    String methodCall = "setBlob(" + i + ", " + x + ")";
     argTraceSet(i, "(Blob)", 
       x==null?null:("<Blob of size " + x.length() + ">"));
     try
@@ -323,15 +450,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBlob", i, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBlob", i, x));
+    }
   }
 
   public void setClob(int i, Clob x) throws SQLException
   {
-    String methodCall = "setClob(" + i + ", " + x + ")";
     argTraceSet(i, "(Clob)",
       x==null?null:("<Clob of size " + x.length() + ">"));
     try
@@ -340,15 +469,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setClob", i, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setClob", i, x));
+    }
   }
 
   public void setArray(int i, Array x) throws SQLException
   {
-    String methodCall = "setArray(" + i + ", " + x + ")";
     argTraceSet(i, "(Array)", "<Array>");
     try
     {
@@ -356,26 +487,31 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setArray", i, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setArray", i, x));
+    }
   }
 
   public void setByte(int parameterIndex, byte x) throws SQLException
   {
-    String methodCall = "setByte(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(byte)", new Byte(x));
+    argTraceSet(parameterIndex, "(byte)", x);
     try
     {
       realPreparedStatement.setByte(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setByte", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setByte", parameterIndex, x));
+    }
   }
 
   /**
@@ -383,7 +519,6 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
    */
   public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "setUnicodeStream(" + parameterIndex + ", " + x + ", " + length + ")";
     argTraceSet(parameterIndex, "(Unicode InputStream)", "<Unicode InputStream of length " + length + ">");
     try
     {
@@ -391,114 +526,135 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setUnicodeStream", parameterIndex, x, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setUnicodeStream", parameterIndex, x, length));
+    }
   }
 
   public void setShort(int parameterIndex, short x) throws SQLException
   {
-    String methodCall = "setShort(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(short)", new Short(x));
+    argTraceSet(parameterIndex, "(short)", x);
     try
     {
       realPreparedStatement.setShort(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setShort", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setShort", parameterIndex, x));
+    }
   }
 
   public boolean execute() throws SQLException
   {
     String methodCall = "execute()";
-    String dumpedSql = dumpedSql();
-    reportSql(dumpedSql, methodCall);
-    long tstart = System.currentTimeMillis();
+    String dumpedSql = sampleSql(sql, true) ? dumpedSql() : null;
+    if (dumpedSql != null)
+    {
+      reportSql(dumpedSql, methodCall);
+    }
+    long tstart = System.nanoTime();
     try
     {
       boolean result = realPreparedStatement.execute();
-      reportSqlTiming(System.currentTimeMillis() - tstart, dumpedSql, methodCall);
+      long execTime = recordExecution(tstart, sql, true);
+      reportExecution(execTime, sql, methodCall);
+      if (isSqlTimingReported(execTime))
+      {
+        reportSqlTiming(execTime, dumpedSql != null ? dumpedSql : dumpedSql(), methodCall);
+      }
       return reportReturn(methodCall, result);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s, dumpedSql, System.currentTimeMillis() - tstart);
+      reportException(methodCall, s, dumpedSql != null ? dumpedSql : dumpedSql(), 
+          Utilities.getElapsedTime(tstart));
       throw s;
     }
   }
 
   public void setInt(int parameterIndex, int x) throws SQLException
   {
-    String methodCall = "setInt(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(int)", new Integer(x));
+    argTraceSet(parameterIndex, "(int)", x);
     try
     {
       realPreparedStatement.setInt(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setInt", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setInt", parameterIndex, x));
+    }
   }
 
   public void setLong(int parameterIndex, long x) throws SQLException
   {
-    String methodCall = "setLong(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(long)", new Long(x));
+    argTraceSet(parameterIndex, "(long)", x);
     try
     {
       realPreparedStatement.setLong(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setLong", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setLong", parameterIndex, x));
+    }
   }
 
   public void setFloat(int parameterIndex, float x) throws SQLException
   {
-    String methodCall = "setFloat(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(float)", new Float(x));
+    argTraceSet(parameterIndex, "(float)", x);
     try
     {
       realPreparedStatement.setFloat(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setFloat", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setFloat", parameterIndex, x));
+    }
   }
 
   public void setDouble(int parameterIndex, double x) throws SQLException
   {
-    String methodCall = "setDouble(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(double)", new Double(x));
+    argTraceSet(parameterIndex, "(double)", x);
     try
     {
       realPreparedStatement.setDouble(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setDouble", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setDouble", parameterIndex, x));
+    }
   }
 
   public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException
   {
-    String methodCall = "setBigDecimal(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(BigDecimal)", x);
     try
     {
@@ -506,15 +662,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBigDecimal", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBigDecimal", parameterIndex, x));
+    }
   }
 
   public void setURL(int parameterIndex, URL x) throws SQLException
   {
-    String methodCall = "setURL(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(URL)", x);
 
     try
@@ -523,15 +681,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setURL", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setURL", parameterIndex, x));
+    }
   }
 
   public void setString(int parameterIndex, String x) throws SQLException
   {
-    String methodCall = "setString(" + parameterIndex + ", \"" + x + "\")";
     argTraceSet(parameterIndex, "(String)", x);
 
     try
@@ -540,16 +700,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setString", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setString", parameterIndex, x));
+    }
   }
 
   public void setBytes(int parameterIndex, byte[] x) throws SQLException
   {
     //todo: dump array?
-    String methodCall = "setBytes(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(byte[])", "<byte[]>");
     try
     {
@@ -557,15 +719,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBytes", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBytes", parameterIndex, x));
+    }
   }
 
   public void setDate(int parameterIndex, Date x) throws SQLException
   {
-    String methodCall = "setDate(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(Date)", x);
     try
     {
@@ -573,10 +737,13 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setDate", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setDate", parameterIndex, x));
+    }
   }
 
   public ParameterMetaData getParameterMetaData() throws SQLException
@@ -595,7 +762,6 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException
   {
-    String methodCall = "setDate(" + parameterIndex + ", " + x + ", " + cal + ")";
     argTraceSet(parameterIndex, "(Date)", x);
 
     try
@@ -604,34 +770,50 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setDate", parameterIndex, x, cal), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setDate", parameterIndex, x, cal));
+    }
   }
 
   public ResultSet executeQuery() throws SQLException
   {
     String methodCall = "executeQuery()";
-    String dumpedSql = dumpedSql();
-    reportSql(dumpedSql, methodCall);
-    long tstart = System.currentTimeMillis();
+    String dumpedSql = sampleSql(sql, true) ? dumpedSql() : null;
+    if (dumpedSql != null)
+    {
+      reportSql(dumpedSql, methodCall);
+    }
+    long tstart = System.nanoTime();
     try
     {
       ResultSet r = realPreparedStatement.executeQuery();
-      reportSqlTiming(System.currentTimeMillis() - tstart, dumpedSql, methodCall);
+      long execTime = recordExecution(tstart, sql, true);
+      reportExecution(execTime, sql, methodCall);
+      if (isSqlTimingReported(execTime))
+      {
+        reportSqlTiming(execTime, dumpedSql != null ? dumpedSql : dumpedSql(), methodCall);
+      }
       ResultSetSpy rsp = new ResultSetSpy(this, r, this.log);
       return (ResultSet) reportReturn(methodCall, rsp);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s, dumpedSql, System.currentTimeMillis() - tstart);
+      reportException(methodCall, s, dumpedSql != null ? dumpedSql : dumpedSql(), 
+          Utilities.getElapsedTime(tstart));
       throw s;
     }
   }
 
   private String getTypeHelp(Object x)
   {
+    if (!showTypeHelp)
+    {
+      return null;
+    }
     if (x==null)
     {
       return "(null)";
@@ -641,7 +823,6 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setObject(int parameterIndex, Object x, int targetSqlType, int scale) throws SQLException
   {
-    String methodCall = "setObject(" + parameterIndex + ", " + x + ", " + targetSqlType + ", " + scale + ")";
     argTraceSet(parameterIndex, getTypeHelp(x), x);
 
     try
@@ -650,17 +831,19 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setObject", parameterIndex, x, targetSqlType, scale), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setObject", parameterIndex, x, targetSqlType, scale));
+    }
   }
 
   
 
   public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException
   {
-    String methodCall = "setObject(" + parameterIndex + ", " + x + ", " + targetSqlType + ")";
     argTraceSet(parameterIndex, getTypeHelp(x), x);
     try
     {
@@ -668,15 +851,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setObject", parameterIndex, x, targetSqlType), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setObject", parameterIndex, x, targetSqlType));
+    }
   }
 
   public void setObject(int parameterIndex, Object x) throws SQLException
   {
-    String methodCall = "setObject(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, getTypeHelp(x), x);
     try
     {
@@ -684,15 +869,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setObject", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setObject", parameterIndex, x));
+    }
   }
 
   public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException
   {
-    String methodCall = "setTimestamp(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(Date)", x);
     try
     {
@@ -700,15 +887,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTimestamp", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTimestamp", parameterIndex, x));
+    }
   }
 
   public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException
   {
-    String methodCall = "setTimestamp(" + parameterIndex + ", " + x + ", " + cal + ")";
     argTraceSet(parameterIndex, "(Timestamp)", x);
     try
     {
@@ -716,27 +905,40 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTimestamp", parameterIndex, x, cal), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTimestamp", parameterIndex, x, cal));
+    }
   }
 
   public int executeUpdate() throws SQLException
   {
     String methodCall = "executeUpdate()";
-    String dumpedSql = dumpedSql();
-    reportSql(dumpedSql, methodCall);
-    long tstart = System.currentTimeMillis();
+    String dumpedSql = sampleSql(sql, true) ? dumpedSql() : null;
+    if (dumpedSql != null)
+    {
+      reportSql(dumpedSql, methodCall);
+    }
+    long tstart = System.nanoTime();
     try
     {
       int result = realPreparedStatement.executeUpdate();
-      reportSqlTiming(System.currentTimeMillis() - tstart, dumpedSql, methodCall);
+      long execTime = recordExecution(tstart, sql, true);
+      reportExecution(execTime, sql, methodCall);
+      if (isSqlTimingReported(execTime))
+      {
+        reportSqlTiming(execTime, dumpedSql != null ? dumpedSql : dumpedSql(), methodCall);
+      }
+      reportUpdateCount(methodCall, result);
       return reportReturn(methodCall, result);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s, dumpedSql, System.currentTimeMillis() - tstart);
+      reportException(methodCall, s, dumpedSql != null ? dumpedSql : dumpedSql(), 
+          Utilities.getElapsedTime(tstart));
       throw s;
     }
   }
@@ -744,12 +946,11 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   @Override
   public ResultSet getGeneratedKeys() throws SQLException
   {
-	  return this.getGeneratedKeys(dumpedSql());
+	  return this.getGeneratedKeys(isSqlLoggingEnabled() && sqlSampled ? dumpedSql() : sql);
   }
 
   public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "setAsciiStream(" + parameterIndex + ", " + x + ", " + length + ")";
     argTraceSet(parameterIndex, "(Ascii InputStream)", "<Ascii InputStream of length " + length + ">");
     try
     {
@@ -757,15 +958,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setAsciiStream", parameterIndex, x, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setAsciiStream", parameterIndex, x, length));
+    }
   }
 
   public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "setBinaryStream(" + parameterIndex + ", " + x + ", " + length + ")";
     argTraceSet(parameterIndex, "(Binary InputStream)", "<Binary InputStream of length " + length + ">");
     try
     {
@@ -773,10 +976,13 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBinaryStream", parameterIndex, x, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBinaryStream", parameterIndex, x, length));
+    }
   }
 
   public void clearParameters() throws SQLException
@@ -817,7 +1023,20 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   public void addBatch() throws SQLException
   {
     String methodCall = "addBatch()";
-    currentBatch.add(dumpedSql());
+    // format the bind variables only if needed: when the statements are sampled, 
+    // whether the batch is logged is known only when it is executed
+    SqlTemplate template = getSqlTemplate();
+    if (template == null || (isSqlLoggingEnabled() && SqlSampler.getInstance() == null))
+    {
+      currentBatch.add(dumpedSql());
+    }
+    else
+    {
+      synchronized (argTrace)
+      {
+        currentBatch.add(new BatchedSql(template, argTrace.copy()));
+      }
+    }
     try
     {
       realPreparedStatement.addBatch();
@@ -35,9 +35,11 @@ import java.util.Calendar;
 import java.util.Map;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
 import net.sf.log4jdbc.sql.Spy;
 import net.sf.log4jdbc.sql.resultsetcollector.DefaultResultSetCollector;
 import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollector;
+import net.sf.log4jdbc.sql.resultsetcollector.ResultSetMethod;
 
 /**
  * Wraps a ResultSet and reports method calls, returns and exceptions.
@@ -62,7 +64,7 @@ public class ResultSetSpy implements ResultSet, Spy
    * @param methodCall description of method call and arguments passed to it that generated the exception.
    * @param exception exception that was generated
    */
-  protected void reportException(String methodCall, SQLException exception)
+  protected void reportException(CharSequence methodCall, SQLException exception)
   {
     log.exceptionOccured(this, methodCall, exception, null, -1L);
   }
@@ -87,14 +89,16 @@ public class ResultSetSpy implements ResultSet, Spy
    * @param methodCall description of method call and arguments passed to it that returned.
    * @param msg description of what the return value that was returned.  may be an empty String for void return types.
    */
-  protected void reportAllReturns(String methodCall, Object returnValue, Object... methodParams)
+  protected void reportAllReturns(ResultSetMethod method, CharSequence methodCall, 
+      Object returnValue, Object... methodParams)
   {
                 
     if (resultSetCollector != null)
     {
      
       // Give the result set collector a chance to do its work
-      boolean finished = resultSetCollector.methodReturned(this, methodCall, returnValue, realResultSet, methodParams);
+      boolean finished = resultSetCollector.methodReturned(this, method, methodCall, 
+              returnValue, realResultSet, methodParams);
       if (finished)
       {
                 
@@ -103,6 +107,10 @@ public class ResultSetSpy implements ResultSet, Spy
       }
     }
     
+    if (!log.isResultSetLoggingEnabled())
+    {
+      return;
+    }
     String toString = "void";
     if (returnValue != null) {
     	toString = returnValue.toString();
@@ -110,6 +118,21 @@ public class ResultSetSpy implements ResultSet, Spy
     log.methodReturned(this, methodCall, toString);
   }  
 
+  /**
+   * Determine whether the returns of the methods called on this <code>ResultSetSpy</code> 
+   * need to be reported, either to be collected by the <code>ResultSetCollector</code>, 
+   * or to be logged. When they do not, the getters do not call 
+   * {@link #reportReturn(CharSequence, Object, Object...)}, so that they do not create 
+   * any object (no method call description, no boxing of primitive values, 
+   * no array of parameters).
+   * 
+   * @return 	<code>true</code> if the returns of the methods need to be reported.
+   */
+  private boolean isReturnReportingEnabled()
+  {
+    return resultSetCollector != null || log.isResultSetLoggingEnabled();
+  }
+
   private ResultSet realResultSet;
 
   /**
@@ -184,9 +207,25 @@ public class ResultSetSpy implements ResultSet, Spy
    * @param value return T.
    * @return the return Object as passed in.
    */  
-  protected <T> T reportReturn(String methodCall, T returnValue, Object... args)
+  protected <T> T reportReturn(CharSequence methodCall, T returnValue, Object... args)
+  {
+    reportAllReturns(ResultSetMethod.OTHER, methodCall, returnValue, args);
+    return returnValue;
+  }  
+
+  /**
+   * Conveniance method to report (for logging) that a method returned an Object, 
+   * identifying the method for the <code>ResultSetCollector</code>.
+   *
+   * @param method the <code>ResultSetMethod</code> identifying the method.
+   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param value return T.
+   * @return the return Object as passed in.
+   */  
+  protected <T> T reportReturn(ResultSetMethod method, CharSequence methodCall, T returnValue, 
+      Object... args)
   {
-    reportAllReturns(methodCall, returnValue, args);
+    reportAllReturns(method, methodCall, returnValue, args);
     return returnValue;
   }  
 
@@ -194,7 +233,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateAsciiStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateAsciiStream", columnIndex, x, length);
     try
     {
       realResultSet.updateAsciiStream(columnIndex, x, length);
@@ -209,7 +248,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateAsciiStream(String columnName, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateAsciiStream(" + columnName + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateAsciiStream", columnName, x, length);
     try
     {
       realResultSet.updateAsciiStream(columnName, x, length);
@@ -253,63 +292,79 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Time getTime(int columnIndex) throws SQLException
   {
-    String methodCall = "getTime(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTime(columnIndex), columnIndex);
+      Time value = realResultSet.getTime(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTime", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTime", columnIndex), s);
       throw s;
     }
   }
 
   public Time getTime(String columnName) throws SQLException
   {
-    String methodCall = "getTime(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTime(columnName), columnName);
+      Time value = realResultSet.getTime(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTime", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTime", columnName), s);
       throw s;
     }
   }
 
   public Time getTime(int columnIndex, Calendar cal) throws SQLException
   {
-    String methodCall = "getTime(" + columnIndex + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTime(columnIndex, cal), columnIndex, cal);
+      Time value = realResultSet.getTime(columnIndex, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTime", columnIndex, cal), value, columnIndex, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTime", columnIndex, cal), s);
       throw s;
     }
   }
 
   public Time getTime(String columnName, Calendar cal) throws SQLException
   {
-    String methodCall = "getTime(" + columnName + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTime(columnName, cal), columnName, cal);
+      Time value = realResultSet.getTime(columnName, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTime", columnName, cal), value, columnName, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTime", columnName, cal), s);
       throw s;
     }
   }
 
   public boolean absolute(int row) throws SQLException
   {
-    String methodCall = "absolute(" + row + ")";
+    MethodCall methodCall = new MethodCall("absolute", row);
     try
     {
       return reportReturn(methodCall, realResultSet.absolute(row), row);
@@ -323,28 +378,36 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Timestamp getTimestamp(int columnIndex) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTimestamp(columnIndex), columnIndex);
+      Timestamp value = realResultSet.getTimestamp(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTimestamp", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTimestamp", columnIndex), s);
       throw s;
     }
   }
 
   public Timestamp getTimestamp(String columnName) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTimestamp(columnName), columnName);
+      Timestamp value = realResultSet.getTimestamp(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTimestamp", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTimestamp", columnName), s);
       throw s;
     }
 
@@ -352,14 +415,18 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnIndex + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTimestamp(columnIndex, cal), columnIndex, cal);
+      Timestamp value = realResultSet.getTimestamp(columnIndex, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTimestamp", columnIndex, cal), value, columnIndex, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTimestamp", columnIndex, cal), s);
       throw s;
     }
 
@@ -367,15 +434,18 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Timestamp getTimestamp(String columnName, Calendar cal) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnName + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTimestamp(columnName, cal), 
-    		  columnName, cal);
+      Timestamp value = realResultSet.getTimestamp(columnName, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTimestamp", columnName, cal), value, columnName, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTimestamp", columnName, cal), s);
       throw s;
     }
   }
@@ -397,7 +467,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public boolean relative(int rows) throws SQLException
   {
-    String methodCall = "relative(" + rows + ")";
+    MethodCall methodCall = new MethodCall("relative", rows);
     try
     {
       return reportReturn(methodCall, realResultSet.relative(rows), rows);
@@ -440,21 +510,25 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Ref getRef(int i) throws SQLException
   {
-    String methodCall = "getRef(" + i + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getRef(i), i);
+      Ref value = realResultSet.getRef(i);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getRef", i), value, i);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getRef", i), s);
       throw s;
     }
   }
 
   public void updateRef(int columnIndex, Ref x) throws SQLException
   {
-    String methodCall = "updateRef(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateRef", columnIndex, x);
     try
     {
       realResultSet.updateRef(columnIndex, x);
@@ -469,21 +543,25 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Ref getRef(String colName) throws SQLException
   {
-    String methodCall = "getRef(" + colName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getRef(colName), colName);
+      Ref value = realResultSet.getRef(colName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getRef", colName), value, colName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getRef", colName), s);
       throw s;
     }
   }
 
   public void updateRef(String columnName, Ref x) throws SQLException
   {
-    String methodCall = "updateRef(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateRef", columnName, x);
     try
     {
       realResultSet.updateRef(columnName, x);
@@ -498,21 +576,25 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Blob getBlob(int i) throws SQLException
   {
-    String methodCall = "getBlob(" + i + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBlob(i), i);
+      Blob value = realResultSet.getBlob(i);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBlob", i), value, i);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBlob", i), s);
       throw s;
     }
   }
 
   public void updateBlob(int columnIndex, Blob x) throws SQLException
   {
-    String methodCall = "updateBlob(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBlob", columnIndex, x);
     try
     {
       realResultSet.updateBlob(columnIndex, x);
@@ -527,21 +609,25 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Blob getBlob(String colName) throws SQLException
   {
-    String methodCall = "getBlob(" + colName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBlob(colName), colName);
+      Blob value = realResultSet.getBlob(colName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBlob", colName), value, colName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBlob", colName), s);
       throw s;
     }
   }
 
   public void updateBlob(String columnName, Blob x) throws SQLException
   {
-    String methodCall = "updateBlob(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBlob", columnName, x);
     try
     {
       realResultSet.updateBlob(columnName, x);
@@ -556,21 +642,25 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Clob getClob(int i) throws SQLException
   {
-    String methodCall = "getClob(" + i + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getClob(i), i);
+      Clob value = realResultSet.getClob(i);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getClob", i), value, i);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getClob", i), s);
       throw s;
     }
   }
 
   public void updateClob(int columnIndex, Clob x) throws SQLException
   {
-    String methodCall = "updateClob(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateClob", columnIndex, x);
     try
     {
       realResultSet.updateClob(columnIndex, x);
@@ -585,21 +675,25 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Clob getClob(String colName) throws SQLException
   {
-    String methodCall = "getClob(" + colName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getClob(colName), colName);
+      Clob value = realResultSet.getClob(colName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getClob", colName), value, colName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getClob", colName), s);
       throw s;
     }
   }
 
   public void updateClob(String columnName, Clob x) throws SQLException
   {
-    String methodCall = "updateClob(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateClob", columnName, x);
     try
     {
       realResultSet.updateClob(columnName, x);
@@ -614,49 +708,61 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public boolean getBoolean(int columnIndex) throws SQLException
   {
-    String methodCall = "getBoolean(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBoolean(columnIndex), columnIndex);
+      boolean value = realResultSet.getBoolean(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBoolean", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBoolean", columnIndex), s);
       throw s;
     }
   }
 
   public boolean getBoolean(String columnName) throws SQLException
   {
-    String methodCall = "getBoolean(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBoolean(columnName), columnName);
+      boolean value = realResultSet.getBoolean(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBoolean", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBoolean", columnName), s);
       throw s;
     }
   }
 
   public Array getArray(int i) throws SQLException
   {
-    String methodCall = "getArray(" + i + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getArray(i), i);
+      Array value = realResultSet.getArray(i);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getArray", i), value, i);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getArray", i), s);
       throw s;
     }
   }
 
   public void updateArray(int columnIndex, Array x) throws SQLException
   {
-    String methodCall = "updateArray(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateArray", columnIndex, x);
     try
     {
       realResultSet.updateArray(columnIndex, x);
@@ -671,21 +777,25 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Array getArray(String colName) throws SQLException
   {
-    String methodCall = "getArray(" + colName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getArray(colName), colName);
+      Array value = realResultSet.getArray(colName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getArray", colName), value, colName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getArray", colName), s);
       throw s;
     }
   }
 
   public void updateArray(String columnName, Array x) throws SQLException
   {
-    String methodCall = "updateArray(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateArray", columnName, x);
     try
     {
       realResultSet.updateArray(columnName, x);
@@ -714,56 +824,72 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public short getShort(int columnIndex) throws SQLException
   {
-    String methodCall = "getShort(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getShort(columnIndex), columnIndex);
+      short value = realResultSet.getShort(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getShort", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getShort", columnIndex), s);
       throw s;
     }
   }
 
   public short getShort(String columnName) throws SQLException
   {
-    String methodCall = "getShort(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getShort(columnName), columnName);
+      short value = realResultSet.getShort(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getShort", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getShort", columnName), s);
       throw s;
     }
   }
 
   public int getInt(int columnIndex) throws SQLException
   {
-    String methodCall = "getInt(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getInt(columnIndex), columnIndex);
+      int value = realResultSet.getInt(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getInt", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getInt", columnIndex), s);
       throw s;
     }
   }
 
   public int getInt(String columnName) throws SQLException
   {
-    String methodCall = "getInt(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getInt(columnName), columnName);
+      int value = realResultSet.getInt(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getInt", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getInt", columnName), s);
       throw s;
     }
   }
@@ -784,7 +910,7 @@ public class ResultSetSpy implements ResultSet, Spy
     	if (resultSetCollector != null)
         {
           // Give the result set collector a chance to fill in unread values from the result set row if that option has been selected
-          resultSetCollector.preMethod(this, methodCall, (Object[]) null);
+          resultSetCollector.preMethod(this, ResultSetMethod.CLOSE, methodCall, (Object[]) null);
         }
     	
         realResultSet.close();
@@ -794,7 +920,7 @@ public class ResultSetSpy implements ResultSet, Spy
       reportException(methodCall, s);
       throw s;
     }
-    reportReturn(methodCall, (Object[]) null);
+    reportReturn(ResultSetMethod.CLOSE, methodCall, (Object[]) null);
   }
 
   public ResultSetMetaData getMetaData() throws SQLException
@@ -802,7 +928,8 @@ public class ResultSetSpy implements ResultSet, Spy
     String methodCall = "getMetaData()";
     try
     {
-      return reportReturn(methodCall, realResultSet.getMetaData(), (Object[]) null);
+      return reportReturn(ResultSetMethod.GET_META_DATA, methodCall, realResultSet.getMetaData(), 
+          (Object[]) null);
     }
     catch (SQLException s)
     {
@@ -827,28 +954,36 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public double getDouble(int columnIndex) throws SQLException
   {
-    String methodCall = "getDouble(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDouble(columnIndex), columnIndex);
+      double value = realResultSet.getDouble(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDouble", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDouble", columnIndex), s);
       throw s;
     }
   }
 
   public double getDouble(String columnName) throws SQLException
   {
-    String methodCall = "getDouble(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDouble(columnName), columnName);
+      double value = realResultSet.getDouble(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDouble", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDouble", columnName), s);
       throw s;
     }
   }
@@ -898,42 +1033,54 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Date getDate(int columnIndex) throws SQLException
   {
-    String methodCall = "getDate(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDate(columnIndex), columnIndex);
+      Date value = realResultSet.getDate(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDate", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDate", columnIndex), s);
       throw s;
     }
   }
 
   public Date getDate(String columnName) throws SQLException
   {
-    String methodCall = "getDate(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDate(columnName), columnName);
+      Date value = realResultSet.getDate(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDate", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDate", columnName), s);
       throw s;
     }
   }
 
   public Date getDate(int columnIndex, Calendar cal) throws SQLException
   {
-    String methodCall = "getDate(" + columnIndex + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDate(columnIndex, cal), columnIndex, cal);
+      Date value = realResultSet.getDate(columnIndex, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDate", columnIndex, cal), value, columnIndex, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDate", columnIndex, cal), s);
       throw s;
     }
 
@@ -941,14 +1088,18 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Date getDate(String columnName, Calendar cal) throws SQLException
   {
-    String methodCall = "getDate(" + columnName + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDate(columnName, cal), columnName, cal);
+      Date value = realResultSet.getDate(columnName, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDate", columnName, cal), value, columnName, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDate", columnName, cal), s);
       throw s;
     }
   }
@@ -997,7 +1148,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateNull(int columnIndex) throws SQLException
   {
-    String methodCall = "updateNull(" + columnIndex + ")";
+    MethodCall methodCall = new MethodCall("updateNull", columnIndex);
     try
     {
       realResultSet.updateNull(columnIndex);
@@ -1012,7 +1163,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateNull(String columnName) throws SQLException
   {
-    String methodCall = "updateNull(" + columnName + ")";
+    MethodCall methodCall = new MethodCall("updateNull", columnName);
     try
     {
       realResultSet.updateNull(columnName);
@@ -1027,7 +1178,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateShort(int columnIndex, short x) throws SQLException
   {
-    String methodCall = "updateShort(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateShort", columnIndex, x);
     try
     {
       realResultSet.updateShort(columnIndex, x);
@@ -1042,7 +1193,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateShort(String columnName, short x) throws SQLException
   {
-    String methodCall = "updateShort(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateShort", columnName, x);
     try
     {
       realResultSet.updateShort(columnName, x);
@@ -1057,7 +1208,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateBoolean(int columnIndex, boolean x) throws SQLException
   {
-    String methodCall = "updateBoolean(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBoolean", columnIndex, x);
     try
     {
       realResultSet.updateBoolean(columnIndex, x);
@@ -1072,7 +1223,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateBoolean(String columnName, boolean x) throws SQLException
   {
-    String methodCall = "updateBoolean(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBoolean", columnName, x);
     try
     {
       realResultSet.updateBoolean(columnName, x);
@@ -1087,7 +1238,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateByte(int columnIndex, byte x) throws SQLException
   {
-    String methodCall = "updateByte(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateByte", columnIndex, x);
     try
     {
       realResultSet.updateByte(columnIndex, x);
@@ -1102,7 +1253,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateByte(String columnName, byte x) throws SQLException
   {
-    String methodCall = "updateByte(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateByte", columnName, x);
     try
     {
       realResultSet.updateByte(columnName, x);
@@ -1117,7 +1268,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateInt(int columnIndex, int x) throws SQLException
   {
-    String methodCall = "updateInt(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateInt", columnIndex, x);
     try
     {
       realResultSet.updateInt(columnIndex, x);
@@ -1132,7 +1283,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateInt(String columnName, int x) throws SQLException
   {
-    String methodCall = "updateInt(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateInt", columnName, x);
     try
     {
       realResultSet.updateInt(columnName, x);
@@ -1147,45 +1298,54 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Object getObject(int columnIndex) throws SQLException
   {
-    String methodCall = "getObject(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getObject(columnIndex), new Object[]
-      { columnIndex });
+      Object value = realResultSet.getObject(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getObject", columnIndex), value, new Object[] { columnIndex });
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getObject", columnIndex), s);
       throw s;
     }
   }
 
   public Object getObject(String columnName) throws SQLException
   {
-    String methodCall = "getObject(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getObject(columnName), new Object[]
-      { columnName });
+      Object value = realResultSet.getObject(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getObject", columnName), value, new Object[] { columnName });
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getObject", columnName), s);
       throw s;
     }
   }
 
   public Object getObject(String colName, Map<String, Class<?>> map) throws SQLException
   {
-    String methodCall = "getObject(" + colName + ", " + map + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getObject(colName, map), new Object[]
-      { colName, map });
+      Object value = realResultSet.getObject(colName, map);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getObject", colName, map), value, new Object[] { colName, map });
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getObject", colName, map), s);
       throw s;
     }
   }
@@ -1198,9 +1358,9 @@ public class ResultSetSpy implements ResultSet, Spy
       if (resultSetCollector != null)
       {
         // Give the result set collector a chance to fill in unread values from the result set row if that option has been selected
-        resultSetCollector.preMethod(this, methodCall, (Object[]) null);
+        resultSetCollector.preMethod(this, ResultSetMethod.NEXT, methodCall, (Object[]) null);
       }
-      return reportReturn(methodCall, realResultSet.next(), (Object[]) null);
+      return reportReturn(ResultSetMethod.NEXT, methodCall, realResultSet.next(), (Object[]) null);
     }
     catch (SQLException s)
     {
@@ -1211,7 +1371,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateLong(int columnIndex, long x) throws SQLException
   {
-    String methodCall = "updateLong(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateLong", columnIndex, x);
     try
     {
       realResultSet.updateLong(columnIndex, x);
@@ -1226,7 +1386,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateLong(String columnName, long x) throws SQLException
   {
-    String methodCall = "updateLong(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateLong", columnName, x);
     try
     {
       realResultSet.updateLong(columnName, x);
@@ -1241,7 +1401,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateFloat(int columnIndex, float x) throws SQLException
   {
-    String methodCall = "updateFloat(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateFloat", columnIndex, x);
     try
     {
       realResultSet.updateFloat(columnIndex, x);
@@ -1257,7 +1417,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateFloat(String columnName, float x) throws SQLException
   {
-    String methodCall = "updateFloat(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateFloat", columnName, x);
     try
     {
       realResultSet.updateFloat(columnName, x);
@@ -1272,7 +1432,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateDouble(int columnIndex, double x) throws SQLException
   {
-    String methodCall = "updateDouble(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateDouble", columnIndex, x);
     try
     {
       realResultSet.updateDouble(columnIndex, x);
@@ -1287,7 +1447,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateDouble(String columnName, double x) throws SQLException
   {
-    String methodCall = "updateDouble(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateDouble", columnName, x);
     try
     {
       realResultSet.updateDouble(columnName, x);
@@ -1308,22 +1468,25 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException
   {
-    String methodCall = "getObject(" + columnIndex + ", " + map + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getObject(columnIndex, map), new Object[]
-      { columnIndex, map });
+      Object value = realResultSet.getObject(columnIndex, map);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getObject", columnIndex, map), value, new Object[] { columnIndex, map });
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getObject", columnIndex, map), s);
       throw s;
     }
   }
 
   public void updateString(int columnIndex, String x) throws SQLException
   {
-    String methodCall = "updateString(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateString", columnIndex, x);
     try
     {
       realResultSet.updateString(columnIndex, x);
@@ -1338,7 +1501,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateString(String columnName, String x) throws SQLException
   {
-    String methodCall = "updateString(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateString", columnName, x);
     try
     {
       realResultSet.updateString(columnName, x);
@@ -1353,35 +1516,43 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public InputStream getAsciiStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getAsciiStream(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getAsciiStream(columnIndex), columnIndex);
+      InputStream value = realResultSet.getAsciiStream(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getAsciiStream", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getAsciiStream", columnIndex), s);
       throw s;
     }
   }
 
   public InputStream getAsciiStream(String columnName) throws SQLException
   {
-    String methodCall = "getAsciiStream(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getAsciiStream(columnName), columnName);
+      InputStream value = realResultSet.getAsciiStream(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getAsciiStream", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getAsciiStream", columnName), s);
       throw s;
     }
   }
 
   public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException
   {
-    String methodCall = "updateBigDecimal(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBigDecimal", columnIndex, x);
     try
     {
       realResultSet.updateBigDecimal(columnIndex, x);
@@ -1396,21 +1567,25 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public URL getURL(int columnIndex) throws SQLException
   {
-    String methodCall = "getURL(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getURL(columnIndex), columnIndex);
+      URL value = realResultSet.getURL(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getURL", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getURL", columnIndex), s);
       throw s;
     }
   }
 
   public void updateBigDecimal(String columnName, BigDecimal x) throws SQLException
   {
-    String methodCall = "updateBigDecimal(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBigDecimal", columnName, x);
     try
     {
       realResultSet.updateBigDecimal(columnName, x);
@@ -1425,14 +1600,18 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public URL getURL(String columnName) throws SQLException
   {
-    String methodCall = "getURL(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getURL(columnName), (Object[]) null);
+      URL value = realResultSet.getURL(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getURL", columnName), value, (Object[]) null);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getURL", columnName), s);
       throw s;
     }
   }
@@ -1440,7 +1619,7 @@ public class ResultSetSpy implements ResultSet, Spy
   public void updateBytes(int columnIndex, byte[] x) throws SQLException
   {
     // todo: dump array?
-    String methodCall = "updateBytes(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBytes", columnIndex, x);
     try
     {
       realResultSet.updateBytes(columnIndex, x);
@@ -1456,7 +1635,7 @@ public class ResultSetSpy implements ResultSet, Spy
   public void updateBytes(String columnName, byte[] x) throws SQLException
   {
     // todo: dump array?
-    String methodCall = "updateBytes(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBytes", columnName, x);
     try
     {
       realResultSet.updateBytes(columnName, x);
@@ -1474,14 +1653,18 @@ public class ResultSetSpy implements ResultSet, Spy
    */
   public InputStream getUnicodeStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getUnicodeStream(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getUnicodeStream(columnIndex), columnIndex);
+      InputStream value = realResultSet.getUnicodeStream(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getUnicodeStream", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getUnicodeStream", columnIndex), s);
       throw s;
     }
   }
@@ -1491,21 +1674,25 @@ public class ResultSetSpy implements ResultSet, Spy
    */
   public InputStream getUnicodeStream(String columnName) throws SQLException
   {
-    String methodCall = "getUnicodeStream(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getUnicodeStream(columnName), columnName);
+      InputStream value = realResultSet.getUnicodeStream(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getUnicodeStream", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getUnicodeStream", columnName), s);
       throw s;
     }
   }
 
   public void updateDate(int columnIndex, Date x) throws SQLException
   {
-    String methodCall = "updateDate(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateDate", columnIndex, x);
     try
     {
       realResultSet.updateDate(columnIndex, x);
@@ -1519,7 +1706,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateDate(String columnName, Date x) throws SQLException
   {
-    String methodCall = "updateDate(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateDate", columnName, x);
     try
     {
       realResultSet.updateDate(columnName, x);
@@ -1562,28 +1749,36 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public InputStream getBinaryStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getBinaryStream(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBinaryStream(columnIndex), columnIndex);
+      InputStream value = realResultSet.getBinaryStream(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBinaryStream", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBinaryStream", columnIndex), s);
       throw s;
     }
   }
 
   public InputStream getBinaryStream(String columnName) throws SQLException
   {
-    String methodCall = "getBinaryStream(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBinaryStream(columnName), columnName);
+      InputStream value = realResultSet.getBinaryStream(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBinaryStream", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBinaryStream", columnName), s);
       throw s;
     }
   }
@@ -1605,7 +1800,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException
   {
-    String methodCall = "updateTimestamp(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateTimestamp", columnIndex, x);
     try
     {
       realResultSet.updateTimestamp(columnIndex, x);
@@ -1620,7 +1815,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateTimestamp(String columnName, Timestamp x) throws SQLException
   {
-    String methodCall = "updateTimestamp(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateTimestamp", columnName, x);
     try
     {
       realResultSet.updateTimestamp(columnName, x);
@@ -1638,7 +1833,7 @@ public class ResultSetSpy implements ResultSet, Spy
     String methodCall = "first()";
     try
     {
-      return reportReturn(methodCall, realResultSet.first(), (Object[]) null);
+      return reportReturn(ResultSetMethod.FIRST, methodCall, realResultSet.first(), (Object[]) null);
     }
     catch (SQLException s)
     {
@@ -1663,7 +1858,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public int findColumn(String columnName) throws SQLException
   {
-    String methodCall = "findColumn(" + columnName + ")";
+    MethodCall methodCall = new MethodCall("findColumn", columnName);
     try
     {
       return reportReturn(methodCall, realResultSet.findColumn(columnName), columnName);
@@ -1680,7 +1875,8 @@ public class ResultSetSpy implements ResultSet, Spy
     String methodCall = "wasNull()";
     try
     {
-      return reportReturn(methodCall, realResultSet.wasNull(), (Object[]) null);
+      return reportReturn(ResultSetMethod.WAS_NULL, methodCall, realResultSet.wasNull(), 
+          (Object[]) null);
     }
     catch (SQLException s)
     {
@@ -1691,7 +1887,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateBinaryStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateBinaryStream", columnIndex, x, length);
     try
     {
       realResultSet.updateBinaryStream(columnIndex, x, length);
@@ -1706,7 +1902,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateBinaryStream(String columnName, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateBinaryStream(" + columnName + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateBinaryStream", columnName, x, length);
     try
     {
       realResultSet.updateBinaryStream(columnName, x, length);
@@ -1721,63 +1917,79 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public String getString(int columnIndex) throws SQLException
   {
-    String methodCall = "getString(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getString(columnIndex), columnIndex);
+      String value = realResultSet.getString(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getString", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getString", columnIndex), s);
       throw s;
     }
   }
 
   public String getString(String columnName) throws SQLException
   {
-    String methodCall = "getString(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getString(columnName), columnName);
+      String value = realResultSet.getString(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getString", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getString", columnName), s);
       throw s;
     }
   }
 
   public Reader getCharacterStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getCharacterStream(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getCharacterStream(columnIndex), columnIndex);
+      Reader value = realResultSet.getCharacterStream(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getCharacterStream", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getCharacterStream", columnIndex), s);
       throw s;
     }
   }
 
   public Reader getCharacterStream(String columnName) throws SQLException
   {
-    String methodCall = "getCharacterStream(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getCharacterStream(columnName), columnName);
+      Reader value = realResultSet.getCharacterStream(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getCharacterStream", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getCharacterStream", columnName), s);
       throw s;
     }
   }
 
   public void setFetchDirection(int direction) throws SQLException
   {
-    String methodCall = "setFetchDirection(" + direction + ")";
+    MethodCall methodCall = new MethodCall("setFetchDirection", direction);
     try
     {
       realResultSet.setFetchDirection(direction);
@@ -1792,7 +2004,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException
   {
-    String methodCall = "updateCharacterStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateCharacterStream", columnIndex, x, length);
     try
     {
       realResultSet.updateCharacterStream(columnIndex, x, length);
@@ -1807,7 +2019,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateCharacterStream(String columnName, Reader reader, int length) throws SQLException
   {
-    String methodCall = "updateCharacterStream(" + columnName + ", " + reader + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateCharacterStream", columnName, reader, length);
     try
     {
       realResultSet.updateCharacterStream(columnName, reader, length);
@@ -1822,35 +2034,43 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public byte getByte(int columnIndex) throws SQLException
   {
-    String methodCall = "getByte(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getByte(columnIndex), columnIndex);
+      byte value = realResultSet.getByte(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getByte", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getByte", columnIndex), s);
       throw s;
     }
   }
 
   public byte getByte(String columnName) throws SQLException
   {
-    String methodCall = "getByte(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getByte(columnName), columnName);
+      byte value = realResultSet.getByte(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getByte", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getByte", columnName), s);
       throw s;
     }
   }
 
   public void updateTime(int columnIndex, Time x) throws SQLException
   {
-    String methodCall = "updateTime(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateTime", columnIndex, x);
     try
     {
       realResultSet.updateTime(columnIndex, x);
@@ -1865,7 +2085,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateTime(String columnName, Time x) throws SQLException
   {
-    String methodCall = "updateTime(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateTime", columnName, x);
     try
     {
       realResultSet.updateTime(columnName, x);
@@ -1880,28 +2100,36 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public byte[] getBytes(int columnIndex) throws SQLException
   {
-    String methodCall = "getBytes(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBytes(columnIndex), columnIndex);
+      byte[] value = realResultSet.getBytes(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBytes", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBytes", columnIndex), s);
       throw s;
     }
   }
 
   public byte[] getBytes(String columnName) throws SQLException
   {
-    String methodCall = "getBytes(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBytes(columnName), (Object[]) null);
+      byte[] value = realResultSet.getBytes(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBytes", columnName), value, (Object[]) null);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBytes", columnName), s);
       throw s;
     }
   }
@@ -1922,7 +2150,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateObject(int columnIndex, Object x, int scale) throws SQLException
   {
-    String methodCall = "updateObject(" + columnIndex + ", " + x + ", " + scale + ")";
+    MethodCall methodCall = new MethodCall("updateObject", columnIndex, x, scale);
     try
     {
       realResultSet.updateObject(columnIndex, x, scale);
@@ -1937,7 +2165,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateObject(int columnIndex, Object x) throws SQLException
   {
-    String methodCall = "updateObject(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateObject", columnIndex, x);
     try
     {
       realResultSet.updateObject(columnIndex, x);
@@ -1952,7 +2180,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateObject(String columnName, Object x, int scale) throws SQLException
   {
-    String methodCall = "updateObject(" + columnName + ", " + x + ", " + scale + ")";
+    MethodCall methodCall = new MethodCall("updateObject", columnName, x, scale);
     try
     {
       realResultSet.updateObject(columnName, x, scale);
@@ -1967,7 +2195,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateObject(String columnName, Object x) throws SQLException
   {
-    String methodCall = "updateObject(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateObject", columnName, x);
     try
     {
       realResultSet.updateObject(columnName, x);
@@ -1996,28 +2224,36 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public long getLong(int columnIndex) throws SQLException
   {
-    String methodCall = "getLong(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getLong(columnIndex), columnIndex);
+      long value = realResultSet.getLong(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getLong", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getLong", columnIndex), s);
       throw s;
     }
   }
 
   public long getLong(String columnName) throws SQLException
   {
-    String methodCall = "getLong(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getLong(columnName), columnName);
+      long value = realResultSet.getLong(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getLong", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getLong", columnName), s);
       throw s;
     }
   }
@@ -2052,28 +2288,36 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public float getFloat(int columnIndex) throws SQLException
   {
-    String methodCall = "getFloat(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getFloat(columnIndex), columnIndex);
+      float value = realResultSet.getFloat(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getFloat", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getFloat", columnIndex), s);
       throw s;
     }
   }
 
   public float getFloat(String columnName) throws SQLException
   {
-    String methodCall = "getFloat(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getFloat(columnName), columnName);
+      float value = realResultSet.getFloat(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getFloat", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getFloat", columnName), s);
       throw s;
     }
   }
@@ -2094,7 +2338,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void setFetchSize(int rows) throws SQLException
   {
-    String methodCall = "setFetchSize(" + rows + ")";
+    MethodCall methodCall = new MethodCall("setFetchSize", rows);
     try
     {
       realResultSet.setFetchSize(rows);
@@ -2142,14 +2386,18 @@ public class ResultSetSpy implements ResultSet, Spy
    */
   public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnIndex + ", " + scale + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBigDecimal(columnIndex, scale), columnIndex, scale);
+      BigDecimal value = realResultSet.getBigDecimal(columnIndex, scale);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBigDecimal", columnIndex, scale), value, columnIndex, scale);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBigDecimal", columnIndex, scale), s);
       throw s;
     }
   }
@@ -2159,42 +2407,54 @@ public class ResultSetSpy implements ResultSet, Spy
    */
   public BigDecimal getBigDecimal(String columnName, int scale) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnName + ", " + scale + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBigDecimal(columnName, scale), columnName, scale);
+      BigDecimal value = realResultSet.getBigDecimal(columnName, scale);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBigDecimal", columnName, scale), value, columnName, scale);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBigDecimal", columnName, scale), s);
       throw s;
     }
   }
 
   public BigDecimal getBigDecimal(int columnIndex) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBigDecimal(columnIndex), columnIndex);
+      BigDecimal value = realResultSet.getBigDecimal(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBigDecimal", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBigDecimal", columnIndex), s);
       throw s;
     }
   }
 
   public BigDecimal getBigDecimal(String columnName) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBigDecimal(columnName), columnName);
+      BigDecimal value = realResultSet.getBigDecimal(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBigDecimal", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBigDecimal", columnName), s);
       throw s;
     }
   }
@@ -0,0 +1,313 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.log4jdbc.Properties;
+import net.sf.log4jdbc.log.statistics.SqlFingerprint;
+
+/**
+ * Decides which SQL statements are reported to the <code>SpyLogDelegator</code>
+ * as <code>sqlOccurred</code> and <code>sqlTimingOccurred</code> events, when the property
+ * "log4jdbc.sql.sampling.rate" or "log4jdbc.sql.sampling.fingerprint.rate" is defined.
+ * The decision is made by <code>StatementSpy</code> before a statement is executed,
+ * and before its SQL is built with the values of its bind variables, so that
+ * the statements not sampled cost almost nothing:
+ * <ul>
+ * <li>1 statement out of the value of the property "log4jdbc.sql.sampling.rate"
+ * is sampled;
+ * <li>among them, at most the value of the property "log4jdbc.sql.sampling.fingerprint.rate"
+ * statements are sampled per second for each fingerprint of SQL statements,
+ * by a token bucket allowing bursts of one second. The fingerprint of the statements
+ * of a <code>PreparedStatement</code> is their SQL with placeholders, the fingerprint
+ * of other statements is computed by <code>SqlFingerprint</code>. The batches
+ * of statements are only sampled by the property "log4jdbc.sql.sampling.rate".
+ * </ul>
+ * The statements not sampled are still reported as <code>sqlTimingOccurred</code> events
+ * when their execution time exceeds <code>SqlTimingWarnThresholdMsec</code>
+ * or <code>SqlTimingErrorThresholdMsec</code> (see {@link #isKept(long)}),
+ * and the failures are always reported as <code>exceptionOccured</code> events,
+ * along with their SQL. Only the SQL logged is sampled: all the statements executed
+ * are still recorded by <code>JdbcStatistics</code>, and reported as
+ * <code>statementExecuted</code> events when <code>SpyLogDelegator.EXECUTION_CATEGORY</code>
+ * is enabled, for instance to compute statistics.
+ * <p>
+ * When the property "log4jdbc.sqltiming.slow.only" is <code>true</code>,
+ * no statement is sampled, so that only the slow and failing statements are reported.
+ *
+ * @author Frederic Bastian
+ * @see StatementSpy#sampleSql(String, boolean)
+ */
+final class SqlSampler
+{
+	/**
+	 * An <code>int</code> that is the maximum number of token buckets stored
+	 * in {@link #buckets}. When it is reached, a bucket is evicted before a new one
+	 * is stored (see {@link #evictBucket(long)}), so that they cannot grow indefinitely
+	 * when the SQL is generated dynamically.
+	 */
+	static final int MAX_BUCKETS = 1024;
+	/**
+	 * A <code>long</code> that is the time in nanoseconds during which
+	 * the tokens of a bucket are accumulated, defining the maximum burst.
+	 */
+	private static final long BUCKET_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * The <code>SqlSampler</code> used, <code>null</code> if sampling is disabled.
+	 * It is loaded at the first call to {@link #getInstance()}, and not when this class
+	 * is initialized, as <code>Properties</code> might not be initialized yet.
+	 */
+	private static volatile SqlSampler instance = null;
+	/**
+	 * A <code>boolean</code> that is <code>true</code> when {@link #instance} was loaded.
+	 */
+	private static volatile boolean instanceLoaded = false;
+
+	/**
+	 * @return 	The <code>SqlSampler</code> used, or <code>null</code> if sampling
+	 * 			is disabled, all statements being then reported.
+	 */
+	static SqlSampler getInstance()
+	{
+		if (!instanceLoaded) {
+			synchronized (SqlSampler.class) {
+				if (!instanceLoaded) {
+					if (Properties.isSqlSamplingEnabled() || Properties.isSqlTimingSlowOnly()) {
+						long keepThresholdNanos = -1;
+						if (Properties.isSqlTimingWarnThresholdEnabled()) {
+							keepThresholdNanos = Properties.getSqlTimingWarnThresholdNanos();
+						}
+						if (Properties.isSqlTimingErrorThresholdEnabled() &&
+								(keepThresholdNanos == -1 ||
+								Properties.getSqlTimingErrorThresholdNanos() < keepThresholdNanos)) {
+							keepThresholdNanos = Properties.getSqlTimingErrorThresholdNanos();
+						}
+						instance = new SqlSampler(
+								Properties.isSqlTimingSlowOnly() ? 0 : Properties.getSqlSamplingRate(),
+								Properties.getSqlSamplingFingerprintRate(), keepThresholdNanos);
+					}
+					instanceLoaded = true;
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Replace the <code>SqlSampler</code> used. This is used by unit tests.
+	 *
+	 * @param sampler 	The <code>SqlSampler</code> to use, or <code>null</code>
+	 * 					to disable sampling.
+	 */
+	static void setInstance(SqlSampler sampler)
+	{
+		synchronized (SqlSampler.class) {
+			instance = sampler;
+			instanceLoaded = true;
+		}
+	}
+
+	/**
+	 * An <code>int</code> defining that 1 statement out of <code>rate</code> is sampled,
+	 * 0 if no statement is sampled.
+	 */
+	private final int rate;
+	/**
+	 * An <code>AtomicLong</code> counting the statements submitted to sampling.
+	 */
+	private final AtomicLong counter;
+	/**
+	 * A <code>long</code> that is the maximum number of statements sampled per second
+	 * for each fingerprint, 0 if there is no limit.
+	 */
+	private final long fingerprintRate;
+	/**
+	 * A <code>long</code> that is the execution time in nanoseconds from which
+	 * the statements not sampled are reported anyway, -1 if they are never reported.
+	 */
+	private final long keepThresholdNanos;
+	/**
+	 * A <code>ConcurrentMap</code> associating the fingerprints of SQL statements
+	 * to their <code>TokenBucket</code>.
+	 */
+	private final ConcurrentMap<String, TokenBucket> buckets;
+
+	/**
+	 * @param rate 					An <code>int</code> defining that 1 statement out
+	 * 								of <code>rate</code> is sampled, 0 to sample none.
+	 * @param fingerprintRate 		A <code>long</code> that is the maximum number
+	 * 								of statements sampled per second for each fingerprint,
+	 * 								0 for no limit.
+	 * @param keepThresholdNanos 	A <code>long</code> that is the execution time
+	 * 								in nanoseconds from which the statements not sampled
+	 * 								are reported anyway, -1 to never report them.
+	 */
+	SqlSampler(int rate, long fingerprintRate, long keepThresholdNanos)
+	{
+		this.rate = Math.max(rate, 0);
+		this.counter = new AtomicLong();
+		this.fingerprintRate = Math.min(Math.max(fingerprintRate, 0), BUCKET_PERIOD_NANOS);
+		this.keepThresholdNanos = keepThresholdNanos;
+		this.buckets = new ConcurrentHashMap<String, TokenBucket>();
+	}
+
+	/**
+	 * Decide whether a statement is sampled, before its execution.
+	 *
+	 * @param sql 				A <code>String</code> that is the SQL of the statement,
+	 * 							with placeholders for the statements of a
+	 * 							<code>PreparedStatement</code>, <code>null</code>
+	 * 							for a batch of statements.
+	 * @param parameterized 	A <code>boolean</code> that is <code>true</code> if
+	 * 							<code>sql</code> has placeholders rather than literal
+	 * 							values, so that it is used as is as fingerprint.
+	 * @return 					<code>true</code> if the statement is sampled.
+	 */
+	boolean isSampled(String sql, boolean parameterized)
+	{
+		return this.isSampled(sql, parameterized, System.nanoTime());
+	}
+
+	/**
+	 * Same as {@link #isSampled(String, boolean)}, at the time <code>nowNanos</code>.
+	 * This is used by unit tests.
+	 */
+	boolean isSampled(String sql, boolean parameterized, long nowNanos)
+	{
+		if (this.rate == 0) {
+			return false;
+		}
+		if (this.rate > 1 && this.counter.getAndIncrement() % this.rate != 0) {
+			return false;
+		}
+		if (this.fingerprintRate == 0 || sql == null) {
+			return true;
+		}
+		String fingerprint = (parameterized ? sql : SqlFingerprint.normalize(sql));
+		TokenBucket bucket = this.buckets.get(fingerprint);
+		if (bucket == null) {
+			if (this.buckets.size() >= MAX_BUCKETS) {
+				this.evictBucket(nowNanos);
+			}
+			TokenBucket newBucket = new TokenBucket(this.fingerprintRate, nowNanos);
+			bucket = this.buckets.putIfAbsent(fingerprint, newBucket);
+			if (bucket == null) {
+				bucket = newBucket;
+			}
+		}
+		return bucket.tryAcquire(nowNanos);
+	}
+
+	/**
+	 * Remove a bucket from {@link #buckets}, preferably a bucket whose tokens 
+	 * were all refilled, as it behaves as a new bucket, so that its eviction does not 
+	 * allow more statements to be sampled; otherwise, the first bucket iterated. 
+	 * Only one bucket is evicted, so that the other fingerprints keep their tokens.
+	 *
+	 * @param nowNanos 	A <code>long</code> that is the current value
+	 * 					of <code>System.nanoTime()</code>.
+	 */
+	private void evictBucket(long nowNanos)
+	{
+		String first = null;
+		Iterator<ConcurrentMap.Entry<String, TokenBucket>> iterator =
+				this.buckets.entrySet().iterator();
+		while (iterator.hasNext()) {
+			ConcurrentMap.Entry<String, TokenBucket> entry = iterator.next();
+			if (entry.getValue().isFull(nowNanos)) {
+				iterator.remove();
+				return;
+			}
+			if (first == null) {
+				first = entry.getKey();
+			}
+		}
+		if (first != null) {
+			this.buckets.remove(first);
+		}
+	}
+
+	/**
+	 * Decide whether a statement not sampled is reported anyway, after its execution,
+	 * because its execution time exceeds <code>SqlTimingWarnThresholdMsec</code>
+	 * or <code>SqlTimingErrorThresholdMsec</code>.
+	 *
+	 * @param execTime 	A <code>long</code> that is the execution time of the statement,
+	 * 					in nanoseconds.
+	 * @return 			<code>true</code> if the statement is reported.
+	 */
+	boolean isKept(long execTime)
+	{
+		return this.keepThresholdNanos >= 0 &&
+				execTime >= this.keepThresholdNanos;
+	}
+
+	/**
+	 * A token bucket, refilled continuously of <code>rate</code> tokens per second,
+	 * with a capacity of <code>rate</code> tokens. The tokens are stored
+	 * as a credit of nanoseconds, a token costing <code>1s / rate</code>.
+	 */
+	private static final class TokenBucket
+	{
+		private final long tokenNanos;
+		private long creditNanos;
+		private long lastNanos;
+
+		private TokenBucket(long rate, long nowNanos)
+		{
+			this.tokenNanos = BUCKET_PERIOD_NANOS / rate;
+			this.creditNanos = BUCKET_PERIOD_NANOS;
+			this.lastNanos = nowNanos;
+		}
+
+		/**
+		 * @param nowNanos 	A <code>long</code> that is the current value
+		 * 					of <code>System.nanoTime()</code>.
+		 * @return 			<code>true</code> if all the tokens are available.
+		 */
+		private synchronized boolean isFull(long nowNanos)
+		{
+			return this.creditNanos + Math.max(nowNanos - this.lastNanos, 0) >= 
+					BUCKET_PERIOD_NANOS;
+		}
+
+		/**
+		 * @param nowNanos 	A <code>long</code> that is the current value
+		 * 					of <code>System.nanoTime()</code>.
+		 * @return 			<code>true</code> if a token was available, and consumed.
+		 */
+		private synchronized boolean tryAcquire(long nowNanos)
+		{
+			long elapsed = nowNanos - this.lastNanos;
+			if (elapsed > 0) {
+				this.creditNanos = Math.min(this.creditNanos +
+						Math.min(elapsed, BUCKET_PERIOD_NANOS), BUCKET_PERIOD_NANOS);
+				this.lastNanos = nowNanos;
+			}
+			if (this.creditNanos < this.tokenNanos) {
+				return false;
+			}
+			this.creditNanos -= this.tokenNanos;
+			return true;
+		}
+	}
+}
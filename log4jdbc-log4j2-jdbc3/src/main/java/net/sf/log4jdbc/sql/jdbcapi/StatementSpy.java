@@ -25,7 +25,9 @@ import java.sql.Statement;
 import java.util.List;
 import java.util.ArrayList;
 
+import net.sf.log4jdbc.Properties;
 import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
 import net.sf.log4jdbc.sql.Spy;
 import net.sf.log4jdbc.sql.Utilities;
 
@@ -61,6 +63,12 @@ import net.sf.log4jdbc.sql.Utilities;
  */
 public class StatementSpy implements Statement, Spy
 {
+	/**
+	 * The SQL identifying the executions of the batches of <code>Statement</code>s, 
+	 * see {@link #getBatchExecutionSql()}.
+	 */
+	protected static final String BATCH_EXECUTION_SQL = "batch";
+
 	protected final SpyLogDelegator log;
 
 	/**
@@ -78,6 +86,12 @@ public class StatementSpy implements Statement, Spy
 	 */
 	protected String sql;
 
+	/**
+	 * Whether the SQL of the last statement executed was sampled 
+	 * (see {@link #sampleSql(String, boolean)}). 
+	 */
+	protected boolean sqlSampled = true;
+
 	/**
 	 * Get the real Statement that this StatementSpy wraps.
 	 *
@@ -145,8 +159,17 @@ public class StatementSpy implements Statement, Spy
 	 * @param sql SQL associated with the call.
 	 * @param execTime amount of time that the jdbc driver was chugging on the SQL before it threw an exception.
 	 */
-	protected void reportException(String methodCall, SQLException exception, String sql, long execTime)
+	protected void reportException(CharSequence methodCall, SQLException exception, String sql, long execTime)
 	{
+		JdbcStatistics statistics = JdbcStatistics.getInstance();
+		//the exceptions suppressed by the property log4jdbc.suppress.generated.keys.exception 
+		//are not errors of the statements
+		if (statistics != null && 
+				!(Properties.isSuppressGetGeneratedKeysException() && 
+				  SpyLogDelegator.GET_GENERATED_KEYS_METHOD_CALL.contentEquals(methodCall)))
+		{
+			statistics.failed();
+		}
 		log.exceptionOccured(this, methodCall, exception, sql, execTime);
 	}
 
@@ -156,7 +179,7 @@ public class StatementSpy implements Statement, Spy
 	 * @param exception exception that was generated
 	 * @param sql SQL associated with the call.
 	 */
-	protected void reportException(String methodCall, SQLException exception, String sql)
+	protected void reportException(CharSequence methodCall, SQLException exception, String sql)
 	{
 		log.exceptionOccured(this, methodCall, exception, sql, -1L);
 	}
@@ -167,7 +190,7 @@ public class StatementSpy implements Statement, Spy
 	 * @param methodCall description of method call and arguments passed to it that generated the exception.
 	 * @param exception exception that was generated
 	 */
-	protected void reportException(String methodCall, SQLException exception)
+	protected void reportException(CharSequence methodCall, SQLException exception)
 	{
 		log.exceptionOccured(this, methodCall, exception, null, -1L);
 	}
@@ -178,11 +201,140 @@ public class StatementSpy implements Statement, Spy
 	 * @param methodCall description of method call and arguments passed to it that returned.
 	 * @param msg description of what the return value that was returned.  may be an empty String for void return types.
 	 */
-	protected void reportAllReturns(String methodCall, String msg)
+	protected void reportAllReturns(CharSequence methodCall, String msg)
 	{
 		log.methodReturned(this, methodCall, msg);
 	}
 
+	/**
+	 * Determine whether the returns of the methods of this class are logged, 
+	 * so that the returned values are not converted into <code>String</code>s for nothing.
+	 *
+	 * @return true if the returns of the methods of this class are logged.
+	 */
+	protected boolean isReturnLoggingEnabled()
+	{
+		return (log.getEnabledCategories() & SpyLogDelegator.AUDIT_CATEGORY) != 0;
+	}
+
+	/**
+	 * Report the number of rows affected by an update, if requested 
+	 * by the <code>SpyLogDelegator</code> (see {@link SpyLogDelegator#UPDATECOUNT_CATEGORY}).
+	 *
+	 * @param methodCall  description of the <code>executeUpdate</code> method call that returned.
+	 * @param updateCount the number of rows affected by the update.
+	 */
+	protected void reportUpdateCount(CharSequence methodCall, int updateCount)
+	{
+		if ((log.getEnabledCategories() & SpyLogDelegator.UPDATECOUNT_CATEGORY) != 0)
+		{
+			log.updateCountReturned(this, methodCall, updateCount);
+		}
+	}
+
+	/**
+	 * Determine whether all the statements executed are reported, whether their SQL 
+	 * is logged or not (see {@link SpyLogDelegator#EXECUTION_CATEGORY}).
+	 *
+	 * @return true if all the statements executed are reported.
+	 */
+	protected boolean isExecutionReportingEnabled()
+	{
+		return (log.getEnabledCategories() & SpyLogDelegator.EXECUTION_CATEGORY) != 0;
+	}
+
+	/**
+	 * Report the successful execution of a statement, if requested by 
+	 * the <code>SpyLogDelegator</code>, independently of the sampling of the SQL logged 
+	 * (see {@link SpyLogDelegator#statementExecuted(Spy, CharSequence, String, long)}).
+	 *
+	 * @param execTime   execution time in nanoseconds.
+	 * @param sql        the SQL executed, with placeholders for a prepared statement, 
+	 *                   as returned by {@link #getBatchExecutionSql()} for a batch.
+	 * @param methodCall description of the method call that executed the SQL.
+	 */
+	protected void reportExecution(long execTime, String sql, CharSequence methodCall)
+	{
+		if (isExecutionReportingEnabled())
+		{
+			log.statementExecuted(this, methodCall, sql, execTime);
+		}
+	}
+
+	/**
+	 * Determine whether the SQL executed is logged, so that the SQL 
+	 * with its bind variables is not built for nothing. Note that exceptions 
+	 * are always reported, along with the SQL.
+	 *
+	 * @return true if the SQL executed is logged, with or without timing.
+	 */
+	protected boolean isSqlLoggingEnabled()
+	{
+		return (log.getEnabledCategories() & (SpyLogDelegator.SQLONLY_CATEGORY | 
+				SpyLogDelegator.SQLTIMING_CATEGORY)) != 0;
+	}
+
+	/**
+	 * Determine, before a statement is executed, and before its SQL is built, 
+	 * whether its SQL is logged: SQL logging must be enabled, and the statement 
+	 * sampled by the <code>SqlSampler</code>, if any (properties 
+	 * "log4jdbc.sql.sampling.rate", "log4jdbc.sql.sampling.fingerprint.rate", and 
+	 * "log4jdbc.sqltiming.slow.only"). 
+	 * The decision is stored in {@link #sqlSampled}.
+	 *
+	 * @param sql           the SQL of the statement, with placeholders for a prepared statement, 
+	 *                      <code>null</code> for a batch.
+	 * @param parameterized true if <code>sql</code> has placeholders rather than literal values.
+	 * @return true if the SQL of the statement is logged.
+	 */
+	protected boolean sampleSql(String sql, boolean parameterized)
+	{
+		SqlSampler sampler = SqlSampler.getInstance();
+		sqlSampled = isSqlLoggingEnabled() && 
+				(sampler == null || sampler.isSampled(sql, parameterized));
+		return sqlSampled;
+	}
+
+	/**
+	 * Record the successful execution of a statement in the <code>JdbcStatistics</code>, 
+	 * if enabled (property "log4jdbc.jmx"), and compute its execution time.
+	 *
+	 * @param tstart        the value of <code>System.nanoTime()</code> when the execution started.
+	 * @param sql           the SQL executed, with placeholders for a prepared statement, 
+	 *                      <code>null</code> for a batch.
+	 * @param parameterized true if <code>sql</code> has placeholders rather than literal values.
+	 * @return the execution time, in nanoseconds.
+	 */
+	protected long recordExecution(long tstart, String sql, boolean parameterized)
+	{
+		long execNanos = System.nanoTime() - tstart;
+		JdbcStatistics statistics = JdbcStatistics.getInstance();
+		if (statistics != null)
+		{
+			statistics.executed(sql, parameterized, execNanos);
+		}
+		return execNanos;
+	}
+
+	/**
+	 * Determine, after a statement was executed, whether its SQL timing is logged: 
+	 * either because it was sampled (see {@link #sampleSql(String, boolean)}), 
+	 * or because its execution was slow.
+	 *
+	 * @param execTime execution time of the statement, in nanoseconds.
+	 * @return true if the SQL timing of the statement is logged.
+	 */
+	protected boolean isSqlTimingReported(long execTime)
+	{
+		if (sqlSampled)
+		{
+			return true;
+		}
+		SqlSampler sampler = SqlSampler.getInstance();
+		return sampler != null && sampler.isKept(execTime) && 
+				(log.getEnabledCategories() & SpyLogDelegator.SQLTIMING_CATEGORY) != 0;
+	}
+
 	/**
 	 * Conveniance method to report (for logging) that a method returned a boolean value.
 	 *
@@ -190,9 +342,12 @@ public class StatementSpy implements Statement, Spy
 	 * @param value boolean return value.
 	 * @return the boolean return value as passed in.
 	 */
-	protected boolean reportReturn(String methodCall, boolean value)
+	protected boolean reportReturn(CharSequence methodCall, boolean value)
 	{
-		reportAllReturns(methodCall, "" + value);
+		if (isReturnLoggingEnabled())
+		{
+			reportAllReturns(methodCall, "" + value);
+		}
 		return value;
 	}
 
@@ -203,9 +358,12 @@ public class StatementSpy implements Statement, Spy
 	 * @param value byte return value.
 	 * @return the byte return value as passed in.
 	 */
-	protected byte reportReturn(String methodCall, byte value)
+	protected byte reportReturn(CharSequence methodCall, byte value)
 	{
-		reportAllReturns(methodCall, "" + value);
+		if (isReturnLoggingEnabled())
+		{
+			reportAllReturns(methodCall, "" + value);
+		}
 		return value;
 	}
 
@@ -216,9 +374,12 @@ public class StatementSpy implements Statement, Spy
 	 * @param value int return value.
 	 * @return the int return value as passed in.
 	 */
-	protected int reportReturn(String methodCall, int value)
+	protected int reportReturn(CharSequence methodCall, int value)
 	{
-		reportAllReturns(methodCall, "" + value);
+		if (isReturnLoggingEnabled())
+		{
+			reportAllReturns(methodCall, "" + value);
+		}
 		return value;
 	}
 
@@ -229,9 +390,12 @@ public class StatementSpy implements Statement, Spy
 	 * @param value double return value.
 	 * @return the double return value as passed in.
 	 */
-	protected double reportReturn(String methodCall, double value)
+	protected double reportReturn(CharSequence methodCall, double value)
 	{
-		reportAllReturns(methodCall, "" + value);
+		if (isReturnLoggingEnabled())
+		{
+			reportAllReturns(methodCall, "" + value);
+		}
 		return value;
 	}
 
@@ -242,9 +406,12 @@ public class StatementSpy implements Statement, Spy
 	 * @param value short return value.
 	 * @return the short return value as passed in.
 	 */
-	protected short reportReturn(String methodCall, short value)
+	protected short reportReturn(CharSequence methodCall, short value)
 	{
-		reportAllReturns(methodCall, "" + value);
+		if (isReturnLoggingEnabled())
+		{
+			reportAllReturns(methodCall, "" + value);
+		}
 		return value;
 	}
 
@@ -255,9 +422,12 @@ public class StatementSpy implements Statement, Spy
 	 * @param value long return value.
 	 * @return the long return value as passed in.
 	 */
-	protected long reportReturn(String methodCall, long value)
+	protected long reportReturn(CharSequence methodCall, long value)
 	{
-		reportAllReturns(methodCall, "" + value);
+		if (isReturnLoggingEnabled())
+		{
+			reportAllReturns(methodCall, "" + value);
+		}
 		return value;
 	}
 
@@ -268,9 +438,12 @@ public class StatementSpy implements Statement, Spy
 	 * @param value float return value.
 	 * @return the float return value as passed in.
 	 */
-	protected float reportReturn(String methodCall, float value)
+	protected float reportReturn(CharSequence methodCall, float value)
 	{
-		reportAllReturns(methodCall, "" + value);
+		if (isReturnLoggingEnabled())
+		{
+			reportAllReturns(methodCall, "" + value);
+		}
 		return value;
 	}
 
@@ -281,9 +454,12 @@ public class StatementSpy implements Statement, Spy
 	 * @param value return Object.
 	 * @return the return Object as passed in.
 	 */
-	protected Object reportReturn(String methodCall, Object value)
+	protected Object reportReturn(CharSequence methodCall, Object value)
 	{
-		reportAllReturns(methodCall, "" + value);
+		if (isReturnLoggingEnabled())
+		{
+			reportAllReturns(methodCall, "" + value);
+		}
 		return value;
 	}
 
@@ -292,9 +468,12 @@ public class StatementSpy implements Statement, Spy
 	 *
 	 * @param methodCall description of method call and arguments passed to it that returned.
 	 */
-	protected void reportReturn(String methodCall)
+	protected void reportReturn(CharSequence methodCall)
 	{
-		reportAllReturns(methodCall, "");
+		if (isReturnLoggingEnabled())
+		{
+			reportAllReturns(methodCall, "");
+		}
 	}
 
 	/**
@@ -303,35 +482,42 @@ public class StatementSpy implements Statement, Spy
 	 * @param sql        the SQL being run
 	 * @param methodCall the name of the method that was running the SQL
 	 */
-	protected void reportStatementSql(String sql, String methodCall)
+	protected void reportStatementSql(String sql, CharSequence methodCall)
 	{
-		// redirect to one more method call ONLY so that stack trace search is consistent
-		// with the reportReturn calls
-		_reportSql(sql, methodCall);
+		if (sampleSql(sql, false))
+		{
+			// redirect to one more method call ONLY so that stack trace search is consistent
+			// with the reportReturn calls
+			_reportSql(sql, methodCall);
+		}
 	}
 
 	/**
 	 * Report SQL for logging with a warning that it was generated from a statement.
 	 *
-	 * @param execTime   execution time in msec.
+	 * @param execTime   execution time in nanoseconds.
 	 * @param sql        the SQL being run
 	 * @param methodCall the name of the method that was running the SQL
 	 */
-	protected void reportStatementSqlTiming(long execTime, String sql, String methodCall)
+	protected void reportStatementSqlTiming(long execTime, String sql, CharSequence methodCall)
 	{
-		// redirect to one more method call ONLY so that stack trace search is consistent
-		// with the reportReturn calls
-		_reportSqlTiming(execTime, sql, methodCall);
+		reportExecution(execTime, sql, methodCall);
+		if (isSqlTimingReported(execTime))
+		{
+			// redirect to one more method call ONLY so that stack trace search is consistent
+			// with the reportReturn calls
+			_reportSqlTiming(execTime, sql, methodCall);
+		}
 	}
 
 	/**
 	 * Report SQL for logging.
 	 *
-	 * @param execTime   execution time in msec.
+	 * @param execTime   execution time in nanoseconds.
 	 * @param sql        the SQL being run
 	 * @param methodCall the name of the method that was running the SQL
 	 */
-	protected void reportSqlTiming(long execTime, String sql, String methodCall)
+	protected void reportSqlTiming(long execTime, String sql, CharSequence methodCall)
 	{
 		// redirect to one more method call ONLY so that stack trace search is consistent
 		// with the reportReturn calls
@@ -344,19 +530,19 @@ public class StatementSpy implements Statement, Spy
 	 * @param sql        the SQL being run
 	 * @param methodCall the name of the method that was running the SQL
 	 */
-	protected void reportSql(String sql, String methodCall)
+	protected void reportSql(String sql, CharSequence methodCall)
 	{
 		// redirect to one more method call ONLY so that stack trace search is consistent
 		// with the reportReturn calls
 		_reportSql(sql, methodCall);
 	}
 
-	private void _reportSql(String sql, String methodCall)
+	private void _reportSql(String sql, CharSequence methodCall)
 	{
 		log.sqlOccurred(this, methodCall, sql);
 	}
 
-	private void _reportSqlTiming(long execTime, String sql, String methodCall)
+	private void _reportSqlTiming(long execTime, String sql, CharSequence methodCall)
 	{
 		log.sqlTimingOccurred(this, execTime, methodCall, sql);
 	}
@@ -378,55 +564,58 @@ public class StatementSpy implements Statement, Spy
 
 	public int executeUpdate(String sql, String[] columnNames) throws SQLException
 	{
-		String methodCall = "executeUpdate(" + sql + ", " + columnNames + ")";
+		MethodCall methodCall = new MethodCall("executeUpdate", sql, columnNames);
 		this.sql = sql;
 		reportStatementSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			int result = realStatement.executeUpdate(sql, columnNames);
-			reportStatementSqlTiming(System.currentTimeMillis() - tstart, sql, methodCall);
+			reportStatementSqlTiming(recordExecution(tstart, sql, false), sql, methodCall);
+			reportUpdateCount(methodCall, result);
 			return reportReturn(methodCall, result);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis() - tstart);
+			reportException(methodCall, s, sql, Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 	}
 
 	public boolean execute(String sql, String[] columnNames) throws SQLException
 	{
-		String methodCall = "execute(" + sql + ", " + columnNames + ")";
+		MethodCall methodCall = new MethodCall("execute", sql, columnNames);
 		this.sql = sql;
 		reportStatementSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			boolean result = realStatement.execute(sql, columnNames);
-			reportStatementSqlTiming(System.currentTimeMillis() - tstart, sql, methodCall);
+			reportStatementSqlTiming(recordExecution(tstart, sql, false), sql, methodCall);
 			return reportReturn(methodCall, result);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis() - tstart);
+			reportException(methodCall, s, sql, Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 	}
 
 	public void setMaxRows(int max) throws SQLException
 	{
-		String methodCall = "setMaxRows(" + max + ")";
 		try
 		{
 			realStatement.setMaxRows(max);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setMaxRows", max), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setMaxRows", max));
+		}
 	}
 
 	public boolean getMoreResults() throws SQLException
@@ -460,14 +649,16 @@ public class StatementSpy implements Statement, Spy
 	}
 
 	/**
-	 * Tracking of current batch (see addBatch, clearBatch and executeBatch)
+	 * Tracking of current batch (see addBatch, clearBatch and executeBatch). 
+	 * Elements are the SQL of each statement added to the batch, or objects 
+	 * whose <code>toString</code> method returns it, to build it only if needed 
+	 * (see <code>PreparedStatementSpy.addBatch()</code>).
 	 * //todo: should access to this List be synchronized?
 	 */
-	protected List<String> currentBatch = new ArrayList<String>();
+	protected List<Object> currentBatch = new ArrayList<Object>();
 
 	public void addBatch(String sql) throws SQLException
 	{
-		String methodCall = "addBatch(" + sql + ")";
 
 		currentBatch.add(sql);
 		try
@@ -476,10 +667,13 @@ public class StatementSpy implements Statement, Spy
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall,s);
+			reportException(new MethodCall("addBatch", sql), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("addBatch", sql));
+		}
 	}
 
 	public int getResultSetType() throws SQLException
@@ -514,70 +708,101 @@ public class StatementSpy implements Statement, Spy
 
 	public void setFetchDirection(int direction) throws SQLException
 	{
-		String methodCall = "setFetchDirection(" + direction + ")";
 		try
 		{
 			realStatement.setFetchDirection(direction);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setFetchDirection", direction), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setFetchDirection", direction));
+		}
 	}
 
 	public int[] executeBatch() throws SQLException
 	{
 		String methodCall = "executeBatch()";
 
-		int j=currentBatch.size();
-		StringBuffer batchReport = new StringBuffer("batching " + j + " statements:");
-
-		int fieldSize = (""+j).length();
-
-		String sql;
-		for (int i=0; i < j;)
+		String sql = sampleSql(null, false) ? batchReport() : null;
+		if (sql != null)
 		{
-			sql = currentBatch.get(i);
-			batchReport.append("\n");
-			batchReport.append(Utilities.rightJustify(fieldSize,""+(++i)));
-			batchReport.append(":  ");
-			batchReport.append(sql);
+			reportSql(sql, methodCall);
 		}
-
-		sql = batchReport.toString();
-		reportSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 
 		int[] updateResults;
 		try
 		{
 			updateResults = realStatement.executeBatch();
-			reportSqlTiming(System.currentTimeMillis()-tstart, sql, methodCall);
+			long execTime = recordExecution(tstart, null, false);
+			reportExecution(execTime, getBatchExecutionSql(), methodCall);
+			if (isSqlTimingReported(execTime))
+			{
+				reportSqlTiming(execTime, sql != null ? sql : batchReport(), methodCall);
+			}
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis()-tstart);
+			reportException(methodCall, s, sql != null ? sql : batchReport(), 
+					Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 		currentBatch.clear();
 		return (int[])reportReturn(methodCall,updateResults);
 	}
 
+	/**
+	 * @return the SQL identifying the execution of the current batch, when reported 
+	 *         independently of the sampling of the SQL logged (see 
+	 *         {@link #reportExecution(long, String, CharSequence)}): the statements 
+	 *         of a batch of a <code>Statement</code> can all be different, so they are 
+	 *         identified by the constant {@link #BATCH_EXECUTION_SQL}, not by their SQL.
+	 */
+	protected String getBatchExecutionSql()
+	{
+		return BATCH_EXECUTION_SQL;
+	}
+
+	/**
+	 * @return the SQL of all the statements of the current batch, to be reported.
+	 */
+	private String batchReport()
+	{
+		int j=currentBatch.size();
+		StringBuilder batchReport = new StringBuilder("batching " + j + " statements:");
+
+		int fieldSize = (""+j).length();
+
+		for (int i=0; i < j;)
+		{
+			Object sql = currentBatch.get(i);
+			batchReport.append("\n");
+			batchReport.append(Utilities.rightJustify(fieldSize,""+(++i)));
+			batchReport.append(":  ");
+			batchReport.append(sql);
+		}
+		return batchReport.toString();
+	}
+
 	public void setFetchSize(int rows) throws SQLException
 	{
-		String methodCall = "setFetchSize(" + rows + ")";
 		try
 		{
 			realStatement.setFetchSize(rows);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setFetchSize", rows), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setFetchSize", rows));
+		}
 	}
 
 	public int getQueryTimeout() throws SQLException
@@ -617,13 +842,17 @@ public class StatementSpy implements Statement, Spy
 	    //use SpyLogDelegator.GET_GENERATED_KEYS_METHOD_CALL to make sure 
 	    //SpyLogDelegator implementations recognize the method call to getGeneratedKeys, 
 	    //in order to satisfy the property log4jdbc.suppress.generated.keys.exception
-		String methodCall = SpyLogDelegator.GET_GENERATED_KEYS_METHOD_CALL;
-		String generatedSql = "getGeneratedKeys on query: " + sql;
-		long tstart = System.currentTimeMillis();
+		CharSequence methodCall = SpyLogDelegator.GET_GENERATED_KEYS_METHOD_CALL;
+		long tstart = System.nanoTime();
 		try
 		{
 			ResultSet r = realStatement.getGeneratedKeys();
-			reportSqlTiming(System.currentTimeMillis() - tstart, generatedSql, methodCall);
+			long execTime = Utilities.getElapsedTime(tstart);
+			//not reported as an execution: no statement is executed
+			if (isSqlTimingReported(execTime))
+			{
+				reportSqlTiming(execTime, getGeneratedKeysSql(sql), methodCall);
+			}
 			if (r == null)
 			{
 				return (ResultSet) reportReturn(methodCall, r);
@@ -638,25 +867,38 @@ public class StatementSpy implements Statement, Spy
             //the condition isSuppressGetGeneratedKeysException.
 //          if (!Properties.isSuppressGetGeneratedKeysException())
 //          {
-				reportException(methodCall, s, generatedSql, System.currentTimeMillis() - tstart);
+				reportException(methodCall, s, getGeneratedKeysSql(sql), 
+						Utilities.getElapsedTime(tstart));
 //			}
 			throw s;
 		}
 	}
 
+	/**
+	 * @param sql 	the SQL query on which generated keys are requested
+	 * @return 		the SQL reported for the call to <code>getGeneratedKeys</code>, 
+	 * 				built only when its timing or an exception is actually reported.
+	 */
+	private static String getGeneratedKeysSql(String sql)
+	{
+		return "getGeneratedKeys on query: " + sql;
+	}
+
 	public void setEscapeProcessing(boolean enable) throws SQLException
 	{
-		String methodCall = "setEscapeProcessing(" + enable + ")";
 		try
 		{
 			realStatement.setEscapeProcessing(enable);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setEscapeProcessing", enable), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setEscapeProcessing", enable));
+		}
 	}
 
 	public int getFetchDirection() throws SQLException
@@ -675,22 +917,24 @@ public class StatementSpy implements Statement, Spy
 
 	public void setQueryTimeout(int seconds) throws SQLException
 	{
-		String methodCall = "setQueryTimeout(" + seconds + ")";
 		try
 		{
 			realStatement.setQueryTimeout(seconds);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setQueryTimeout", seconds), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setQueryTimeout", seconds));
+		}
 	}
 
 	public boolean getMoreResults(int current) throws SQLException
 	{
-		String methodCall = "getMoreResults(" + current + ")";
+		MethodCall methodCall = new MethodCall("getMoreResults", current);
 
 		try
 		{
@@ -705,20 +949,20 @@ public class StatementSpy implements Statement, Spy
 
 	public ResultSet executeQuery(String sql) throws SQLException
 	{
-		String methodCall = "executeQuery(" + sql + ")";
+		MethodCall methodCall = new MethodCall("executeQuery", sql);
 		this.sql = sql;
 		reportStatementSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			ResultSet result = realStatement.executeQuery(sql);
-			reportStatementSqlTiming(System.currentTimeMillis() - tstart, sql, methodCall);
+			reportStatementSqlTiming(recordExecution(tstart, sql, false), sql, methodCall);
 			ResultSetSpy r = new ResultSetSpy(this, result, this.log);
 			return (ResultSet) reportReturn(methodCall, r);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis() - tstart);
+			reportException(methodCall, s, sql, Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 	}
@@ -739,19 +983,20 @@ public class StatementSpy implements Statement, Spy
 
 	public int executeUpdate(String sql) throws SQLException
 	{
-		String methodCall = "executeUpdate(" + sql + ")";
+		MethodCall methodCall = new MethodCall("executeUpdate", sql);
 		this.sql = sql;
 		reportStatementSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			int result = realStatement.executeUpdate(sql);
-			reportStatementSqlTiming(System.currentTimeMillis() - tstart, sql, methodCall);
+			reportStatementSqlTiming(recordExecution(tstart, sql, false), sql, methodCall);
+			reportUpdateCount(methodCall, result);
 			return reportReturn(methodCall, result);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis() - tstart);
+			reportException(methodCall, s, sql, Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 	}
@@ -773,17 +1018,19 @@ public class StatementSpy implements Statement, Spy
 
 	public void setCursorName(String name) throws SQLException
 	{
-		String methodCall = "setCursorName(" + name + ")";
 		try
 		{
 			realStatement.setCursorName(name);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setCursorName", name), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setCursorName", name));
+		}
 	}
 
 	public int getFetchSize() throws SQLException
@@ -830,110 +1077,114 @@ public class StatementSpy implements Statement, Spy
 
 	public void setMaxFieldSize(int max) throws SQLException
 	{
-		String methodCall = "setMaxFieldSize(" + max + ")";
 		try
 		{
 			realStatement.setMaxFieldSize(max);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setMaxFieldSize", max), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setMaxFieldSize", max));
+		}
 	}
 
 	public boolean execute(String sql) throws SQLException
 	{
-		String methodCall = "execute(" + sql + ")";
+		MethodCall methodCall = new MethodCall("execute", sql);
 		this.sql = sql;
 		reportStatementSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			boolean result = realStatement.execute(sql);
-			reportStatementSqlTiming(System.currentTimeMillis() - tstart, sql, methodCall);
+			reportStatementSqlTiming(recordExecution(tstart, sql, false), sql, methodCall);
 			return reportReturn(methodCall, result);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis() - tstart);
+			reportException(methodCall, s, sql, Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 	}
 
 	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException
 	{
-		String methodCall = "executeUpdate(" + sql + ", " + autoGeneratedKeys + ")";
+		MethodCall methodCall = new MethodCall("executeUpdate", sql, autoGeneratedKeys);
 		this.sql = sql;
 		reportStatementSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			int result = realStatement.executeUpdate(sql, autoGeneratedKeys);
-			reportStatementSqlTiming(System.currentTimeMillis() - tstart, sql, methodCall);
+			reportStatementSqlTiming(recordExecution(tstart, sql, false), sql, methodCall);
+			reportUpdateCount(methodCall, result);
 			return reportReturn(methodCall, result);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis() - tstart);
+			reportException(methodCall, s, sql, Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 	}
 
 	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException
 	{
-		String methodCall = "execute(" + sql + ", " + autoGeneratedKeys + ")";
+		MethodCall methodCall = new MethodCall("execute", sql, autoGeneratedKeys);
 		this.sql = sql;
 		reportStatementSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			boolean result = realStatement.execute(sql, autoGeneratedKeys);
-			reportStatementSqlTiming(System.currentTimeMillis() - tstart, sql, methodCall);
+			reportStatementSqlTiming(recordExecution(tstart, sql, false), sql, methodCall);
 			return reportReturn(methodCall, result);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis() - tstart);
+			reportException(methodCall, s, sql, Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 	}
 
 	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException
 	{
-		String methodCall = "executeUpdate(" + sql + ", " + columnIndexes + ")";
+		MethodCall methodCall = new MethodCall("executeUpdate", sql, columnIndexes);
 		this.sql = sql;
 		reportStatementSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			int result = realStatement.executeUpdate(sql, columnIndexes);
-			reportStatementSqlTiming(System.currentTimeMillis() - tstart, sql, methodCall);
+			reportStatementSqlTiming(recordExecution(tstart, sql, false), sql, methodCall);
+			reportUpdateCount(methodCall, result);
 			return reportReturn(methodCall, result);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis() - tstart);
+			reportException(methodCall, s, sql, Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 	}
 
 	public boolean execute(String sql, int[] columnIndexes) throws SQLException
 	{
-		String methodCall = "execute(" + sql + ", " + columnIndexes + ")";
+		MethodCall methodCall = new MethodCall("execute", sql, columnIndexes);
 		this.sql = sql;
 		reportStatementSql(sql, methodCall);
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			boolean result = realStatement.execute(sql, columnIndexes);
-			reportStatementSqlTiming(System.currentTimeMillis() - tstart, sql, methodCall);
+			reportStatementSqlTiming(recordExecution(tstart, sql, false), sql, methodCall);
 			return reportReturn(methodCall, result);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s, sql, System.currentTimeMillis() - tstart);
+			reportException(methodCall, s, sql, Utilities.getElapsedTime(tstart));
 			throw s;
 		}
 	}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter updated concurrently by many threads, and rarely read. The value
+ * is split into several cells, a thread always updating the same cell,
+ * so that the threads do not contend on a single <code>AtomicLong</code>;
+ * the value of the counter is the sum of the cells. The cells are spread
+ * in an <code>AtomicLongArray</code> so that two cells are not on the same cache line.
+ * <p>
+ * This serves the same purpose as <code>java.util.concurrent.atomic.LongAdder</code>,
+ * that is not available in Java 5 to 7.
+ *
+ * @author Frederic Bastian
+ * @see JdbcStatistics
+ */
+final class StripedCounter
+{
+	/**
+	 * An <code>int</code> that is the number of cells, a power of 2 greater than
+	 * or equal to the number of processors, at most 64.
+	 */
+	private static final int CELLS;
+	static {
+		int cells = 1;
+		while (cells < Runtime.getRuntime().availableProcessors() && cells < 64) {
+			cells <<= 1;
+		}
+		CELLS = cells;
+	}
+	/**
+	 * An <code>int</code> that is the number of <code>long</code>s between two cells,
+	 * so that each cell is on its own cache line of 64 bytes.
+	 */
+	private static final int PADDING = 8;
+
+	private final AtomicLongArray cells;
+
+	StripedCounter()
+	{
+		this.cells = new AtomicLongArray(CELLS * PADDING);
+	}
+
+	/**
+	 * @param delta 	A <code>long</code> to add to this counter.
+	 */
+	void add(long delta)
+	{
+		this.cells.getAndAdd(cellIndex(), delta);
+	}
+
+	/**
+	 * Increment this counter by 1.
+	 */
+	void increment()
+	{
+		this.add(1);
+	}
+
+	/**
+	 * @return 	A <code>long</code> that is the sum of the cells. It is not an atomic
+	 * 			snapshot: the updates concurrent to this call might not be included.
+	 */
+	long sum()
+	{
+		long sum = 0;
+		for (int i = 0; i < CELLS; i++) {
+			sum += this.cells.get(i * PADDING);
+		}
+		return sum;
+	}
+
+	/**
+	 * Reset the cells to 0. The updates concurrent to this call might be lost.
+	 */
+	void reset()
+	{
+		for (int i = 0; i < CELLS; i++) {
+			this.cells.set(i * PADDING, 0);
+		}
+	}
+
+	/**
+	 * @return 	An <code>int</code> that is the index in {@link #cells} of the cell
+	 * 			updated by the current thread.
+	 */
+	private static int cellIndex()
+	{
+		long id = Thread.currentThread().getId();
+		int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		return ((hash >>> 16) & (CELLS - 1)) * PADDING;
+	}
+}
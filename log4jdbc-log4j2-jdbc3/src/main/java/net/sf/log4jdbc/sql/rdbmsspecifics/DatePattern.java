@@ -0,0 +1,244 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.rdbmsspecifics;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * An immutable and thread-safe replacement of <code>SimpleDateFormat</code>,
+ * for the numeric patterns used by the <code>RdbmsSpecifics</code>: the pattern
+ * is compiled once, and the fields of a <code>Date</code> are written directly
+ * into a <code>StringBuilder</code>, using a <code>Calendar</code> cached per thread.
+ * A new <code>SimpleDateFormat</code> was previously created for each
+ * <code>Date</code> bound to a <code>PreparedStatement</code>.
+ * <p>
+ * Supported pattern letters are the ones of <code>SimpleDateFormat</code>
+ * for year (<code>y</code>), month in year (<code>M</code>, numeric only),
+ * day in month (<code>d</code>), hour in day (<code>H</code>), minute (<code>m</code>),
+ * second (<code>s</code>), and millisecond (<code>S</code>). Text can be quoted
+ * using single quotes, two single quotes representing a single quote,
+ * as with <code>SimpleDateFormat</code>. Dates are always formatted using
+ * the Gregorian calendar, in the default time zone.
+ *
+ * @author Frederic Bastian
+ */
+public final class DatePattern
+{
+	/**
+	 * The <code>Calendar</code> used by each thread to get the fields of a <code>Date</code>.
+	 */
+	private static final ThreadLocal<Calendar> CALENDARS = new ThreadLocal<Calendar>()
+	{
+		protected Calendar initialValue()
+		{
+			return new GregorianCalendar();
+		}
+	};
+
+	/**
+	 * The <code>String</code> that is the pattern compiled.
+	 */
+	private final String pattern;
+	/**
+	 * The pattern letters of the fields to write, in order, <code>0</code>
+	 * for a literal text.
+	 */
+	private final char[] letters;
+	/**
+	 * The minimum number of digits of each field, the number of times
+	 * its letter was repeated.
+	 */
+	private final int[] widths;
+	/**
+	 * The literal texts, at the index of each field with a letter <code>0</code>.
+	 */
+	private final String[] literals;
+
+	/**
+	 * Compile <code>pattern</code>.
+	 *
+	 * @param pattern 	A <code>String</code> that is the pattern, following the syntax
+	 * 					of <code>SimpleDateFormat</code>.
+	 * @throws IllegalArgumentException 	If <code>pattern</code> contains
+	 * 										an unsupported letter, or an unterminated quote.
+	 */
+	public DatePattern(String pattern)
+	{
+		this.pattern = pattern;
+		List<Character> letters = new ArrayList<Character>();
+		List<Integer> widths = new ArrayList<Integer>();
+		List<String> literals = new ArrayList<String>();
+		StringBuilder literal = new StringBuilder();
+
+		int length = pattern.length();
+		int i = 0;
+		while (i < length) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+					literal.append('\'');
+					i += 2;
+					continue;
+				}
+				//quoted text, up to the closing quote
+				i++;
+				boolean closed = false;
+				while (i < length) {
+					char quoted = pattern.charAt(i);
+					if (quoted == '\'') {
+						if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+							literal.append('\'');
+							i += 2;
+							continue;
+						}
+						i++;
+						closed = true;
+						break;
+					}
+					literal.append(quoted);
+					i++;
+				}
+				if (!closed) {
+					throw new IllegalArgumentException("Unterminated quote in pattern " +
+							pattern);
+				}
+			} else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+				if ("yMdHmsS".indexOf(c) == -1) {
+					throw new IllegalArgumentException("Unsupported letter " + c +
+							" in pattern " + pattern);
+				}
+				if (literal.length() > 0) {
+					letters.add((char) 0);
+					widths.add(0);
+					literals.add(literal.toString());
+					literal.setLength(0);
+				}
+				int start = i;
+				while (i < length && pattern.charAt(i) == c) {
+					i++;
+				}
+				if (c == 'M' && i - start > 2) {
+					throw new IllegalArgumentException("Unsupported textual month" +
+							" in pattern " + pattern);
+				}
+				letters.add(c);
+				widths.add(i - start);
+				literals.add(null);
+			} else {
+				literal.append(c);
+				i++;
+			}
+		}
+		if (literal.length() > 0) {
+			letters.add((char) 0);
+			widths.add(0);
+			literals.add(literal.toString());
+		}
+
+		this.letters = new char[letters.size()];
+		this.widths = new int[letters.size()];
+		for (int j = 0; j < this.letters.length; j++) {
+			this.letters[j] = letters.get(j);
+			this.widths[j] = widths.get(j);
+		}
+		this.literals = literals.toArray(new String[literals.size()]);
+	}
+
+	/**
+	 * @param date 	The <code>Date</code> to format.
+	 * @return 		A <code>String</code> that is <code>date</code> formatted
+	 * 				according to this pattern.
+	 */
+	public String format(Date date)
+	{
+		StringBuilder out = new StringBuilder(this.pattern.length() + 8);
+		this.format(date, out);
+		return out.toString();
+	}
+
+	/**
+	 * Append <code>date</code> formatted according to this pattern to <code>out</code>.
+	 *
+	 * @param date 	The <code>Date</code> to format.
+	 * @param out 	The <code>StringBuilder</code> to append <code>date</code> to.
+	 */
+	public void format(Date date, StringBuilder out)
+	{
+		Calendar calendar = CALENDARS.get();
+		TimeZone zone = TimeZone.getDefault();
+		if (!zone.getID().equals(calendar.getTimeZone().getID())) {
+			calendar.setTimeZone(zone);
+		}
+		calendar.setTimeInMillis(date.getTime());
+
+		for (int i = 0; i < this.letters.length; i++) {
+			int width = this.widths[i];
+			switch (this.letters[i]) {
+			case 'y':
+				int year = calendar.get(Calendar.YEAR);
+				//as SimpleDateFormat, "yy" truncates the year to 2 digits
+				appendPadded(out, width == 2 ? year % 100 : year, width);
+				break;
+			case 'M':
+				appendPadded(out, calendar.get(Calendar.MONTH) + 1, width);
+				break;
+			case 'd':
+				appendPadded(out, calendar.get(Calendar.DAY_OF_MONTH), width);
+				break;
+			case 'H':
+				appendPadded(out, calendar.get(Calendar.HOUR_OF_DAY), width);
+				break;
+			case 'm':
+				appendPadded(out, calendar.get(Calendar.MINUTE), width);
+				break;
+			case 's':
+				appendPadded(out, calendar.get(Calendar.SECOND), width);
+				break;
+			case 'S':
+				appendPadded(out, calendar.get(Calendar.MILLISECOND), width);
+				break;
+			default:
+				out.append(this.literals[i]);
+			}
+		}
+	}
+
+	/**
+	 * Append the positive <code>value</code> to <code>out</code>, left-padded
+	 * with zeros to <code>width</code> digits.
+	 */
+	private static void appendPadded(StringBuilder out, int value, int width)
+	{
+		int digits = 1;
+		for (int remaining = value / 10; remaining > 0; remaining /= 10) {
+			digits++;
+		}
+		for (int i = digits; i < width; i++) {
+			out.append('0');
+		}
+		out.append(value);
+	}
+
+	public String toString()
+	{
+		return this.pattern;
+	}
+}
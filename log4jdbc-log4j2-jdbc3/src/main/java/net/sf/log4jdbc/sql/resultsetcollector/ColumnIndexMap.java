@@ -0,0 +1,116 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.resultsetcollector;
+
+/**
+ * Maps the names of the columns of a <code>ResultSet</code> to their index,
+ * ignoring case, to resolve the calls to getters such as
+ * <code>getString("myColumn")</code>. It is built once per <code>ResultSet</code>,
+ * from its <code>ResultSetMetaData</code>, and is then only read.
+ * <p>
+ * The names are stored as is, in an open-addressing table with linear probing:
+ * the hash of a name is computed ignoring case, and names are compared
+ * with <code>String#equalsIgnoreCase(String)</code>, so that no lower-cased
+ * copy of the name is created at each lookup. As with a <code>Map</code>,
+ * a name put several times is mapped to the last index put.
+ *
+ * @author Frederic Bastian
+ */
+final class ColumnIndexMap
+{
+	private final String[] names;
+	private final int[] hashes;
+	private final int[] indexes;
+	/**
+	 * An <code>int</code> that is the length of the arrays minus 1,
+	 * the length being a power of 2.
+	 */
+	private final int mask;
+
+	/**
+	 * @param expectedSize 	An <code>int</code> that is the maximum number of names
+	 * 						that will be put.
+	 */
+	ColumnIndexMap(int expectedSize)
+	{
+		int capacity = 4;
+		//keep the load factor under 0.5
+		while (capacity < 2 * expectedSize) {
+			capacity <<= 1;
+		}
+		this.names = new String[capacity];
+		this.hashes = new int[capacity];
+		this.indexes = new int[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Map <code>name</code> to <code>index</code>, ignoring case.
+	 *
+	 * @param name 	A <code>String</code> that is the name of a column.
+	 * @param index An <code>int</code> that is the index of the column.
+	 */
+	void put(String name, int index)
+	{
+		int hash = hashIgnoreCase(name);
+		int slot = hash & this.mask;
+		while (this.names[slot] != null) {
+			if (this.hashes[slot] == hash && this.names[slot].equalsIgnoreCase(name)) {
+				this.indexes[slot] = index;
+				return;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		this.names[slot] = name;
+		this.hashes[slot] = hash;
+		this.indexes[slot] = index;
+	}
+
+	/**
+	 * @param name 	A <code>String</code> that is the name of a column.
+	 * @return 		An <code>int</code> that is the index of the column named
+	 * 				<code>name</code>, ignoring case, -1 if no column has this name.
+	 */
+	int get(String name)
+	{
+		int hash = hashIgnoreCase(name);
+		int slot = hash & this.mask;
+		while (this.names[slot] != null) {
+			if (this.hashes[slot] == hash && this.names[slot].equalsIgnoreCase(name)) {
+				return this.indexes[slot];
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param name 	A <code>String</code>.
+	 * @return 		An <code>int</code> that is the hash of <code>name</code>,
+	 * 				the same for all <code>String</code>s equal ignoring case.
+	 */
+	private static int hashIgnoreCase(String name)
+	{
+		int hash = 0;
+		for (int i = 0; i < name.length(); i++) {
+			//same folding as String#equalsIgnoreCase(String)
+			hash = 31 * hash +
+					Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+		}
+		//spread the high bits, as the low bits only are used to find a slot
+		return hash ^ (hash >>> 16);
+	}
+}
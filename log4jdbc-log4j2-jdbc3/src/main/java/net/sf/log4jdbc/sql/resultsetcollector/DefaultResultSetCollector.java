@@ -19,25 +19,97 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
+import net.sf.log4jdbc.Properties;
 import net.sf.log4jdbc.sql.jdbcapi.ResultSetSpy;
 
-
+/**
+ * The default <code>ResultSetCollector</code>. The memory it uses can be bounded: 
+ * the rows collected can be printed in chunks, every <code>chunkRows</code> rows, 
+ * or every <code>chunkBytes</code> bytes, rather than once the end of the result set 
+ * is reached (<code>methodReturned</code> then returns <code>true</code> 
+ * before the end of the result set); only the first <code>headRows</code> 
+ * and the last <code>tailRows</code> rows can be retained, the last ones in a ring buffer; 
+ * and the size of the rows retained can be capped to <code>maxBytes</code> bytes. 
+ * The rows not printed are counted, see {@link #getTruncatedRowCount()}.
+ * <p>
+ * The sizes in bytes are estimated from the <code>String</code> representation 
+ * of the values, which replace the values in the rows, so they are computed only once.
+ * By default, these limits are defined by the properties 
+ * "log4jdbc.resultsettable.chunk.rows", "log4jdbc.resultsettable.chunk.bytes", 
+ * "log4jdbc.resultsettable.head.rows", "log4jdbc.resultsettable.tail.rows" 
+ * and "log4jdbc.resultsettable.max.bytes".
+ */
 public class DefaultResultSetCollector implements ResultSetCollector {
 
   private static final String NULL_RESULT_SET_VAL = "[null]";
   private static final String UNREAD = "[unread]";
   private static final String UNREAD_ERROR = "[unread!]";
+  /**
+   * An estimate of the size in bytes of a <code>String</code>, not including its characters.
+   */
+  private static final int STRING_OVERHEAD_BYTES = 40;
+  /**
+   * An estimate of the size in bytes of a row, not including its values.
+   */
+  private static final int ROW_OVERHEAD_BYTES = 40;
   private boolean fillInUnreadValues = false;
 
+  /**
+   * The number of rows after which the rows collected are printed, 0 for no limit.
+   */
+  private final int chunkRows;
+  /**
+   * The estimated size in bytes after which the rows collected are printed, 0 for no limit.
+   */
+  private final long chunkBytes;
+  /**
+   * The number of rows retained from the start of the result set, 
+   * -1 if the result set is not sampled.
+   */
+  private final int headRows;
+  /**
+   * The number of rows retained from the end of the result set, 
+   * -1 if the result set is not sampled.
+   */
+  private final int tailRows;
+  /**
+   * The maximum estimated size in bytes of the rows retained, 0 for no limit.
+   */
+  private final long maxBytes;
+
   public DefaultResultSetCollector(boolean fillInUnreadValues) {
+      this(fillInUnreadValues, Properties.getResultSetTableChunkRows(), 
+              Properties.getResultSetTableChunkBytes(), Properties.getResultSetTableHeadRows(), 
+              Properties.getResultSetTableTailRows(), Properties.getResultSetTableMaxBytes());
+  }
+
+  /**
+   * @param fillInUnreadValues  A <code>boolean</code> defining whether the values 
+   *                            not read by the application are read to be printed.
+   * @param chunkRows           The number of rows after which the rows collected 
+   *                            are printed, 0 for no limit.
+   * @param chunkBytes          The estimated size in bytes after which the rows collected 
+   *                            are printed, 0 for no limit.
+   * @param headRows            The number of rows retained from the start of the result set, 
+   *                            -1 if the result set is not sampled.
+   * @param tailRows            The number of rows retained from the end of the result set, 
+   *                            -1 if the result set is not sampled.
+   * @param maxBytes            The maximum estimated size in bytes of the rows retained, 
+   *                            0 for no limit.
+   */
+  public DefaultResultSetCollector(boolean fillInUnreadValues, int chunkRows, long chunkBytes, 
+          int headRows, int tailRows, long maxBytes) {
 	  this.reset();
       this.fillInUnreadValues = fillInUnreadValues;
       this.lastValueReturnedByNext = true;
+      this.chunkRows = Math.max(chunkRows, 0);
+      this.chunkBytes = Math.max(chunkBytes, 0);
+      this.headRows = headRows;
+      this.tailRows = tailRows;
+      this.maxBytes = Math.max(maxBytes, 0);
   }
   /**
    * A {@code boolean} defining whether parameters of this {@code DefaultResultSetColector} 
@@ -54,23 +126,21 @@ public class DefaultResultSetCollector implements ResultSetCollector {
    */
   private int columnCount;
   /**
-   * A <code>Map</code> where the key is an <code>Integer</code> representing 
-   * the index of a column, and the corresponding value is a <code>String</code> 
-   * being the label of the column. 
-   * This <code>Map</code> is populated by calling <code>getColumnLabel</code> 
+   * An array of <code>String</code>s where the element at index <code>i</code> 
+   * is the label of the column <code>i + 1</code>. 
+   * This array is populated by calling <code>getColumnLabel</code> 
    * on the <code>ResultSetMetaData</code> object of the real <code>ResultSet</code> object, 
    * for each column (see {@link #columnCount}).
    */
-  private Map<Integer, String> columnLabels;
+  private String[] columnLabels;
   /**
-   * A <code>Map</code> where the key is an <code>Integer</code> representing 
-   * the index of a column, and the corresponding value is a <code>String</code> 
-   * being the name of the column. 
-   * This <code>Map</code> is populated by calling <code>getColumnLabel</code> 
+   * An array of <code>String</code>s where the element at index <code>i</code> 
+   * is the name of the column <code>i + 1</code>. 
+   * This array is populated by calling <code>getColumnName</code> 
    * on the <code>ResultSetMetaData</code> object of the real <code>ResultSet</code> object, 
    * for each column (see {@link #columnCount}).
    */
-  private Map<Integer, String> columnNames;
+  private String[] columnNames;
   /**
    * A <code>boolean</code> that is the last value returned by a call 
    * to <code>next</code> (or <code>first</code>) on the related <code>ResultSet</code>. 
@@ -91,16 +161,44 @@ public class DefaultResultSetCollector implements ResultSetCollector {
   private boolean lastValueReturnedByNext;
   private List<Object> row;
   private List<List<Object>> rows;
-  private Map<String, Integer> colNameToColIndex;
+  /**
+   * The estimated size in bytes of {@link #rows}, if sizes are estimated.
+   */
+  private long rowsBytes;
+  /**
+   * The last rows of the result set, when it is sampled, not yet printed.
+   */
+  private LinkedList<List<Object>> tail;
+  /**
+   * The estimated size in bytes of {@link #tail}, if sizes are estimated.
+   */
+  private long tailBytes;
+  /**
+   * The number of rows of the result set collected so far, including the ones 
+   * already printed in previous chunks, and the ones truncated.
+   */
+  private long rowCount;
+  /**
+   * The number of rows of the result set not retained, so not printed.
+   */
+  private long truncatedRowCount;
+  /**
+   * The index in {@link #rows} where the rows truncated were, -1 if no rows 
+   * were truncated, or if the end of the result set is not reached.
+   */
+  private int truncatedRowsIndex;
+  /**
+   * A <code>boolean</code> that is <code>true</code> when the end of the result set 
+   * was reached, and the rows not yet printed.
+   */
+  private boolean endOfResultSetReached;
+  /**
+   * The index of the columns by label, name, "table.name" and "table.label", 
+   * ignoring case, built once when the metadata are loaded.
+   */
+  private ColumnIndexMap colNameToColIndex;
   private int colIndex; 
-  private static final List<String> GETTERS = Arrays.asList(new String[] {"getArray", 
-          "getAsciiStream", "getBigDecimal", "getBinaryStream", "getBlob", "getBoolean", 
-          "getByte", "getBytes", "getCharacterStream", "getClob", "getDate", "getDouble", 
-          "getFloat", "getInt", "getLong", 
-          /* does not exist in JDBC 3: "getNCharacterStream", "getNClob", "getNString", */
-          "getObject", "getRef", /* does not exist in JDBC 3: "getRowId", */ "getShort", 
-          /* does not exist in JDBC 3: "getSQLXML",*/ "getString",  
-          "getTime", "getTimestamp", "getUnicodeStream", "getURL"});
+  private static final String[] NO_COLUMNS = new String[0];
 
   public List<List<Object>> getRows() {
     return rows;
@@ -110,15 +208,47 @@ public class DefaultResultSetCollector implements ResultSetCollector {
     return columnCount;
   }
 
+  /**
+   * @return  A <code>long</code> that is the number of rows of the result set 
+   *          that were not retained, so not printed.
+   */
+  public long getTruncatedRowCount() {
+    return truncatedRowCount;
+  }
+
+  /**
+   * @return  An <code>int</code> that is the index in the rows returned by 
+   *          {@link #getRows()} where the rows truncated were, -1 if no rows 
+   *          were truncated.
+   */
+  public int getTruncatedRowsIndex() {
+    return truncatedRowsIndex;
+  }
+
+  /**
+   * Clear the rows collected so far. If the end of the result set is not reached, 
+   * only the rows of the chunk printed are cleared, the metadata and the state 
+   * of the sampling are kept, as the collection continues.
+   */
   public void reset() {
-    loaded = false;
     rows = null;
     row = null;
+    rowsBytes = 0;
+    truncatedRowsIndex = -1;
+    if (loaded && !endOfResultSetReached) {
+      return;
+    }
+    endOfResultSetReached = false;
+    tail = null;
+    tailBytes = 0;
+    rowCount = 0;
+    truncatedRowCount = 0;
+    loaded = false;
     colNameToColIndex = null;
     colIndex = -1;// Useful for wasNull calls
     columnCount = 0;
-    columnLabels = new HashMap<Integer, String>();
-    columnNames = new HashMap<Integer, String>();
+    columnLabels = NO_COLUMNS;
+    columnNames = NO_COLUMNS;
   }
 
   public void loadMetaDataIfNeeded(ResultSet rs) {
@@ -161,12 +291,14 @@ public class DefaultResultSetCollector implements ResultSetCollector {
           } else {
               this.columnCount = metaData.getColumnCount();
           }
-    	  this.colNameToColIndex = new HashMap<String, Integer>(this.columnCount);
+    	  this.colNameToColIndex = new ColumnIndexMap(4 * this.columnCount);
+    	  this.columnLabels = new String[this.columnCount];
+    	  this.columnNames = new String[this.columnCount];
     	  for (int column = 1; column <= this.columnCount; column++) {
     		  String label = metaData.getColumnLabel(column).toLowerCase();
     		  String name  = metaData.getColumnName(column).toLowerCase();
-    		  this.columnLabels.put(column, label);
-    		  this.columnNames.put(column, name);
+    		  this.columnLabels[column - 1] = label;
+    		  this.columnNames[column - 1] = name;
     		  colNameToColIndex.put(label, column);
     		  colNameToColIndex.put(name, column);
     		  //get also the table name to resolve calls such as: 
@@ -184,62 +316,68 @@ public class DefaultResultSetCollector implements ResultSetCollector {
   }
 
   public String getColumnName(int column) {
-      return this.columnNames.get(column);
+      if (column < 1 || column > this.columnNames.length) {
+          return null;
+      }
+      return this.columnNames[column - 1];
   }
   
   public String getColumnLabel(int column) {
-	  return this.columnLabels.get(column);
+      if (column < 1 || column > this.columnLabels.length) {
+          return null;
+      }
+	  return this.columnLabels[column - 1];
   }
 
   /*
    * (non-Javadoc)
    * 
    * @see net.sf.log4jdbc.ResultSetCollector#methodReturned(net.sf.log4jdbc.
-   * ResultSetSpy, java.lang.String, java.lang.Object, java.lang.Object,
-   * java.lang.Object)
+   * ResultSetSpy, net.sf.log4jdbc.sql.resultsetcollector.ResultSetMethod, 
+   * java.lang.CharSequence, java.lang.Object, java.lang.Object, java.lang.Object)
    */
-  public boolean methodReturned(ResultSetSpy resultSetSpy, String methodCall, Object returnValue, 
-		  Object targetObject, Object... methodParams) 
+  public boolean methodReturned(ResultSetSpy resultSetSpy, ResultSetMethod method, 
+	  CharSequence methodCall, Object returnValue, Object targetObject, Object... methodParams) 
   {
          
-    if (methodCall.startsWith("get") && methodParams != null && methodParams.length == 1) {
-            
-      String methodName = methodCall.substring(0, methodCall.indexOf('('));
-      if (GETTERS.contains(methodName) && getColumnCount() != 0) {
+    if (method == ResultSetMethod.GET_VALUE && methodParams != null && 
+            methodParams.length == 1 && getColumnCount() != 0) {
         setColIndexFromGetXXXMethodParams(methodParams);
         makeRowIfNeeded();
         row.set(colIndex - 1, returnValue);
-      }
     }
-    if (methodCall.equals("wasNull()") && getColumnCount() != 0) {
+    if (method == ResultSetMethod.WAS_NULL && getColumnCount() != 0 && row != null && 
+            colIndex > 0) {
       if (Boolean.TRUE.equals(returnValue)) {
         row.set(colIndex - 1, NULL_RESULT_SET_VAL);
       }
     }
-    if ("next()".equals(methodCall) || "first()".equals(methodCall)) {
+    if (method == ResultSetMethod.NEXT || method == ResultSetMethod.FIRST) {
     	this.lastValueReturnedByNext = (Boolean) returnValue;
     }
-    if ("next()".equals(methodCall) || "first()".equals(methodCall) || 
-    		"close()".equals(methodCall)) {
+    if (method == ResultSetMethod.NEXT || method == ResultSetMethod.FIRST || 
+    		method == ResultSetMethod.CLOSE) {
       loadMetaDataIfNeeded(resultSetSpy.getRealResultSet());
       boolean isEndOfResultSet = 
     		  //"close" triggers a printing only if the previous call to next 
     		  //did not return false (end of result set already reached)
-    		  ("close()".equals(methodCall) && this.lastValueReturnedByNext != false) || 
+    		  (method == ResultSetMethod.CLOSE && this.lastValueReturnedByNext != false) || 
     		  Boolean.FALSE.equals(returnValue) ;
       if (row != null) {
-        if (rows == null)
-          rows = new ArrayList<List<Object>>();
-        rows.add(row);
+        addRow(row);
         row = null;
       }
       if (isEndOfResultSet) {
+        endOfResultSet();
+        return true;
+      }
+      if (isChunkComplete()) {
         return true;
       }
     }
     // TODO: Tim: if prev() called, warn about no support for reverse cursors
 
-    if ("getMetaData()".equals(methodCall)) {
+    if (method == ResultSetMethod.GET_META_DATA) {
       // If the client code calls getMetaData then we don't have to
       //here we assume that the real ResultSet is not yet closed. 
       this.loadMetaDataIfNeeded((ResultSetMetaData) returnValue);
@@ -247,6 +385,127 @@ public class DefaultResultSetCollector implements ResultSetCollector {
     return false;
   }
 
+  /**
+   * @return  <code>true</code> if the result set is printed in chunks.
+   */
+  private boolean isChunked() {
+    return chunkRows > 0 || chunkBytes > 0;
+  }
+
+  /**
+   * @return  <code>true</code> if the sizes of the rows are estimated.
+   */
+  private boolean isSizeEstimated() {
+    return chunkBytes > 0 || maxBytes > 0;
+  }
+
+  /**
+   * Add a row, once all its values were collected, to {@link #rows}, or to {@link #tail} 
+   * if the result set is sampled and the head rows were already collected, 
+   * or count it as truncated if it cannot be retained.
+   * 
+   * @param completedRow  A <code>List</code> of the values of the row.
+   */
+  private void addRow(List<Object> completedRow) {
+    rowCount++;
+    long bytes = isSizeEstimated() ? this.replaceValuesByStrings(completedRow) : 0;
+    if ((headRows >= 0 || tailRows >= 0) && rowCount > Math.max(headRows, 0)) {
+      if (tailRows <= 0) {
+        truncatedRowCount++;
+        return;
+      }
+      if (tail == null) {
+        tail = new LinkedList<List<Object>>();
+      }
+      tail.add(completedRow);
+      tailBytes += bytes;
+      while (tail.size() > tailRows || 
+              (maxBytes > 0 && !tail.isEmpty() && rowsBytes + tailBytes > maxBytes)) {
+        List<Object> evicted = tail.removeFirst();
+        if (isSizeEstimated()) {
+          tailBytes -= this.estimateBytes(evicted);
+        }
+        truncatedRowCount++;
+      }
+      return;
+    }
+    if (maxBytes > 0 && !isChunked() && rowsBytes + tailBytes + bytes > maxBytes) {
+      truncatedRowCount++;
+      return;
+    }
+    if (rows == null)
+      rows = new ArrayList<List<Object>>();
+    rows.add(completedRow);
+    rowsBytes += bytes;
+  }
+
+  /**
+   * @return  <code>true</code> if the rows collected must be printed 
+   *          before the end of the result set.
+   */
+  private boolean isChunkComplete() {
+    if (rows == null || rows.isEmpty()) {
+      return false;
+    }
+    return (chunkRows > 0 && rows.size() >= chunkRows) || 
+        (chunkBytes > 0 && rowsBytes >= chunkBytes) || 
+        (isChunked() && maxBytes > 0 && rowsBytes + tailBytes >= maxBytes);
+  }
+
+  /**
+   * Append the rows of {@link #tail} to {@link #rows}, once the end of the result set 
+   * is reached, and record where the rows truncated were.
+   */
+  private void endOfResultSet() {
+    endOfResultSetReached = true;
+    int rowsSize = (rows == null ? 0 : rows.size());
+    if (truncatedRowCount > 0) {
+      truncatedRowsIndex = rowsSize;
+    }
+    if (tail != null && !tail.isEmpty()) {
+      if (rows == null)
+        rows = new ArrayList<List<Object>>(tail.size());
+      rows.addAll(tail);
+    }
+    tail = null;
+    tailBytes = 0;
+  }
+
+  /**
+   * Replace the values of <code>completedRow</code> by their <code>String</code> 
+   * representation (<code>null</code> values are kept), and estimate its size.
+   * 
+   * @param completedRow  A <code>List</code> of the values of the row.
+   * @return              A <code>long</code> that is the estimated size in bytes 
+   *                      of the row.
+   */
+  private long replaceValuesByStrings(List<Object> completedRow) {
+    for (int i = 0; i < completedRow.size(); i++) {
+      Object v = completedRow.get(i);
+      if (v != null && !(v instanceof String)) {
+        completedRow.set(i, v.toString());
+      }
+    }
+    return this.estimateBytes(completedRow);
+  }
+
+  /**
+   * @param completedRow  A <code>List</code> of the values of a row, 
+   *                      replaced by their <code>String</code> representation.
+   * @return              A <code>long</code> that is the estimated size in bytes 
+   *                      of the row.
+   */
+  private long estimateBytes(List<Object> completedRow) {
+    long bytes = ROW_OVERHEAD_BYTES;
+    for (Object v : completedRow) {
+      bytes += 8;
+      if (v != null) {
+        bytes += STRING_OVERHEAD_BYTES + 2 * ((String) v).length();
+      }
+    }
+    return bytes;
+  }
+
   private void makeRowIfNeeded() {
     if (row == null) {
       row = new ArrayList<Object>(getColumnCount());
@@ -267,9 +526,9 @@ public class DefaultResultSetCollector implements ResultSetCollector {
       if (colNameToColIndex == null) {
         throw new RuntimeException("ResultSet.getXXX(colName): colNameToColIndex null");
       }
-      Integer idx = colNameToColIndex.get(((String) param1).toLowerCase());
+      int idx = colNameToColIndex.get((String) param1);
 
-      if (idx == null) {
+      if (idx == -1) {
         throw new RuntimeException("ResultSet.getXXX(colName): could not look up name");
       }
       colIndex = idx;
@@ -278,13 +537,15 @@ public class DefaultResultSetCollector implements ResultSetCollector {
     }
   }
 
-  public void preMethod(ResultSetSpy resultSetSpy, String methodCall, Object... methodParams) {
-    if ((methodCall.equals("next()") || methodCall.equals("close()")) && 
+  public void preMethod(ResultSetSpy resultSetSpy, ResultSetMethod method, 
+          CharSequence methodCall, Object... methodParams) {
+    if ((method == ResultSetMethod.NEXT || method == ResultSetMethod.CLOSE) && 
     		fillInUnreadValues) {
       if (row != null) {
         int colIndex = 0;
         for (Object v : row) {
-          if (v != null && v.toString().equals(UNREAD)) {
+          //values not read are the UNREAD instance itself
+          if (v == UNREAD) {
             Object resultSetValue = null;
             try {
               // Fill in any unread data 
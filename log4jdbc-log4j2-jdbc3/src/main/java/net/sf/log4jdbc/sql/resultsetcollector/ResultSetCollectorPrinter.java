@@ -18,6 +18,7 @@
 
 package net.sf.log4jdbc.sql.resultsetcollector;
 
+import java.util.Arrays;
 import java.util.List;
 
 /***
@@ -31,9 +32,19 @@ import java.util.List;
 public class ResultSetCollectorPrinter {
 
     /**
-     * A StringBuffer which is used to build the formatted table to print
+     * The line separator used to build the table.
      */
-    private StringBuffer table = new StringBuffer(); ;
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    /**
+     * Chars appended in bulk to pad the cells, by {@link #appendFill(StringBuilder, char, int)}.
+     */
+    private static final char[] SPACES = new char[64];
+    private static final char[] DASHES = new char[64];
+    static {
+        Arrays.fill(SPACES, ' ');
+        Arrays.fill(DASHES, '-');
+    }
 
     /**
      * Default constructor
@@ -51,7 +62,10 @@ public class ResultSetCollectorPrinter {
      * when the <code>next()</code> method of the spied <code>ResultSet</code>
      * return <code>false</code> meaning that its end is reached.
      * It will be also called if the <code>ResultSet</code> is closed. 
-     * 
+     * <p>
+     * The <code>String</code> representation of each value is computed only once, 
+     * to define the widths of the columns and then to build the table, 
+     * in a <code>StringBuilder</code> presized from these widths.
      * 
      * @param resultSetCollector the ResultSetCollector which has collected the data we want to print
      * @return A <code>String</code> which contains the formatted table to print
@@ -63,87 +77,142 @@ public class ResultSetCollectorPrinter {
      */
     public String getResultSetToPrint(ResultSetCollector resultSetCollector) {
 
-        this.table.append(System.getProperty("line.separator"));
-
         int columnCount = resultSetCollector.getColumnCount();
         int maxLength[] = new int[columnCount];
+        String[] columnNames = new String[columnCount];
 
         for (int column = 1; column <= columnCount; column++) {
-            maxLength[column - 1] = resultSetCollector.getColumnName(column)
-                    .length();
+            columnNames[column - 1] = resultSetCollector.getColumnName(column);
+            maxLength[column - 1] = columnNames[column - 1].length();
         }
-        if (resultSetCollector.getRows() != null) {
-            for (List<Object> printRow : resultSetCollector.getRows()) {
+        List<List<Object>> rows = resultSetCollector.getRows();
+        String[][] cells = new String[rows == null ? 0 : rows.size()][];
+        int rowIndex = 0;
+        if (rows != null) {
+            for (List<Object> printRow : rows) {
+                String[] rowCells = new String[printRow.size()];
                 int colIndex = 0;
                 for (Object v : printRow) {
-                    if (v != null) {
-                        int length = v.toString().length();
-                        if (length > maxLength[colIndex]) {
-                            maxLength[colIndex] = length;
-                        }
+                    String cell = (v == null ? "null" : v.toString());
+                    rowCells[colIndex] = cell;
+                    //the width of a null value was not taken into account
+                    if (v != null && cell.length() > maxLength[colIndex]) {
+                        maxLength[colIndex] = cell.length();
                     }
                     colIndex++;
                 }
+                cells[rowIndex++] = rowCells;
             }
         }
+        int lineLength = 1;
         for (int column = 1; column <= columnCount; column++) {
             maxLength[column - 1] = maxLength[column - 1] + 1;
+            lineLength += maxLength[column - 1] + 1;
+        }
+        lineLength += LINE_SEPARATOR.length();
+
+        //rows not retained by a bounded collector, if any
+        long truncatedRowCount = 0;
+        int truncatedRowsIndex = -1;
+        if (resultSetCollector instanceof DefaultResultSetCollector) {
+            truncatedRowCount = 
+                ((DefaultResultSetCollector) resultSetCollector).getTruncatedRowCount();
+            truncatedRowsIndex = 
+                ((DefaultResultSetCollector) resultSetCollector).getTruncatedRowsIndex();
         }
 
-        this.table.append("|");
+        StringBuilder table = new StringBuilder(LINE_SEPARATOR.length() + 
+                (cells.length + 5) * lineLength);
+        table.append(LINE_SEPARATOR);
 
+        //the separator line is built once, and used three times
+        StringBuilder separator = new StringBuilder(lineLength);
+        separator.append('|');
         for (int column = 1; column <= columnCount; column++) {
-            this.table.append(padRight("-", maxLength[column - 1]).replaceAll(" ", "-")
-                    + "|");
+            appendFill(separator, '-', maxLength[column - 1]);
+            separator.append('|');
         }
-        this.table.append(System.getProperty("line.separator"));
-        this.table.append("|");
-        for (int column = 1; column <= columnCount; column++) {
-            this.table.append(padRight(resultSetCollector.getColumnName(column),
-                    maxLength[column - 1])
-                    + "|");
-        }
-        this.table.append(System.getProperty("line.separator"));
-        this.table.append("|");
+        separator.append(LINE_SEPARATOR);
+
+        table.append(separator);
+        table.append('|');
         for (int column = 1; column <= columnCount; column++) {
-            this.table.append(padRight("-", maxLength[column - 1]).replaceAll(" ", "-")
-                    + "|");
+            appendPadded(table, columnNames[column - 1], maxLength[column - 1]);
+            table.append('|');
         }
-        this.table.append(System.getProperty("line.separator"));
-        if (resultSetCollector.getRows() != null) {
-            for (List<Object> printRow : resultSetCollector.getRows()) {
-                int colIndex = 0;
-                this.table.append("|");
-                for (Object v : printRow) {
-                    this.table.append(padRight(v == null ? "null" : v.toString(),
-                            maxLength[colIndex])
-                            + "|");
-                    colIndex++;
-                }
-                this.table.append(System.getProperty("line.separator"));
+        table.append(LINE_SEPARATOR);
+        table.append(separator);
+        for (rowIndex = 0; rowIndex < cells.length; rowIndex++) {
+            if (rowIndex == truncatedRowsIndex) {
+                appendTruncatedRows(table, truncatedRowCount, maxLength);
+            }
+            String[] rowCells = cells[rowIndex];
+            table.append('|');
+            for (int colIndex = 0; colIndex < rowCells.length; colIndex++) {
+                appendPadded(table, rowCells[colIndex], maxLength[colIndex]);
+                table.append('|');
             }
+            table.append(LINE_SEPARATOR);
         }
-        this.table.append("|");
-        for (int column = 1; column <= columnCount; column++) {
-            this.table.append(padRight("-", maxLength[column - 1]).replaceAll(" ", "-")
-                    + "|");
+        if (cells.length == truncatedRowsIndex) {
+            appendTruncatedRows(table, truncatedRowCount, maxLength);
         }
-
-        this.table.append(System.getProperty("line.separator"));
+        table.append(separator);
 
         resultSetCollector.reset();
 
-        return this.table.toString() ;
+        return table.toString();
+
+    }
 
+    /**
+     * Append to the table a line reporting the rows not retained by the collector.
+     * @param table             the <code>StringBuilder</code> the table is built in
+     * @param truncatedRowCount the number of rows not retained
+     * @param maxLength         the widths of the columns
+     */
+    private static void appendTruncatedRows(StringBuilder table, long truncatedRowCount, 
+            int[] maxLength) {
+        int width = -1;
+        for (int length : maxLength) {
+            width += length + 1;
+        }
+        table.append('|');
+        appendPadded(table, "... " + truncatedRowCount + " rows truncated ...", 
+                Math.max(width, 1));
+        table.append('|');
+        table.append(LINE_SEPARATOR);
     }
 
     /***
-     * Add space to the provided <code>String</code> to match the provided width
+     * Append the provided <code>String</code>, followed by spaces to match the provided width
+     * @param table the <code>StringBuilder</code> to append to
      * @param s the <code>String</code> we want to adjust
-     * @param n the width of the returned <code>String</code>
-     * @return a <code>String</code> matching the provided width
+     * @param n the width of the appended <code>String</code>
      */
-    private static String padRight(String s, int n) {
-        return String.format("%1$-" + n + "s", s);
+    private static void appendPadded(StringBuilder table, String s, int n) {
+        table.append(s);
+        appendFill(table, ' ', n - s.length());
+    }
+
+    /**
+     * Append <code>n</code> times the provided <code>char</code>
+     * @param table the <code>StringBuilder</code> to append to
+     * @param c the <code>char</code> to append
+     * @param n the number of times to append <code>c</code>, nothing is appended if negative
+     */
+    private static void appendFill(StringBuilder table, char c, int n) {
+        char[] fill = (c == ' ' ? SPACES : (c == '-' ? DASHES : null));
+        if (fill == null) {
+            for (int i = 0; i < n; i++) {
+                table.append(c);
+            }
+            return;
+        }
+        while (n > 0) {
+            int length = Math.min(n, fill.length);
+            table.append(fill, 0, length);
+            n -= length;
+        }
     }
 }
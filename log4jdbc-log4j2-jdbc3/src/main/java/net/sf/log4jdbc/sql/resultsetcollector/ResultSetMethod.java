@@ -0,0 +1,59 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.resultsetcollector;
+
+/**
+ * Identifies the methods of a <code>ResultSet</code> that matter to a
+ * <code>ResultSetCollector</code>. <code>ResultSetSpy</code> passes it along with
+ * the description of each method call, so that collectors do not need to parse
+ * the name of the method from its description, for each value read.
+ *
+ * @author Frederic Bastian
+ * @see ResultSetCollector#methodReturned(net.sf.log4jdbc.sql.jdbcapi.ResultSetSpy,
+ * 		ResultSetMethod, CharSequence, Object, Object, Object...)
+ */
+public enum ResultSetMethod
+{
+	/**
+	 * A getter returning the value of a column of the current row, such as
+	 * <code>getString</code>, <code>getInt</code> or <code>getObject</code>.
+	 */
+	GET_VALUE,
+	/**
+	 * The method <code>wasNull()</code>.
+	 */
+	WAS_NULL,
+	/**
+	 * The method <code>next()</code>.
+	 */
+	NEXT,
+	/**
+	 * The method <code>first()</code>.
+	 */
+	FIRST,
+	/**
+	 * The method <code>close()</code>.
+	 */
+	CLOSE,
+	/**
+	 * The method <code>getMetaData()</code>.
+	 */
+	GET_META_DATA,
+	/**
+	 * Any other method.
+	 */
+	OTHER;
+}
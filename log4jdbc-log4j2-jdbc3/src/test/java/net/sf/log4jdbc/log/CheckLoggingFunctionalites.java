@@ -26,6 +26,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -358,7 +359,9 @@ public abstract class CheckLoggingFunctionalites extends TestAncestor
 
         // Run the method after ensuring the log file is empty 
         emptyLogFile();
-        TestSpyLogDelegator.exceptionOccured(cs, "test()",e,"SELECT * FROM Test", 1000L);
+        //execution times are reported in nanoseconds, and displayed in ms by default
+        TestSpyLogDelegator.exceptionOccured(cs, "test()",e,"SELECT * FROM Test", 
+                TimeUnit.SECONDS.toNanos(1));
 
         // Check the result
 
@@ -463,7 +466,8 @@ public abstract class CheckLoggingFunctionalites extends TestAncestor
 
         // Run the method after ensuring the log file is empty 
         emptyLogFile();
-        TestSpyLogDelegator.sqlTimingOccurred(cs,1000L,"test", "SELECT * FROM Test");
+        TestSpyLogDelegator.sqlTimingOccurred(cs, TimeUnit.SECONDS.toNanos(1), "test", 
+                "SELECT * FROM Test");
 
         // Check the result
 
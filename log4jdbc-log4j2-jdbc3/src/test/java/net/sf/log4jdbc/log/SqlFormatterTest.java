@@ -0,0 +1,52 @@
+package net.sf.log4jdbc.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import net.sf.log4jdbc.TestAncestor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing {@link SqlFormatter}. Its output is compared to the one
+ * of the previous implementation by the tests of the module log4jdbc-log4j2-jdbc4.1,
+ * sharing the same <code>SqlFormatter</code>.
+ *
+ * @author Frederic Bastian
+ */
+public class SqlFormatterTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(SqlFormatterTest.class.getName());
+    protected Logger getLogger() {
+        return log;
+    }
+
+    private static final String nl = System.getProperty("line.separator");
+
+    /**
+     * Test the formatting of <code>null</code>.
+     */
+    @Test
+    public void shouldFormatNull() {
+        SqlFormatter formatter = new SqlFormatter(true, 0, false, true, false);
+        assertNull(formatter.format(null));
+        StringBuilder out = new StringBuilder();
+        formatter.format(null, out);
+        assertEquals("null", out.toString());
+    }
+
+    /**
+     * Test that contiguous blank lines are collapsed into one empty line, whether
+     * the lines are terminated or separated.
+     */
+    @Test
+    public void shouldCollapseBlankLines() {
+        String sql = "SELECT *\n \n\t\r\n\nFROM a\r\rWHERE 1 = 1";
+        assertEquals("SELECT *" + nl + nl + "FROM a" + nl + nl + "WHERE 1 = 1",
+                new SqlFormatter(true, 0, false, true, false).format(sql));
+        assertEquals("SELECT *" + nl + nl + "FROM a" + nl + nl + "WHERE 1 = 1" + nl,
+                new SqlFormatter(true, 0, false, true, true).format(sql));
+    }
+}
@@ -0,0 +1,128 @@
+package net.sf.log4jdbc.log.log4j2.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import net.sf.log4jdbc.TestAncestor;
+import net.sf.log4jdbc.log.CallerLocator;
+import net.sf.log4jdbc.sql.Spy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing that {@link SqlMessage}s capture at creation the information
+ * they need, so that they can be formatted later, in another thread.
+ *
+ * @author Frederic Bastian
+ */
+public class SqlMessageTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(SqlMessageTest.class.getName());
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * A <code>Spy</code> whose connection number and class type can be changed,
+     * to check that messages do not read them when formatted.
+     */
+    private static class MutableSpy implements Spy
+    {
+        private Integer connectionNumber;
+        private String classType;
+
+        private MutableSpy(Integer connectionNumber, String classType) {
+            this.connectionNumber = connectionNumber;
+            this.classType = classType;
+        }
+        public String getClassType() {
+            return this.classType;
+        }
+        public Integer getConnectionNumber() {
+            return this.connectionNumber;
+        }
+    }
+
+    /**
+     * Format <code>message</code> in another thread.
+     */
+    private static String formatInOtherThread(final SqlMessage message)
+            throws InterruptedException {
+        final AtomicReference<String> formatted = new AtomicReference<String>();
+        Thread thread = new Thread() {
+            public void run() {
+                formatted.set(message.getFormattedMessage());
+            }
+        };
+        thread.start();
+        thread.join();
+        return formatted.get();
+    }
+
+    /**
+     * Test that a message formatted after the <code>Spy</code> and the method call
+     * were modified contains the values at creation.
+     */
+    @Test
+    public void shouldSnapshotFieldsAtCreation() throws InterruptedException {
+        MutableSpy spy = new MutableSpy(3, "Statement");
+        StringBuilder methodCall = new StringBuilder("getMaxRows()");
+        SqlMessage message = new MethodReturnedMessage(spy, methodCall, "10", false);
+
+        spy.connectionNumber = 4;
+        spy.classType = "Connection";
+        methodCall.setLength(0);
+        methodCall.append("close()");
+
+        assertEquals("3. Statement.getMaxRows() returned 10", formatInOtherThread(message));
+    }
+
+    /**
+     * Test that the caller of the JDBC method is located when the message is created,
+     * and not when it is formatted in another thread.
+     */
+    @Test
+    public void shouldLocateCallerAtCreation() throws InterruptedException {
+        //the caller located is the one calling this test method, as for CallerLocator
+        String expectedCaller = CallerLocator.getDebugInfo();
+        SqlMessage message = new ExceptionOccuredMessage(new MutableSpy(5, "Statement"),
+                "executeQuery(String)", "SELECT 1", -1, true);
+
+        String formatted = formatInOtherThread(message);
+        log.debug("Message formatted: {}", formatted);
+        assertTrue(formatted.startsWith(expectedCaller));
+        assertTrue(formatted.contains(SqlMessage.nl + "5. SELECT 1"));
+    }
+
+    /**
+     * Test that a message reused for a new log event through its <code>set</code> method 
+     * does not keep anything from the previous event, and that 
+     * {@link SqlMessage#formatTo(StringBuilder)} appends the same content 
+     * as {@link SqlMessage#getFormattedMessage()}.
+     */
+    @Test
+    public void shouldReuseMessage() {
+        ConnectionMessage message = new ConnectionMessage();
+        message.set(new MutableSpy(1, "Connection"), -1, 
+                ConnectionMessage.Operation.OPENING, false);
+        assertEquals("1. Connection opened.", message.getFormattedMessage());
+
+        message.set(new MutableSpy(2, "Connection"), -1, 
+                ConnectionMessage.Operation.CLOSING, false);
+        assertEquals("2. Connection closed.", message.getFormattedMessage());
+
+        StringBuilder buffer = new StringBuilder("prefix ");
+        message.formatTo(buffer);
+        assertEquals("prefix 2. Connection closed.", buffer.toString());
+
+        MethodReturnedMessage methodMessage = new MethodReturnedMessage(
+                new MutableSpy(3, "ResultSet"), "next()", "true", false);
+        assertEquals("3. ResultSet.next() returned true", methodMessage.getFormattedMessage());
+        methodMessage.set(new MutableSpy(3, "ResultSet"), "close()", "", false);
+        assertEquals("3. ResultSet.close() returned ", methodMessage.getFormattedMessage());
+    }
+}
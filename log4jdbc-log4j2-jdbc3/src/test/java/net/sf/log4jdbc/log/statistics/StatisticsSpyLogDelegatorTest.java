@@ -0,0 +1,190 @@
+package net.sf.log4jdbc.log.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.log4jdbc.TestAncestor;
+import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
+import net.sf.log4jdbc.sql.Spy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing {@link StatisticsSpyLogDelegator}, {@link SqlFingerprint}
+ * and {@link StatementStatistics}.
+ *
+ * @author Frederic Bastian
+ */
+public class StatisticsSpyLogDelegatorTest extends TestAncestor
+{
+    private final static Logger log =
+        LogManager.getLogger(StatisticsSpyLogDelegatorTest.class.getName());
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link SqlFingerprint#normalize(String)}.
+     */
+    @Test
+    public void shouldNormalizeSql() {
+        assertEquals("SELECT * FROM user WHERE id = ? AND name = ?",
+                SqlFingerprint.normalize(
+                    "SELECT *  FROM\n user WHERE id = 12 AND name = 'O''Brien' -- test"));
+        assertEquals("SELECT col1 FROM \"my table\" WHERE x > ? AND y IN (?, ?)",
+                SqlFingerprint.normalize(
+                    "SELECT col1 /* comment */ FROM \"my table\" WHERE x > 1.5e-3 " +
+                    "AND y IN (0x1F, .5)"));
+        assertEquals(SqlFingerprint.normalize("INSERT INTO t2 VALUES (1, 'a')"),
+                SqlFingerprint.normalize("INSERT INTO t2 VALUES (2, 'b')"));
+        assertNull(SqlFingerprint.normalize(null));
+    }
+
+    /**
+     * Test that executions are aggregated by fingerprint, and that the events
+     * are delegated.
+     */
+    @Test
+    public void shouldAggregateByFingerprint() {
+        SpyLogDelegator delegate = mock(SpyLogDelegator.class);
+        StatisticsSpyLogDelegator stats = new StatisticsSpyLogDelegator(delegate);
+        Spy spy = mock(Spy.class);
+
+        for (int i = 1; i <= 100; i++) {
+            stats.statementExecuted(spy, "executeQuery()",
+                    "SELECT * FROM t WHERE id = " + i, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        stats.statementExecuted(spy, "executeQuery()", "SELECT 1", 5);
+        //the SQL logged is delegated without being recorded again
+        stats.sqlTimingOccurred(spy, 5, "executeQuery()", "SELECT 1");
+        verify(delegate).sqlTimingOccurred(spy, 5, "executeQuery()", "SELECT 1");
+
+        assertEquals(2, stats.getStatementStatistics().size());
+        StatementStatistics select = stats.getStatementStatistics("SELECT * FROM t WHERE id = 3");
+        assertNotNull(select);
+        assertEquals("SELECT * FROM t WHERE id = ?", select.getFingerprint());
+        assertEquals(100, select.getCount());
+        assertEquals(0, select.getErrorCount());
+        //execution times are reported in nanoseconds, percentiles are precise at about 6%
+        assertEquals(100000000L, select.getMaxNanos());
+        assertEquals(50000000L, select.getP50Nanos(), 50000000L * 0.07);
+        assertEquals(95000000L, select.getP95Nanos(), 95000000L * 0.07);
+        assertEquals(99000000L, select.getP99Nanos(), 99000000L * 0.07);
+        assertTrue(select.getP50Nanos() <= select.getP95Nanos());
+        assertTrue(select.getP99Nanos() <= select.getMaxNanos());
+
+        stats.resetStatistics();
+        assertEquals(0, stats.getStatementStatistics().size());
+    }
+
+    /**
+     * Test the recording of errors and of the number of rows affected by updates.
+     */
+    @Test
+    public void shouldRecordErrorsAndRows() {
+        SpyLogDelegator delegate = mock(SpyLogDelegator.class);
+        StatisticsSpyLogDelegator stats = new StatisticsSpyLogDelegator(delegate);
+        assertTrue((stats.getEnabledCategories() & SpyLogDelegator.UPDATECOUNT_CATEGORY) != 0);
+        assertTrue((stats.getEnabledCategories() & SpyLogDelegator.EXECUTION_CATEGORY) != 0);
+        assertEquals(0, stats.getEnabledCategories() & SpyLogDelegator.AUDIT_CATEGORY);
+        Spy spy = mock(Spy.class);
+        String sql = "UPDATE t SET a = 1 WHERE b = 'x'";
+
+        MethodCall methodCall = new MethodCall("executeUpdate", sql);
+        stats.statementExecuted(spy, methodCall, sql, 2);
+        stats.updateCountReturned(spy, methodCall, 3);
+        //a count not following the timing of the same execution should be ignored
+        stats.updateCountReturned(spy, "executeUpdate()", 10);
+        stats.statementExecuted(spy, "executeUpdate()", sql, 2);
+        stats.updateCountReturned(spy, "executeUpdate()", 4);
+        //returns of methods are not parsed anymore
+        stats.methodReturned(spy, "getUpdateCount()", "10");
+
+        SQLException e = new SQLException("test");
+        stats.exceptionOccured(spy, "executeUpdate()", e, sql, 1);
+        stats.exceptionOccured(spy, "getWarnings()", e, null, -1);
+        verify(delegate).exceptionOccured(spy, "executeUpdate()", e, sql, 1);
+        verify(delegate).methodReturned(spy, "getUpdateCount()", "10");
+
+        StatementStatistics update = stats.getStatementStatistics(sql);
+        assertEquals(7, update.getRowsAffected());
+        assertEquals(1, update.getErrorCount());
+        assertEquals(3, update.getCount());
+        assertEquals(1, stats.getStatementStatistics().size());
+    }
+
+    /**
+     * Test that the number of fingerprints tracked is bounded.
+     */
+    @Test
+    public void shouldBoundFingerprints() {
+        StatisticsSpyLogDelegator stats =
+            new StatisticsSpyLogDelegator(mock(SpyLogDelegator.class), 2);
+        Spy spy = mock(Spy.class);
+        stats.statementExecuted(spy, "execute()", "SELECT a FROM t", 1);
+        stats.statementExecuted(spy, "execute()", "SELECT b FROM t", 1);
+        stats.statementExecuted(spy, "execute()", "SELECT c FROM t", 1);
+        stats.statementExecuted(spy, "execute()", "SELECT d FROM t", 1);
+
+        assertEquals(3, stats.getStatementStatistics().size());
+        assertNull(stats.getStatementStatistics("SELECT c FROM t"));
+        boolean otherFound = false;
+        for (StatementStatistics statementStats: stats.getStatementStatistics()) {
+            if (StatisticsSpyLogDelegator.OTHER_STATEMENTS_FINGERPRINT.equals(
+                    statementStats.getFingerprint())) {
+                otherFound = true;
+                assertEquals(2, statementStats.getCount());
+            }
+        }
+        assertTrue(otherFound);
+    }
+
+    /**
+     * Test that no execution is lost when recorded concurrently.
+     */
+    @Test
+    public void shouldRecordConcurrently() throws InterruptedException {
+        final StatisticsSpyLogDelegator stats =
+            new StatisticsSpyLogDelegator(mock(SpyLogDelegator.class));
+        final Spy spy = mock(Spy.class);
+        final int threadCount = 8;
+        final int iterations = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < iterations; j++) {
+                        stats.statementExecuted(spy, "executeQuery()",
+                                "SELECT * FROM t WHERE id = " + j,
+                                TimeUnit.MILLISECONDS.toNanos(j % 100));
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread: threads) {
+            thread.join();
+        }
+        StatementStatistics select = stats.getStatementStatistics("SELECT * FROM t WHERE id = 1");
+        assertEquals(threadCount * iterations, select.getCount());
+        assertEquals(99000000L, select.getMaxNanos());
+    }
+}
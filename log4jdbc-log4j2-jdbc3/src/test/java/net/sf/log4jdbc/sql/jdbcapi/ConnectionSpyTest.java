@@ -0,0 +1,212 @@
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.sf.log4jdbc.TestAncestor;
+import net.sf.log4jdbc.log.SpyLogDelegator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Class testing the registry of open connections of {@link ConnectionSpy}.
+ *
+ * @author Frederic Bastian
+ */
+public class ConnectionSpyTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(ConnectionSpyTest.class.getName());
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test that connections opened and closed concurrently get distinct numbers,
+     * and are accurately counted, even when closed several times.
+     */
+    @Test
+    public void shouldTrackOpenConnections() throws Exception {
+        final SpyLogDelegator logDelegator = mock(SpyLogDelegator.class);
+        final int threadCount = 8;
+        final int connectionsPerThread = 500;
+        int initialCount = ConnectionSpy.getOpenConnectionsCount();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<List<ConnectionSpy>>> futures =
+                    new ArrayList<Future<List<ConnectionSpy>>>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(new Callable<List<ConnectionSpy>>() {
+                    public List<ConnectionSpy> call() throws Exception {
+                        List<ConnectionSpy> kept = new ArrayList<ConnectionSpy>();
+                        for (int j = 0; j < connectionsPerThread; j++) {
+                            ConnectionSpy spy = new ConnectionSpy(mock(Connection.class),
+                                    logDelegator);
+                            //close every other connection, twice
+                            if (j % 2 == 0) {
+                                spy.close();
+                                spy.close();
+                            } else {
+                                kept.add(spy);
+                            }
+                        }
+                        return kept;
+                    }
+                }));
+            }
+            Set<Integer> numbers = new HashSet<Integer>();
+            List<ConnectionSpy> kept = new ArrayList<ConnectionSpy>();
+            for (Future<List<ConnectionSpy>> future: futures) {
+                for (ConnectionSpy spy: future.get()) {
+                    assertTrue(numbers.add(spy.getConnectionNumber()));
+                    kept.add(spy);
+                }
+            }
+
+            assertEquals(initialCount + kept.size(), ConnectionSpy.getOpenConnectionsCount());
+            assertTrue(ConnectionSpy.getOpenConnections().containsAll(kept));
+            assertTrue(ConnectionSpy.getOpenConnectionsDump().endsWith(
+                    "(" + ConnectionSpy.getOpenConnectionsCount() + ")"));
+
+            for (ConnectionSpy spy: kept) {
+                spy.close();
+            }
+            assertEquals(initialCount, ConnectionSpy.getOpenConnectionsCount());
+            assertFalse(ConnectionSpy.getOpenConnections().contains(kept.get(0)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that the connections held open for longer than the threshold are reported
+     * once, with their allocation site when sampled, and that closed connections
+     * are not reported.
+     */
+    @Test
+    public void shouldReportHeldConnections() throws Exception {
+        SpyLogDelegator logDelegator = mock(SpyLogDelegator.class);
+        ConnectionLeakDetector detector = new ConnectionLeakDetector(0, 1);
+        ConnectionLeakDetector.setInstance(detector);
+        try {
+            ConnectionSpy held = new ConnectionSpy(mock(Connection.class), logDelegator);
+            ConnectionSpy closed = new ConnectionSpy(mock(Connection.class), logDelegator);
+            closed.close();
+            detector.scan();
+            detector.scan();
+
+            ArgumentCaptor<ConnectionLeak> leaks = ArgumentCaptor.forClass(ConnectionLeak.class);
+            verify(logDelegator, times(1)).connectionLeaked(leaks.capture());
+            ConnectionLeak leak = leaks.getValue();
+            assertEquals(held.getConnectionNumber(), leak.getConnectionNumber());
+            assertSame(held, leak.getConnectionSpy());
+            assertFalse(leak.isCollected());
+            assertNotNull(leak.getAllocationSite());
+            held.close();
+        } finally {
+            ConnectionLeakDetector.setInstance(null);
+        }
+    }
+
+    /**
+     * Open a connection, that is not closed and not referenced anymore
+     * once this method returns. The invocations recorded by the mock
+     * <code>logDelegator</code> are reset, as they reference the connection.
+     *
+     * @return  The number of the connection leaked.
+     */
+    private static Integer leakConnection(SpyLogDelegator logDelegator) {
+        Integer number = new ConnectionSpy(mock(Connection.class), logDelegator)
+                .getConnectionNumber();
+        reset(logDelegator);
+        return number;
+    }
+
+    /**
+     * Test that a <code>ConnectionSpy</code> never closed is not retained
+     * by the registry of open connections, and is reported once collected.
+     */
+    @Test
+    public void shouldReportCollectedConnections() throws Exception {
+        SpyLogDelegator logDelegator = mock(SpyLogDelegator.class);
+        //the threshold is too long for the connection to be reported before collection
+        ConnectionLeakDetector.setInstance(new ConnectionLeakDetector(
+                3600000000000L, 1));
+        try {
+            int initialCount = ConnectionSpy.getOpenConnectionsCount();
+            Integer leaked = leakConnection(logDelegator);
+            assertEquals(initialCount + 1, ConnectionSpy.getOpenConnectionsCount());
+
+            //the leak is reported when the collected connection is expunged
+            for (int i = 0; i < 100 &&
+                    ConnectionSpy.getOpenConnectionsCount() > initialCount; i++) {
+                System.gc();
+                Thread.sleep(10);
+                ConnectionSpy.expungeCollectedConnections();
+            }
+            ArgumentCaptor<ConnectionLeak> leaks = ArgumentCaptor.forClass(ConnectionLeak.class);
+            verify(logDelegator, times(1)).connectionLeaked(leaks.capture());
+            ConnectionLeak leak = leaks.getValue();
+            assertEquals(leaked, leak.getConnectionNumber());
+            assertTrue(leak.isCollected());
+            assertNull(leak.getConnectionSpy());
+            assertNotNull(leak.getAllocationSite());
+            assertEquals(initialCount, ConnectionSpy.getOpenConnectionsCount());
+        } finally {
+            ConnectionLeakDetector.setInstance(null);
+        }
+    }
+
+    /**
+     * Test that a <code>ConnectionSpy</code> already reported as held open
+     * for longer than the threshold is not reported again once collected.
+     */
+    @Test
+    public void shouldNotReportCollectedConnectionsTwice() throws Exception {
+        SpyLogDelegator logDelegator = mock(SpyLogDelegator.class);
+        ConnectionLeakDetector detector = new ConnectionLeakDetector(0, 1);
+        ConnectionLeakDetector.setInstance(detector);
+        try {
+            int initialCount = ConnectionSpy.getOpenConnectionsCount();
+            leakConnection(logDelegator);
+            detector.scan();
+            verify(logDelegator, times(1)).connectionLeaked(any(ConnectionLeak.class));
+            //the leak reported references the connection
+            reset(logDelegator);
+
+            for (int i = 0; i < 100 &&
+                    ConnectionSpy.getOpenConnectionsCount() > initialCount; i++) {
+                System.gc();
+                Thread.sleep(10);
+                ConnectionSpy.expungeCollectedConnections();
+            }
+            assertEquals(initialCount, ConnectionSpy.getOpenConnectionsCount());
+            verify(logDelegator, never()).connectionLeaked(any(ConnectionLeak.class));
+        } finally {
+            ConnectionLeakDetector.setInstance(null);
+        }
+    }
+}
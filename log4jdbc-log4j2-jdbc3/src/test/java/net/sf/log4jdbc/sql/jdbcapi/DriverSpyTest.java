@@ -0,0 +1,83 @@
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import net.sf.log4jdbc.TestAncestor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing the resolution of the underlying drivers by {@link DriverSpy}.
+ *
+ * @author Frederic Bastian
+ */
+public class DriverSpyTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(DriverSpyTest.class.getName());
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * @return  The real <code>Connection</code> wrapped by <code>connection</code>,
+     *          if it is a <code>ConnectionSpy</code>, <code>connection</code> otherwise.
+     */
+    private static Connection getRealConnection(Connection connection) {
+        if (connection instanceof ConnectionSpy) {
+            return ((ConnectionSpy) connection).getRealConnection();
+        }
+        return connection;
+    }
+
+    /**
+     * Test that the underlying driver accepting a URL is searched only once,
+     * and searched again when it fails to connect after it was deregistered.
+     */
+    @Test
+    public void shouldCacheUnderlyingDriver() throws SQLException {
+        String url = "jdbc:log4" + MockDriverUtils.MOCKURL;
+        DriverSpy driverSpy = new DriverSpy();
+        MockDriverUtils mock = new MockDriverUtils();
+        try {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(driverSpy.acceptsURL(url));
+            }
+            verify(mock.getMockDriver(), times(1)).acceptsURL(MockDriverUtils.MOCKURL);
+            assertFalse(driverSpy.acceptsURL("jdbc:log4jdbc:unknown:test"));
+            assertFalse(driverSpy.acceptsURL(MockDriverUtils.MOCKURL));
+
+            Connection connection = driverSpy.connect(url, new Properties());
+            assertSame(mock.getMockConnection(), getRealConnection(connection));
+            connection.close();
+        } finally {
+            mock.deregister();
+        }
+
+        MockDriverUtils otherMock = new MockDriverUtils();
+        try {
+            Connection connection = driverSpy.connect(url, new Properties());
+            assertSame(otherMock.getMockConnection(), getRealConnection(connection));
+            connection.close();
+        } finally {
+            otherMock.deregister();
+        }
+        try {
+            driverSpy.connect(url, new Properties());
+            fail("A SQLException should have been thrown");
+        } catch (SQLException e) {
+            //test passed
+        }
+        assertFalse(driverSpy.acceptsURL(url));
+    }
+}
@@ -0,0 +1,162 @@
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import net.sf.log4jdbc.TestAncestor;
+import net.sf.log4jdbc.log.SpyLogDelegator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing the statistics exposed through JMX by {@link JdbcStatistics}.
+ *
+ * @author Frederic Bastian
+ */
+public class JdbcStatisticsTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(JdbcStatisticsTest.class.getName());
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test that the executions are counted by type, and that only the slowest
+     * fingerprints are retained.
+     */
+    @Test
+    public void shouldRecordExecutions() {
+        JdbcStatistics statistics = new JdbcStatistics(2);
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        statistics.executed("SELECT * FROM a WHERE b = 1", false, 5 * ms);
+        statistics.executed("  select * from a where b = 2", false, 1 * ms);
+        statistics.executed("INSERT INTO a VALUES (?)", true, 2 * ms);
+        statistics.executed("UPDATE a SET b = ?", true, 8 * ms);
+        statistics.executed("delete FROM a", false, 1 * ms);
+        statistics.executed("CREATE TABLE c (d INT)", false, 1 * ms);
+        statistics.executed("{call e()}", false, 1 * ms);
+        statistics.executed(null, false, 1 * ms);
+        statistics.failed();
+
+        assertEquals(2, statistics.getSelectCount());
+        assertEquals(1, statistics.getInsertCount());
+        assertEquals(1, statistics.getUpdateCount());
+        assertEquals(1, statistics.getDeleteCount());
+        assertEquals(1, statistics.getCreateCount());
+        assertEquals(1, statistics.getOtherCount());
+        assertEquals(1, statistics.getBatchCount());
+        assertEquals(1, statistics.getErrorCount());
+        assertEquals(20.0, statistics.getTotalExecutionTimeMillis(), 0.001);
+        assertArrayEquals(new String[] {"8.000 ms: UPDATE a SET b = ?",
+                "5.000 ms: SELECT * FROM a WHERE b = ?"}, statistics.getSlowestStatements());
+
+        //the maximum execution time of a fingerprint is retained
+        statistics.executed("SELECT * FROM a WHERE b = 3", false, 9 * ms);
+        assertArrayEquals(new String[] {"9.000 ms: SELECT * FROM a WHERE b = ?",
+                "8.000 ms: UPDATE a SET b = ?"}, statistics.getSlowestStatements());
+
+        statistics.reset();
+        assertEquals(0, statistics.getSelectCount());
+        assertEquals(0, statistics.getSlowestStatements().length);
+        statistics.executed("DELETE FROM a", false, 1 * ms);
+        assertArrayEquals(new String[] {"1.000 ms: DELETE FROM a"},
+                statistics.getSlowestStatements());
+    }
+
+    /**
+     * Test that the counters are not lost when updated concurrently.
+     */
+    @Test
+    public void shouldCountConcurrently() throws InterruptedException {
+        final StripedCounter counter = new StripedCounter();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        counter.increment();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread: threads) {
+            thread.join();
+        }
+        assertEquals(80000, counter.sum());
+    }
+
+    /**
+     * Test that the spies update the statistics, and that they are exposed
+     * through the platform <code>MBeanServer</code>.
+     */
+    @Test
+    public void shouldBeUpdatedBySpies() throws Exception {
+        JdbcStatistics statistics = new JdbcStatistics(10);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("net.sf.log4jdbc:type=JdbcStatisticsTest");
+        server.registerMBean(statistics, name);
+        JdbcStatistics.setInstance(statistics);
+        try {
+            SpyLogDelegator logDelegator = mock(SpyLogDelegator.class);
+            Connection connection = mock(Connection.class);
+            Statement statement = mock(Statement.class);
+            when(connection.createStatement()).thenReturn(statement);
+            when(statement.executeUpdate("INSERT INTO a VALUES (1)")).thenReturn(1);
+            when(statement.executeUpdate("DELETE FROM a")).thenThrow(
+                    new SQLException("failed"));
+
+            ConnectionSpy connectionSpy = new ConnectionSpy(connection, logDelegator);
+            Statement statementSpy = connectionSpy.createStatement();
+            statementSpy.executeUpdate("INSERT INTO a VALUES (1)");
+            try {
+                statementSpy.executeUpdate("DELETE FROM a");
+                fail("A SQLException should have been thrown");
+            } catch (SQLException e) {
+                //test passed
+            }
+            connectionSpy.close();
+
+            assertEquals(1L, server.getAttribute(name, "ConnectionOpenCount"));
+            assertEquals(1L, server.getAttribute(name, "ConnectionCloseCount"));
+            assertEquals(1L, server.getAttribute(name, "InsertCount"));
+            assertEquals(0L, server.getAttribute(name, "DeleteCount"));
+            assertEquals(1L, server.getAttribute(name, "ErrorCount"));
+            assertTrue((Double) server.getAttribute(name, "ConnectionOpenRate") > 0);
+            assertArrayEquals(new String[] {"INSERT INTO a VALUES (?)"},
+                    stripTimes((String[]) server.getAttribute(name, "SlowestStatements")));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, server.getAttribute(name, "InsertCount"));
+        } finally {
+            JdbcStatistics.setInstance(null);
+            server.unregisterMBean(name);
+        }
+    }
+
+    /**
+     * @return  The fingerprints described by <code>slowest</code>, without their
+     *          execution time.
+     */
+    private static String[] stripTimes(String[] slowest) {
+        String[] fingerprints = new String[slowest.length];
+        for (int i = 0; i < slowest.length; i++) {
+            fingerprints[i] = slowest[i].substring(slowest[i].indexOf(": ") + 2);
+        }
+        return fingerprints;
+    }
+}
@@ -0,0 +1,338 @@
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import net.sf.log4jdbc.TestAncestor;
+import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.Spy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Class testing the capture of bind variables by {@link PreparedStatementSpy}.
+ *
+ * @author Frederic Bastian
+ */
+public class PreparedStatementSpyTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(PreparedStatementSpyTest.class.getName());
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * A bind value counting the calls to its <code>toString</code> method,
+     * used by <code>RdbmsSpecifics</code> to format it.
+     */
+    private static class CountingValue
+    {
+        private int toStringCount = 0;
+        public String toString() {
+            this.toStringCount++;
+            return "counted";
+        }
+    }
+
+    /**
+     * @param enabledCategories An <code>int</code> that is the bitmask of the categories
+     *                          enabled.
+     * @return                  A mock <code>SpyLogDelegator</code> enabling
+     *                          <code>enabledCategories</code>.
+     */
+    private static SpyLogDelegator newLogDelegator(int enabledCategories) {
+        SpyLogDelegator logDelegator = mock(SpyLogDelegator.class);
+        when(logDelegator.isJdbcLoggingEnabled()).thenReturn(true);
+        when(logDelegator.getEnabledCategories()).thenReturn(enabledCategories);
+        return logDelegator;
+    }
+
+    /**
+     * @return  A mock <code>PreparedStatement</code> whose <code>executeBatch</code>
+     *          method throws a <code>SQLException</code>.
+     */
+    private static PreparedStatement newFailingBatchStatement() throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeBatch()).thenThrow(new SQLException("batch failed"));
+        return statement;
+    }
+
+    private static PreparedStatementSpy newPreparedStatementSpy(String sql,
+            SpyLogDelegator logDelegator) {
+        return newPreparedStatementSpy(sql, mock(PreparedStatement.class), logDelegator);
+    }
+
+    private static PreparedStatementSpy newPreparedStatementSpy(String sql,
+            PreparedStatement statement, SpyLogDelegator logDelegator) {
+        ConnectionSpy connectionSpy = new ConnectionSpy(mock(Connection.class), logDelegator);
+        return new PreparedStatementSpy(sql, connectionSpy, statement, logDelegator);
+    }
+
+    /**
+     * @return  The SQL reported to <code>logDelegator</code> as <code>sqlOccurred</code>
+     *          events, expected <code>count</code> times.
+     */
+    private static List<String> getSqls(SpyLogDelegator logDelegator, int count) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(logDelegator, times(count)).sqlOccurred(any(Spy.class),
+                any(CharSequence.class), sql.capture());
+        return sql.getAllValues();
+    }
+
+    /**
+     * @return  The SQL reported to <code>logDelegator</code> as <code>sqlTimingOccurred</code>
+     *          events, expected <code>count</code> times.
+     */
+    private static List<String> getTimingSqls(SpyLogDelegator logDelegator, int count) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(logDelegator, times(count)).sqlTimingOccurred(any(Spy.class), anyLong(),
+                any(CharSequence.class), sql.capture());
+        return sql.getAllValues();
+    }
+
+    /**
+     * @return  The SQL reported to <code>logDelegator</code> along with the exception
+     *          thrown by a single method.
+     */
+    private static String getExceptionSql(SpyLogDelegator logDelegator) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(logDelegator).exceptionOccured(any(Spy.class), any(CharSequence.class),
+                any(Exception.class), sql.capture(), anyLong());
+        return sql.getValue();
+    }
+
+    /**
+     * Test that the bind values, primitive or not, are dumped in place
+     * of the placeholders, and that unset values are dumped as placeholders.
+     */
+    @Test
+    public void shouldDumpBindValues() throws SQLException {
+        SpyLogDelegator logDelegator = newLogDelegator(SpyLogDelegator.SQLONLY_CATEGORY);
+        PreparedStatementSpy spy = newPreparedStatementSpy(
+                "INSERT INTO a VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", logDelegator);
+        spy.setInt(1, 1);
+        spy.setLong(2, 2L);
+        spy.setDouble(3, 1.5);
+        spy.setFloat(4, -0.25f);
+        spy.setBoolean(5, true);
+        spy.setString(6, "it's");
+        spy.setNull(7, java.sql.Types.VARCHAR);
+        spy.setShort(9, (short) 9);
+        spy.execute();
+        assertEquals("INSERT INTO a VALUES (1, 2, 1.5, -0.25, 1, 'it''s', NULL, ?, 9)",
+                getSqls(logDelegator, 1).get(0));
+
+        spy.clearParameters();
+        spy.setByte(8, (byte) 8);
+        spy.executeUpdate();
+        assertEquals("INSERT INTO a VALUES (?, ?, ?, ?, ?, ?, ?, 8, ?)",
+                getSqls(logDelegator, 2).get(1));
+    }
+
+    /**
+     * Test that the bind values are not formatted when the SQL is not logged,
+     * but are still dumped when an exception occurs, with the values set
+     * when each statement was added to the batch.
+     */
+    @Test
+    public void shouldFormatOnlyWhenNeeded() throws SQLException {
+        SpyLogDelegator logDelegator = newLogDelegator(0);
+        PreparedStatementSpy spy = newPreparedStatementSpy(
+                "UPDATE a SET b = ? WHERE c = ?", newFailingBatchStatement(), logDelegator);
+        CountingValue value = new CountingValue();
+        spy.setObject(1, value);
+        spy.setInt(2, 1);
+        spy.execute();
+        spy.addBatch();
+        spy.setInt(2, 2);
+        spy.addBatch();
+        assertEquals(0, value.toStringCount);
+        verify(logDelegator, never()).exceptionOccured(any(Spy.class),
+                any(CharSequence.class), any(Exception.class), anyString(), anyLong());
+
+        try {
+            spy.executeBatch();
+            fail("A SQLException should have been thrown");
+        } catch (SQLException e) {
+            //test passed
+        }
+        assertEquals("batching 2 statements:\n" +
+                "1:  UPDATE a SET b = counted WHERE c = 1\n" +
+                "2:  UPDATE a SET b = counted WHERE c = 2", getExceptionSql(logDelegator));
+        getSqls(logDelegator, 0);
+    }
+
+    /**
+     * Test that the mutable values bound are copied when a statement
+     * is added to the batch, so that reusing them for the next statement
+     * does not alter the SQL dumped for the previous ones.
+     */
+    @Test
+    public void shouldSnapshotMutableValuesInBatch() throws SQLException {
+        SpyLogDelegator logDelegator = newLogDelegator(0);
+        PreparedStatementSpy spy = newPreparedStatementSpy(
+                "UPDATE a SET b = ?", newFailingBatchStatement(), logDelegator);
+        Timestamp timestamp = new Timestamp(0);
+        spy.setTimestamp(1, timestamp);
+        spy.addBatch();
+        timestamp.setTime(86400000L);
+        spy.setTimestamp(1, timestamp);
+        spy.addBatch();
+
+        try {
+            spy.executeBatch();
+            fail("A SQLException should have been thrown");
+        } catch (SQLException e) {
+            //test passed
+        }
+        String[] statements = getExceptionSql(logDelegator).split("\n");
+        assertEquals(3, statements.length);
+        assertFalse(statements[1].substring(3).equals(statements[2].substring(3)));
+    }
+
+    /**
+     * Test that the bind values are formatted only for the statements sampled
+     * by the <code>SqlSampler</code>, or kept because they are slow.
+     */
+    @Test
+    public void shouldFormatOnlySampledStatements() throws SQLException {
+        SpyLogDelegator logDelegator = newLogDelegator(
+                SpyLogDelegator.SQLONLY_CATEGORY | SpyLogDelegator.SQLTIMING_CATEGORY);
+        PreparedStatementSpy spy = newPreparedStatementSpy(
+                "UPDATE a SET b = ? WHERE c = ?", logDelegator);
+        CountingValue value = new CountingValue();
+        spy.setObject(1, value);
+        try {
+            //1 statement out of 3, slow statements never kept
+            SqlSampler.setInstance(new SqlSampler(3, 0, -1));
+            for (int i = 0; i < 6; i++) {
+                spy.setInt(2, i);
+                spy.executeUpdate();
+            }
+            assertEquals(2, value.toStringCount);
+            List<String> sqls = getSqls(logDelegator, 2);
+            assertEquals("UPDATE a SET b = counted WHERE c = 3", sqls.get(1));
+            assertEquals(sqls, getTimingSqls(logDelegator, 2));
+
+            //all statements are slow, and kept
+            SqlSampler.setInstance(new SqlSampler(3, 0, 0));
+            for (int i = 0; i < 3; i++) {
+                spy.setInt(2, i);
+                spy.execute();
+            }
+            getSqls(logDelegator, 3);
+            assertTrue(getTimingSqls(logDelegator, 5).subList(2, 5).contains(
+                    "UPDATE a SET b = counted WHERE c = 2"));
+        } finally {
+            SqlSampler.setInstance(null);
+        }
+    }
+
+    /**
+     * Test that all the statements executed are reported when requested,
+     * with their placeholders, even when their SQL is not logged because of sampling.
+     */
+    @Test
+    public void shouldReportAllExecutionsWhenSampling() throws SQLException {
+        SpyLogDelegator logDelegator = newLogDelegator(
+                SpyLogDelegator.SQLTIMING_CATEGORY | SpyLogDelegator.EXECUTION_CATEGORY);
+        PreparedStatementSpy spy = newPreparedStatementSpy(
+                "UPDATE a SET b = ? WHERE c = ?", logDelegator);
+        CountingValue value = new CountingValue();
+        spy.setObject(1, value);
+        try {
+            SqlSampler.setInstance(new SqlSampler(3, 0, -1));
+            for (int i = 0; i < 6; i++) {
+                spy.setInt(2, i);
+                spy.executeUpdate();
+            }
+            assertEquals(2, value.toStringCount);
+            getTimingSqls(logDelegator, 2);
+            verify(logDelegator, times(6)).statementExecuted(eq(spy),
+                    any(CharSequence.class), eq("UPDATE a SET b = ? WHERE c = ?"), anyLong());
+        } finally {
+            SqlSampler.setInstance(null);
+        }
+    }
+
+    /**
+     * Test that the execution of a batch not sampled is reported with the SQL
+     * of the statement, without formatting the bind values of the statements batched.
+     */
+    @Test
+    public void shouldNotFormatUnsampledBatch() throws SQLException {
+        SpyLogDelegator logDelegator = newLogDelegator(
+                SpyLogDelegator.SQLTIMING_CATEGORY | SpyLogDelegator.EXECUTION_CATEGORY);
+        PreparedStatementSpy spy = newPreparedStatementSpy(
+                "UPDATE a SET b = ? WHERE c = ?", logDelegator);
+        CountingValue value = new CountingValue();
+        spy.setObject(1, value);
+        try {
+            SqlSampler.setInstance(new SqlSampler(0, 0, Long.MAX_VALUE));
+            spy.setInt(2, 1);
+            spy.addBatch();
+            spy.setInt(2, 2);
+            spy.addBatch();
+            spy.executeBatch();
+
+            assertEquals(0, value.toStringCount);
+            getTimingSqls(logDelegator, 0);
+            verify(logDelegator).statementExecuted(eq(spy), any(CharSequence.class),
+                    eq("UPDATE a SET b = ? WHERE c = ?"), anyLong());
+        } finally {
+            SqlSampler.setInstance(null);
+        }
+    }
+
+    /**
+     * Test that, when no statement is sampled, only the slow statements are reported,
+     * their bind values being formatted only then.
+     */
+    @Test
+    public void shouldReportOnlySlowStatements() throws SQLException {
+        SpyLogDelegator logDelegator = newLogDelegator(
+                SpyLogDelegator.SQLONLY_CATEGORY | SpyLogDelegator.SQLTIMING_CATEGORY);
+        PreparedStatementSpy spy = newPreparedStatementSpy(
+                "UPDATE a SET b = ? WHERE c = ?", logDelegator);
+        CountingValue value = new CountingValue();
+        spy.setObject(1, value);
+        spy.setInt(2, 1);
+        try {
+            SqlSampler.setInstance(new SqlSampler(0, 0, Long.MAX_VALUE));
+            spy.execute();
+            spy.executeUpdate();
+            assertEquals(0, value.toStringCount);
+            getTimingSqls(logDelegator, 0);
+
+            //any execution time is slow
+            SqlSampler.setInstance(new SqlSampler(0, 0, 0));
+            spy.executeUpdate();
+            assertEquals(1, value.toStringCount);
+            getSqls(logDelegator, 0);
+            assertEquals("UPDATE a SET b = counted WHERE c = 1",
+                    getTimingSqls(logDelegator, 1).get(0));
+        } finally {
+            SqlSampler.setInstance(null);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import net.sf.log4jdbc.TestAncestor;
+import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.log.log4j2.Log4j2SpyLogDelegator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assume;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Class testing the reporting of method returns by {@link ResultSetSpy}.
+ *
+ * @author Frederic Bastian
+ * @version 1.17-SNAPSHOT
+ * @since 1.17-SNAPSHOT
+ */
+public class ResultSetSpyTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(ResultSetSpyTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * @return  A <code>SpyLogDelegator</code> logging nothing, that does not create
+     *          any object when queried for the categories enabled. A Mockito mock
+     *          cannot be used here, as it records every call made to it.
+     */
+    private static SpyLogDelegator newNoLoggingDelegator() {
+        return new Log4j2SpyLogDelegator() {
+            protected int computeEnabledCategories() {
+                return 0;
+            }
+        };
+    }
+
+    /**
+     * A <code>ResultSet</code> returning constant values, without creating any object,
+     * used as the real <code>ResultSet</code> wrapped by the <code>ResultSetSpy</code>
+     * under test. It extends <code>ResultSetSpy</code> only to avoid implementing
+     * the whole <code>ResultSet</code> interface. A Mockito mock cannot be used
+     * as the wrapped <code>ResultSet</code> when measuring allocations, as it records
+     * every call made to it.
+     */
+    private static class ConstantResultSet extends ResultSetSpy
+    {
+        private ConstantResultSet() {
+            super(null, mock(ResultSet.class), newNoLoggingDelegator());
+        }
+        @Override
+        public boolean next() {
+            return true;
+        }
+        @Override
+        public int getInt(int columnIndex) {
+            return 123456;
+        }
+        @Override
+        public long getLong(int columnIndex) {
+            return 123456789L;
+        }
+        @Override
+        public double getDouble(String columnName) {
+            return 1.5;
+        }
+        @Override
+        public boolean getBoolean(int columnIndex) {
+            return true;
+        }
+        @Override
+        public String getString(int columnIndex) {
+            return "value";
+        }
+    }
+
+    /**
+     * Read <code>rs</code> as an application would do.
+     * @param rs            The <code>ResultSet</code> to read.
+     * @param iterations    An <code>int</code> that is the number of rows to read.
+     * @return              A <code>long</code> computed from the values read, so that
+     *                      the calls cannot be optimized away.
+     * @throws SQLException
+     */
+    private static long readResultSet(ResultSet rs, int iterations) throws SQLException {
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (rs.next()) {
+                sum += rs.getInt(1);
+                sum += rs.getLong(2);
+                sum += (long) rs.getDouble("column3");
+                sum += rs.getBoolean(4) ? 1 : 0;
+                sum += rs.getString(5).length();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Test that reading a <code>ResultSetSpy</code> does not allocate any object
+     * when the returns of <code>ResultSet</code> methods are neither logged nor collected.
+     */
+    @Test
+    public void shouldNotAllocateWhenResultSetNotLogged() throws Exception {
+        //getThreadAllocatedBytes is specific to the HotSpot JVM
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Method allocatedBytes = null;
+        try {
+            Class<?> hotSpotBean = Class.forName("com.sun.management.ThreadMXBean");
+            Assume.assumeTrue(hotSpotBean.isInstance(bean));
+            Assume.assumeTrue((Boolean) hotSpotBean.getMethod(
+                    "isThreadAllocatedMemorySupported").invoke(bean));
+            hotSpotBean.getMethod("setThreadAllocatedMemoryEnabled", boolean.class)
+                .invoke(bean, true);
+            allocatedBytes = hotSpotBean.getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ClassNotFoundException e) {
+            Assume.assumeNoException(e);
+        } catch (NoSuchMethodException e) {
+            Assume.assumeNoException(e);
+        }
+        long threadId = Thread.currentThread().getId();
+
+        ResultSetSpy spy = new ResultSetSpy(null, new ConstantResultSet(),
+                newNoLoggingDelegator());
+        int iterations = 100000;
+        //warm up, and make sure that the measurement method itself is loaded
+        readResultSet(spy, iterations);
+        allocatedBytes.invoke(bean, threadId);
+        allocatedBytes.invoke(bean, threadId);
+
+        long before = (Long) allocatedBytes.invoke(bean, threadId);
+        long sum = readResultSet(spy, iterations);
+        long after = (Long) allocatedBytes.invoke(bean, threadId);
+        log.debug("Sum of values read: {} - Bytes allocated: {}", sum, after - before);
+
+        //reporting the returns would cost dozens of bytes per getter call
+        //(method call descriptions, boxing, varargs arrays). We only allow
+        //a small constant cost for the measurement itself.
+        assertTrue("Reading the ResultSetSpy allocated " + (after - before) + " bytes",
+                after - before < 1024);
+    }
+
+    /**
+     * Test that the returns of the getters are still reported when the returns
+     * of <code>ResultSet</code> methods are logged.
+     */
+    @Test
+    public void shouldReportReturnWhenResultSetLogged() throws SQLException {
+        SpyLogDelegator delegator = mock(SpyLogDelegator.class);
+        when(delegator.isJdbcLoggingEnabled()).thenReturn(true);
+        when(delegator.getEnabledCategories()).thenReturn(SpyLogDelegator.RESULTSET_CATEGORY);
+        when(delegator.isResultSetLoggingEnabled()).thenReturn(true);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt(1)).thenReturn(123456);
+        when(rs.getDouble("column3")).thenReturn(1.5);
+
+        ResultSetSpy spy = new ResultSetSpy(null, rs, delegator);
+        //the constructor reports the creation of the ResultSet
+        verify(delegator, times(1)).methodReturned(eq(spy), any(CharSequence.class),
+                anyString());
+
+        assertEquals(123456, spy.getInt(1));
+        assertEquals(1.5, spy.getDouble("column3"), 0);
+
+        ArgumentCaptor<CharSequence> methodCalls = ArgumentCaptor.forClass(CharSequence.class);
+        verify(delegator, times(3)).methodReturned(eq(spy), methodCalls.capture(),
+                anyString());
+        List<CharSequence> calls = methodCalls.getAllValues();
+        assertEquals("getInt(1)", calls.get(1).toString());
+        assertEquals("getDouble(column3)", calls.get(2).toString());
+    }
+}
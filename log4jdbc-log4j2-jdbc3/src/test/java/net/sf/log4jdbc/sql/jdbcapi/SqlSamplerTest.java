@@ -0,0 +1,114 @@
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import net.sf.log4jdbc.TestAncestor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing the decisions of {@link SqlSampler}.
+ *
+ * @author Frederic Bastian
+ */
+public class SqlSamplerTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(SqlSamplerTest.class.getName());
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test that 1 statement out of the rate is sampled, whatever its SQL.
+     */
+    @Test
+    public void shouldSampleOneOutOfRate() {
+        SqlSampler sampler = new SqlSampler(4, 0, -1);
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sampler.isSampled("SELECT * FROM a WHERE b = " + i, false, 0)) {
+                sampled++;
+            }
+        }
+        assertEquals(25, sampled);
+        assertTrue(new SqlSampler(1, 0, -1).isSampled(null, false, 0));
+        //slow only mode
+        assertFalse(new SqlSampler(0, 0, -1).isSampled("SELECT 1", false, 0));
+    }
+
+    /**
+     * Test that the statements sampled are limited per fingerprint and per second,
+     * the statements differing only by their literal values sharing the same bucket.
+     */
+    @Test
+    public void shouldLimitRatePerFingerprint() {
+        SqlSampler sampler = new SqlSampler(1, 3, -1);
+        long now = 0;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(sampler.isSampled("SELECT * FROM a WHERE b = " + i, false, now));
+        }
+        assertFalse(sampler.isSampled("SELECT * FROM a  WHERE b = 'c'", false, now));
+        //a prepared statement with this fingerprint as SQL shares the same bucket
+        assertFalse(sampler.isSampled("SELECT * FROM a WHERE b = ?", true, now));
+        //other fingerprints have their own buckets
+        assertTrue(sampler.isSampled("SELECT * FROM a WHERE b = ? AND c = ?", true, now));
+        assertTrue(sampler.isSampled("SELECT * FROM d WHERE b = 1", false, now));
+
+        //a token is available every third of a second
+        now += TimeUnit.MILLISECONDS.toNanos(300);
+        assertFalse(sampler.isSampled("SELECT * FROM a WHERE b = 1", false, now));
+        now += TimeUnit.MILLISECONDS.toNanos(40);
+        assertTrue(sampler.isSampled("SELECT * FROM a WHERE b = 1", false, now));
+        assertFalse(sampler.isSampled("SELECT * FROM a WHERE b = 1", false, now));
+
+        //the burst is limited to one second
+        now += TimeUnit.SECONDS.toNanos(60);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(sampler.isSampled("SELECT * FROM a WHERE b = 1", false, now));
+        }
+        assertFalse(sampler.isSampled("SELECT * FROM a WHERE b = 1", false, now));
+        //batches are not limited
+        assertTrue(sampler.isSampled(null, false, now));
+    }
+
+    /**
+     * Test that, when the maximum number of buckets is reached, a single bucket
+     * is evicted, preferably a bucket with all its tokens, so that the other
+     * fingerprints are still limited.
+     */
+    @Test
+    public void shouldEvictOneBucket() {
+        SqlSampler sampler = new SqlSampler(1, 1, -1);
+        long now = 0;
+        for (int i = 0; i < SqlSampler.MAX_BUCKETS; i++) {
+            assertTrue(sampler.isSampled("SELECT * FROM a" + i + " WHERE b = ?", true, now));
+        }
+        now += TimeUnit.SECONDS.toNanos(2);
+        assertTrue(sampler.isSampled("SELECT * FROM a0 WHERE b = ?", true, now));
+        //a new fingerprint evicts a bucket whose tokens were refilled
+        assertTrue(sampler.isSampled("SELECT * FROM c WHERE b = ?", true, now));
+        assertFalse(sampler.isSampled("SELECT * FROM a0 WHERE b = ?", true, now));
+        assertFalse(sampler.isSampled("SELECT * FROM c WHERE b = ?", true, now));
+    }
+
+    /**
+     * Test that the statements not sampled are kept when slower than the threshold.
+     */
+    @Test
+    public void shouldKeepSlowStatements() {
+        //the execution times are compared in nanoseconds, to sub-millisecond thresholds
+        long threshold = TimeUnit.MICROSECONDS.toNanos(1500);
+        SqlSampler sampler = new SqlSampler(100, 0, threshold);
+        assertFalse(sampler.isKept(TimeUnit.MICROSECONDS.toNanos(999)));
+        assertFalse(sampler.isKept(threshold - 1));
+        assertTrue(sampler.isKept(threshold));
+        assertTrue(sampler.isKept(TimeUnit.MICROSECONDS.toNanos(1900)));
+        assertFalse(new SqlSampler(100, 0, -1).isKept(Long.MAX_VALUE / 2));
+    }
+}
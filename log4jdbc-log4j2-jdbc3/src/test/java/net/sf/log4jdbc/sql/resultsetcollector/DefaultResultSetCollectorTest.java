@@ -0,0 +1,207 @@
+package net.sf.log4jdbc.sql.resultsetcollector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.log4jdbc.TestAncestor;
+import net.sf.log4jdbc.sql.jdbcapi.ResultSetSpy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing the bounds on the rows retained by {@link DefaultResultSetCollector}.
+ *
+ * @author Frederic Bastian
+ */
+public class DefaultResultSetCollectorTest extends TestAncestor
+{
+    private final static Logger log =
+            LogManager.getLogger(DefaultResultSetCollectorTest.class.getName());
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * @return  A mocked <code>ResultSetSpy</code>, wrapping a <code>ResultSet</code>
+     *          with one column.
+     */
+    private static ResultSetSpy mockResultSetSpy() throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnName(1)).thenReturn("col");
+        when(metaData.getColumnLabel(1)).thenReturn("col");
+        when(metaData.getTableName(1)).thenReturn("table");
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        ResultSetSpy spy = mock(ResultSetSpy.class);
+        when(spy.getRealResultSet()).thenReturn(resultSet);
+        return spy;
+    }
+
+    /**
+     * Iterate a result set of <code>rowCount</code> rows, whose values are "row1",
+     * "row2", ..., and print the collector each time it requests it.
+     *
+     * @return  A <code>List</code> of the values printed, one <code>List</code>
+     *          per table printed.
+     */
+    private static List<List<Object>> collect(DefaultResultSetCollector collector,
+            int rowCount, List<String> tables) throws SQLException {
+        ResultSetSpy spy = mockResultSetSpy();
+        List<List<Object>> printed = new ArrayList<List<Object>>();
+        for (int i = 1; i <= rowCount + 1; i++) {
+            boolean hasNext = i <= rowCount;
+            if (collector.methodReturned(spy, ResultSetMethod.NEXT, "next()", hasNext, null)) {
+                print(collector, printed, tables);
+            }
+            if (hasNext) {
+                assertFalse(collector.methodReturned(spy, ResultSetMethod.GET_VALUE,
+                        "getString(1)", "row" + i, null, 1));
+            }
+        }
+        return printed;
+    }
+
+    private static void print(DefaultResultSetCollector collector,
+            List<List<Object>> printed, List<String> tables) {
+        List<Object> values = new ArrayList<Object>();
+        if (collector.getRows() != null) {
+            for (List<Object> row: collector.getRows()) {
+                values.add(row.get(0));
+            }
+        }
+        printed.add(values);
+        tables.add(new ResultSetCollectorPrinter().getResultSetToPrint(collector));
+        collector.reset();
+    }
+
+    /**
+     * Test that the rows are printed in chunks.
+     */
+    @Test
+    public void shouldPrintInChunks() throws SQLException {
+        List<String> tables = new ArrayList<String>();
+        List<List<Object>> printed = collect(
+                new DefaultResultSetCollector(false, 3, 0, -1, -1, 0), 7, tables);
+        assertEquals(Arrays.asList(Arrays.<Object>asList("row1", "row2", "row3"),
+                Arrays.<Object>asList("row4", "row5", "row6"),
+                Arrays.<Object>asList("row7")), printed);
+        for (String table: tables) {
+            assertTrue(table.contains("|col  |"));
+            assertFalse(table.contains("truncated"));
+        }
+    }
+
+    /**
+     * Test that only the first and last rows are printed when the result set is sampled,
+     * and that the rows truncated are reported.
+     */
+    @Test
+    public void shouldSampleHeadAndTail() throws SQLException {
+        List<String> tables = new ArrayList<String>();
+        DefaultResultSetCollector collector =
+                new DefaultResultSetCollector(false, 0, 0, 2, 2, 0);
+        List<List<Object>> printed = collect(collector, 10, tables);
+        assertEquals(Arrays.asList(Arrays.<Object>asList("row1", "row2", "row9", "row10")),
+                printed);
+        String sep = System.getProperty("line.separator");
+        assertTrue(tables.get(0).contains("|row2  |" + sep +
+                "|... 6 rows truncated ...|" + sep + "|row9  |"));
+
+        //the state of the sampling must be reset once printed
+        tables.clear();
+        printed = collect(collector, 3, tables);
+        assertEquals(Arrays.asList(Arrays.<Object>asList("row1", "row2", "row3")), printed);
+        assertFalse(tables.get(0).contains("truncated"));
+    }
+
+    /**
+     * Test that the estimated size of the rows retained is capped, and that
+     * the head rows can be printed in chunks while sampling.
+     */
+    @Test
+    public void shouldCapRetainedBytes() throws SQLException {
+        //each row is estimated to 96 bytes
+        List<String> tables = new ArrayList<String>();
+        DefaultResultSetCollector collector =
+                new DefaultResultSetCollector(false, 0, 0, -1, -1, 300);
+        List<List<Object>> printed = collect(collector, 9, tables);
+        assertEquals(Arrays.asList(Arrays.<Object>asList("row1", "row2", "row3")), printed);
+        assertTrue(tables.get(0).contains("|... 6 rows truncated ...|"));
+
+        //printed in chunks of 2 rows, the tail capped to 1 row
+        tables.clear();
+        collector = new DefaultResultSetCollector(false, 2, 0, 3, 5, 200);
+        printed = collect(collector, 9, tables);
+        assertEquals(Arrays.asList(Arrays.<Object>asList("row1", "row2"),
+                Arrays.<Object>asList("row3", "row9")), printed);
+        assertTrue(tables.get(1).contains("|... 5 rows truncated ...|"));
+    }
+
+    /**
+     * Test that the values read with column names are collected, whatever the case
+     * of the names, and that the last column is used for duplicated names.
+     */
+    @Test
+    public void shouldResolveColumnNames() throws SQLException {
+        int columnCount = 50;
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(columnCount);
+        for (int column = 1; column <= columnCount; column++) {
+            //the last column has the same name as the first one
+            String name = (column == columnCount ? "Column_1" : "Column_" + column);
+            when(metaData.getColumnName(column)).thenReturn(name);
+            when(metaData.getColumnLabel(column)).thenReturn("Label_" + column);
+            when(metaData.getTableName(column)).thenReturn("MyTable");
+        }
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        ResultSetSpy spy = mock(ResultSetSpy.class);
+        when(spy.getRealResultSet()).thenReturn(resultSet);
+
+        DefaultResultSetCollector collector =
+                new DefaultResultSetCollector(false, 0, 0, -1, -1, 0);
+        collector.methodReturned(spy, ResultSetMethod.NEXT, "next()", true, null);
+        collector.methodReturned(spy, ResultSetMethod.GET_VALUE, "getString(COLUMN_2)",
+                "a", null, "COLUMN_2");
+        collector.methodReturned(spy, ResultSetMethod.GET_VALUE, "getString(label_3)",
+                "b", null, "label_3");
+        collector.methodReturned(spy, ResultSetMethod.GET_VALUE,
+                "getString(mytable.Column_4)", "c", null, "mytable.Column_4");
+        collector.methodReturned(spy, ResultSetMethod.GET_VALUE, "getString(column_1)",
+                "d", null, "column_1");
+        collector.methodReturned(spy, ResultSetMethod.GET_VALUE, "getString(5)",
+                "e", null, 5);
+        //not a getter of values
+        collector.methodReturned(spy, ResultSetMethod.OTHER, "getString(6)",
+                "f", null, 6);
+        try {
+            collector.methodReturned(spy, ResultSetMethod.GET_VALUE, "getString(unknown)",
+                    "g", null, "unknown");
+            throw new AssertionError("An exception should have been thrown");
+        } catch (RuntimeException e) {
+            //test passed
+        }
+        assertTrue(collector.methodReturned(spy, ResultSetMethod.NEXT, "next()", false,
+                null));
+        List<Object> row = collector.getRows().get(0);
+        assertEquals(Arrays.<Object>asList("a", "b", "c", "e", "[unread]"),
+                row.subList(1, 6));
+        assertEquals("[unread]", row.get(0));
+        assertEquals("d", row.get(columnCount - 1));
+        assertEquals("column_2", collector.getColumnName(2));
+        assertEquals("label_2", collector.getColumnLabel(2));
+    }
+}
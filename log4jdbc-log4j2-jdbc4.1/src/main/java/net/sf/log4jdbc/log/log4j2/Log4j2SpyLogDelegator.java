@@ -1,5 +1,8 @@
 package net.sf.log4jdbc.log.log4j2;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
 import net.sf.log4jdbc.Properties;
 import net.sf.log4jdbc.log.AbstractSpyLogDelegator;
 import net.sf.log4jdbc.log.log4j2.message.ConnectionMessage;
@@ -8,14 +11,17 @@ import net.sf.log4jdbc.log.log4j2.message.MethodReturnedMessage;
 import net.sf.log4jdbc.log.log4j2.message.SqlTimingOccurredMessage;
 import net.sf.log4jdbc.log.log4j2.message.ConnectionMessage.Operation;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.jdbcapi.ConnectionLeak;
 import net.sf.log4jdbc.sql.jdbcapi.ResultSetSpy;
 import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollector;
 import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollectorPrinter;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.spi.LoggerContext;
 
 
 /**
@@ -173,6 +179,36 @@ public class Log4j2SpyLogDelegator extends AbstractSpyLogDelegator
      * (bug, or a hope for no exception to occur for these events?)
      */
     private static final Marker EXCEPTION_MARKER = MarkerManager.getMarker("LOG4JDBC_EXCEPTION");
+    /**
+     * The <code>Marker</code>s used to log SQL timing events, see 
+     * {@link #getStatementMarker(String)}. They are all checked to determine whether 
+     * SQL timing is enabled, as a filter could accept a child <code>Marker</code> 
+     * while rejecting its parent.
+     */
+    private static final Marker[] STATEMENT_MARKERS = new Marker[] {SQL_MARKER, 
+        SELECT_MARKER, INSERT_MARKER, UPDATE_MARKER, DELETE_MARKER, CREATE_MARKER};
+    /**
+     * The <code>Marker</code>s of the events that can include debug information. 
+     * They are all checked to determine whether {@link #DEBUGINFO_CATEGORY} is enabled.
+     */
+    private static final Marker[] DEBUG_INFO_MARKERS = new Marker[] {SQL_MARKER, 
+        SELECT_MARKER, INSERT_MARKER, UPDATE_MARKER, DELETE_MARKER, CREATE_MARKER, 
+        CONNECTION_MARKER, AUDIT_MARKER, RESULTSET_MARKER, EXCEPTION_MARKER};
+
+    /**
+     * Default constructor. The categories enabled (see {@link #getEnabledCategories()}) 
+     * are refreshed each time the log4j2 configuration is modified, if log4j2 core 
+     * is used as implementation of the log4j2 API.
+     */
+    public Log4j2SpyLogDelegator() {
+        super();
+        try {
+            ConfigurationChangeListener.register(this);
+        } catch (NoClassDefFoundError e) {
+            //log4j2 core is not available, the categories enabled will only 
+            //be refreshed periodically
+        }
+    }
 
     @Override
     public boolean isJdbcLoggingEnabled() {
@@ -180,22 +216,89 @@ public class Log4j2SpyLogDelegator extends AbstractSpyLogDelegator
     }
 
     @Override
-    public void filteredExceptionOccured(Spy spy, String methodCall, Exception e,
+    public void filteredExceptionOccured(Spy spy, CharSequence methodCall, Exception e,
             String sql, long execTime) {
 
-        LOGGER.error(EXCEPTION_MARKER, new ExceptionOccuredMessage(spy, methodCall, 
-                sql, execTime, LOGGER.isDebugEnabled(EXCEPTION_MARKER)), e);
+        //in slow only mode, the caller of failing statements is always located
+        boolean debug = this.isDebugInfoEnabled(EXCEPTION_MARKER) || 
+                (sql != null && Properties.isSqlTimingSlowOnly());
+        ReusableMessages reusable = ReusableMessages.acquire();
+        try {
+            LOGGER.error(EXCEPTION_MARKER, reusable == null ? 
+                    new ExceptionOccuredMessage(spy, methodCall, sql, execTime, debug) : 
+                    reusable.exceptionOccured.set(spy, methodCall, sql, execTime, debug), e);
+        } finally {
+            ReusableMessages.release(reusable);
+        }
     }
 
     @Override
-    public void methodReturned(Spy spy, String methodCall, String returnMsg) 
-    {
-        String classType = spy.getClassType();
-        Marker marker = ResultSetSpy.classTypeDescription.equals(classType)?
-                RESULTSET_MARKER:AUDIT_MARKER;
+    protected int computeEnabledCategories() {
+        int categories = 0;
+        if (LOGGER.isInfoEnabled(AUDIT_MARKER)) {
+            categories |= AUDIT_CATEGORY;
+        }
+        if (LOGGER.isInfoEnabled(RESULTSET_MARKER)) {
+            categories |= RESULTSET_CATEGORY;
+        }
+        for (Marker marker: STATEMENT_MARKERS) {
+            if (LOGGER.isInfoEnabled(marker) || 
+                    (Properties.isSqlTimingWarnThresholdEnabled() && 
+                            LOGGER.isWarnEnabled(marker)) || 
+                    (Properties.isSqlTimingErrorThresholdEnabled() && 
+                            LOGGER.isErrorEnabled(marker))) {
+                categories |= SQLTIMING_CATEGORY;
+                break;
+            }
+        }
+        if (LOGGER.isInfoEnabled(CONNECTION_MARKER)) {
+            categories |= CONNECTION_CATEGORY;
+        }
+        if (LOGGER.isInfoEnabled(RESULTSETTABLE_MARKER)) {
+            categories |= RESULTSETTABLE_CATEGORY;
+        }
+        for (Marker marker: DEBUG_INFO_MARKERS) {
+            if (LOGGER.isDebugEnabled(marker)) {
+                categories |= DEBUGINFO_CATEGORY;
+                break;
+            }
+        }
+        //SQLONLY_CATEGORY never enabled, see sqlOccurred
+        return categories;
+    }
+
+    /**
+     * Determine whether debug information should be added to the events logged 
+     * with <code>marker</code>. The logger is queried only when 
+     * {@link #DEBUGINFO_CATEGORY} is enabled.
+     * 
+     * @param marker    the <code>Marker</code> of the event to log.
+     * @return          <code>true</code> if the debug level is enabled for <code>marker</code>.
+     */
+    private boolean isDebugInfoEnabled(Marker marker) {
+        return this.isCategoryEnabled(DEBUGINFO_CATEGORY) && LOGGER.isDebugEnabled(marker);
+    }
 
-        LOGGER.info(marker, 
-                new MethodReturnedMessage(spy, methodCall, returnMsg, LOGGER.isDebugEnabled(marker)));
+    @Override
+    public void methodReturned(Spy spy, CharSequence methodCall, String returnMsg) 
+    {
+        boolean resultSet = spy instanceof ResultSetSpy;
+        //check the cached categories before creating the message, so that 
+        //the description of the method call is not generated for nothing
+        if (!this.isCategoryEnabled(resultSet? RESULTSET_CATEGORY: AUDIT_CATEGORY)) {
+            return;
+        }
+        Marker marker = resultSet? RESULTSET_MARKER: AUDIT_MARKER;
+
+        boolean debug = this.isDebugInfoEnabled(marker);
+        ReusableMessages reusable = ReusableMessages.acquire();
+        try {
+            LOGGER.info(marker, reusable == null ? 
+                    new MethodReturnedMessage(spy, methodCall, returnMsg, debug) : 
+                    reusable.methodReturned.set(spy, methodCall, returnMsg, debug));
+        } finally {
+            ReusableMessages.release(reusable);
+        }
     }	
 
     @Override
@@ -204,13 +307,13 @@ public class Log4j2SpyLogDelegator extends AbstractSpyLogDelegator
     }
 
     @Override
-    public void sqlOccurred(Spy spy, String methodCall, String sql) {
+    public void sqlOccurred(Spy spy, CharSequence methodCall, String sql) {
         //not implemented, 
         //as the features provided by the logger "jdbc.sqlonly" are not reproduced.
     }
 
     @Override
-    public void sqlTimingOccurred(Spy spy, long execTime, String methodCall,
+    public void sqlTimingOccurred(Spy spy, long execTime, CharSequence methodCall,
             String sql) 
     {
         //test useless in the current implementation, 
@@ -220,28 +323,41 @@ public class Log4j2SpyLogDelegator extends AbstractSpyLogDelegator
         /*if (!LOGGER.isErrorEnabled()) {
 			return;
 		}*/
+        if (!this.isCategoryEnabled(SQLTIMING_CATEGORY)) {
+            return;
+        }
         String operation = this.getSqlOperation(sql);
         if (Properties.isDumpSqlFilteringOn() && !this.shouldSqlBeLogged(operation)) {
             return;
         }
 
         Marker marker = this.getStatementMarker(operation);
-        SqlTimingOccurredMessage message = 
-                new SqlTimingOccurredMessage(spy, execTime, methodCall, sql, LOGGER.isDebugEnabled(marker));
-
+        //identify the level first, so that the message is created only if it will be logged
+        //thresholds are compared in nanoseconds, as they can be sub-millisecond
+        Level level;
         if (Properties.isSqlTimingErrorThresholdEnabled() &&
-                execTime >= Properties.getSqlTimingErrorThresholdMsec()) {
-
-            LOGGER.error(marker, message);
-
-        } else if (LOGGER.isWarnEnabled()) {
-            if (Properties.isSqlTimingWarnThresholdEnabled() &&
-                    execTime >= Properties.getSqlTimingWarnThresholdMsec()) {
+                execTime >= Properties.getSqlTimingErrorThresholdNanos()) {
+            level = Level.ERROR;
+        } else if (Properties.isSqlTimingWarnThresholdEnabled() &&
+                execTime >= Properties.getSqlTimingWarnThresholdNanos()) {
+            level = Level.WARN;
+        } else {
+            level = Level.INFO;
+        }
+        if (!LOGGER.isEnabled(level, marker)) {
+            return;
+        }
 
-                LOGGER.warn(marker, message);
-            } else {
-                LOGGER.info(marker, message);
-            }
+        //in slow only mode, the caller of slow statements is always located
+        boolean debug = this.isDebugInfoEnabled(marker) || 
+                (level != Level.INFO && Properties.isSqlTimingSlowOnly());
+        ReusableMessages reusable = ReusableMessages.acquire();
+        try {
+            LOGGER.log(level, marker, reusable == null ? 
+                    new SqlTimingOccurredMessage(spy, execTime, methodCall, sql, debug) : 
+                    reusable.sqlTimingOccurred.set(spy, execTime, methodCall, sql, debug));
+        } finally {
+            ReusableMessages.release(reusable);
         }
     }
 
@@ -350,10 +466,48 @@ public class Log4j2SpyLogDelegator extends AbstractSpyLogDelegator
         this.connectionModified(spy, execTime, Operation.ABORTING);
     }   
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Never called, as {@link #UPDATECOUNT_CATEGORY} is not enabled: 
+     * the numbers of rows affected are logged along with the returns 
+     * of the methods (see {@link #methodReturned(Spy, CharSequence, String)}).
+     */
+    @Override
+    public void updateCountReturned(Spy spy, CharSequence methodCall, int updateCount) 
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Never called, as {@link #EXECUTION_CATEGORY} is not enabled: 
+     * the statements are logged by {@link #sqlTimingOccurred(Spy, long, CharSequence, String)}.
+     */
+    @Override
+    public void statementExecuted(Spy spy, CharSequence methodCall, String sql, long execTime) 
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Leaks are logged whatever the categories enabled, as leak detection 
+     * must be explicitly enabled: a connection garbage collected without being closed 
+     * is logged with the level <code>ERROR</code>, a connection held for too long 
+     * with the level <code>WARN</code>, with its allocation site, if captured.
+     */
+    @Override
+    public void connectionLeaked(ConnectionLeak leak) 
+    {
+        LOGGER.log(leak.isCollected() ? Level.ERROR : Level.WARN, CONNECTION_MARKER, 
+                leak.toString(), leak.getAllocationSite());
+    }
+
     /**
      * 
      * @param spy       <code>ConnectionSpy</code> that was opened or closed.
-     * @param execTime    A <code>long</code> defining the time elapsed to open or close the connection in ms
+     * @param execTime    A <code>long</code> defining the time elapsed to open or close the connection in nanoseconds
      *            Caller should pass -1 if not used
      * @param operation   an <code>int</code> to define if the operation was to open, or to close connection. 
      *            Should be equals to <code>ConnectionMessage.OPENING</code> 
@@ -362,8 +516,18 @@ public class Log4j2SpyLogDelegator extends AbstractSpyLogDelegator
      */
     private void connectionModified(Spy spy, long execTime, Operation operation)
     {
-        LOGGER.info(CONNECTION_MARKER, 
-                new ConnectionMessage(spy, execTime, operation, LOGGER.isDebugEnabled(CONNECTION_MARKER)));
+        if (!this.isCategoryEnabled(CONNECTION_CATEGORY)) {
+            return;
+        }
+        boolean debug = this.isDebugInfoEnabled(CONNECTION_MARKER);
+        ReusableMessages reusable = ReusableMessages.acquire();
+        try {
+            LOGGER.info(CONNECTION_MARKER, reusable == null ? 
+                    new ConnectionMessage(spy, execTime, operation, debug) : 
+                    reusable.connection.set(spy, execTime, operation, debug));
+        } finally {
+            ReusableMessages.release(reusable);
+        }
     }
 
     @Override
@@ -372,11 +536,6 @@ public class Log4j2SpyLogDelegator extends AbstractSpyLogDelegator
         DEBUGLOGGER.debug(msg);
     }
 
-    @Override
-    public boolean isResultSetCollectionEnabled() {
-        return LOGGER.isInfoEnabled(RESULTSETTABLE_MARKER);
-    }
-
     @Override
     public boolean isResultSetCollectionEnabledWithUnreadValueFillIn() {
         return LOGGER.isDebugEnabled(RESULTSETTABLE_MARKER);
@@ -392,4 +551,117 @@ public class Log4j2SpyLogDelegator extends AbstractSpyLogDelegator
 
     }
 
+    /**
+     * Holds the <code>SqlMessage</code>s reused by a thread, when 
+     * <code>Properties#isReusableMessages()</code> is <code>true</code>, so that 
+     * no <code>Message</code> is created for each log event. The messages 
+     * are formatted using a <code>StringBuilder</code> also reused by the thread 
+     * (see <code>SqlMessage#buildMessage()</code>).
+     */
+    private static final class ReusableMessages 
+    {
+        /**
+         * A <code>ThreadLocal</code> holding the <code>ReusableMessages</code> of each thread.
+         */
+        private static final ThreadLocal<ReusableMessages> MESSAGES = 
+                new ThreadLocal<ReusableMessages>() {
+            @Override
+            protected ReusableMessages initialValue() {
+                return new ReusableMessages();
+            }
+        };
+
+        private final MethodReturnedMessage methodReturned = new MethodReturnedMessage();
+        private final SqlTimingOccurredMessage sqlTimingOccurred = new SqlTimingOccurredMessage();
+        private final ExceptionOccuredMessage exceptionOccured = new ExceptionOccuredMessage();
+        private final ConnectionMessage connection = new ConnectionMessage();
+        /**
+         * A <code>boolean</code> that is <code>true</code> while the messages 
+         * are being logged.
+         */
+        private boolean inUse;
+
+        /**
+         * @return  The <code>ReusableMessages</code> of the current thread, 
+         *          or <code>null</code> if messages should not be reused, or if they are 
+         *          already being logged in this thread (for instance, when log4j2 
+         *          writes to a database through log4jdbc).
+         */
+        private static ReusableMessages acquire() 
+        {
+            if (!Properties.isReusableMessages()) {
+                return null;
+            }
+            ReusableMessages messages = MESSAGES.get();
+            if (messages.inUse) {
+                return null;
+            }
+            messages.inUse = true;
+            return messages;
+        }
+
+        /**
+         * Allow the messages of <code>messages</code> to be reused.
+         * @param messages  The <code>ReusableMessages</code> returned by {@link #acquire()}, 
+         *                  can be <code>null</code>.
+         */
+        private static void release(ReusableMessages messages) 
+        {
+            if (messages != null) {
+                messages.inUse = false;
+            }
+        }
+    }
+
+    /**
+     * A <code>PropertyChangeListener</code> refreshing the categories enabled 
+     * of a <code>Log4j2SpyLogDelegator</code> when the configuration of the log4j2 core 
+     * <code>LoggerContext</code> is replaced (see 
+     * {@link AbstractSpyLogDelegator#refreshEnabledCategories()}). The log4j2 core classes 
+     * are only referenced from this class, so that <code>Log4j2SpyLogDelegator</code> 
+     * can be used with another implementation of the log4j2 API.
+     */
+    private static final class ConfigurationChangeListener implements PropertyChangeListener 
+    {
+        /**
+         * The <code>Log4j2SpyLogDelegator</code> which categories must be refreshed.
+         */
+        private final Log4j2SpyLogDelegator delegator;
+
+        /**
+         * Register a new <code>ConfigurationChangeListener</code> for <code>delegator</code> 
+         * to the current log4j2 <code>LoggerContext</code>, if it is a log4j2 core 
+         * <code>LoggerContext</code>.
+         * 
+         * @param delegator     The <code>Log4j2SpyLogDelegator</code> which categories 
+         *                      must be refreshed.
+         * @throws NoClassDefFoundError If log4j2 core is not available.
+         */
+        private static void register(Log4j2SpyLogDelegator delegator) 
+        {
+            LoggerContext context = LogManager.getContext(false);
+            if (context instanceof org.apache.logging.log4j.core.LoggerContext) {
+                ((org.apache.logging.log4j.core.LoggerContext) context)
+                .addPropertyChangeListener(new ConfigurationChangeListener(delegator));
+            }
+        }
+
+        /**
+         * @param delegator     The <code>Log4j2SpyLogDelegator</code> which categories 
+         *                      must be refreshed.
+         */
+        private ConfigurationChangeListener(Log4j2SpyLogDelegator delegator) 
+        {
+            this.delegator = delegator;
+        }
+
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) 
+        {
+            if (org.apache.logging.log4j.core.LoggerContext.PROPERTY_CONFIG.equals(
+                    evt.getPropertyName())) {
+                this.delegator.refreshEnabledCategories();
+            }
+        }
+    }
 }
@@ -1,6 +1,9 @@
 package net.sf.log4jdbc.log.log4j2.message;
 
+import net.sf.log4jdbc.Properties;
+import net.sf.log4jdbc.log.SqlFormatter;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.Utilities;
 
 import org.apache.logging.log4j.message.Message;
 
@@ -8,7 +11,7 @@ import org.apache.logging.log4j.message.Message;
  * <code>SqlMessage</code> related to the logging of <code>Exception</code>s.
  * 
  * @author Frederic Bastian
- * @see net.sf.log4jdbc.log4j2.Log4j2SpyLogDelegator#exceptionOccured(Spy, String, Exception, String, long)
+ * @see net.sf.log4jdbc.log4j2.Log4j2SpyLogDelegator#exceptionOccured(Spy, CharSequence, Exception, String, long)
  * @version 1.0
  * @since 1.0
  */
@@ -16,23 +19,34 @@ public class ExceptionOccuredMessage extends SqlMessage implements Message
 {
     private static final long serialVersionUID = 4033892630843448750L;
     /**
-     * the <code>Spy</code> wrapping the class that threw an <code>Exception</code>. 
+     * the number of the connection of the <code>Spy</code> wrapping the class 
+     * that threw an <code>Exception</code>. 
      * Will be used to build the <code>message</code>, only when needed.
      * @see #message
      * @see #buildMessage()
      */
-	private Spy spy;
+	private Integer connectionNumber;
+    /**
+     * the type of the class wrapped by the <code>Spy</code> that threw 
+     * an <code>Exception</code> (e.g., "PreparedStatement"). 
+     * Will be used to build the <code>message</code>, only when needed.
+     * @see #message
+     * @see #buildMessage()
+     */
+	private String classType;
 	/**
-     * a <code>String</code> describing the name and call parameters 
-     * of the method generated the <code>Exception</code>. 
+     * the name and call parameters of the method generated the <code>Exception</code>, 
+     * copied at creation, as the <code>CharSequence</code> provided could be modified 
+     * afterwards. The same <code>StringBuilder</code> is reused when this message is reused. 
      * Will be used to build the <code>message</code>, only when needed.
      * @see #message
      * @see #buildMessage()
      */
-	private String methodCall;
+	private final StringBuilder methodCall = new StringBuilder();
 	/**
      * <code>long</code> representing the amount of time 
-     * that passed before an <code>Exception</code> was thrown when sql was being executed.
+     * that passed before an <code>Exception</code> was thrown when sql was being executed, 
+     * in nanoseconds.
      * Optional and should be set to -1 if not used. 
      * Will be used to build the <code>message</code>, only when needed.
      * @see #message
@@ -69,50 +83,62 @@ public class ExceptionOccuredMessage extends SqlMessage implements Message
      *                   	caller should pass -1 if not used.
      * @param isDebugEnabled A <code>boolean</code> to define whether debugInfo should be displayed.
      */
-    public ExceptionOccuredMessage(Spy spy, String methodCall, 
+    public ExceptionOccuredMessage(Spy spy, CharSequence methodCall, 
+	        String sql, long execTime, boolean isdebugEnabled) {
+    	
+		super(false);
+		this.set(spy, methodCall, sql, execTime, isdebugEnabled);
+    }
+    
+    /**
+     * Reuse this <code>ExceptionOccuredMessage</code> for a new log event. 
+     * Arguments are the same as for the constructor.
+     * 
+     * @return	this <code>ExceptionOccuredMessage</code>.
+     * @see #ExceptionOccuredMessage(Spy, CharSequence, String, long, boolean)
+     */
+    public ExceptionOccuredMessage set(Spy spy, CharSequence methodCall, 
 	        String sql, long execTime, boolean isdebugEnabled) {
     	
-		super(isdebugEnabled);
+    	this.reset(isdebugEnabled);
 		
-		this.spy = spy;
-		this.methodCall = methodCall;
+		this.connectionNumber = (spy == null ? null : spy.getConnectionNumber());
+		this.classType = (spy == null ? null : spy.getClassType());
+		this.methodCall.setLength(0);
+		this.methodCall.append(methodCall);
 		this.sql = sql;
 		this.execTime = execTime;
+		return this;
     }
     
     /**
-     * Populate the <code>message</code> attribute 
+     * Append the message to <code>buffer</code> 
      * using the attributes of this class.
      * This method is called only when this <code>Message</code> is actually logged, 
      * avoiding useless concatenation costs, etc.
      * 
      * @see #message
      */
-    protected void buildMessage()
+    @Override
+    public void formatTo(StringBuilder buffer)
     {
-    	String tempMessage = "";
-    	
-    	String classType = this.spy.getClassType();
-    	Integer spyNo = this.spy.getConnectionNumber();
-    	String header = spyNo + ". " + classType + "." + this.methodCall;
-
-    	if (this.sql == null) {
-    		tempMessage = header;
-
+    	// if at debug level, display debug info to error log
+    	if (this.sql != null && this.isDebugEnabled()) {
+    		buffer.append(this.getCallerDebugInfo()).append(SqlMessage.nl)
+    			.append(this.connectionNumber).append(". ");
     	} else {
-    		String tempSql = this.processSql(this.sql);
-
-    		// if at debug level, display debug info to error log
-    		if (this.isDebugEnabled()) {
-    			tempMessage = SqlMessage.getDebugInfo() + SqlMessage.nl + spyNo + ". " + tempSql;
-    		} else {
-    			tempMessage = header + " FAILED! " + tempSql;
+    		buffer.append(this.connectionNumber).append(". ").append(this.classType)
+    			.append('.').append(this.methodCall);
+    		if (this.sql != null) {
+    			buffer.append(" FAILED! ");
     		}
+    	}
+    	if (this.sql != null) {
+    		SqlFormatter.getInstance(false).format(this.sql, buffer);
     		if (this.execTime != -1) {
-    			tempMessage += " {FAILED after " + execTime + " ms}";
+    			buffer.append(" {FAILED after ").append(Utilities.toTimingUnit(this.execTime)).append(' ')
+    				.append(Properties.getTimingUnitSymbol()).append('}');
     		}
     	}
-    	
-    	this.setMessage(tempMessage);
     }
 }
@@ -8,7 +8,7 @@ import org.apache.logging.log4j.message.Message;
  * <code>SqlMessage</code> related to the logging of methods calls returns.
  * 
  * @author Frederic Bastian
- * @see net.sf.log4jdbc.log4j2.Log4j2SpyLogDelegator#methodReturned(Spy, String, String)
+ * @see net.sf.log4jdbc.log4j2.Log4j2SpyLogDelegator#methodReturned(Spy, CharSequence, String)
  * @version 1.0
  * @since 1.0
  */
@@ -16,19 +16,21 @@ public class MethodReturnedMessage extends SqlMessage implements Message {
 
 	private static final long serialVersionUID = 3672279172754686950L;
 	/**
-     * the <code>Spy</code> wrapping the class that called the method that returned. 
+     * the number of the connection of the <code>Spy</code> wrapping the class 
+     * that called the method that returned. 
      * Will be used to build the <code>message</code>, only when needed.
      * @see #message
      * @see #buildMessage()
      */
-	private Spy spy;
+	private Integer connectionNumber;
 	/**
-     * a <code>String</code> describing the name and call parameters of the method that returned. 
+     * the type of the class wrapped by the <code>Spy</code> that called the method 
+     * that returned (e.g., "Connection"). 
      * Will be used to build the <code>message</code>, only when needed.
      * @see #message
      * @see #buildMessage()
      */
-	private String returnMsg;
+	private String classType;
 	/**
      * return value converted to a String for integral types, or String representation for Object.
      * Will be null for void return types.. 
@@ -36,7 +38,16 @@ public class MethodReturnedMessage extends SqlMessage implements Message {
      * @see #message
      * @see #buildMessage()
      */
-	private String methodCall;
+	private String returnMsg;
+	/**
+     * the name and call parameters of the method that returned, copied at creation, 
+     * as the <code>CharSequence</code> provided could be modified afterwards. 
+     * The same <code>StringBuilder</code> is reused when this message is reused. 
+     * Will be used to build the <code>message</code>, only when needed.
+     * @see #message
+     * @see #buildMessage()
+     */
+	private final StringBuilder methodCall = new StringBuilder();
 	
 	/**
 	 * Default constructor.
@@ -54,27 +65,39 @@ public class MethodReturnedMessage extends SqlMessage implements Message {
      *                   Will be null for void return types.
      * @param isDebugEnabled A <code>boolean</code> to define whether debugInfo should be displayed.
 	 */
-	public MethodReturnedMessage(Spy spy, String methodCall, String returnMsg, boolean isDebugEnabled)
+	public MethodReturnedMessage(Spy spy, CharSequence methodCall, String returnMsg, boolean isDebugEnabled)
 	{
-		super(isDebugEnabled);
-		this.spy = spy;
-		this.methodCall = methodCall;
+		super(false);
+		this.set(spy, methodCall, returnMsg, isDebugEnabled);
+	}
+	
+	/**
+	 * Reuse this <code>MethodReturnedMessage</code> for a new log event. 
+	 * Arguments are the same as for the constructor.
+	 * 
+	 * @return	this <code>MethodReturnedMessage</code>.
+	 * @see #MethodReturnedMessage(Spy, CharSequence, String, boolean)
+	 */
+	public MethodReturnedMessage set(Spy spy, CharSequence methodCall, String returnMsg, 
+			boolean isDebugEnabled)
+	{
+		this.reset(isDebugEnabled);
+		this.connectionNumber = (spy == null ? null : spy.getConnectionNumber());
+		this.classType = (spy == null ? null : spy.getClassType());
+		this.methodCall.setLength(0);
+		this.methodCall.append(methodCall);
 		this.returnMsg = returnMsg;
-		
+		return this;
 	}
 
 	@Override
-	protected void buildMessage() 
+	public void formatTo(StringBuilder buffer) 
 	{
-		String header = this.spy.getConnectionNumber() + ". " + this.spy.getClassType() + "." +
-				this.methodCall + " returned " + this.returnMsg;
-
 		if (this.isDebugEnabled()) {
-			this.setMessage(SqlMessage.getDebugInfo() + SqlMessage.nl + header);
-
-		} else {
-			this.setMessage(header);
+			buffer.append(this.getCallerDebugInfo()).append(SqlMessage.nl);
 		}
+		buffer.append(this.connectionNumber).append(". ").append(this.classType).append('.')
+			.append(this.methodCall).append(" returned ").append(this.returnMsg);
 	}
 
 }
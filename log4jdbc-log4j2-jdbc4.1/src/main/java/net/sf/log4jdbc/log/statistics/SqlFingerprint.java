@@ -0,0 +1,130 @@
+package net.sf.log4jdbc.log.statistics;
+
+/**
+ * Computes the fingerprint of SQL statements, used to aggregate
+ * the statistics of statements differing only by their literal values.
+ * <p>
+ * The fingerprint of a statement is obtained in one single pass over it:
+ * string and numeric literals are replaced by <code>?</code>, comments are removed,
+ * and consecutive whitespaces are collapsed into one single space. Identifiers,
+ * including quoted identifiers, and keywords are kept as is. For instance,
+ * <code>SELECT * FROM  user WHERE id = 12 AND name = 'O''Brien' -- test</code>
+ * has the fingerprint <code>SELECT * FROM user WHERE id = ? AND name = ?</code>.
+ * As <code>PreparedStatementSpy</code> reports SQL statements with the values
+ * of their bind parameters, this allows to retrieve the original statement.
+ *
+ * @author Frederic Bastian
+ * @see StatisticsSpyLogDelegator
+ */
+public final class SqlFingerprint
+{
+    /**
+     * Do not allow instantiation, access is through static methods.
+     */
+    private SqlFingerprint()
+    {
+    }
+
+    /**
+     * Compute the fingerprint of <code>sql</code>, see the description of this class.
+     *
+     * @param sql     A <code>String</code> that is the SQL statement to normalize.
+     * @return        A <code>String</code> that is the fingerprint of <code>sql</code>,
+     *                <code>null</code> if <code>sql</code> is <code>null</code>.
+     */
+    public static String normalize(String sql)
+    {
+        if (sql == null) {
+            return null;
+        }
+        int length = sql.length();
+        StringBuilder fingerprint = new StringBuilder(length);
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            char next = (i + 1 < length ? sql.charAt(i + 1) : 0);
+
+            //whitespaces and comments are collapsed into one single space,
+            //written only if followed by something else
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (c == '-' && next == '-') {
+                int end = sql.indexOf('\n', i);
+                i = (end == -1 ? length : end + 1);
+                pendingSpace = true;
+                continue;
+            }
+            if (c == '/' && next == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = (end == -1 ? length : end + 2);
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace) {
+                if (fingerprint.length() > 0) {
+                    fingerprint.append(' ');
+                }
+                pendingSpace = false;
+            }
+
+            if (c == '\'') {
+                //string literal, quotes are escaped by doubling them
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    i++;
+                }
+                fingerprint.append('?');
+            } else if (c == '"' || c == '`') {
+                //quoted identifier, kept as is
+                int end = sql.indexOf(c, i + 1);
+                end = (end == -1 ? length : end + 1);
+                fingerprint.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) || (c == '.' && Character.isDigit(next))) {
+                //numeric literal, including decimals, exponents and hexadecimal values
+                i++;
+                while (i < length) {
+                    char d = sql.charAt(i);
+                    if (Character.isLetterOrDigit(d) || d == '.') {
+                        i++;
+                    } else if ((d == '+' || d == '-') &&
+                            (sql.charAt(i - 1) == 'e' || sql.charAt(i - 1) == 'E')) {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                fingerprint.append('?');
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                //identifier or keyword, digits it contains are not literals
+                int start = i;
+                i++;
+                while (i < length) {
+                    char d = sql.charAt(i);
+                    if (Character.isLetterOrDigit(d) || d == '_' || d == '$') {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                fingerprint.append(sql, start, i);
+            } else {
+                fingerprint.append(c);
+                i++;
+            }
+        }
+        return fingerprint.toString();
+    }
+}
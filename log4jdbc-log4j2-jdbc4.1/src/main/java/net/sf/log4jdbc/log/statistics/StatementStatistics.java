@@ -0,0 +1,155 @@
+package net.sf.log4jdbc.log.statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the executions of all the SQL statements sharing
+ * a same fingerprint (see {@link SqlFingerprint}): number of executions,
+ * number of errors, distribution of the execution times, and number of rows
+ * affected by updates.
+ * <p>
+ * Instances are created and updated by {@link StatisticsSpyLogDelegator},
+ * and can be read concurrently to their update.
+ *
+ * @author Frederic Bastian
+ * @see StatisticsSpyLogDelegator
+ */
+public class StatementStatistics
+{
+    /**
+     * A <code>String</code> that is the fingerprint of the statements aggregated.
+     */
+    private final String fingerprint;
+    /**
+     * A <code>LatencyHistogram</code> storing the execution times of the statements,
+     * in nanoseconds, including the failed ones when their execution time is known.
+     */
+    private final LatencyHistogram latencies;
+    /**
+     * An <code>AtomicLong</code> that is the number of executions that failed.
+     */
+    private final AtomicLong errorCount;
+    /**
+     * An <code>AtomicLong</code> that is the number of rows affected by updates.
+     */
+    private final AtomicLong rowsAffected;
+
+    /**
+     * @param fingerprint   A <code>String</code> that is the fingerprint
+     *                      of the statements aggregated.
+     */
+    StatementStatistics(String fingerprint) {
+        this.fingerprint = fingerprint;
+        this.latencies = new LatencyHistogram();
+        this.errorCount = new AtomicLong(0);
+        this.rowsAffected = new AtomicLong(0);
+    }
+
+    /**
+     * Record a successful execution.
+     *
+     * @param execNanos     A <code>long</code> that is the execution time in nanoseconds.
+     */
+    void recordExecution(long execNanos) {
+        this.latencies.record(execNanos);
+    }
+
+    /**
+     * Record a failed execution.
+     *
+     * @param execNanos     A <code>long</code> that is the execution time in nanoseconds
+     *                      before the failure, negative if unknown.
+     */
+    void recordError(long execNanos) {
+        this.errorCount.incrementAndGet();
+        if (execNanos >= 0) {
+            this.latencies.record(execNanos);
+        }
+    }
+
+    /**
+     * @param rows  An <code>int</code> that is a number of rows affected by an update.
+     */
+    void addRowsAffected(int rows) {
+        if (rows > 0) {
+            this.rowsAffected.addAndGet(rows);
+        }
+    }
+
+    /**
+     * Reset all the statistics.
+     */
+    void reset() {
+        this.latencies.reset();
+        this.errorCount.set(0);
+        this.rowsAffected.set(0);
+    }
+
+    /**
+     * @return  A <code>String</code> that is the fingerprint of the statements aggregated.
+     */
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+    /**
+     * @return  A <code>long</code> that is the number of executions with a known
+     *          execution time, successful or not.
+     */
+    public long getCount() {
+        return this.latencies.getCount();
+    }
+    /**
+     * @return  A <code>long</code> that is the number of executions that failed.
+     */
+    public long getErrorCount() {
+        return this.errorCount.get();
+    }
+    /**
+     * @return  A <code>long</code> that is the number of rows affected by updates.
+     */
+    public long getRowsAffected() {
+        return this.rowsAffected.get();
+    }
+    /**
+     * @return  A <code>long</code> that is the highest execution time, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return this.latencies.getMax();
+    }
+    /**
+     * @param percentile    A <code>double</code> between 0 and 100.
+     * @return              A <code>long</code> that is the execution time,
+     *                      in nanoseconds, at <code>percentile</code>.
+     */
+    public long getPercentileNanos(double percentile) {
+        return this.latencies.getValueAtPercentile(percentile);
+    }
+    /**
+     * @return  A <code>long</code> that is the median execution time, in nanoseconds.
+     */
+    public long getP50Nanos() {
+        return this.getPercentileNanos(50);
+    }
+    /**
+     * @return  A <code>long</code> that is the 95th percentile of execution times,
+     *          in nanoseconds.
+     */
+    public long getP95Nanos() {
+        return this.getPercentileNanos(95);
+    }
+    /**
+     * @return  A <code>long</code> that is the 99th percentile of execution times,
+     *          in nanoseconds.
+     */
+    public long getP99Nanos() {
+        return this.getPercentileNanos(99);
+    }
+
+    @Override
+    public String toString() {
+        return this.fingerprint + " - count: " + this.getCount() +
+            " - errors: " + this.getErrorCount() + " - rows: " + this.getRowsAffected() +
+            " - p50: " + this.getP50Nanos() + " ns - p95: " + this.getP95Nanos() +
+            " ns - p99: " + this.getP99Nanos() + " ns - max: " + this.getMaxNanos() + " ns";
+    }
+}
@@ -38,6 +38,7 @@ import java.util.Calendar;
 import java.util.Map;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
 import net.sf.log4jdbc.sql.Spy;
 
 /**
@@ -48,7 +49,7 @@ import net.sf.log4jdbc.sql.Spy;
  */
 public class CallableStatementSpy extends PreparedStatementSpy implements CallableStatement
 {
-	protected void reportAllReturns(String methodCall, String msg)
+	protected void reportAllReturns(CharSequence methodCall, String msg)
 	{
 		log.methodReturned(this, methodCall, msg);
 	}
@@ -94,7 +95,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Date getDate(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getDate(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getDate", parameterIndex);
 		try
 		{
 			return (Date) reportReturn(methodCall, realCallableStatement.getDate(parameterIndex));
@@ -109,7 +110,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Date getDate(int parameterIndex, Calendar cal) throws SQLException
 	{
-		String methodCall = "getDate(" + parameterIndex + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getDate", parameterIndex, cal);
 		try
 		{
 			return (Date) reportReturn(methodCall, realCallableStatement.getDate(parameterIndex, cal));
@@ -124,7 +125,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Ref getRef(String parameterName) throws SQLException
 	{
-		String methodCall = "getRef(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getRef", parameterName);
 		try
 		{
 			return (Ref) reportReturn(methodCall, realCallableStatement.getRef(parameterName));
@@ -139,7 +140,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Time getTime(String parameterName) throws SQLException
 	{
-		String methodCall = "getTime(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getTime", parameterName);
 		try
 		{
 			return (Time) reportReturn(methodCall, realCallableStatement.getTime(parameterName));
@@ -154,23 +155,25 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setTime(String parameterName, Time x) throws SQLException
 	{
-		String methodCall = "setTime(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setTime(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setTime", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setTime", parameterName, x));
+		}
 	}
 
 	@Override
 	public Blob getBlob(int i) throws SQLException
 	{
-		String methodCall = "getBlob(" + i + ")";
+		MethodCall methodCall = new MethodCall("getBlob", i);
 		try
 		{
 			return (Blob) reportReturn(methodCall, realCallableStatement.getBlob(i));
@@ -185,7 +188,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Clob getClob(int i) throws SQLException
 	{
-		String methodCall = "getClob(" + i + ")";
+		MethodCall methodCall = new MethodCall("getClob", i);
 		try
 		{
 			return (Clob) reportReturn(methodCall, realCallableStatement.getClob(i));
@@ -200,7 +203,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Array getArray(int i) throws SQLException
 	{
-		String methodCall = "getArray(" + i + ")";
+		MethodCall methodCall = new MethodCall("getArray", i);
 		try
 		{
 			return (Array) reportReturn(methodCall, realCallableStatement.getArray(i));
@@ -215,7 +218,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public byte[] getBytes(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getBytes(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getBytes", parameterIndex);
 		try
 		{
 			return (byte[]) reportReturn(methodCall, realCallableStatement.getBytes(parameterIndex));
@@ -230,7 +233,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public double getDouble(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getDouble(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getDouble", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getDouble(parameterIndex));
@@ -245,7 +248,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public int getInt(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getInt(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getInt", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getInt(parameterIndex));
@@ -275,7 +278,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Time getTime(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getTime(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getTime", parameterIndex);
 		try
 		{
 			return (Time) reportReturn(methodCall, realCallableStatement.getTime(parameterIndex));
@@ -290,7 +293,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Time getTime(int parameterIndex, Calendar cal) throws SQLException
 	{
-		String methodCall = "getTime(" + parameterIndex + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getTime", parameterIndex, cal);
 		try
 		{
 			return (Time) reportReturn(methodCall, realCallableStatement.getTime(parameterIndex, cal));
@@ -305,7 +308,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Timestamp getTimestamp(String parameterName) throws SQLException
 	{
-		String methodCall = "getTimestamp(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getTimestamp", parameterName);
 		try
 		{
 			return (Timestamp) reportReturn(methodCall, realCallableStatement.getTimestamp(parameterName));
@@ -320,23 +323,25 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setTimestamp(String parameterName, Timestamp x) throws SQLException
 	{
-		String methodCall = "setTimestamp(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setTimestamp(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setTimestamp", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setTimestamp", parameterName, x));
+		}
 	}
 
 	@Override
 	public String getString(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getString(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getString", parameterIndex);
 		try
 		{
 			return (String) reportReturn(methodCall, realCallableStatement.getString(parameterIndex));
@@ -351,7 +356,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void registerOutParameter(int parameterIndex, int sqlType) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterIndex + ", " + sqlType + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterIndex, sqlType);
 		argTraceSet(parameterIndex, null, "<OUT>");
 		try
 		{
@@ -368,7 +373,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void registerOutParameter(int parameterIndex, int sqlType, int scale) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterIndex + ", " + sqlType + ", " + scale + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterIndex, sqlType, scale);
 		argTraceSet(parameterIndex, null, "<OUT>");
 		try
 		{
@@ -385,7 +390,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void registerOutParameter(int paramIndex, int sqlType, String typeName) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + paramIndex + ", " + sqlType + ", " + typeName + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", paramIndex, sqlType, typeName);
 		argTraceSet(paramIndex, null, "<OUT>");
 		try
 		{
@@ -402,7 +407,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public byte getByte(String parameterName) throws SQLException
 	{
-		String methodCall = "getByte(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getByte", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getByte(parameterName));
@@ -417,7 +422,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public double getDouble(String parameterName) throws SQLException
 	{
-		String methodCall = "getDouble(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getDouble", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getDouble(parameterName));
@@ -432,7 +437,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public float getFloat(String parameterName) throws SQLException
 	{
-		String methodCall = "getFloat(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getFloat", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getFloat(parameterName));
@@ -447,7 +452,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public int getInt(String parameterName) throws SQLException
 	{
-		String methodCall = "getInt(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getInt", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getInt(parameterName));
@@ -462,7 +467,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public long getLong(String parameterName) throws SQLException
 	{
-		String methodCall = "getLong(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getLong", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getLong(parameterName));
@@ -477,7 +482,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public short getShort(String parameterName) throws SQLException
 	{
-		String methodCall = "getShort(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getShort", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getShort(parameterName));
@@ -492,7 +497,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public boolean getBoolean(String parameterName) throws SQLException
 	{
-		String methodCall = "getBoolean(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getBoolean", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getBoolean(parameterName));
@@ -507,7 +512,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public byte[] getBytes(String parameterName) throws SQLException
 	{
-		String methodCall = "getBytes(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getBytes", parameterName);
 		try
 		{
 			return (byte[]) reportReturn(methodCall, realCallableStatement.getBytes(parameterName));
@@ -522,55 +527,61 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setByte(String parameterName, byte x) throws SQLException
 	{
-		String methodCall = "setByte(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setByte(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setByte", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setByte", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setDouble(String parameterName, double x) throws SQLException
 	{
-		String methodCall = "setDouble(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setDouble(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setDouble", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setDouble", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setFloat(String parameterName, float x) throws SQLException
 	{
-		String methodCall = "setFloat(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setFloat(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setFloat", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setFloat", parameterName, x));
+		}
 	}
 
 	@Override
 	public void registerOutParameter(String parameterName, int sqlType) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterName + ", " + sqlType + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterName, sqlType);
 		try
 		{
 			realCallableStatement.registerOutParameter(parameterName, sqlType);
@@ -586,39 +597,43 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setInt(String parameterName, int x) throws SQLException
 	{
-		String methodCall = "setInt(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setInt(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setInt", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setInt", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setNull(String parameterName, int sqlType) throws SQLException
 	{
-		String methodCall = "setNull(" + parameterName + ", " + sqlType + ")";
 		try
 		{
 			realCallableStatement.setNull(parameterName, sqlType);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNull", parameterName, sqlType), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNull", parameterName, sqlType));
+		}
 	}
 
 	@Override
 	public void registerOutParameter(String parameterName, int sqlType, int scale) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterName + ", " + sqlType + ", " + scale + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterName, sqlType, scale);
 		try
 		{
 			realCallableStatement.registerOutParameter(parameterName, sqlType, scale);
@@ -634,72 +649,80 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setLong(String parameterName, long x) throws SQLException
 	{
-		String methodCall = "setLong(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setLong(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setLong", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setLong", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setShort(String parameterName, short x) throws SQLException
 	{
-		String methodCall = "setShort(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setShort(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setShort", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setShort", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setBoolean(String parameterName, boolean x) throws SQLException
 	{
-		String methodCall = "setBoolean(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setBoolean(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBoolean", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBoolean", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setBytes(String parameterName, byte[] x) throws SQLException
 	{
 		//todo: dump byte array?
-		String methodCall = "setBytes(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setBytes(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBytes", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBytes", parameterName, x));
+		}
 	}
 
 	@Override
 	public boolean getBoolean(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getBoolean(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getBoolean", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getBoolean(parameterIndex));
@@ -714,7 +737,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Timestamp getTimestamp(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getTimestamp(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getTimestamp", parameterIndex);
 		try
 		{
 			return (Timestamp) reportReturn(methodCall, realCallableStatement.getTimestamp(parameterIndex));
@@ -729,55 +752,61 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setAsciiStream(String parameterName, InputStream x, int length) throws SQLException
 	{
-		String methodCall = "setAsciiStream(" + parameterName + ", " + x + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setAsciiStream(parameterName, x, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setAsciiStream", parameterName, x, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setAsciiStream", parameterName, x, length));
+		}
 	}
 
 	@Override
 	public void setBinaryStream(String parameterName, InputStream x, int length) throws SQLException
 	{
-		String methodCall = "setBinaryStream(" + parameterName + ", " + x + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setBinaryStream(parameterName, x, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBinaryStream", parameterName, x, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBinaryStream", parameterName, x, length));
+		}
 	}
 
 	@Override
 	public void setCharacterStream(String parameterName, Reader reader, int length) throws SQLException
 	{
-		String methodCall = "setCharacterStream(" + parameterName + ", " + reader + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setCharacterStream(parameterName, reader, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setCharacterStream", parameterName, reader, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setCharacterStream", parameterName, reader, length));
+		}
 	}
 
 	@Override
 	public Object getObject(String parameterName) throws SQLException
 	{
-		String methodCall = "getObject(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getObject", parameterName);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getObject(parameterName));
@@ -792,55 +821,61 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setObject(String parameterName, Object x) throws SQLException
 	{
-		String methodCall = "setObject(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setObject(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setObject", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setObject", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setObject(String parameterName, Object x, int targetSqlType) throws SQLException
 	{
-		String methodCall = "setObject(" + parameterName + ", " + x + ", " + targetSqlType + ")";
 		try
 		{
 			realCallableStatement.setObject(parameterName, x, targetSqlType);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setObject", parameterName, x, targetSqlType), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setObject", parameterName, x, targetSqlType));
+		}
 	}
 
 	@Override
 	public void setObject(String parameterName, Object x, int targetSqlType, int scale) throws SQLException
 	{
-		String methodCall = "setObject(" + parameterName + ", " + x + ", " + targetSqlType + ", " + scale + ")";
 		try
 		{
 			realCallableStatement.setObject(parameterName, x, targetSqlType, scale);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setObject", parameterName, x, targetSqlType, scale), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setObject", parameterName, x, targetSqlType, scale));
+		}
 	}
 
 	@Override
 	public Timestamp getTimestamp(int parameterIndex, Calendar cal) throws SQLException
 	{
-		String methodCall = "getTimestamp(" + parameterIndex + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getTimestamp", parameterIndex, cal);
 		try
 		{
 			return (Timestamp) reportReturn(methodCall, realCallableStatement.getTimestamp(parameterIndex, cal));
@@ -855,7 +890,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Date getDate(String parameterName, Calendar cal) throws SQLException
 	{
-		String methodCall = "getDate(" + parameterName + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getDate", parameterName, cal);
 		try
 		{
 			return (Date) reportReturn(methodCall, realCallableStatement.getDate(parameterName, cal));
@@ -870,7 +905,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Time getTime(String parameterName, Calendar cal) throws SQLException
 	{
-		String methodCall = "getTime(" + parameterName + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getTime", parameterName, cal);
 		try
 		{
 			return (Time) reportReturn(methodCall, realCallableStatement.getTime(parameterName, cal));
@@ -885,7 +920,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Timestamp getTimestamp(String parameterName, Calendar cal) throws SQLException
 	{
-		String methodCall = "getTimestamp(" + parameterName + ", " + cal + ")";
+		MethodCall methodCall = new MethodCall("getTimestamp", parameterName, cal);
 		try
 		{
 			return (Timestamp) reportReturn(methodCall, realCallableStatement.getTimestamp(parameterName, cal));
@@ -900,55 +935,61 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setDate(String parameterName, Date x, Calendar cal) throws SQLException
 	{
-		String methodCall = "setDate(" + parameterName + ", " + x + ", " + cal + ")";
 		try
 		{
 			realCallableStatement.setDate(parameterName, x, cal);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setDate", parameterName, x, cal), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setDate", parameterName, x, cal));
+		}
 	}
 
 	@Override
 	public void setTime(String parameterName, Time x, Calendar cal) throws SQLException
 	{
-		String methodCall = "setTime(" + parameterName + ", " + x + ", " + cal + ")";
 		try
 		{
 			realCallableStatement.setTime(parameterName, x, cal);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setTime", parameterName, x, cal), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setTime", parameterName, x, cal));
+		}
 	}
 
 	@Override
 	public void setTimestamp(String parameterName, Timestamp x, Calendar cal) throws SQLException
 	{
-		String methodCall = "setTimestamp(" + parameterName + ", " + x + ", " + cal + ")";
 		try
 		{
 			realCallableStatement.setTimestamp(parameterName, x, cal);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setTimestamp", parameterName, x, cal), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setTimestamp", parameterName, x, cal));
+		}
 	}
 
 	@Override
 	public short getShort(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getShort(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getShort", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getShort(parameterIndex));
@@ -963,7 +1004,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public long getLong(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getLong(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getLong", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getLong(parameterIndex));
@@ -978,7 +1019,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public float getFloat(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getFloat(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getFloat", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getFloat(parameterIndex));
@@ -993,7 +1034,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Ref getRef(int i) throws SQLException
 	{
-		String methodCall = "getRef(" + i + ")";
+		MethodCall methodCall = new MethodCall("getRef", i);
 		try
 		{
 			return (Ref) reportReturn(methodCall, realCallableStatement.getRef(i));
@@ -1011,7 +1052,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public BigDecimal getBigDecimal(int parameterIndex, int scale) throws SQLException
 	{
-		String methodCall = "getBigDecimal(" + parameterIndex + ", " + scale + ")";
+		MethodCall methodCall = new MethodCall("getBigDecimal", parameterIndex, scale);
 		try
 		{
 			return (BigDecimal) reportReturn(methodCall, realCallableStatement.getBigDecimal(parameterIndex, scale));
@@ -1026,7 +1067,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public URL getURL(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getURL(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getURL", parameterIndex);
 		try
 		{
 			return (URL) reportReturn(methodCall, realCallableStatement.getURL(parameterIndex));
@@ -1042,7 +1083,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public BigDecimal getBigDecimal(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getBigDecimal(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getBigDecimal", parameterIndex);
 		try
 		{
 			return (BigDecimal) reportReturn(methodCall, realCallableStatement.getBigDecimal(parameterIndex));
@@ -1057,7 +1098,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public byte getByte(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getByte(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getByte", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getByte(parameterIndex));
@@ -1072,7 +1113,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Object getObject(int parameterIndex) throws SQLException
 	{
-		String methodCall = "getObject(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getObject", parameterIndex);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getObject(parameterIndex));
@@ -1087,7 +1128,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Object getObject(int i, Map<String,Class<?>> map) throws SQLException
 	{
-		String methodCall = "getObject(" + i + ", " + map + ")";
+		MethodCall methodCall = new MethodCall("getObject", i, map);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getObject(i, map));
@@ -1102,7 +1143,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public String getString(String parameterName) throws SQLException
 	{
-		String methodCall = "getString(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getString", parameterName);
 		try
 		{
 			return (String) reportReturn(methodCall, realCallableStatement.getString(parameterName));
@@ -1117,7 +1158,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void registerOutParameter(String parameterName, int sqlType, String typeName) throws SQLException
 	{
-		String methodCall = "registerOutParameter(" + parameterName + ", " + sqlType + ", " + typeName + ")";
+		MethodCall methodCall = new MethodCall("registerOutParameter", parameterName, sqlType, typeName);
 		try
 		{
 			realCallableStatement.registerOutParameter(parameterName, sqlType, typeName);
@@ -1133,23 +1174,24 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setNull(String parameterName, int sqlType, String typeName) throws SQLException
 	{
-		String methodCall = "setNull(" + parameterName + ", " + sqlType + ", " + typeName + ")";
 		try
 		{
 			realCallableStatement.setNull(parameterName, sqlType, typeName);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNull", parameterName, sqlType, typeName), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNull", parameterName, sqlType, typeName));
+		}
 	}
 
 	@Override
 	public void setString(String parameterName, String x) throws SQLException
 	{
-		String methodCall = "setString(" + parameterName + ", " + x + ")";
 
 		try
 		{
@@ -1157,16 +1199,19 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setString", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setString", parameterName, x));
+		}
 	}
 
 	@Override
 	public BigDecimal getBigDecimal(String parameterName) throws SQLException
 	{
-		String methodCall = "getBigDecimal(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getBigDecimal", parameterName);
 		try
 		{
 			return (BigDecimal) reportReturn(methodCall, realCallableStatement.getBigDecimal(parameterName));
@@ -1180,7 +1225,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public Object getObject(String parameterName, Map<String, Class<?>> map) throws SQLException {
-		String methodCall = "getObject(" + parameterName + ", " + map + ")";
+		MethodCall methodCall = new MethodCall("getObject", parameterName, map);
 		try
 		{
 			return reportReturn(methodCall, realCallableStatement.getObject(parameterName, map));
@@ -1195,23 +1240,25 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setBigDecimal(String parameterName, BigDecimal x) throws SQLException
 	{
-		String methodCall = "setBigDecimal(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setBigDecimal(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBigDecimal", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBigDecimal", parameterName, x));
+		}
 	}
 
 	@Override
 	public URL getURL(String parameterName) throws SQLException
 	{
-		String methodCall = "getURL(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getURL", parameterName);
 		try
 		{
 			return (URL) reportReturn(methodCall, realCallableStatement.getURL(parameterName));
@@ -1225,7 +1272,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public RowId getRowId(int parameterIndex) throws SQLException {
-		String methodCall = "getRowId(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getRowId", parameterIndex);
 		try
 		{
 			return (RowId) reportReturn(methodCall, realCallableStatement.getRowId(parameterIndex));
@@ -1239,7 +1286,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public RowId getRowId(String parameterName) throws SQLException {
-		String methodCall = "getRowId(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getRowId", parameterName);
 		try
 		{
 			return (RowId) reportReturn(methodCall, realCallableStatement.getRowId(parameterName));
@@ -1253,112 +1300,126 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public void setRowId(String parameterName, RowId x) throws SQLException {
-		String methodCall = "setRowId(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setRowId(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setRowId", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setRowId", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setNString(String parameterName, String value) throws SQLException {
-		String methodCall = "setNString(" + parameterName + ", " + value + ")";
 		try
 		{
 			realCallableStatement.setNString(parameterName, value);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNString", parameterName, value), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNString", parameterName, value));
+		}
 	}
 
 	@Override
 	public void setNCharacterStream(String parameterName, Reader reader, long length) throws SQLException {
-		String methodCall = "setNCharacterStream(" + parameterName + ", " + reader + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setNCharacterStream(parameterName, reader, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNCharacterStream", parameterName, reader, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNCharacterStream", parameterName, reader, length));
+		}
 	}
 
 	@Override
 	public void setNClob(String parameterName, NClob value) throws SQLException {
-		String methodCall = "setNClob(" + parameterName + ", " + value + ")";
 		try
 		{
 			realCallableStatement.setNClob(parameterName, value);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNClob", parameterName, value), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNClob", parameterName, value));
+		}
 	}
 
 	@Override
 	public void setClob(String parameterName, Reader reader, long length) throws SQLException {
-		String methodCall = "setClob(" + parameterName + ", " + reader + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setClob(parameterName, reader, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setClob", parameterName, reader, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setClob", parameterName, reader, length));
+		}
 	}
 
 	@Override
 	public void setBlob(String parameterName, InputStream inputStream, long length) throws SQLException {
-		String methodCall = "setBlob(" + parameterName + ", " + inputStream + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setBlob(parameterName, inputStream, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBlob", parameterName, inputStream, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBlob", parameterName, inputStream, length));
+		}
 	}
 
 	@Override
 	public void setNClob(String parameterName, Reader reader, long length) throws SQLException {
-		String methodCall = "setNClob(" + parameterName + ", " + reader + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setNClob(parameterName, reader, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNClob", parameterName, reader, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNClob", parameterName, reader, length));
+		}
 	}
 
 	@Override
 	public NClob getNClob(int parameterIndex) throws SQLException {
-		String methodCall = "getNClob(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getNClob", parameterIndex);
 		try
 		{
 			return (NClob) reportReturn(methodCall, realCallableStatement.getNClob(parameterIndex));
@@ -1372,7 +1433,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public NClob getNClob(String parameterName) throws SQLException {
-		String methodCall = "getNClob(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getNClob", parameterName);
 		try
 		{
 			return (NClob) reportReturn(methodCall, realCallableStatement.getNClob(parameterName));
@@ -1386,22 +1447,24 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public void setSQLXML(String parameterName, SQLXML xmlObject) throws SQLException {
-		String methodCall = "setSQLXML(" + parameterName + ", " + xmlObject + ")";
 		try
 		{
 			realCallableStatement.setSQLXML(parameterName, xmlObject);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setSQLXML", parameterName, xmlObject), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setSQLXML", parameterName, xmlObject));
+		}
 	}
 
 	@Override
 	public SQLXML getSQLXML(int parameterIndex) throws SQLException {
-		String methodCall = "getSQLXML(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getSQLXML", parameterIndex);
 		try
 		{
 			return (SQLXML) reportReturn(methodCall, realCallableStatement.getSQLXML(parameterIndex));
@@ -1415,7 +1478,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public SQLXML getSQLXML(String parameterName) throws SQLException {
-		String methodCall = "getSQLXML(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getSQLXML", parameterName);
 		try
 		{
 			return (SQLXML) reportReturn(methodCall, realCallableStatement.getSQLXML(parameterName));
@@ -1430,7 +1493,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public String getNString(int parameterIndex) throws SQLException {
-		String methodCall = "getNString(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getNString", parameterIndex);
 		try
 		{
 			return (String) reportReturn(methodCall, realCallableStatement.getNString(parameterIndex));
@@ -1444,7 +1507,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public String getNString(String parameterName) throws SQLException {
-		String methodCall = "getNString(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getNString", parameterName);
 		try
 		{
 			return (String) reportReturn(methodCall, realCallableStatement.getNString(parameterName));
@@ -1458,7 +1521,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public Reader getNCharacterStream(int parameterIndex) throws SQLException {
-		String methodCall = "getNCharacterStream(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getNCharacterStream", parameterIndex);
 		try
 		{
 			return (Reader) reportReturn(methodCall, realCallableStatement.getNCharacterStream(parameterIndex));
@@ -1472,7 +1535,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public Reader getNCharacterStream(String parameterName) throws SQLException {
-		String methodCall = "getNCharacterStream(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getNCharacterStream", parameterName);
 		try
 		{
 			return (Reader) reportReturn(methodCall, realCallableStatement.getNCharacterStream(parameterName));
@@ -1486,7 +1549,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public Reader getCharacterStream(int parameterIndex) throws SQLException {
-		String methodCall = "getCharacterStream(" + parameterIndex + ")";
+		MethodCall methodCall = new MethodCall("getCharacterStream", parameterIndex);
 		try
 		{
 			return (Reader) reportReturn(methodCall, realCallableStatement.getCharacterStream(parameterIndex));
@@ -1500,7 +1563,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public Reader getCharacterStream(String parameterName) throws SQLException {
-		String methodCall = "getCharacterStream(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getCharacterStream", parameterName);
 		try
 		{
 			return (Reader) reportReturn(methodCall, realCallableStatement.getCharacterStream(parameterName));
@@ -1514,204 +1577,230 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 
 	@Override
 	public void setBlob(String parameterName, Blob x) throws SQLException {
-		String methodCall = "setBlob(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setBlob(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBlob", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBlob", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setClob(String parameterName, Clob x) throws SQLException {
-		String methodCall = "setClob(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setClob(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setClob", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setClob", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setAsciiStream(String parameterName, InputStream x, long length) throws SQLException {
-		String methodCall = "setAsciiStream(" + parameterName + ", " + x + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setAsciiStream(parameterName, x, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setAsciiStream", parameterName, x, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setAsciiStream", parameterName, x, length));
+		}
 	}
 
 	@Override
 	public void setBinaryStream(String parameterName, InputStream x, long length) throws SQLException {
-		String methodCall = "setBinaryStream(" + parameterName + ", " + x + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setBinaryStream(parameterName, x, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBinaryStream", parameterName, x, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBinaryStream", parameterName, x, length));
+		}
 	}
 
 	@Override
 	public void setCharacterStream(String parameterName, Reader reader, long length) throws SQLException {
-		String methodCall = "setCharacterStream(" + parameterName + ", " + reader + ", " + length + ")";
 		try
 		{
 			realCallableStatement.setCharacterStream(parameterName, reader, length);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setCharacterStream", parameterName, reader, length), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setCharacterStream", parameterName, reader, length));
+		}
 	}
 
 	@Override
 	public void setAsciiStream(String parameterName, InputStream x) throws SQLException {
-		String methodCall = "setAsciiStream(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setAsciiStream(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setAsciiStream", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setAsciiStream", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setBinaryStream(String parameterName, InputStream x) throws SQLException {
-		String methodCall = "setBinaryStream(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setBinaryStream(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBinaryStream", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBinaryStream", parameterName, x));
+		}
 	}
 
 	@Override
 	public void setCharacterStream(String parameterName, Reader reader) throws SQLException {
-		String methodCall = "setCharacterStream(" + parameterName + ", " + reader + ")";
 		try
 		{
 			realCallableStatement.setCharacterStream(parameterName, reader);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setCharacterStream", parameterName, reader), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setCharacterStream", parameterName, reader));
+		}
 	}
 
 	@Override
 	public void setNCharacterStream(String parameterName, Reader reader) throws SQLException {
-		String methodCall = "setNCharacterStream(" + parameterName + ", " + reader + ")";
 		try
 		{
 			realCallableStatement.setNCharacterStream(parameterName, reader);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNCharacterStream", parameterName, reader), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNCharacterStream", parameterName, reader));
+		}
 	}
 
 	@Override
 	public void setClob(String parameterName, Reader reader) throws SQLException {
-		String methodCall = "setClob(" + parameterName + ", " + reader + ")";
 		try
 		{
 			realCallableStatement.setClob(parameterName, reader);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setClob", parameterName, reader), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setClob", parameterName, reader));
+		}
 	}
 
 	@Override
 	public void setBlob(String parameterName, InputStream inputStream) throws SQLException {
-		String methodCall = "setBlob(" + parameterName + ", " + inputStream + ")";
 		try
 		{
 			realCallableStatement.setBlob(parameterName, inputStream);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setBlob", parameterName, inputStream), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setBlob", parameterName, inputStream));
+		}
 	}
 
 	@Override
 	public void setNClob(String parameterName, Reader reader) throws SQLException {
-		String methodCall = "setNClob(" + parameterName + ", " + reader + ")";
 		try
 		{
 			realCallableStatement.setNClob(parameterName, reader);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setNClob", parameterName, reader), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setNClob", parameterName, reader));
+		}
 	}
 
 	@Override
 	public void setURL(String parameterName, URL val) throws SQLException
 	{
-		String methodCall = "setURL(" + parameterName + ", " + val + ")";
 		try
 		{
 			realCallableStatement.setURL(parameterName, val);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setURL", parameterName, val), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setURL", parameterName, val));
+		}
 	}
 
 	@Override
 	public Array getArray(String parameterName) throws SQLException
 	{
-		String methodCall = "getArray(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getArray", parameterName);
 		try
 		{
 			return (Array) reportReturn(methodCall, realCallableStatement.getArray(parameterName));
@@ -1726,7 +1815,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Blob getBlob(String parameterName) throws SQLException
 	{
-		String methodCall = "getBlob(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getBlob", parameterName);
 		try
 		{
 			return (Blob) reportReturn(methodCall, realCallableStatement.getBlob(parameterName));
@@ -1741,7 +1830,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Clob getClob(String parameterName) throws SQLException
 	{
-		String methodCall = "getClob(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getClob", parameterName);
 		try
 		{
 			return (Clob) reportReturn(methodCall, realCallableStatement.getClob(parameterName));
@@ -1756,7 +1845,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public Date getDate(String parameterName) throws SQLException
 	{
-		String methodCall = "getDate(" + parameterName + ")";
+		MethodCall methodCall = new MethodCall("getDate", parameterName);
 		try
 		{
 			return (Date) reportReturn(methodCall, realCallableStatement.getDate(parameterName));
@@ -1771,22 +1860,24 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public void setDate(String parameterName, Date x) throws SQLException
 	{
-		String methodCall = "setDate(" + parameterName + ", " + x + ")";
 		try
 		{
 			realCallableStatement.setDate(parameterName, x);
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall, s);
+			reportException(new MethodCall("setDate", parameterName, x), s);
 			throw s;
 		}
-		reportReturn(methodCall);
+		if (isReturnLoggingEnabled())
+		{
+			reportReturn(new MethodCall("setDate", parameterName, x));
+		}
 	}
 
 	@Override
 	public <T> T unwrap(Class<T> iface) throws SQLException {
-		String methodCall = "unwrap(" + (iface==null?"null":iface.getName()) + ")";
+		MethodCall methodCall = new MethodCall("unwrap", iface);
 		try
 		{
 			//todo: double check this logic
@@ -1808,7 +1899,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public boolean isWrapperFor(Class<?> iface) throws SQLException
 	{
-		String methodCall = "isWrapperFor(" + (iface==null?"null":iface.getName()) + ")";
+		MethodCall methodCall = new MethodCall("isWrapperFor", iface);
 		try
 		{
 			//NOTE: could call super.isWrapperFor to simplify this logic, but it would result in extra log output
@@ -1828,7 +1919,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public <T> T getObject(int parameterIndex, Class<T> type) throws SQLException
 	{
-		String methodCall = "getObject(" + parameterIndex + "," + type+ ")";
+		MethodCall methodCall = new MethodCall("getObject", parameterIndex, type);
 		try
 		{
 			return (T) reportReturn(methodCall, realCallableStatement.getObject(parameterIndex,type));
@@ -1844,7 +1935,7 @@ public class CallableStatementSpy extends PreparedStatementSpy implements Callab
 	@Override
 	public <T> T getObject(String parameterName, Class<T> type) throws SQLException
 	{
-		String methodCall = "getObject(" + parameterName + "," + type+ ")";
+		MethodCall methodCall = new MethodCall("getObject", parameterName, type);
 		try
 		{
 			return (T) reportReturn(methodCall, realCallableStatement.getObject(parameterName,type));
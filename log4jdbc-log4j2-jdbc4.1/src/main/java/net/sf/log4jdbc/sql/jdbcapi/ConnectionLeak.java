@@ -0,0 +1,130 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A connection reported by the leak detection to
+ * <code>SpyLogDelegator#connectionLeaked(ConnectionLeak)</code>: either a connection
+ * held open for longer than the threshold defined by the property
+ * "log4jdbc.leak.detection.threshold", or a <code>ConnectionSpy</code>
+ * garbage collected without having been closed.
+ *
+ * @author Frederic Bastian
+ * @see ConnectionLeakDetector
+ */
+public final class ConnectionLeak
+{
+	private final Integer connectionNumber;
+	/**
+	 * The <code>ConnectionSpy</code> leaked, <code>null</code> if it was
+	 * garbage collected.
+	 */
+	private final ConnectionSpy connectionSpy;
+	/**
+	 * A <code>long</code> that is the time in nanoseconds elapsed since the connection
+	 * was opened, when the leak was detected.
+	 */
+	private final long heldNanos;
+	private final Throwable allocationSite;
+
+	/**
+	 * @param connectionNumber 	An <code>Integer</code> that is the number of the connection.
+	 * @param connectionSpy 	The <code>ConnectionSpy</code> leaked, <code>null</code>
+	 * 							if it was garbage collected.
+	 * @param heldNanos 		A <code>long</code> that is the time in nanoseconds elapsed
+	 * 							since the connection was opened.
+	 * @param allocationSite 	A <code>Throwable</code> whose stack trace is where
+	 * 							the connection was opened, or <code>null</code>.
+	 */
+	ConnectionLeak(Integer connectionNumber, ConnectionSpy connectionSpy, long heldNanos,
+			Throwable allocationSite)
+	{
+		this.connectionNumber = connectionNumber;
+		this.connectionSpy = connectionSpy;
+		this.heldNanos = heldNanos;
+		this.allocationSite = allocationSite;
+	}
+
+	/**
+	 * @return 	An <code>Integer</code> that is the number of the connection leaked.
+	 */
+	public Integer getConnectionNumber()
+	{
+		return this.connectionNumber;
+	}
+
+	/**
+	 * @return 	The <code>ConnectionSpy</code> leaked, still open, or <code>null</code>
+	 * 			if it was garbage collected (see {@link #isCollected()}).
+	 */
+	public ConnectionSpy getConnectionSpy()
+	{
+		return this.connectionSpy;
+	}
+
+	/**
+	 * @return 	<code>true</code> if the <code>ConnectionSpy</code> was garbage
+	 * 			collected without having been closed, <code>false</code> if it is
+	 * 			still open, and was held for longer than the threshold.
+	 */
+	public boolean isCollected()
+	{
+		return this.connectionSpy == null;
+	}
+
+	/**
+	 * @param unit 	The <code>TimeUnit</code> in which to return the time.
+	 * @return 		A <code>long</code> that is the time elapsed since the connection
+	 * 				was opened, when the leak was detected.
+	 */
+	public long getHeldTime(TimeUnit unit)
+	{
+		return unit.convert(this.heldNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return 	A <code>Throwable</code> whose stack trace is where the connection
+	 * 			was opened, <code>null</code> if it was not captured
+	 * 			(see property "log4jdbc.leak.detection.stack.sampling").
+	 */
+	public Throwable getAllocationSite()
+	{
+		return this.allocationSite;
+	}
+
+	/**
+	 * @return 	A <code>String</code> describing the leak, to be logged.
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder message = new StringBuilder();
+		message.append(this.connectionNumber);
+		if (this.isCollected()) {
+			message.append(". Connection leaked: garbage collected without being closed, ");
+		} else {
+			message.append(". Connection leak suspected: still open ");
+		}
+		message.append(this.getHeldTime(TimeUnit.MILLISECONDS));
+		message.append(" ms after being opened");
+		if (this.allocationSite == null) {
+			message.append(" (allocation site not captured)");
+		}
+		return message.toString();
+	}
+}
@@ -31,15 +31,24 @@ import java.sql.Struct;
 import java.sql.SQLClientInfoException;
 import java.sql.SQLXML;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.AbstractCollection;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Properties;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.Utilities;
 import net.sf.log4jdbc.sql.rdbmsspecifics.RdbmsSpecifics;
 
 /**
@@ -58,6 +67,9 @@ import net.sf.log4jdbc.sql.rdbmsspecifics.RdbmsSpecifics;
  * or before an <code>Exception</code> is thrown if a problem occurs. </code>)
  * <li>Addition of a new method <code>ConnectionSpy#reportException(String, SQLException, long)</code> 
  * to log execution time before an <code>Exception</code> is thrown when the connection closing failed. 
+ * <li>The registry of open connections only weakly references the <code>ConnectionSpy</code>s: 
+ * the ones garbage collected without having been closed are removed from it, and reported 
+ * when leak detection is enabled (see <code>ConnectionLeakDetector</code>). 
  * </ul>
  *
  * @author Arthur Blake
@@ -81,14 +93,140 @@ public class ConnectionSpy implements Connection, Spy
   private SpyLogDelegator log;
 
   private final Integer connectionNumber;
-  private static int lastConnectionNumber = 0;
 
   /**
-   * Contains a Mapping of connectionNumber to currently open ConnectionSpy
-   * objects.
+   * The last connection number assigned. Connection numbers are <code>Integer</code>s, 
+   * as exposed by <code>Spy#getConnectionNumber()</code>.
    */
-  private static final Map<Integer, ConnectionSpy> connectionTracker = 
-		  new HashMap<Integer, ConnectionSpy>();
+  private static final AtomicInteger lastConnectionNumber = new AtomicInteger(0);
+
+  /**
+   * Contains a Mapping of connectionNumber to the TrackedConnection of currently open 
+   * ConnectionSpy objects. Connections are registered and removed without any global lock, 
+   * so that pools opening and closing connections from many threads do not contend. 
+   * The ConnectionSpy objects are only weakly referenced, so that the ones never closed 
+   * by the application are not retained (see <code>expungeCollectedConnections()</code>).
+   */
+  private static final ConcurrentMap<Integer, TrackedConnection> connectionTracker = 
+		  new ConcurrentHashMap<Integer, TrackedConnection>();
+
+  /**
+   * The queue to which the TrackedConnection of a ConnectionSpy garbage collected 
+   * without having been closed is enqueued.
+   */
+  private static final ReferenceQueue<ConnectionSpy> collectedConnections = 
+		  new ReferenceQueue<ConnectionSpy>();
+
+  /**
+   * The number of currently open ConnectionSpy objects, maintained along with 
+   * <code>connectionTracker</code>, so that it is obtained without traversing it.
+   */
+  private static final AtomicInteger openConnectionsCount = new AtomicInteger(0);
+
+  /**
+   * An unmodifiable view of the currently open ConnectionSpy objects, skipping 
+   * the ones garbage collected and not yet expunged.
+   */
+  private static final Collection<ConnectionSpy> openConnections = 
+		  new AbstractCollection<ConnectionSpy>()
+  {
+    @Override
+    public Iterator<ConnectionSpy> iterator()
+    {
+      final Iterator<TrackedConnection> tracked = connectionTracker.values().iterator();
+      return new Iterator<ConnectionSpy>()
+      {
+        private ConnectionSpy next = null;
+
+        public boolean hasNext()
+        {
+          while (next == null && tracked.hasNext())
+          {
+            next = tracked.next().get();
+          }
+          return next != null;
+        }
+
+        public ConnectionSpy next()
+        {
+          if (!hasNext())
+          {
+            throw new NoSuchElementException();
+          }
+          ConnectionSpy spy = next;
+          next = null;
+          return spy;
+        }
+
+        public void remove()
+        {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return openConnectionsCount.get();
+    }
+  };
+
+  /**
+   * Get the number of currently open connections, in constant time.
+   *
+   * @return the number of open connections.
+   */
+  public static int getOpenConnectionsCount()
+  {
+    return openConnectionsCount.get();
+  }
+
+  /**
+   * Get the currently open connections, in constant time: the <code>Collection</code> 
+   * returned is an unmodifiable live view, that is not copied, and can be iterated 
+   * while connections are opened and closed concurrently. Its iterators reflect 
+   * the open connections at some point at or since their creation.
+   *
+   * @return an unmodifiable view of the open connections.
+   */
+  public static Collection<ConnectionSpy> getOpenConnections()
+  {
+    return openConnections;
+  }
+
+  /**
+   * @return a live view of the TrackedConnection of the open connections, 
+   *         scanned by the <code>ConnectionLeakDetector</code>.
+   */
+  static Collection<TrackedConnection> getTrackedConnections()
+  {
+    return connectionTracker.values();
+  }
+
+  /**
+   * Remove from the registry of open connections the ConnectionSpy objects garbage 
+   * collected without having been closed, and report them if leak detection is enabled. 
+   * This is called when a connection is opened, and periodically by 
+   * the <code>ConnectionLeakDetector</code>.
+   */
+  static void expungeCollectedConnections()
+  {
+    Reference<? extends ConnectionSpy> collected;
+    while ((collected = collectedConnections.poll()) != null)
+    {
+      TrackedConnection tracked = (TrackedConnection) collected;
+      if (connectionTracker.remove(tracked.getConnectionNumber(), tracked))
+      {
+        openConnectionsCount.decrementAndGet();
+        ConnectionLeakDetector leakDetector = ConnectionLeakDetector.getInstance();
+        if (leakDetector != null)
+        {
+          leakDetector.reportCollected(tracked);
+        }
+      }
+    }
+  }
 
   /**
    * Get a dump of how many connections are open, and which connection numbers
@@ -98,21 +236,15 @@ public class ConnectionSpy implements Connection, Spy
    */
   public static String getOpenConnectionsDump()
   {
-    StringBuffer dump = new StringBuffer();
-    int size;
-    Integer[] keysArr;
-    synchronized (connectionTracker)
+    Integer[] keysArr = connectionTracker.keySet().toArray(new Integer[0]);
+    int size = keysArr.length;
+    if (size==0)
     {
-      size = connectionTracker.size();
-      if (size==0)
-      {
-        return "open connections:  none";
-      }
-      Set<Integer> keys = connectionTracker.keySet();
-      keysArr = keys.toArray(new Integer[keys.size()]);
+      return "open connections:  none";
     }
 
     Arrays.sort(keysArr);
+    StringBuilder dump = new StringBuilder();
 
     dump.append("open connections:  ");
     for (int i=0; i < keysArr.length; i++)
@@ -144,7 +276,7 @@ public class ConnectionSpy implements Connection, Spy
    * Create a new ConnectionSpy that wraps a given Connection.
    *
    * @param realConnection &quot;real&quot; Connection that this ConnectionSpy wraps.
-   * @param execTime 	a <code>long</code> defining the time in ms 
+   * @param execTime 	a <code>long</code> defining the time, in nanoseconds, 
    * 					taken to open the connection to <code>realConnection</code>. 
    * @param logDelegator 	The <code>SpyLogDelegator</code> used by 
    * 						this <code>ConnectionSpy</code> and all resources obtained from it 
@@ -175,7 +307,7 @@ public class ConnectionSpy implements Connection, Spy
    *
    * @param realConnection &quot;real&quot; Connection that this ConnectionSpy wraps.
    * @param rdbmsSpecifics the RdbmsSpecifics object for formatting logging appropriate for the Rdbms used.
-   * @param execTime 	a <code>long</code> defining the time in ms 
+   * @param execTime 	a <code>long</code> defining the time, in nanoseconds, 
    * 					taken to open the connection to <code>realConnection</code>. 
    * 					Should be equals to -1 if not used. 
    * @param logDelegator 	The <code>SpyLogDelegator</code> used by 
@@ -197,10 +329,17 @@ public class ConnectionSpy implements Connection, Spy
     this.realConnection = realConnection;
     log = logDelegator;
 
-    synchronized (connectionTracker)
+    connectionNumber = Integer.valueOf(lastConnectionNumber.incrementAndGet());
+    expungeCollectedConnections();
+    ConnectionLeakDetector leakDetector = ConnectionLeakDetector.getInstance();
+    connectionTracker.put(connectionNumber, new TrackedConnection(this, collectedConnections, 
+        log, System.nanoTime(), leakDetector == null ? null : 
+          leakDetector.captureAllocationSite(connectionNumber.intValue())));
+    openConnectionsCount.incrementAndGet();
+    JdbcStatistics statistics = JdbcStatistics.getInstance();
+    if (statistics != null)
     {
-      connectionNumber = new Integer(++lastConnectionNumber);
-      connectionTracker.put(connectionNumber, this);
+      statistics.connectionOpened();
     }
     log.connectionOpened(this, execTime);
     reportReturn("new Connection");
@@ -238,49 +377,93 @@ public class ConnectionSpy implements Connection, Spy
     return "Connection";
   }
 
-  protected void reportException(String methodCall, SQLException exception, String sql)
+  protected void reportException(CharSequence methodCall, SQLException exception, String sql)
   {
     log.exceptionOccured(this, methodCall, exception, sql, -1L);
   }
 
-  protected void reportException(String methodCall, SQLException exception)
+  protected void reportException(CharSequence methodCall, SQLException exception)
   {
     log.exceptionOccured(this, methodCall, exception, null, -1L);
   }
 
-  protected void reportException(String methodCall, SQLException exception, long execTime)
+  protected void reportException(CharSequence methodCall, SQLException exception, long execTime)
   {
     log.exceptionOccured(this, methodCall, exception, null, execTime);
   }
 
-  protected void reportAllReturns(String methodCall, String returnValue)
+  protected void reportAllReturns(CharSequence methodCall, String returnValue)
   {
     log.methodReturned(this, methodCall, returnValue);
   }
 
-  private boolean reportReturn(String methodCall, boolean value)
+  /**
+   * Determine whether the returns of the methods of this class are logged, 
+   * so that the returned values are not converted into <code>String</code>s for nothing.
+   *
+   * @return true if the returns of the methods of this class are logged.
+   */
+  private boolean isReturnLoggingEnabled()
+  {
+    return (log.getEnabledCategories() & SpyLogDelegator.AUDIT_CATEGORY) != 0;
+  }
+
+  private boolean reportReturn(CharSequence methodCall, boolean value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (isReturnLoggingEnabled())
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
-  private int reportReturn(String methodCall, int value)
+  private int reportReturn(CharSequence methodCall, int value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (isReturnLoggingEnabled())
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
-  private <T> T reportReturn(String methodCall, T value)
+  private <T> T reportReturn(CharSequence methodCall, T value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (isReturnLoggingEnabled())
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
-  private void reportReturn(String methodCall)
+  private void reportReturn(CharSequence methodCall)
   {
-    reportAllReturns(methodCall, "");
+    if (isReturnLoggingEnabled())
+    {
+      reportAllReturns(methodCall, "");
+    }
   }
   
+  /**
+   * Remove this <code>ConnectionSpy</code> from the open connections, when it is 
+   * closed or aborted. The count of open connections is decremented only once, 
+   * if the connection is closed or aborted several times.
+   */
+  private void untrack()
+  {
+    TrackedConnection tracked = connectionTracker.remove(connectionNumber);
+    if (tracked != null)
+    {
+      // no need to enqueue it once this ConnectionSpy is collected
+      tracked.clear();
+      openConnectionsCount.decrementAndGet();
+      JdbcStatistics statistics = JdbcStatistics.getInstance();
+      if (statistics != null)
+      {
+        statistics.connectionClosed();
+      }
+    }
+  }
+
   private void reportClosed(long execTime)
   {
     log.connectionClosed(this, execTime);
@@ -341,33 +524,37 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public void releaseSavepoint(Savepoint savepoint) throws SQLException
   {
-    String methodCall = "releaseSavepoint(" + savepoint + ")";
     try
     {
       realConnection.releaseSavepoint(savepoint);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("releaseSavepoint", savepoint), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("releaseSavepoint", savepoint));
+    }
   }
 
   @Override
   public void rollback(Savepoint savepoint) throws SQLException
   {
-    String methodCall = "rollback(" + savepoint + ")";
     try
     {
       realConnection.rollback(savepoint);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("rollback", savepoint), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("rollback", savepoint));
+    }
   }
 
   @Override
@@ -420,7 +607,7 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException
   {
-    String methodCall = "createStatement(" + resultSetType + ", " + resultSetConcurrency + ")";
+    MethodCall methodCall = new MethodCall("createStatement", resultSetType, resultSetConcurrency);
     try
     {
       Statement statement = realConnection.createStatement(resultSetType, resultSetConcurrency);
@@ -436,7 +623,7 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException
   {
-    String methodCall = "createStatement(" + resultSetType + ", " + resultSetConcurrency + ", " + resultSetHoldability + ")";
+    MethodCall methodCall = new MethodCall("createStatement", resultSetType, resultSetConcurrency, resultSetHoldability);
     try
     {
       Statement statement = realConnection.createStatement(resultSetType, resultSetConcurrency,
@@ -453,23 +640,25 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public void setReadOnly(boolean readOnly) throws SQLException
   {
-    String methodCall = "setReadOnly(" + readOnly + ")";
     try
     {
       realConnection.setReadOnly(readOnly);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setReadOnly", readOnly), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setReadOnly", readOnly));
+    }
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql) throws SQLException
   {
-    String methodCall = "prepareStatement(" + sql + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql);
@@ -485,7 +674,7 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException
   {
-    String methodCall = "prepareStatement(" + sql + ", " + autoGeneratedKeys + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, autoGeneratedKeys);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, autoGeneratedKeys);
@@ -501,7 +690,7 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException
   {
-    String methodCall = "prepareStatement(" + sql + ", " + resultSetType + ", " + resultSetConcurrency + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, resultSetType, resultSetConcurrency);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, resultSetType, resultSetConcurrency);
@@ -518,7 +707,7 @@ public class ConnectionSpy implements Connection, Spy
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
                                             int resultSetHoldability) throws SQLException
   {
-    String methodCall = "prepareStatement(" + sql + ", " + resultSetType + ", " + resultSetConcurrency + ", " + resultSetHoldability + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, resultSetType, resultSetConcurrency, resultSetHoldability);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, resultSetType, resultSetConcurrency,
@@ -536,7 +725,7 @@ public class ConnectionSpy implements Connection, Spy
   public PreparedStatement prepareStatement(String sql, int columnIndexes[]) throws SQLException
   {
     //todo: dump the array here?
-    String methodCall = "prepareStatement(" + sql + ", " + columnIndexes + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, columnIndexes);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, columnIndexes);
@@ -552,7 +741,7 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public Savepoint setSavepoint(String name) throws SQLException
   {
-    String methodCall = "setSavepoint(" + name + ")";
+    MethodCall methodCall = new MethodCall("setSavepoint", name);
     try
     {
       return reportReturn(methodCall, realConnection.setSavepoint(name));
@@ -568,7 +757,7 @@ public class ConnectionSpy implements Connection, Spy
   public PreparedStatement prepareStatement(String sql, String columnNames[]) throws SQLException
   {
     //todo: dump the array here?
-    String methodCall = "prepareStatement(" + sql + ", " + columnNames + ")";
+    MethodCall methodCall = new MethodCall("prepareStatement", sql, columnNames);
     try
     {
       PreparedStatement statement = realConnection.prepareStatement(sql, columnNames);
@@ -639,7 +828,7 @@ public class ConnectionSpy implements Connection, Spy
 
   @Override
   public boolean isValid(int timeout) throws SQLException {
-    String methodCall = "isValid(" + timeout + ")";
+    MethodCall methodCall = new MethodCall("isValid", timeout);
     try
     {
       return reportReturn(methodCall,realConnection.isValid(timeout));
@@ -653,38 +842,42 @@ public class ConnectionSpy implements Connection, Spy
 
   @Override
   public void setClientInfo(String name, String value) throws SQLClientInfoException {
-    String methodCall = "setClientInfo(" + name + ", " + value + ")";
     try
     {
       realConnection.setClientInfo(name,value);
     }
     catch (SQLClientInfoException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setClientInfo", name, value), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setClientInfo", name, value));
+    }
   }
 
   @Override
   public void setClientInfo(Properties properties) throws SQLClientInfoException {
     // todo: dump properties?
-    String methodCall = "setClientInfo(" + properties + ")";
     try
     {
       realConnection.setClientInfo(properties);
     }
     catch (SQLClientInfoException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setClientInfo", properties), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setClientInfo", properties));
+    }
   }
 
   @Override
   public String getClientInfo(String name) throws SQLException {
-    String methodCall = "getClientInfo(" + name + ")";
+    MethodCall methodCall = new MethodCall("getClientInfo", name);
     try
     {
       return reportReturn(methodCall,realConnection.getClientInfo(name));
@@ -713,7 +906,7 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
     //todo: dump elements?
-    String methodCall = "createArrayOf(" + typeName + ", " + elements +")";
+    MethodCall methodCall = new MethodCall("createArrayOf", typeName, elements);
     try
     {
       return reportReturn(methodCall,realConnection.createArrayOf(typeName,elements));
@@ -728,7 +921,7 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
     //todo: dump attributes?
-    String methodCall = "createStruct(" + typeName + ", " + attributes +")";
+    MethodCall methodCall = new MethodCall("createStruct", typeName, attributes);
     try
     {
       return reportReturn(methodCall,realConnection.createStruct(typeName, attributes));
@@ -758,23 +951,25 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public void setHoldability(int holdability) throws SQLException
   {
-    String methodCall = "setHoldability(" + holdability + ")";
     try
     {
       realConnection.setHoldability(holdability);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setHoldability", holdability), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setHoldability", holdability));
+    }
   }
 
   @Override
   public CallableStatement prepareCall(String sql) throws SQLException
   {
-    String methodCall = "prepareCall(" + sql + ")";
+    MethodCall methodCall = new MethodCall("prepareCall", sql);
     try
     {
       CallableStatement statement = realConnection.prepareCall(sql);
@@ -790,7 +985,7 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException
   {
-    String methodCall = "prepareCall(" + sql + ", " + resultSetType + ", " + resultSetConcurrency + ")";
+    MethodCall methodCall = new MethodCall("prepareCall", sql, resultSetType, resultSetConcurrency);
     try
     {
       CallableStatement statement = realConnection.prepareCall(sql, resultSetType, resultSetConcurrency);
@@ -807,7 +1002,7 @@ public class ConnectionSpy implements Connection, Spy
   public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
                                        int resultSetHoldability) throws SQLException
   {
-    String methodCall = "prepareCall(" + sql + ", " + resultSetType + ", " + resultSetConcurrency + ", " + resultSetHoldability + ")";
+    MethodCall methodCall = new MethodCall("prepareCall", sql, resultSetType, resultSetConcurrency, resultSetHoldability);
     try
     {
       CallableStatement statement = realConnection.prepareCall(sql, resultSetType, resultSetConcurrency,
@@ -824,23 +1019,25 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public void setCatalog(String catalog) throws SQLException
   {
-    String methodCall = "setCatalog(" + catalog + ")";
     try
     {
       realConnection.setCatalog(catalog);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setCatalog", catalog), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setCatalog", catalog));
+    }
   }
 
   @Override
   public String nativeSQL(String sql) throws SQLException
   {
-    String methodCall = "nativeSQL(" + sql + ")";
+    MethodCall methodCall = new MethodCall("nativeSQL", sql);
     try
     {
       return reportReturn(methodCall, realConnection.nativeSQL(sql));
@@ -870,17 +1067,19 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public void setAutoCommit(boolean autoCommit) throws SQLException
   {
-    String methodCall = "setAutoCommit(" + autoCommit + ")";
     try
     {
       realConnection.setAutoCommit(autoCommit);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setAutoCommit", autoCommit), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setAutoCommit", autoCommit));
+    }
   }
 
   @Override
@@ -902,33 +1101,37 @@ public class ConnectionSpy implements Connection, Spy
   public void setTypeMap(java.util.Map<String,Class<?>> map) throws SQLException
   {
     //todo: dump map??
-    String methodCall = "setTypeMap(" + map + ")";
     try
     {
       realConnection.setTypeMap(map);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTypeMap", map), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTypeMap", map));
+    }
   }
 
   @Override
   public void setTransactionIsolation(int level) throws SQLException
   {
-    String methodCall = "setTransactionIsolation(" + level + ")";
     try
     {
       realConnection.setTransactionIsolation(level);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTransactionIsolation", level), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTransactionIsolation", level));
+    }
   }
 
   @Override
@@ -1012,30 +1215,27 @@ public class ConnectionSpy implements Connection, Spy
   public void close() throws SQLException
   {
     String methodCall = "close()";
-    long tstart = System.currentTimeMillis();
+    long tstart = System.nanoTime();
     try
     {
       realConnection.close();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s, System.currentTimeMillis() - tstart);
+      reportException(methodCall, s, Utilities.getElapsedTime(tstart));
       throw s;
     }
     finally
     {
-      synchronized (connectionTracker)
-      {
-        connectionTracker.remove(connectionNumber);
-      }
-      reportClosed(System.currentTimeMillis() - tstart);
+      untrack();
+      reportClosed(Utilities.getElapsedTime(tstart));
     }
     reportReturn(methodCall);
   }
 
   @Override
   public <T> T unwrap(Class<T> iface) throws SQLException {
-    String methodCall = "unwrap(" + (iface==null?"null":iface.getName()) + ")";
+    MethodCall methodCall = new MethodCall("unwrap", iface);
     try
     {
       //todo: double check this logic
@@ -1051,7 +1251,7 @@ public class ConnectionSpy implements Connection, Spy
   @Override
   public boolean isWrapperFor(Class<?> iface) throws SQLException
   {
-    String methodCall = "isWrapperFor(" + (iface==null?"null":iface.getName()) + ")";
+    MethodCall methodCall = new MethodCall("isWrapperFor", iface);
     try
     {
       return reportReturn(methodCall, (iface != null && (iface == Connection.class || iface == Spy.class)) ||
@@ -1067,14 +1267,13 @@ public class ConnectionSpy implements Connection, Spy
   @Override
 	public void setSchema(String schema) throws SQLException
 	{
-		String methodCall = "setSchema(" + schema + ")";
 		try
 		{
 			realConnection.setSchema(schema);	
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall,s);
+			reportException(new MethodCall("setSchema", schema), s);
 			throw s;			
 		}
 	}
@@ -1097,16 +1296,17 @@ public class ConnectionSpy implements Connection, Spy
   @Override	
 	public void abort(Executor executor) throws SQLException
 	{
-		String methodCall = "abort(" + executor + ")";
-		long tstart = System.currentTimeMillis();
+		MethodCall methodCall = new MethodCall("abort", executor);
+		long tstart = System.nanoTime();
 		try
 		{
 			realConnection.abort(executor);	
-			reportAborted(System.currentTimeMillis() - tstart);
+			untrack();
+			reportAborted(Utilities.getElapsedTime(tstart));
 		}
 		catch (SQLException s)
 		{
-		    reportException(methodCall, s, System.currentTimeMillis() - tstart);
+		    reportException(methodCall, s, Utilities.getElapsedTime(tstart));
 			throw s;			
 		}
 	}
@@ -1114,14 +1314,13 @@ public class ConnectionSpy implements Connection, Spy
   @Override	
 	public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException
 	{
-		String methodCall = "setNetworkTimeout(" + executor + ", " + milliseconds + ";";
 		try
 		{
 			realConnection.setNetworkTimeout(executor,milliseconds);	
 		}
 		catch (SQLException s)
 		{
-			reportException(methodCall,s);
+			reportException(new MethodCall("setNetworkTimeout", executor, milliseconds), s);
 			throw s;			
 		}
 	}
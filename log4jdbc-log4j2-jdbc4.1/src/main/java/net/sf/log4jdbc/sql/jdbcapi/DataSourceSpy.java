@@ -26,7 +26,9 @@ import javax.sql.DataSource;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
 import net.sf.log4jdbc.log.SpyLogFactory;
+import net.sf.log4jdbc.sql.MethodCall;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.Utilities;
 import net.sf.log4jdbc.sql.rdbmsspecifics.RdbmsSpecifics;
 
 
@@ -147,6 +149,8 @@ public class DataSourceSpy implements DataSource, Spy {
 	    this.realDataSource = realDataSource;
 	    this.spyLogDelegator = logDelegator;
 	    this.rdbmsSpecifics = rdbmsSpecifics;
+	    //register the JMX statistics, if enabled
+	    JdbcStatistics.getInstance();
 	}
 	
 	/**
@@ -195,7 +199,7 @@ public class DataSourceSpy implements DataSource, Spy {
 	 * @param methodCall the method which threw an exception
 	 * @param exception the thrown exception
 	 */
-	protected void reportException(String methodCall, SQLException exception)
+	protected void reportException(CharSequence methodCall, SQLException exception)
 	{
 		spyLogDelegator.exceptionOccured(this, methodCall, exception, null, -1L);
 	}    
@@ -207,7 +211,7 @@ public class DataSourceSpy implements DataSource, Spy {
 	 * @param value the reported value
 	 * @return Object The object originally returned by the method called
 	 */
-	private Object reportReturn(String methodCall, Object value)
+	private Object reportReturn(CharSequence methodCall, Object value)
 	{
 		spyLogDelegator.methodReturned(this, methodCall, "");
 		return value;
@@ -217,14 +221,14 @@ public class DataSourceSpy implements DataSource, Spy {
 	public Connection getConnection() throws SQLException
 	{      
 		String methodCall = "getConnection()";
-		long tstart = System.currentTimeMillis();
+		long tstart = System.nanoTime();
 		try
 		{
 			final Connection connection = realDataSource.getConnection();
 			if (spyLogDelegator.isJdbcLoggingEnabled()) {
 			    return (Connection) reportReturn(methodCall, 
 					new ConnectionSpy(connection, this.getRdbmsSpecifics(connection), 
-							          System.currentTimeMillis() - tstart, this.spyLogDelegator));  
+							          Utilities.getElapsedTime(tstart), this.spyLogDelegator));  
 			}
 			//if logging is not enable, return the real connection, 
 			//so that there is no useless costs 
@@ -241,15 +245,15 @@ public class DataSourceSpy implements DataSource, Spy {
 	public Connection getConnection(String username, String password) throws SQLException
 	{
 
-		String methodCall = "getConnection("+ username +", password***)";
-		long tstart = System.currentTimeMillis();      
+		MethodCall methodCall = new MethodCall("getConnection", username, "password***");
+		long tstart = System.nanoTime();      
 		try
 		{
 			final Connection connection = realDataSource.getConnection(username, password);
 			if (spyLogDelegator.isJdbcLoggingEnabled()) {
 			    return (Connection) reportReturn(methodCall, 
 					new ConnectionSpy(connection, this.getRdbmsSpecifics(connection), 
-							          System.currentTimeMillis() - tstart, this.spyLogDelegator));  
+							          Utilities.getElapsedTime(tstart), this.spyLogDelegator));  
 			}
 			//if logging is not enable, return the real connection, 
 			//so that there is no useless costs 
@@ -293,7 +297,7 @@ public class DataSourceSpy implements DataSource, Spy {
 
 	@Override
 	public boolean isWrapperFor(Class<?> iface) throws SQLException {
-		String methodCall = "isWrapperFor("+ iface +")";
+		MethodCall methodCall = new MethodCall("isWrapperFor", iface);
 		try
 		{
 			return (Boolean) reportReturn(methodCall,realDataSource.isWrapperFor(iface));
@@ -307,7 +311,7 @@ public class DataSourceSpy implements DataSource, Spy {
 
 	@Override
 	public void setLoginTimeout(int seconds) throws SQLException {
-		String methodCall = "setLoginTimeout("+ seconds +")";
+		MethodCall methodCall = new MethodCall("setLoginTimeout", seconds);
 		try
 		{
 			realDataSource.setLoginTimeout(seconds);  
@@ -321,7 +325,7 @@ public class DataSourceSpy implements DataSource, Spy {
 
 	@Override
 	public void setLogWriter(PrintWriter out) throws SQLException {
-		String methodCall = "setLogWriter("+ out +")";
+		MethodCall methodCall = new MethodCall("setLogWriter", out);
 		try
 		{
 			realDataSource.setLogWriter(out);
@@ -336,7 +340,7 @@ public class DataSourceSpy implements DataSource, Spy {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T unwrap(Class<T> iface) throws SQLException {
-		String methodCall = "unwrap("+ iface +")";
+		MethodCall methodCall = new MethodCall("unwrap", iface);
 		try
 		{
 			return (T) reportReturn(methodCall, realDataSource.unwrap(iface));
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.jdbcapi;
+
+/**
+ * The management interface of {@link JdbcStatistics}, registered under the name
+ * {@value JdbcStatistics#OBJECT_NAME} when the property "log4jdbc.jmx" is
+ * <code>true</code>. The counts are cumulated since the statistics were started,
+ * or since the last call to {@link #reset()}; the rates are averaged over
+ * the same period.
+ *
+ * @author Frederic Bastian
+ */
+public interface JdbcStatisticsMBean
+{
+	/**
+	 * @return 	An <code>int</code> that is the number of connections currently open.
+	 * @see ConnectionSpy#getOpenConnectionsCount()
+	 */
+	public int getOpenConnectionCount();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of connections opened.
+	 */
+	public long getConnectionOpenCount();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of connections closed.
+	 */
+	public long getConnectionCloseCount();
+
+	/**
+	 * @return 	A <code>double</code> that is the average number of connections
+	 * 			opened per second.
+	 */
+	public double getConnectionOpenRate();
+
+	/**
+	 * @return 	A <code>double</code> that is the average number of connections
+	 * 			closed per second.
+	 */
+	public double getConnectionCloseRate();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of SELECT statements executed.
+	 */
+	public long getSelectCount();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of INSERT statements executed.
+	 */
+	public long getInsertCount();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of UPDATE statements executed.
+	 */
+	public long getUpdateCount();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of DELETE statements executed.
+	 */
+	public long getDeleteCount();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of CREATE statements executed.
+	 */
+	public long getCreateCount();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of other statements executed
+	 * 			(calls of stored procedures, DDL statements other than CREATE, ...).
+	 */
+	public long getOtherCount();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of batches executed.
+	 */
+	public long getBatchCount();
+
+	/**
+	 * @return 	A <code>long</code> that is the number of executions that failed.
+	 */
+	public long getErrorCount();
+
+	/**
+	 * @return 	A <code>double</code> that is the cumulative execution time
+	 * 			in milliseconds of the statements and batches executed successfully.
+	 */
+	public double getTotalExecutionTimeMillis();
+
+	/**
+	 * @return 	An array of <code>String</code>s describing the slowest fingerprints
+	 * 			of SQL statements, by their maximum execution time, in descending order.
+	 * 			The number of fingerprints is defined by the property
+	 * 			"log4jdbc.jmx.slowest.statements".
+	 */
+	public String[] getSlowestStatements();
+
+	/**
+	 * Reset all the statistics, except the number of connections currently open.
+	 */
+	public void reset();
+}
@@ -35,12 +35,14 @@ import java.sql.SQLXML;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.List;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.SqlTemplate;
+import net.sf.log4jdbc.sql.Utilities;
 import net.sf.log4jdbc.sql.rdbmsspecifics.RdbmsSpecifics;
 
 /**
@@ -57,9 +59,16 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 {
 
   /**
-   * holds list of bind variables for tracing
+   * The SQL of this statement parsed into its literal segments and parameter 
+   * placeholders, to build the SQL with the bind variables in a single pass.
    */
-  protected final List<String> argTrace = new ArrayList<String>();
+  private SqlTemplate sqlTemplate;
+
+  /**
+   * holds the raw bind variables for tracing, formatted only when the SQL 
+   * is dumped (see <code>dumpedSql()</code>)
+   */
+  private final BindValues argTrace;
 
   // a way to turn on and off type help...
   // todo:  make this a configurable parameter
@@ -67,7 +76,8 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   private static final boolean showTypeHelp = false;
 
   /**
-   * Store an argument (bind variable) into the argTrace list (above) for later dumping.
+   * Store an argument (bind variable) into the argTrace slots (above) for later dumping.
+   * The argument is formatted only if the SQL is dumped.
    *
    * @param i          index of argument being set.
    * @param typeHelper optional additional info about the type that is being set in the arg
@@ -75,10 +85,87 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
    */
   protected void argTraceSet(int i, String typeHelper, Object arg)
   {
-    String tracedArg;
+    i--;  // make the index 0 based
+    synchronized (argTrace)
+    {
+      if (!showTypeHelp)
+      {
+        argTrace.setObject(i, arg);
+      }
+      else
+      {
+        argTrace.setFormatted(i, typeHelper + formatArg(arg));
+      }
+    }
+  }
+
+  protected void argTraceSet(int i, String typeHelper, boolean arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.BOOLEAN, arg ? 1 : 0);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, byte arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.BYTE, arg);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, short arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.SHORT, arg);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, int arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.INT, arg);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, long arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.LONG, arg);
+  }
+
+  protected void argTraceSet(int i, String typeHelper, float arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.FLOAT, Float.floatToRawIntBits(arg));
+  }
+
+  protected void argTraceSet(int i, String typeHelper, double arg)
+  {
+    argTraceSetPrimitive(i, typeHelper, BindValues.DOUBLE, Double.doubleToRawLongBits(arg));
+  }
+
+  /**
+   * Store a primitive argument, unboxed, into the argTrace slots.
+   *
+   * @param i          index of argument being set.
+   * @param typeHelper optional additional info about the type that is being set in the arg
+   * @param type       the type of the argument, as defined in <code>BindValues</code>
+   * @param bits       the argument, as stored by <code>BindValues</code>
+   */
+  private void argTraceSetPrimitive(int i, String typeHelper, byte type, long bits)
+  {
+    i--;  // make the index 0 based
+    synchronized (argTrace)
+    {
+      argTrace.setPrimitive(i, type, bits);
+      if (showTypeHelp)
+      {
+        argTrace.setFormatted(i, typeHelper + formatArg(argTrace.getValue(i)));
+      }
+    }
+  }
+
+  /**
+   * Format a bind variable for dumping.
+   *
+   * @param arg argument bound.
+   * @return    the argument formatted by the <code>RdbmsSpecifics</code>.
+   */
+  private String formatArg(Object arg)
+  {
     try
     {
-      tracedArg = rdbmsSpecifics.formatParameterObject(arg);
+      return rdbmsSpecifics.formatParameterObject(arg);
     }
     catch (Throwable t)
     {
@@ -89,72 +176,99 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
         t.getMessage() + ")");
 
       // backup - so that at least we won't harm the application using us
-      tracedArg = arg==null?"null":arg.toString();
+      return arg==null?"null":arg.toString();
     }
+  }
 
-    i--;  // make the index 0 based
-    synchronized (argTrace)
+  /**
+   * @return the template of the current SQL, <code>null</code> if the SQL is <code>null</code>.
+   */
+  private SqlTemplate getSqlTemplate()
+  {
+    SqlTemplate template = sqlTemplate;
+    // the sql can be changed by the methods of StatementSpy
+    if (template == null || template.getSql() != sql)
     {
-      // if an object is being inserted out of sequence, fill up missing values with null...
-      while (i >= argTrace.size())
-      {
-        argTrace.add(argTrace.size(), null);
-      }
-      if (!showTypeHelp)
-      {
-        argTrace.set(i, tracedArg);
-      }
-      else
-      {
-        argTrace.set(i, typeHelper + tracedArg);
-      }
+      template = SqlTemplate.getTemplate(sql);
+      sqlTemplate = template;
     }
+    return template;
   }
 
+  /**
+   * @return the SQL of this statement, with its placeholders: all the statements 
+   *         of a batch of a <code>PreparedStatement</code> share it, so that their 
+   *         bind variables do not need to be formatted to report its execution.
+   */
+  @Override
+  protected String getBatchExecutionSql()
+  {
+    return sql;
+  }
 
   protected String dumpedSql()
   {
-    StringBuffer dumpSql = new StringBuffer();
-    int lastPos = 0;
-    int Qpos = sql.indexOf('?', lastPos);  // find position of first question mark
-    int argIdx = 0;
-    String arg;
+    SqlTemplate template = getSqlTemplate();
+    if (template == null)
+    {
+      return null;
+    }
+    synchronized (argTrace)
+    {
+      return dumpedSql(template, argTrace);
+    }
+  }
 
-    while (Qpos != -1)
+  /**
+   * Format the bind variables, and replace the placeholders of <code>template</code> 
+   * with them. Variables not set are dumped as placeholders.
+   *
+   * @param template the SQL of this statement
+   * @param args     the bind variables, that must not be modified concurrently
+   * @return         the SQL with the bind variables
+   */
+  private String dumpedSql(SqlTemplate template, BindValues args)
+  {
+    String[] tracedArgs = new String[Math.min(args.size(), template.getParameterCount())];
+    for (int i = 0; i < tracedArgs.length; i++)
     {
-      // get stored argument
-      synchronized (argTrace)
+      byte type = args.getType(i);
+      if (type == BindValues.FORMATTED)
       {
-        try
-        {
-          arg = argTrace.get(argIdx);
-        }
-        catch (IndexOutOfBoundsException e)
-        {
-          arg = "?";
-        }
+        tracedArgs[i] = (String) args.getValue(i);
       }
-      if (arg == null)
+      else if (type != BindValues.UNSET)
       {
-        arg = "?";
+        tracedArgs[i] = formatArg(args.getValue(i));
       }
+    }
+    return template.fill(Arrays.asList(tracedArgs));
+  }
 
-      argIdx++;
+  /**
+   * A row added to the current batch while the SQL was not logged: a snapshot 
+   * of the bind variables, formatted only if the SQL of the batch is dumped, 
+   * for instance because its execution failed.
+   */
+  private class BatchedSql
+  {
+    private final SqlTemplate template;
+    private final BindValues args;
 
-      dumpSql.append(sql.substring(lastPos, Qpos));  // dump segment of sql up to question mark.
-      lastPos = Qpos + 1;
-      Qpos = sql.indexOf('?', lastPos);
-      dumpSql.append(arg);
-    }
-    if (lastPos < sql.length())
+    private BatchedSql(SqlTemplate template, BindValues args)
     {
-      dumpSql.append(sql.substring(lastPos, sql.length()));  // dump last segment
+      this.template = template;
+      this.args = args;
     }
 
-    return dumpSql.toString();
+    @Override
+    public String toString()
+    {
+      return dumpedSql(template, args);
+    }
   }
 
-  protected void reportAllReturns(String methodCall, String msg)
+  protected void reportAllReturns(CharSequence methodCall, String msg)
   {
     log.methodReturned(this, methodCall, msg);
   }
@@ -194,6 +308,8 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   {
     super(connectionSpy, realPreparedStatement, logDelegator);  // does null check for us
     this.sql = sql;
+    this.sqlTemplate = SqlTemplate.getTemplate(sql);
+    this.argTrace = new BindValues(sqlTemplate == null ? 0 : sqlTemplate.getParameterCount());
     this.realPreparedStatement = realPreparedStatement;
     rdbmsSpecifics = connectionSpy.getRdbmsSpecifics();
   }
@@ -208,7 +324,6 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   @Override
   public void setTime(int parameterIndex, Time x) throws SQLException
   {
-    String methodCall = "setTime(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(Time)", x);
     try
     {
@@ -216,16 +331,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTime", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTime", parameterIndex, x));
+    }
   }
 
   @Override
   public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException
   {
-    String methodCall = "setTime(" + parameterIndex + ", " + x + ", " + cal + ")";
     argTraceSet(parameterIndex, "(Time)", x);
     try
     {
@@ -233,16 +350,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTime", parameterIndex, x, cal), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTime", parameterIndex, x, cal));
+    }
   }
 
   @Override
   public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException
   {
-    String methodCall = "setCharacterStream(" + parameterIndex + ", " + reader + ", " + length + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -250,16 +369,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setCharacterStream", parameterIndex, reader, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setCharacterStream", parameterIndex, reader, length));
+    }
   }
 
   @Override
   public void setNull(int parameterIndex, int sqlType) throws SQLException
   {
-    String methodCall = "setNull(" + parameterIndex + ", " + sqlType + ")";
     argTraceSet(parameterIndex, null, null);
     try
     {
@@ -267,16 +388,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNull", parameterIndex, sqlType), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNull", parameterIndex, sqlType));
+    }
   }
 
   @Override
   public void setNull(int paramIndex, int sqlType, String typeName) throws SQLException
   {
-    String methodCall = "setNull(" + paramIndex + ", " + sqlType + ", " + typeName + ")";
     argTraceSet(paramIndex, null, null);
     try
     {
@@ -284,16 +407,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNull", paramIndex, sqlType, typeName), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNull", paramIndex, sqlType, typeName));
+    }
   }
 
   @Override
   public void setRef(int i, Ref x) throws SQLException
   {
-    String methodCall = "setRef(" + i + ", " + x + ")";
     argTraceSet(i, "(Ref)", x);
     try
     {
@@ -301,33 +426,37 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setRef", i, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setRef", i, x));
+    }
   }
 
   @Override
   public void setBoolean(int parameterIndex, boolean x) throws SQLException
   {
-    String methodCall = "setBoolean(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(boolean)", x?Boolean.TRUE:Boolean.FALSE);
+    argTraceSet(parameterIndex, "(boolean)", x);
     try
     {
       realPreparedStatement.setBoolean(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBoolean", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBoolean", parameterIndex, x));
+    }
   }
 
   @Override
   public void setBlob(int i, Blob x) throws SQLException
   {
-    String methodCall = "setBlob(" + i + ", " + x + ")";
     argTraceSet(i, "(Blob)", 
       x==null?null:("<Blob of size " + x.length() + ">"));
     try
@@ -336,16 +465,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBlob", i, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBlob", i, x));
+    }
   }
 
   @Override
   public void setClob(int i, Clob x) throws SQLException
   {
-    String methodCall = "setClob(" + i + ", " + x + ")";
     argTraceSet(i, "(Clob)",
       x==null?null:("<Clob of size " + x.length() + ">"));
     try
@@ -354,16 +485,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setClob", i, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setClob", i, x));
+    }
   }
 
   @Override
   public void setArray(int i, Array x) throws SQLException
   {
-    String methodCall = "setArray(" + i + ", " + x + ")";
     argTraceSet(i, "(Array)", "<Array>");
     try
     {
@@ -371,27 +504,32 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setArray", i, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setArray", i, x));
+    }
   }
 
   @Override
   public void setByte(int parameterIndex, byte x) throws SQLException
   {
-    String methodCall = "setByte(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(byte)", new Byte(x));
+    argTraceSet(parameterIndex, "(byte)", x);
     try
     {
       realPreparedStatement.setByte(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setByte", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setByte", parameterIndex, x));
+    }
   }
 
   /**
@@ -400,7 +538,6 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   @Override
   public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "setUnicodeStream(" + parameterIndex + ", " + x + ", " + length + ")";
     argTraceSet(parameterIndex, "(Unicode InputStream)", "<Unicode InputStream of length " + length + ">");
     try
     {
@@ -408,45 +545,59 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setUnicodeStream", parameterIndex, x, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setUnicodeStream", parameterIndex, x, length));
+    }
   }
 
   @Override
   public void setShort(int parameterIndex, short x) throws SQLException
   {
-    String methodCall = "setShort(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(short)", new Short(x));
+    argTraceSet(parameterIndex, "(short)", x);
     try
     {
       realPreparedStatement.setShort(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setShort", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setShort", parameterIndex, x));
+    }
   }
 
   @Override
   public boolean execute() throws SQLException
   {
     String methodCall = "execute()";
-    String dumpedSql = dumpedSql();
-    reportSql(dumpedSql, methodCall);
-    long tstart = System.currentTimeMillis();
+    String dumpedSql = sampleSql(sql, true) ? dumpedSql() : null;
+    if (dumpedSql != null)
+    {
+      reportSql(dumpedSql, methodCall);
+    }
+    long tstart = System.nanoTime();
     try
     {
       boolean result = realPreparedStatement.execute();
-      reportSqlTiming(System.currentTimeMillis() - tstart, dumpedSql, methodCall);
+      long execTime = recordExecution(tstart, sql, true);
+      reportExecution(execTime, sql, methodCall);
+      if (isSqlTimingReported(execTime))
+      {
+        reportSqlTiming(execTime, dumpedSql != null ? dumpedSql : dumpedSql(), methodCall);
+      }
       return reportReturn(methodCall, result);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s, dumpedSql, System.currentTimeMillis() - tstart);
+      reportException(methodCall, s, dumpedSql != null ? dumpedSql : dumpedSql(), 
+          Utilities.getElapsedTime(tstart));
       throw s;
     }
   }
@@ -454,75 +605,82 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   @Override
   public void setInt(int parameterIndex, int x) throws SQLException
   {
-    String methodCall = "setInt(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(int)", new Integer(x));
+    argTraceSet(parameterIndex, "(int)", x);
     try
     {
       realPreparedStatement.setInt(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setInt", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setInt", parameterIndex, x));
+    }
   }
 
   @Override
   public void setLong(int parameterIndex, long x) throws SQLException
   {
-    String methodCall = "setLong(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(long)", new Long(x));
+    argTraceSet(parameterIndex, "(long)", x);
     try
     {
       realPreparedStatement.setLong(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setLong", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setLong", parameterIndex, x));
+    }
   }
 
   @Override
   public void setFloat(int parameterIndex, float x) throws SQLException
   {
-    String methodCall = "setFloat(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(float)", new Float(x));
+    argTraceSet(parameterIndex, "(float)", x);
     try
     {
       realPreparedStatement.setFloat(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setFloat", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setFloat", parameterIndex, x));
+    }
   }
 
   @Override
   public void setDouble(int parameterIndex, double x) throws SQLException
   {
-    String methodCall = "setDouble(" + parameterIndex + ", " + x + ")";
-    argTraceSet(parameterIndex, "(double)", new Double(x));
+    argTraceSet(parameterIndex, "(double)", x);
     try
     {
       realPreparedStatement.setDouble(parameterIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setDouble", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setDouble", parameterIndex, x));
+    }
   }
 
   @Override
   public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException
   {
-    String methodCall = "setBigDecimal(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(BigDecimal)", x);
     try
     {
@@ -530,16 +688,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBigDecimal", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBigDecimal", parameterIndex, x));
+    }
   }
 
   @Override
   public void setURL(int parameterIndex, URL x) throws SQLException
   {
-    String methodCall = "setURL(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(URL)", x);
 
     try
@@ -548,16 +708,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setURL", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setURL", parameterIndex, x));
+    }
   }
 
   @Override
   public void setString(int parameterIndex, String x) throws SQLException
   {
-    String methodCall = "setString(" + parameterIndex + ", \"" + x + "\")";
     argTraceSet(parameterIndex, "(String)", x);
 
     try
@@ -566,17 +728,19 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setString", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setString", parameterIndex, x));
+    }
   }
 
   @Override
   public void setBytes(int parameterIndex, byte[] x) throws SQLException
   {
     //todo: dump array?
-    String methodCall = "setBytes(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(byte[])", "<byte[]>");
     try
     {
@@ -584,16 +748,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBytes", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBytes", parameterIndex, x));
+    }
   }
 
   @Override
   public void setDate(int parameterIndex, Date x) throws SQLException
   {
-    String methodCall = "setDate(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(Date)", x);
     try
     {
@@ -601,10 +767,13 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setDate", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setDate", parameterIndex, x));
+    }
   }
 
   @Override
@@ -624,7 +793,6 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   @Override
   public void setRowId(int parameterIndex, RowId x) throws SQLException {
-    String methodCall = "setRowId(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(RowId)", x);
     try
     {
@@ -632,15 +800,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setRowId", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setRowId", parameterIndex, x));
+    }
   }
 
   @Override
   public void setNString(int parameterIndex, String value) throws SQLException {
-    String methodCall = "setNString(" + parameterIndex + ", " + value + ")";
     argTraceSet(parameterIndex, "(String)", value);
     try
     {
@@ -648,15 +818,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNString", parameterIndex, value), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNString", parameterIndex, value));
+    }
   }
 
   @Override
   public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
-    String methodCall = "setNCharacterStream(" + parameterIndex + ", " + value + ", " + length + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -664,15 +836,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNCharacterStream", parameterIndex, value, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNCharacterStream", parameterIndex, value, length));
+    }
   }
 
   @Override
   public void setNClob(int parameterIndex, NClob value) throws SQLException {
-    String methodCall = "setNClob(" + parameterIndex + ", " + value + ")";
     argTraceSet(parameterIndex, "(NClob)", "<NClob>");
     try
     {
@@ -680,15 +854,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNClob", parameterIndex, value), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNClob", parameterIndex, value));
+    }
   }
 
   @Override
   public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "setClob(" + parameterIndex + ", " + reader + ", " + length + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -696,15 +872,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setClob", parameterIndex, reader, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setClob", parameterIndex, reader, length));
+    }
   }
 
   @Override
   public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
-    String methodCall = "setBlob(" + parameterIndex + ", " + inputStream + ", " + length + ")";
     argTraceSet(parameterIndex, "(InputStream)", "<InputStream of length " + length + ">");
     try
     {
@@ -712,15 +890,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBlob", parameterIndex, inputStream, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBlob", parameterIndex, inputStream, length));
+    }
   }
 
   @Override
   public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "setNClob(" + parameterIndex + ", " + reader + ", " + length + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -728,15 +908,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNClob", parameterIndex, reader, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNClob", parameterIndex, reader, length));
+    }
   }
 
   @Override
   public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
-    String methodCall = "setSQLXML(" + parameterIndex + ", " + xmlObject + ")";
     argTraceSet(parameterIndex, "(SQLXML)", xmlObject);
     try
     {
@@ -744,16 +926,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setSQLXML", parameterIndex, xmlObject), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setSQLXML", parameterIndex, xmlObject));
+    }
   }
 
   @Override
   public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException
   {
-    String methodCall = "setDate(" + parameterIndex + ", " + x + ", " + cal + ")";
     argTraceSet(parameterIndex, "(Date)", x);
 
     try
@@ -762,35 +946,51 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setDate", parameterIndex, x, cal), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setDate", parameterIndex, x, cal));
+    }
   }
 
   @Override
   public ResultSet executeQuery() throws SQLException
   {
     String methodCall = "executeQuery()";
-    String dumpedSql = dumpedSql();
-    reportSql(dumpedSql, methodCall);
-    long tstart = System.currentTimeMillis();
+    String dumpedSql = sampleSql(sql, true) ? dumpedSql() : null;
+    if (dumpedSql != null)
+    {
+      reportSql(dumpedSql, methodCall);
+    }
+    long tstart = System.nanoTime();
     try
     {
       ResultSet r = realPreparedStatement.executeQuery();
-      reportSqlTiming(System.currentTimeMillis() - tstart, dumpedSql, methodCall);
+      long execTime = recordExecution(tstart, sql, true);
+      reportExecution(execTime, sql, methodCall);
+      if (isSqlTimingReported(execTime))
+      {
+        reportSqlTiming(execTime, dumpedSql != null ? dumpedSql : dumpedSql(), methodCall);
+      }
       ResultSetSpy rsp = new ResultSetSpy(this, r, this.log);
       return (ResultSet) reportReturn(methodCall, rsp);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s, dumpedSql, System.currentTimeMillis() - tstart);
+      reportException(methodCall, s, dumpedSql != null ? dumpedSql : dumpedSql(), 
+          Utilities.getElapsedTime(tstart));
       throw s;
     }
   }
 
   private String getTypeHelp(Object x)
   {
+    if (!showTypeHelp)
+    {
+      return null;
+    }
     if (x==null)
     {
       return "(null)";
@@ -801,7 +1001,6 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   @Override
   public void setObject(int parameterIndex, Object x, int targetSqlType, int scale) throws SQLException
   {
-    String methodCall = "setObject(" + parameterIndex + ", " + x + ", " + targetSqlType + ", " + scale + ")";
     argTraceSet(parameterIndex, getTypeHelp(x), x);
 
     try
@@ -810,10 +1009,13 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setObject", parameterIndex, x, targetSqlType, scale), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setObject", parameterIndex, x, targetSqlType, scale));
+    }
   }
 
   /**
@@ -839,7 +1041,6 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
    */
   @Override
   public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
-    String methodCall = "setAsciiStream(" + parameterIndex + ", " + x + ", " + length + ")";
     argTraceSet(parameterIndex, "(Ascii InputStream)", "<Ascii InputStream of length " + length + ">");
     try
     {
@@ -847,15 +1048,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setAsciiStream", parameterIndex, x, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setAsciiStream", parameterIndex, x, length));
+    }
   }
 
   @Override
   public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
-    String methodCall = "setBinaryStream(" + parameterIndex + ", " + x + ", " + length + ")";
     argTraceSet(parameterIndex, "(Binary InputStream)", "<Binary InputStream of length " + length + ">");
     try
     {
@@ -863,15 +1066,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBinaryStream", parameterIndex, x, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBinaryStream", parameterIndex, x, length));
+    }
   }
 
   @Override
   public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "setCharacterStream(" + parameterIndex + ", " + reader + ", " + length + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -879,16 +1084,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setCharacterStream", parameterIndex, reader, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setCharacterStream", parameterIndex, reader, length));
+    }
 
   }
 
   @Override
   public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
-    String methodCall = "setAsciiStream(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(Ascii InputStream)", "<Ascii InputStream>");
     try
     {
@@ -896,15 +1103,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setAsciiStream", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setAsciiStream", parameterIndex, x));
+    }
   }
 
   @Override
   public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
-    String methodCall = "setBinaryStream(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(Binary InputStream)", "<Binary InputStream>");
     try
     {
@@ -912,16 +1121,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBinaryStream", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBinaryStream", parameterIndex, x));
+    }
 
   }
 
   @Override
   public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
-    String methodCall = "setCharacterStream(" + parameterIndex + ", " + reader + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader>");
     try
     {
@@ -929,15 +1140,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setCharacterStream", parameterIndex, reader), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setCharacterStream", parameterIndex, reader));
+    }
   }
 
   @Override
   public void setNCharacterStream(int parameterIndex, Reader reader) throws SQLException {
-    String methodCall = "setNCharacterStream(" + parameterIndex + ", " + reader + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader>");
     try
     {
@@ -945,15 +1158,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNCharacterStream", parameterIndex, reader), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNCharacterStream", parameterIndex, reader));
+    }
   }
 
   @Override
   public void setClob(int parameterIndex, Reader reader) throws SQLException {
-    String methodCall = "setClob(" + parameterIndex + ", " + reader + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader>");
     try
     {
@@ -961,15 +1176,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setClob", parameterIndex, reader), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setClob", parameterIndex, reader));
+    }
   }
 
   @Override
   public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
-    String methodCall = "setBlob(" + parameterIndex + ", " + inputStream + ")";
     argTraceSet(parameterIndex, "(InputStream)", "<InputStream>");
     try
     {
@@ -977,15 +1194,17 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBlob", parameterIndex, inputStream), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBlob", parameterIndex, inputStream));
+    }
   }
 
   @Override
   public void setNClob(int parameterIndex, Reader reader) throws SQLException {
-    String methodCall = "setNClob(" + parameterIndex + ", " + reader + ")";
     argTraceSet(parameterIndex, "(Reader)", "<Reader>");
     try
     {
@@ -993,17 +1212,19 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setNClob", parameterIndex, reader), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setNClob", parameterIndex, reader));
+    }
 
   }
 
   @Override
   public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException
   {
-    String methodCall = "setObject(" + parameterIndex + ", " + x + ", " + targetSqlType + ")";
     argTraceSet(parameterIndex, getTypeHelp(x), x);
     try
     {
@@ -1011,16 +1232,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setObject", parameterIndex, x, targetSqlType), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setObject", parameterIndex, x, targetSqlType));
+    }
   }
 
   @Override
   public void setObject(int parameterIndex, Object x) throws SQLException
   {
-    String methodCall = "setObject(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, getTypeHelp(x), x);
     try
     {
@@ -1028,16 +1251,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setObject", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setObject", parameterIndex, x));
+    }
   }
 
   @Override
   public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException
   {
-    String methodCall = "setTimestamp(" + parameterIndex + ", " + x + ")";
     argTraceSet(parameterIndex, "(Date)", x);
     try
     {
@@ -1045,16 +1270,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTimestamp", parameterIndex, x), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTimestamp", parameterIndex, x));
+    }
   }
 
   @Override
   public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException
   {
-    String methodCall = "setTimestamp(" + parameterIndex + ", " + x + ", " + cal + ")";
     argTraceSet(parameterIndex, "(Timestamp)", x);
     try
     {
@@ -1062,28 +1289,41 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setTimestamp", parameterIndex, x, cal), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setTimestamp", parameterIndex, x, cal));
+    }
   }
 
   @Override
   public int executeUpdate() throws SQLException
   {
     String methodCall = "executeUpdate()";
-    String dumpedSql = dumpedSql();
-    reportSql(dumpedSql, methodCall);
-    long tstart = System.currentTimeMillis();
+    String dumpedSql = sampleSql(sql, true) ? dumpedSql() : null;
+    if (dumpedSql != null)
+    {
+      reportSql(dumpedSql, methodCall);
+    }
+    long tstart = System.nanoTime();
     try
     {
       int result = realPreparedStatement.executeUpdate();
-      reportSqlTiming(System.currentTimeMillis() - tstart, dumpedSql, methodCall);
+      long execTime = recordExecution(tstart, sql, true);
+      reportExecution(execTime, sql, methodCall);
+      if (isSqlTimingReported(execTime))
+      {
+        reportSqlTiming(execTime, dumpedSql != null ? dumpedSql : dumpedSql(), methodCall);
+      }
+      reportUpdateCount(methodCall, result);
       return reportReturn(methodCall, result);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s, dumpedSql, System.currentTimeMillis() - tstart);
+      reportException(methodCall, s, dumpedSql != null ? dumpedSql : dumpedSql(), 
+          Utilities.getElapsedTime(tstart));
       throw s;
     }
   }
@@ -1091,13 +1331,12 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   @Override
   public ResultSet getGeneratedKeys() throws SQLException
   {
-	  return this.getGeneratedKeys(dumpedSql());
+	  return this.getGeneratedKeys(isSqlLoggingEnabled() && sqlSampled ? dumpedSql() : sql);
   }
 
   @Override
   public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "setAsciiStream(" + parameterIndex + ", " + x + ", " + length + ")";
     argTraceSet(parameterIndex, "(Ascii InputStream)", "<Ascii InputStream of length " + length + ">");
     try
     {
@@ -1105,16 +1344,18 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setAsciiStream", parameterIndex, x, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setAsciiStream", parameterIndex, x, length));
+    }
   }
 
   @Override
   public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "setBinaryStream(" + parameterIndex + ", " + x + ", " + length + ")";
     argTraceSet(parameterIndex, "(Binary InputStream)", "<Binary InputStream of length " + length + ">");
     try
     {
@@ -1122,10 +1363,13 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("setBinaryStream", parameterIndex, x, length), s);
       throw s;
     }
-    reportReturn(methodCall);
+    if (isReturnLoggingEnabled())
+    {
+      reportReturn(new MethodCall("setBinaryStream", parameterIndex, x, length));
+    }
   }
 
   @Override
@@ -1169,7 +1413,20 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   public void addBatch() throws SQLException
   {
     String methodCall = "addBatch()";
-    currentBatch.add(dumpedSql());
+    // format the bind variables only if needed: when the statements are sampled, 
+    // whether the batch is logged is known only when it is executed
+    SqlTemplate template = getSqlTemplate();
+    if (template == null || (isSqlLoggingEnabled() && SqlSampler.getInstance() == null))
+    {
+      currentBatch.add(dumpedSql());
+    }
+    else
+    {
+      synchronized (argTrace)
+      {
+        currentBatch.add(new BatchedSql(template, argTrace.copy()));
+      }
+    }
     try
     {
       realPreparedStatement.addBatch();
@@ -1184,7 +1441,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   @Override
   public <T> T unwrap(Class<T> iface) throws SQLException {
-    String methodCall = "unwrap(" + (iface==null?"null":iface.getName()) + ")";
+    MethodCall methodCall = new MethodCall("unwrap", iface);
     try
     {
       //todo: double check this logic
@@ -1205,7 +1462,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   @Override
   public boolean isWrapperFor(Class<?> iface) throws SQLException
   {
-    String methodCall = "isWrapperFor(" + (iface==null?"null":iface.getName()) + ")";
+    MethodCall methodCall = new MethodCall("isWrapperFor", iface);
     try
     {
       //NOTE: could call super.isWrapperFor to simplify this logic, but it would result in extra log output
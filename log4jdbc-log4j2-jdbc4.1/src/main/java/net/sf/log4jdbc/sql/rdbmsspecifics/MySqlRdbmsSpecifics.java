@@ -15,7 +15,6 @@
  */
 package net.sf.log4jdbc.sql.rdbmsspecifics;
 
-import java.text.SimpleDateFormat;
 
 /**
  * RDBMS specifics for the MySql db.
@@ -24,6 +23,11 @@ import java.text.SimpleDateFormat;
  */
 public class MySqlRdbmsSpecifics extends RdbmsSpecifics
 {
+  private static final DatePattern timePattern = new DatePattern("''HH:mm:ss''");
+  private static final DatePattern datePattern = new DatePattern("''yyyy-MM-dd''");
+  private static final DatePattern dateTimePattern = 
+    new DatePattern("''yyyy-MM-dd HH:mm:ss''");
+
   public MySqlRdbmsSpecifics()
   {
     super();
@@ -34,15 +38,15 @@ public class MySqlRdbmsSpecifics extends RdbmsSpecifics
   {
     if (object instanceof java.sql.Time)
     {
-      return "'" + new SimpleDateFormat("HH:mm:ss").format(object) + "'";
+      return timePattern.format((java.util.Date) object);
     }
     else if (object instanceof java.sql.Date)
     {
-      return "'" + new SimpleDateFormat("yyyy-MM-dd").format(object) + "'";
+      return datePattern.format((java.util.Date) object);
     }
     else if (object instanceof java.util.Date)  // (includes java.sql.Timestamp)
     {
-      return "'" + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(object) + "'";
+      return dateTimePattern.format((java.util.Date) object);
     }
     else
     {
@@ -16,7 +16,8 @@
 package net.sf.log4jdbc.sql.rdbmsspecifics;
 
 import java.util.Date;
-import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Map;
 
 
 /**
@@ -42,6 +43,53 @@ public class RdbmsSpecifics
 
 	protected static final String dateFormat = "MM/dd/yyyy HH:mm:ss.SSS";
 
+	/**
+	 * The compiled <code>dateFormat</code>, shared by all threads.
+	 */
+	private static final DatePattern datePattern = new DatePattern(dateFormat);
+
+	/**
+	 * The kinds of <code>java.time</code> values that can be formatted 
+	 * (see {@link RdbmsSpecifics#formatJavaTime(JavaTimeType, String)}).
+	 */
+	protected enum JavaTimeType
+	{
+		/**
+		 * A <code>java.time.LocalDate</code>.
+		 */
+		LOCAL_DATE,
+		/**
+		 * A <code>java.time.LocalTime</code>.
+		 */
+		LOCAL_TIME,
+		/**
+		 * A <code>java.time.LocalDateTime</code>.
+		 */
+		LOCAL_DATE_TIME,
+		/**
+		 * A <code>java.time.OffsetDateTime</code>, <code>java.time.ZonedDateTime</code>, 
+		 * or <code>java.time.Instant</code>.
+		 */
+		OFFSET_DATE_TIME
+	}
+
+	/**
+	 * Associates the names of the <code>java.time</code> classes supported to their 
+	 * <code>JavaTimeType</code>. Classes are identified by their name, because 
+	 * this library is compiled for JVMs without <code>java.time</code>.
+	 */
+	private static final Map<String, JavaTimeType> javaTimeTypes = 
+			new HashMap<String, JavaTimeType>();
+	static
+	{
+		javaTimeTypes.put("java.time.LocalDate", JavaTimeType.LOCAL_DATE);
+		javaTimeTypes.put("java.time.LocalTime", JavaTimeType.LOCAL_TIME);
+		javaTimeTypes.put("java.time.LocalDateTime", JavaTimeType.LOCAL_DATE_TIME);
+		javaTimeTypes.put("java.time.OffsetDateTime", JavaTimeType.OFFSET_DATE_TIME);
+		javaTimeTypes.put("java.time.ZonedDateTime", JavaTimeType.OFFSET_DATE_TIME);
+		javaTimeTypes.put("java.time.Instant", JavaTimeType.OFFSET_DATE_TIME);
+	}
+
 	/**
 	 * Format an Object that is being bound to a PreparedStatement parameter, for display. The goal is to reformat the
 	 * object in a format that can be re-run against the native SQL client of the particular Rdbms being used.  This
@@ -64,7 +112,9 @@ public class RdbmsSpecifics
 		}
 		else if (object instanceof Date)
 		{
-			return "'" + new SimpleDateFormat(dateFormat).format(object) + "'";
+			StringBuilder out = new StringBuilder(dateFormat.length() + 2).append('\'');
+			datePattern.format((Date) object, out);
+			return out.append('\'').toString();
 		}
 		else if (object instanceof Boolean)
 		{
@@ -83,10 +133,80 @@ public class RdbmsSpecifics
 		}
 		else
 		{
+			JavaTimeType javaTimeType = javaTimeTypes.get(object.getClass().getName());
+			if (javaTimeType != null)
+			{
+				return formatJavaTime(javaTimeType, toJavaTimeLiteral(object));
+			}
 			return object.toString();
 		}
 	}
 
+	/**
+	 * Format a <code>java.time</code> value, already converted to the format 
+	 * "yyyy-MM-dd", "HH:mm:ss[.fraction]", "yyyy-MM-dd HH:mm:ss[.fraction]", 
+	 * or "yyyy-MM-dd HH:mm:ss[.fraction]+hh:mm", depending on <code>type</code>. 
+	 * This default implementation simply quotes <code>literal</code>, it should be 
+	 * overridden for RDBMS requiring a specific syntax.
+	 *
+	 * @param type 		the kind of <code>java.time</code> value formatted.
+	 * @param literal 	the value, converted as described above.
+	 * @return formatted dump of the value.
+	 */
+	protected String formatJavaTime(JavaTimeType type, String literal)
+	{
+		return "'" + literal + "'";
+	}
+
+	/**
+	 * Convert the ISO-8601 representation of a <code>java.time</code> value, 
+	 * returned by its <code>toString</code> method, to the format described in 
+	 * {@link #formatJavaTime(JavaTimeType, String)}: the 'T' separator is replaced 
+	 * by a space, omitted seconds are added, a zone ID is removed, 
+	 * and the offset 'Z' is replaced by "+00:00".
+	 */
+	static String toJavaTimeLiteral(Object javaTime)
+	{
+		String iso = javaTime.toString();
+		int zoneId = iso.indexOf('[');
+		if (zoneId != -1)
+		{
+			iso = iso.substring(0, zoneId);
+		}
+		StringBuilder out = new StringBuilder(iso.length() + 8);
+		int timeStart = iso.indexOf('T');
+		if (timeStart == -1)
+		{
+			// a LocalDate, or a LocalTime
+			timeStart = iso.indexOf(':') == -1 ? iso.length() : 0;
+			out.append(iso, 0, timeStart);
+		}
+		else
+		{
+			out.append(iso, 0, timeStart).append(' ');
+			timeStart++;
+		}
+		if (timeStart < iso.length())
+		{
+			// hours and minutes are always present, but seconds are omitted if zero
+			out.append(iso, timeStart, timeStart + 5);
+			int i = timeStart + 5;
+			if (i >= iso.length() || iso.charAt(i) != ':')
+			{
+				out.append(":00");
+			}
+			if (iso.endsWith("Z"))
+			{
+				out.append(iso, i, iso.length() - 1).append("+00:00");
+			}
+			else
+			{
+				out.append(iso, i, iso.length());
+			}
+		}
+		return out.toString();
+	}
+
 	/**
 	 * Make sure string is escaped properly so that it will run in a SQL query analyzer tool.
 	 * At this time all we do is double any single tick marks.
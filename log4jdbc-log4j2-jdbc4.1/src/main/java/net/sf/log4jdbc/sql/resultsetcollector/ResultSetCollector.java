@@ -31,16 +31,24 @@ public interface ResultSetCollector {
 
   /**
    * Expected to be called by a ResultSetSpy for all jdbc methods.
-   * @return true if the result set is complete (next() returns false)
+   * @param method      the <code>ResultSetMethod</code> identifying the method called, 
+   *                    so that its description does not need to be parsed
+   * @param methodCall  the description of the method call, rendered only 
+   *                    if <code>toString</code> is called
+   * @return true if the result set is complete (next() returns false), or if the rows 
+   * collected so far must be printed
    */
-  public boolean methodReturned(ResultSetSpy resultSetSpy,
-          String methodCall, Object returnValue, Object targetObject,
+  public boolean methodReturned(ResultSetSpy resultSetSpy, ResultSetMethod method, 
+          CharSequence methodCall, Object returnValue, Object targetObject,
           Object... methodParams);
 
   /**
    * Expected to be called by a ResultSetSpy for prior to the execution of all jdbc methods.
+   * @param method      the <code>ResultSetMethod</code> identifying the method called
+   * @param methodCall  the description of the method call
    */
-  public void preMethod(ResultSetSpy resultSetSpy, String methodCall, Object... methodParams);
+  public void preMethod(ResultSetSpy resultSetSpy, ResultSetMethod method, 
+          CharSequence methodCall, Object... methodParams);
   
   /**
    * @return the result set objects
@@ -0,0 +1,123 @@
+package net.sf.log4jdbc.log;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.StringReader;
+import java.util.StringTokenizer;
+
+/**
+ * The SQL formatting previously performed by the <code>processSql</code> methods
+ * of <code>SqlMessage</code> and <code>Slf4jSpyLogDelegator</code>, taking
+ * the options as arguments rather than reading them from the log4jdbc properties.
+ * It is used as a reference to test {@link SqlFormatter}, in this module only,
+ * as <code>SqlFormatter</code> is the same in all the modules.
+ *
+ * @author Arthur Blake
+ * @author Frederic Bastian
+ */
+class LegacySqlFormatter
+{
+    private static final String nl = System.getProperty("line.separator");
+
+    private final boolean trim;
+    private final int maxLineLength;
+    private final boolean addSemicolon;
+    private final boolean trimExtraBlankLines;
+    private final boolean terminateLines;
+
+    /**
+     * Arguments are the same as for {@link SqlFormatter#SqlFormatter(boolean, int,
+     * boolean, boolean, boolean)}, <code>terminateLines</code> selecting the algorithm
+     * of <code>Slf4jSpyLogDelegator</code> if <code>true</code>, of
+     * <code>SqlMessage</code> otherwise.
+     */
+    LegacySqlFormatter(boolean trim, int maxLineLength, boolean addSemicolon,
+            boolean trimExtraBlankLines, boolean terminateLines) {
+        this.trim = trim;
+        this.maxLineLength = maxLineLength;
+        this.addSemicolon = addSemicolon;
+        this.trimExtraBlankLines = trimExtraBlankLines;
+        this.terminateLines = terminateLines;
+    }
+
+    String processSql(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        if (this.trim) {
+            sql = sql.trim();
+        }
+
+        StringBuilder output = new StringBuilder();
+
+        if (this.maxLineLength <= 0) {
+            output.append(sql);
+        } else {
+            // insert line breaks into sql to make it more readable
+            StringTokenizer st = new StringTokenizer(sql);
+            String token;
+            int linelength = 0;
+
+            while (st.hasMoreElements()) {
+                token = (String) st.nextElement();
+
+                output.append(token);
+                linelength += token.length();
+                output.append(" ");
+                linelength++;
+                if (linelength > this.maxLineLength) {
+                    output.append(nl);
+                    linelength = 0;
+                }
+            }
+        }
+
+        if (this.addSemicolon) {
+            output.append(";");
+        }
+
+        String stringOutput = output.toString();
+
+        if (this.trimExtraBlankLines) {
+            LineNumberReader lineReader = new LineNumberReader(new StringReader(stringOutput));
+
+            output = new StringBuilder();
+
+            int contiguousBlankLines = 0;
+            int lineCount = 0;
+            try {
+                while (true) {
+                    String line = lineReader.readLine();
+                    if (line == null) {
+                        break;
+                    }
+                    if (!this.terminateLines && lineCount > 0) {
+                        output.append(nl);
+                    }
+
+                    // is this line blank?
+                    if (line.trim().length() == 0) {
+                        contiguousBlankLines++;
+                        // skip contiguous blank lines
+                        if (contiguousBlankLines > 1) {
+                            continue;
+                        }
+                    } else {
+                        contiguousBlankLines = 0;
+                        output.append(line);
+                    }
+                    if (this.terminateLines) {
+                        output.append(nl);
+                    }
+                    lineCount++;
+                }
+            } catch (IOException e) {
+                // since we are reading from a buffer, this isn't likely to happen,
+                // but if it does we just ignore it and treat it like its the end of the stream
+            }
+            stringOutput = output.toString();
+        }
+
+        return stringOutput;
+    }
+}
@@ -0,0 +1,132 @@
+package net.sf.log4jdbc.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import net.sf.log4jdbc.TestAncestor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing {@link SqlFormatter}, by comparing its output to the one
+ * of the previous implementation, {@link LegacySqlFormatter}.
+ *
+ * @author Frederic Bastian
+ */
+public class SqlFormatterTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(SqlFormatterTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    private static final String nl = System.getProperty("line.separator");
+
+    /**
+     * Generate a SQL statement of at least <code>minLength</code> characters,
+     * with various whitespaces, line terminators, and blank lines.
+     *
+     * @param random                    The <code>Random</code> used to generate the statement.
+     * @param minLength                 An <code>int</code> that is the minimum length
+     *                                  of the statement.
+     * @param contiguousBlankLines      A <code>boolean</code> defining whether
+     *                                  the statement can contain contiguous blank lines.
+     * @return                          The <code>String</code> generated.
+     */
+    static String generateSql(Random random, int minLength, boolean contiguousBlankLines) {
+        String[] words = new String[] {"SELECT", "a.id,", "b.name", "FROM", "table_a", "a",
+                "JOIN", "table_b", "b", "ON", "a.id", "=", "b.a_id", "WHERE", "b.name",
+                "LIKE", "'%x y%'", "AND", "a.id", "IN", "(1,", "2,", "3)", "\u000B"};
+        String[] separators = new String[] {" ", " ", " ", "  ", "\t", "\n", "\r\n", "\r",
+                "\f", "\n \t\n", "\n\n\n", "\r\n\r\n \r\n"};
+        StringBuilder sql = new StringBuilder(minLength + 64);
+        sql.append(random.nextBoolean() ? " \n " : "");
+        while (sql.length() < minLength) {
+            //the last word is blank, so it is only used if blank lines can be contiguous
+            sql.append(words[random.nextInt(contiguousBlankLines ? words.length :
+                words.length - 1)]);
+            String separator = separators[random.nextInt(separators.length)];
+            if (!contiguousBlankLines && separator.length() > 2 &&
+                    separator.trim().length() == 0) {
+                separator = "\n \t\n";
+            }
+            sql.append(separator);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Compare the output of {@link SqlFormatter} with the one of the previous
+     * implementation, for all the combinations of options, on large statements.
+     */
+    @Test
+    public void shouldFormatAsBefore() {
+        Random random = new Random(42);
+        for (boolean terminateLines: new boolean[] {true, false}) {
+            for (int i = 0; i < 5; i++) {
+                //the previous implementation for log4j2 did not actually collapse
+                //contiguous blank lines, see shouldCollapseBlankLines()
+                String sql = generateSql(random, 10240, terminateLines);
+                for (boolean trim: new boolean[] {true, false}) {
+                    for (int maxLineLength: new int[] {0, 1, 20, 80}) {
+                        for (boolean addSemicolon: new boolean[] {true, false}) {
+                            for (boolean collapse: new boolean[] {true, false}) {
+                                String expected = new LegacySqlFormatter(trim, maxLineLength,
+                                        addSemicolon, collapse, terminateLines).processSql(sql);
+                                SqlFormatter formatter = new SqlFormatter(trim, maxLineLength,
+                                        addSemicolon, collapse, terminateLines);
+                                assertEquals(expected, formatter.format(sql));
+                                StringBuilder out = new StringBuilder("prefix");
+                                formatter.format(sql, out);
+                                assertEquals("prefix" + expected, out.toString());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test the formatting of short statements, and of <code>null</code>.
+     */
+    @Test
+    public void shouldFormatEdgeCases() {
+        for (boolean terminateLines: new boolean[] {true, false}) {
+            for (String sql: new String[] {"", " ", "\n", "\r", "\r\n", "a", "a\r", "a\n\r",
+                    " a ", "\na\n\n", "a;\r\n\r\nb"}) {
+                for (boolean trim: new boolean[] {true, false}) {
+                    assertEquals(new LegacySqlFormatter(trim, 0, true, true, terminateLines)
+                            .processSql(sql), new SqlFormatter(trim, 0, true, true,
+                            terminateLines).format(sql));
+                    assertEquals(new LegacySqlFormatter(trim, 2, false, true, terminateLines)
+                            .processSql(sql), new SqlFormatter(trim, 2, false, true,
+                            terminateLines).format(sql));
+                }
+            }
+        }
+        SqlFormatter formatter = new SqlFormatter(true, 0, false, true, false);
+        assertNull(formatter.format(null));
+        StringBuilder out = new StringBuilder();
+        formatter.format(null, out);
+        assertEquals("null", out.toString());
+    }
+
+    /**
+     * Test that contiguous blank lines are collapsed into one empty line, whether
+     * the lines are terminated or separated.
+     */
+    @Test
+    public void shouldCollapseBlankLines() {
+        String sql = "SELECT *\n \n\t\r\n\nFROM a\r\rWHERE 1 = 1";
+        assertEquals("SELECT *" + nl + nl + "FROM a" + nl + nl + "WHERE 1 = 1",
+                new SqlFormatter(true, 0, false, true, false).format(sql));
+        assertEquals("SELECT *" + nl + nl + "FROM a" + nl + nl + "WHERE 1 = 1" + nl,
+                new SqlFormatter(true, 0, false, true, true).format(sql));
+    }
+}
@@ -0,0 +1,195 @@
+package net.sf.log4jdbc.log.slf4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.log4jdbc.TestAncestor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing {@link AsyncSqlLogQueue}.
+ *
+ * @author Frederic Bastian
+ */
+public class AsyncSqlLogQueueTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(AsyncSqlLogQueueTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * A <code>Handler</code> storing the SQL of the events handled, and the number
+     * of events reported as dropped. It can be blocked until a latch is released,
+     * to simulate a slow logging library.
+     */
+    private static class RecordingHandler implements AsyncSqlLogQueue.Handler
+    {
+        private final List<String> sqls = new ArrayList<String>();
+        private final AtomicLong dropped = new AtomicLong(0);
+        private final CountDownLatch release;
+
+        private RecordingHandler(CountDownLatch release) {
+            this.release = release;
+        }
+        @Override
+        public void handle(SqlLogEvent event) {
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this.sqls) {
+                this.sqls.add(event.sql);
+            }
+        }
+        @Override
+        public void eventsDropped(long count) {
+            this.dropped.addAndGet(count);
+        }
+        private List<String> getSqls() {
+            synchronized (this.sqls) {
+                return new ArrayList<String>(this.sqls);
+            }
+        }
+    }
+
+    /**
+     * Test that with the policy <code>BLOCK</code>, all the events produced
+     * concurrently are handled, in the order of production for each thread.
+     */
+    @Test
+    public void shouldNotLoseEventsWhenBlocking() throws InterruptedException {
+        RecordingHandler handler = new RecordingHandler(new CountDownLatch(0));
+        final AsyncSqlLogQueue queue = new AsyncSqlLogQueue(handler, 16,
+                AsyncSqlLogQueue.OverflowPolicy.BLOCK);
+        final int threadCount = 4;
+        final int iterations = 5000;
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final int threadNumber = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < iterations; j++) {
+                        queue.offer(true, SqlLogEvent.Level.INFO, threadNumber,
+                                threadNumber + ":" + j, j, null);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread: threads) {
+            thread.join();
+        }
+        assertTrue(queue.flush(TimeUnit.SECONDS.toMillis(10)));
+
+        List<String> sqls = handler.getSqls();
+        assertEquals(threadCount * iterations, sqls.size());
+        int[] lastSeen = new int[threadCount];
+        Arrays.fill(lastSeen, -1);
+        for (String sql: sqls) {
+            String[] parts = sql.split(":");
+            int threadNumber = Integer.parseInt(parts[0]);
+            int j = Integer.parseInt(parts[1]);
+            assertEquals(lastSeen[threadNumber] + 1, j);
+            lastSeen[threadNumber] = j;
+        }
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    /**
+     * Test that with the policy <code>DROP_WITH_COUNTER</code>, events are discarded
+     * when the buffer is full, and the number of events discarded is reported.
+     */
+    @Test
+    public void shouldCountDroppedEvents() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler(release);
+        AsyncSqlLogQueue queue = new AsyncSqlLogQueue(handler, 4,
+                AsyncSqlLogQueue.OverflowPolicy.DROP_WITH_COUNTER);
+        //slots are freed only once the handler returns, so exactly 4 events are accepted
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i < 4, queue.offer(false, SqlLogEvent.Level.INFO, 1,
+                    "SELECT " + i, -1, null));
+        }
+        assertEquals(6, queue.getDroppedCount());
+
+        release.countDown();
+        assertTrue(queue.flush(TimeUnit.SECONDS.toMillis(10)));
+        assertEquals(4, handler.getSqls().size());
+        long deadline = System.currentTimeMillis() + 10000;
+        while (handler.dropped.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(6, handler.dropped.get());
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    /**
+     * Test that the background thread survives an <code>Error</code> thrown
+     * by the logging library, and keeps handling the following events.
+     */
+    @Test
+    public void shouldSurviveHandlerErrors() {
+        final RecordingHandler recordingHandler = new RecordingHandler(new CountDownLatch(0));
+        AsyncSqlLogQueue queue = new AsyncSqlLogQueue(new AsyncSqlLogQueue.Handler() {
+            @Override
+            public void handle(SqlLogEvent event) {
+                if ("SELECT 0".equals(event.sql)) {
+                    throw new NoClassDefFoundError("test");
+                }
+                recordingHandler.handle(event);
+            }
+            @Override
+            public void eventsDropped(long count) {
+                recordingHandler.eventsDropped(count);
+            }
+        }, 4, AsyncSqlLogQueue.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(false, SqlLogEvent.Level.INFO, 1, "SELECT " + i, -1, null);
+        }
+        assertTrue(queue.flush(TimeUnit.SECONDS.toMillis(10)));
+        assertTrue(queue.isConsumerAlive());
+        assertEquals(9, recordingHandler.getSqls().size());
+    }
+
+    /**
+     * Test that with the policy <code>DROP</code>, events are silently discarded
+     * when the buffer is full.
+     */
+    @Test
+    public void shouldDropEvents() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler(release);
+        AsyncSqlLogQueue queue = new AsyncSqlLogQueue(handler, 3,
+                AsyncSqlLogQueue.OverflowPolicy.DROP);
+        //the buffer size is rounded up to 4
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (queue.offer(false, SqlLogEvent.Level.INFO, 1, "SELECT " + i, -1, null)) {
+                accepted++;
+            }
+        }
+        assertEquals(4, accepted);
+        assertEquals(0, queue.getDroppedCount());
+
+        release.countDown();
+        assertTrue(queue.flush(TimeUnit.SECONDS.toMillis(10)));
+        assertEquals(4, handler.getSqls().size());
+        assertEquals(0, handler.dropped.get());
+        assertFalse(handler.getSqls().contains("SELECT 4"));
+    }
+}
@@ -0,0 +1,80 @@
+package net.sf.log4jdbc.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.log4jdbc.TestAncestor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing {@link SqlTemplate}.
+ *
+ * @author Frederic Bastian
+ */
+public class SqlTemplateTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(SqlTemplateTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test that the placeholders are replaced by the bind values, and that
+     * missing or <code>null</code> values are displayed as placeholders.
+     */
+    @Test
+    public void shouldFillPlaceholders() {
+        SqlTemplate template = new SqlTemplate("SELECT * FROM a WHERE id = ? AND name IN (?,?)");
+        assertEquals(3, template.getParameterCount());
+        assertEquals("SELECT * FROM a WHERE id = 1 AND name IN ('b',?)",
+                template.fill(Arrays.asList("1", "'b'")));
+        assertEquals("SELECT * FROM a WHERE id = ? AND name IN ('b',?)",
+                template.fill(Arrays.asList(null, "'b'", null, "extra")));
+        assertEquals("SELECT * FROM a WHERE id = ? AND name IN (?,?)",
+                template.fill(new ArrayList<String>()));
+
+        template = new SqlTemplate("?");
+        assertEquals("x", template.fill(Arrays.asList("x")));
+        template = new SqlTemplate("");
+        assertEquals(0, template.getParameterCount());
+        assertEquals("", template.fill(Arrays.asList("x")));
+    }
+
+    /**
+     * Test that question marks in string literals, quoted identifiers and comments
+     * are not considered as placeholders.
+     */
+    @Test
+    public void shouldIgnoreQuotedQuestionMarks() {
+        List<String> args = Arrays.asList("1", "2", "3");
+        assertEquals("SELECT 'a?''?' , \"b?\", `c?` FROM a WHERE id = 1",
+                new SqlTemplate("SELECT 'a?''?' , \"b?\", `c?` FROM a WHERE id = ?")
+                .fill(args));
+        assertEquals("SELECT 1 -- why?\r\n, 2 /* what? */ FROM a /* ?",
+                new SqlTemplate("SELECT ? -- why?\r\n, ? /* what? */ FROM a /* ?")
+                .fill(args));
+        assertEquals("SELECT 1 - 2 / 3, 'unterminated ?",
+                new SqlTemplate("SELECT ? - ? / ?, 'unterminated ?").fill(args));
+    }
+
+    /**
+     * Test that the templates are cached.
+     */
+    @Test
+    public void shouldCacheTemplates() {
+        String sql = "SELECT * FROM a WHERE id = ?";
+        SqlTemplate template = SqlTemplate.getTemplate(sql);
+        assertSame(sql, template.getSql());
+        assertSame(template, SqlTemplate.getTemplate(new String(sql)));
+        assertNull(SqlTemplate.getTemplate(null));
+    }
+}
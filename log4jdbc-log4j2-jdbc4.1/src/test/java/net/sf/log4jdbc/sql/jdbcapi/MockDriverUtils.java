@@ -93,11 +93,16 @@ public class MockDriverUtils
     }
 	
 	/**
-	 * Deregister this mock <code>Driver</code> from the <code>DriverManager</code>.
+	 * Deregister this mock <code>Driver</code> from the <code>DriverManager</code>. 
+	 * It does not return connections anymore once deregistered, so that 
+	 * <code>DriverSpy</code>, that uses the driver cached for a URL as long as 
+	 * it connects, looks for the drivers currently registered.
 	 */
 	public void deregister() 
 	{
     	try {
+			when(this.getMockDriver().connect(anyString(), any(Properties.class)))
+			    .thenReturn(null);
 			DriverManager.deregisterDriver(this.getMockDriver());
 		} catch (SQLException e) {
 			//I don't think we should care about this during unit testing. 
@@ -0,0 +1,148 @@
+package net.sf.log4jdbc.sql.resultsetcollector;
+
+import java.util.List;
+
+/**
+ * The printing previously performed by {@link ResultSetCollectorPrinter}.
+ * It is used as a reference to test <code>ResultSetCollectorPrinter</code>.
+ *
+ * @author Tim Azzopardi
+ * @author Mathieu Seppey
+ * @author Frederic Bastian
+ */
+class LegacyResultSetCollectorPrinter {
+
+    /**
+     * A StringBuffer which is used to build the formatted table to print
+     */
+    private StringBuffer table = new StringBuffer(); ;
+
+    /**
+     * Default constructor
+     */
+    LegacyResultSetCollectorPrinter() {
+
+    }
+
+    /**
+     * @see ResultSetCollectorPrinter#getResultSetToPrint(ResultSetCollector)
+     */
+    String getResultSetToPrint(ResultSetCollector resultSetCollector) {
+
+        this.table.append(System.getProperty("line.separator"));
+
+        int columnCount = resultSetCollector.getColumnCount();
+        int maxLength[] = new int[columnCount];
+
+        for (int column = 1; column <= columnCount; column++) {
+            maxLength[column - 1] = resultSetCollector.getColumnName(column)
+                    .length();
+        }
+        if (resultSetCollector.getRows() != null) {
+            for (List<Object> printRow : resultSetCollector.getRows()) {
+                int colIndex = 0;
+                for (Object v : printRow) {
+                    if (v != null) {
+                        int length = v.toString().length();
+                        if (length > maxLength[colIndex]) {
+                            maxLength[colIndex] = length;
+                        }
+                    }
+                    colIndex++;
+                }
+            }
+        }
+        for (int column = 1; column <= columnCount; column++) {
+            maxLength[column - 1] = maxLength[column - 1] + 1;
+        }
+
+        this.table.append("|");
+
+        for (int column = 1; column <= columnCount; column++) {
+            this.table.append(padRight("-", maxLength[column - 1]).replaceAll(" ", "-")
+                    + "|");
+        }
+        this.table.append(System.getProperty("line.separator"));
+        this.table.append("|");
+        for (int column = 1; column <= columnCount; column++) {
+            this.table.append(padRight(resultSetCollector.getColumnName(column),
+                    maxLength[column - 1])
+                    + "|");
+        }
+        this.table.append(System.getProperty("line.separator"));
+        this.table.append("|");
+        for (int column = 1; column <= columnCount; column++) {
+            this.table.append(padRight("-", maxLength[column - 1]).replaceAll(" ", "-")
+                    + "|");
+        }
+        this.table.append(System.getProperty("line.separator"));
+        //rows not retained by a bounded collector, if any
+        long truncatedRowCount = 0;
+        int truncatedRowsIndex = -1;
+        if (resultSetCollector instanceof DefaultResultSetCollector) {
+            truncatedRowCount = 
+                ((DefaultResultSetCollector) resultSetCollector).getTruncatedRowCount();
+            truncatedRowsIndex = 
+                ((DefaultResultSetCollector) resultSetCollector).getTruncatedRowsIndex();
+        }
+        int rowIndex = 0;
+        if (resultSetCollector.getRows() != null) {
+            for (List<Object> printRow : resultSetCollector.getRows()) {
+                if (rowIndex == truncatedRowsIndex) {
+                    this.appendTruncatedRows(truncatedRowCount, maxLength);
+                }
+                rowIndex++;
+                int colIndex = 0;
+                this.table.append("|");
+                for (Object v : printRow) {
+                    this.table.append(padRight(v == null ? "null" : v.toString(),
+                            maxLength[colIndex])
+                            + "|");
+                    colIndex++;
+                }
+                this.table.append(System.getProperty("line.separator"));
+            }
+        }
+        if (rowIndex == truncatedRowsIndex) {
+            this.appendTruncatedRows(truncatedRowCount, maxLength);
+        }
+        this.table.append("|");
+        for (int column = 1; column <= columnCount; column++) {
+            this.table.append(padRight("-", maxLength[column - 1]).replaceAll(" ", "-")
+                    + "|");
+        }
+
+        this.table.append(System.getProperty("line.separator"));
+
+        resultSetCollector.reset();
+
+        return this.table.toString() ;
+
+    }
+
+    /**
+     * Append to the table a line reporting the rows not retained by the collector.
+     * @param truncatedRowCount the number of rows not retained
+     * @param maxLength         the widths of the columns
+     */
+    private void appendTruncatedRows(long truncatedRowCount, int[] maxLength) {
+        int width = -1;
+        for (int length : maxLength) {
+            width += length + 1;
+        }
+        this.table.append("|");
+        this.table.append(padRight("... " + truncatedRowCount + " rows truncated ...", 
+                Math.max(width, 1)) + "|");
+        this.table.append(System.getProperty("line.separator"));
+    }
+
+    /***
+     * Add space to the provided <code>String</code> to match the provided width
+     * @param s the <code>String</code> we want to adjust
+     * @param n the width of the returned <code>String</code>
+     * @return a <code>String</code> matching the provided width
+     */
+    private static String padRight(String s, int n) {
+        return String.format("%1$-" + n + "s", s);
+    }
+}
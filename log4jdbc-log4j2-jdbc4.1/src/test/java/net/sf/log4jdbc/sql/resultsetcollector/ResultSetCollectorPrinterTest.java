@@ -0,0 +1,159 @@
+package net.sf.log4jdbc.sql.resultsetcollector;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.log4jdbc.TestAncestor;
+import net.sf.log4jdbc.sql.jdbcapi.ResultSetSpy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing that {@link ResultSetCollectorPrinter} prints the same tables
+ * as the previous implementation, {@link LegacyResultSetCollectorPrinter}.
+ *
+ * @author Frederic Bastian
+ */
+public class ResultSetCollectorPrinterTest extends TestAncestor
+{
+    private final static Logger log =
+            LogManager.getLogger(ResultSetCollectorPrinterTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * A <code>ResultSetCollector</code> returning predefined rows, that can be
+     * printed several times, as {@link #reset()} does nothing.
+     */
+    static class FixedResultSetCollector implements ResultSetCollector
+    {
+        private final List<String> columnNames;
+        private final List<List<Object>> rows;
+
+        FixedResultSetCollector(List<String> columnNames, List<List<Object>> rows) {
+            this.columnNames = columnNames;
+            this.rows = rows;
+        }
+        @Override
+        public boolean methodReturned(ResultSetSpy resultSetSpy, ResultSetMethod method,
+                CharSequence methodCall, Object returnValue, Object targetObject,
+                Object... methodParams) {
+            return false;
+        }
+        @Override
+        public void preMethod(ResultSetSpy resultSetSpy, ResultSetMethod method,
+                CharSequence methodCall, Object... methodParams) {
+        }
+        @Override
+        public List<List<Object>> getRows() {
+            return this.rows;
+        }
+        @Override
+        public int getColumnCount() {
+            return this.columnNames.size();
+        }
+        @Override
+        public String getColumnName(int column) {
+            return this.columnNames.get(column - 1);
+        }
+        @Override
+        public void reset() {
+        }
+        @Override
+        public void loadMetaDataIfNeeded(ResultSet rs) {
+        }
+    }
+
+    /**
+     * Generate a table of <code>rowCount</code> rows and <code>columnCount</code>
+     * columns, containing <code>String</code>s, <code>Integer</code>s and
+     * <code>null</code> values of various lengths.
+     */
+    static FixedResultSetCollector generateTable(Random random, int rowCount,
+            int columnCount) {
+        List<String> columnNames = new ArrayList<String>();
+        for (int column = 1; column <= columnCount; column++) {
+            columnNames.add(column % 3 == 0 ? "c" + column : "column_" + column);
+        }
+        List<List<Object>> rows = new ArrayList<List<Object>>();
+        for (int i = 0; i < rowCount; i++) {
+            List<Object> row = new ArrayList<Object>();
+            for (int column = 0; column < columnCount; column++) {
+                switch (random.nextInt(4)) {
+                case 0:
+                    row.add(null);
+                    break;
+                case 1:
+                    row.add(random.nextInt());
+                    break;
+                default:
+                    StringBuilder value = new StringBuilder();
+                    int length = random.nextInt(30);
+                    for (int j = 0; j < length; j++) {
+                        value.append((char) ('a' + random.nextInt(26)));
+                    }
+                    row.add(value.toString());
+                }
+            }
+            rows.add(row);
+        }
+        return new FixedResultSetCollector(columnNames, rows);
+    }
+
+    /**
+     * Test that tables are printed as by <code>LegacyResultSetCollectorPrinter</code>.
+     */
+    @Test
+    public void shouldPrintAsLegacy() {
+        Random random = new Random(42);
+        for (int rowCount: new int[] {0, 1, 10, 200}) {
+            for (int columnCount: new int[] {1, 2, 7}) {
+                FixedResultSetCollector collector =
+                        generateTable(random, rowCount, columnCount);
+                assertEquals(new LegacyResultSetCollectorPrinter().getResultSetToPrint(collector),
+                        new ResultSetCollectorPrinter().getResultSetToPrint(collector));
+            }
+        }
+        //rows null, and short column names with null values
+        FixedResultSetCollector collector = new FixedResultSetCollector(
+                Arrays.asList("a", "b"), null);
+        assertEquals(new LegacyResultSetCollectorPrinter().getResultSetToPrint(collector),
+                new ResultSetCollectorPrinter().getResultSetToPrint(collector));
+        List<List<Object>> rows = new ArrayList<List<Object>>();
+        rows.add(Arrays.<Object>asList(null, "x"));
+        collector = new FixedResultSetCollector(Arrays.asList("a", "b"), rows);
+        assertEquals(new LegacyResultSetCollectorPrinter().getResultSetToPrint(collector),
+                new ResultSetCollectorPrinter().getResultSetToPrint(collector));
+    }
+
+    /**
+     * Test the table printed for a small <code>ResultSetCollector</code>, whose
+     * <code>null</code> values are not taken into account for the widths of the columns.
+     */
+    @Test
+    public void shouldPrintTable() {
+        String nl = System.getProperty("line.separator");
+        List<List<Object>> rows = new ArrayList<List<Object>>();
+        rows.add(Arrays.<Object>asList(null, "xyz"));
+        rows.add(Arrays.<Object>asList(12, null));
+        FixedResultSetCollector collector = new FixedResultSetCollector(
+                Arrays.asList("a", "bb"), rows);
+        assertEquals(nl +
+                "|---|----|" + nl +
+                "|a  |bb  |" + nl +
+                "|---|----|" + nl +
+                "|null|xyz |" + nl +
+                "|12 |null|" + nl +
+                "|---|----|" + nl,
+                new ResultSetCollectorPrinter().getResultSetToPrint(collector));
+    }
+}
@@ -16,6 +16,7 @@
 package net.sf.log4jdbc.log;
 
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.jdbcapi.ConnectionLeak;
 import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollector;
 
 /**
@@ -43,7 +44,35 @@ import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollector;
  * <li>It is now the responsibility of the {@code SpyLogDelegator} implementations 
  * to handle the property {@code log4jdbc.suppress.generated.keys.exception}. See 
  * {@link #GET_GENERATED_KEYS_METHOD_CALL} and 
- * {@link #exceptionOccured(Spy, String, Exception, String, long)}.
+ * {@link #exceptionOccured(Spy, CharSequence, Exception, String, long)}.
+ * <li>The argument <code>methodCall</code> of the methods <code>exceptionOccured</code>, 
+ * <code>methodReturned</code>, <code>sqlOccurred</code> and <code>sqlTimingOccurred</code> 
+ * is now a <code>CharSequence</code> rather than a <code>String</code>. The <code>Spy</code> 
+ * classes provide a {@link net.sf.log4jdbc.sql.MethodCall MethodCall}, that is converted 
+ * into a <code>String</code> only if an event is actually logged. Implementations should 
+ * then check whether an event will be logged before using <code>methodCall</code>.
+ * <li>New method {@link #isResultSetLoggingEnabled()}, allowing <code>ResultSetSpy</code> 
+ * not to report the returns of its methods when they are not logged.
+ * <li>New method {@link #getEnabledCategories()}, returning a bitmask of the categories 
+ * of events that would currently be logged (see for instance {@link #AUDIT_CATEGORY}). 
+ * Implementations are expected to cache this value, so that the <code>Spy</code> classes 
+ * can cheaply skip the reporting of events that would be discarded anyway.
+ * <li>The argument <code>execTime</code> of the methods <code>exceptionOccured</code>, 
+ * <code>sqlTimingOccurred</code>, <code>connectionOpened</code>, <code>connectionClosed</code> 
+ * and <code>connectionAborted</code> is measured using <code>System.nanoTime()</code>, 
+ * and expressed in nanoseconds, so that sub-millisecond execution times can be logged, 
+ * and compared to sub-millisecond thresholds. Implementations convert it into the unit 
+ * returned by {@link net.sf.log4jdbc.Properties#getTimingUnit()} (ms by default, as before) 
+ * only to display it, see {@link net.sf.log4jdbc.sql.Utilities#toTimingUnit(long)}.
+ * <li>New method {@link #connectionLeaked(ConnectionLeak)}, called when leak detection 
+ * is enabled (property "log4jdbc.leak.detection.threshold").
+ * <li>New method {@link #updateCountReturned(Spy, CharSequence, int)}, called only when 
+ * {@link #UPDATECOUNT_CATEGORY} is enabled, so that the number of rows affected 
+ * by updates can be obtained without enabling {@link #AUDIT_CATEGORY}.
+ * <li>New method {@link #statementExecuted(Spy, CharSequence, String, long)}, called only 
+ * when {@link #EXECUTION_CATEGORY} is enabled, for every statement executed, 
+ * whether its SQL is logged or not (properties "log4jdbc.sql.sampling.rate", 
+ * "log4jdbc.sql.sampling.fingerprint.rate" and "log4jdbc.sqltiming.slow.only").
  * </ul>
  *
  * @author Arthur Blake
@@ -54,7 +83,7 @@ public interface SpyLogDelegator
 {
     /**
      * A {@code String} corresponding to the value of the argument {@code methodCall} 
-     * of the method {@link #exceptionOccured(Spy, String, Exception, String, long)}, 
+     * of the method {@link #exceptionOccured(Spy, CharSequence, Exception, String, long)}, 
      * when the method was called following a call to the JDBC method 
      * {@code java.sql.Statement#getGeneratedKeys()}.
      * <p>
@@ -63,9 +92,69 @@ public interface SpyLogDelegator
      * and discard them if the property {@code log4jdbc.suppress.generated.keys.exception} 
      * is {@code true}.
      * 
-     * @see #exceptionOccured(Spy, String, Exception, String, long)
+     * @see #exceptionOccured(Spy, CharSequence, Exception, String, long)
      */
     public static final String GET_GENERATED_KEYS_METHOD_CALL = "getGeneratedKeys()";
+    /**
+     * Bit of the value returned by {@link #getEnabledCategories()} set when 
+     * the returns of JDBC methods, except for <code>ResultSet</code>s, are logged 
+     * (corresponds to the "jdbc.audit" logger in the standard implementation).
+     */
+    public static final int AUDIT_CATEGORY = 1;
+    /**
+     * Bit of the value returned by {@link #getEnabledCategories()} set when 
+     * the returns of <code>ResultSet</code> methods are logged 
+     * (corresponds to the "jdbc.resultset" logger in the standard implementation).
+     */
+    public static final int RESULTSET_CATEGORY = 1 << 1;
+    /**
+     * Bit of the value returned by {@link #getEnabledCategories()} set when 
+     * SQL statements are logged before their execution 
+     * (corresponds to the "jdbc.sqlonly" logger in the standard implementation).
+     */
+    public static final int SQLONLY_CATEGORY = 1 << 2;
+    /**
+     * Bit of the value returned by {@link #getEnabledCategories()} set when 
+     * SQL statements are logged with their execution time, at least for some 
+     * execution times (corresponds to the "jdbc.sqltiming" logger in the standard 
+     * implementation).
+     */
+    public static final int SQLTIMING_CATEGORY = 1 << 3;
+    /**
+     * Bit of the value returned by {@link #getEnabledCategories()} set when 
+     * connection opening and closing events are logged 
+     * (corresponds to the "jdbc.connection" logger in the standard implementation).
+     */
+    public static final int CONNECTION_CATEGORY = 1 << 4;
+    /**
+     * Bit of the value returned by {@link #getEnabledCategories()} set when 
+     * <code>ResultSet</code>s are collected to be logged as tables 
+     * (corresponds to the "jdbc.resultsettable" logger in the log4jdbc-remix implementation).
+     */
+    public static final int RESULTSETTABLE_CATEGORY = 1 << 5;
+    /**
+     * Bit of the value returned by {@link #getEnabledCategories()} set when 
+     * the numbers of rows affected by updates are needed, see 
+     * {@link #updateCountReturned(Spy, CharSequence, int)} (no logger corresponds 
+     * in the standard implementation, it is used for instance to compute statistics).
+     */
+    public static final int UPDATECOUNT_CATEGORY = 1 << 6;
+    /**
+     * Bit of the value returned by {@link #getEnabledCategories()} set when 
+     * debug information (the caller of the JDBC method, located by walking the stack) 
+     * is added to at least some of the events logged (corresponds to the debug level 
+     * of the loggers in the standard implementation). Implementations can check 
+     * this bit before querying their loggers for each event.
+     */
+    public static final int DEBUGINFO_CATEGORY = 1 << 7;
+    /**
+     * Bit of the value returned by {@link #getEnabledCategories()} set when 
+     * all the statements executed are needed, including the statements whose SQL 
+     * is not logged because of sampling, see 
+     * {@link #statementExecuted(Spy, CharSequence, String, long)} (no logger corresponds 
+     * in the standard implementation, it is used for instance to compute statistics).
+     */
+    public static final int EXECUTION_CATEGORY = 1 << 8;
     /**
      * Determine if any of the jdbc or sql loggers are turned on.
      *
@@ -73,6 +162,22 @@ public interface SpyLogDelegator
      */
     public boolean isJdbcLoggingEnabled();
 
+    /**
+     * Get the categories of events that would currently be logged, as a bitmask 
+     * of the constants {@link #AUDIT_CATEGORY}, {@link #RESULTSET_CATEGORY}, 
+     * {@link #SQLONLY_CATEGORY}, {@link #SQLTIMING_CATEGORY}, {@link #CONNECTION_CATEGORY}, 
+     * {@link #RESULTSETTABLE_CATEGORY}, {@link #UPDATECOUNT_CATEGORY}, 
+     * {@link #DEBUGINFO_CATEGORY}, and {@link #EXECUTION_CATEGORY}. Exceptions are always reported, 
+     * and do not have a category.
+     * <p>
+     * This method is called on the hot path of every JDBC call, implementations 
+     * should not query the logging library each time, but return a cached value, 
+     * refreshed when the logging configuration changes.
+     *
+     * @return an <code>int</code> that is the bitmask of the categories enabled.
+     */
+    public int getEnabledCategories();
+
     /**
      * Called when a spied upon method throws an Exception.
      * <p>
@@ -85,11 +190,12 @@ public interface SpyLogDelegator
      * @param methodCall a description of the name and call parameters of the method generated the Exception.
      * @param e          the Exception that was thrown.
      * @param sql        optional sql that occured just before the exception occured.
-     * @param execTime   optional amount of time that passed before an exception was thrown when sql was being executed.
+     * @param execTime   optional amount of time that passed before an exception was thrown when sql was being executed, 
+     *                   in nanoseconds.
      *                   caller should pass -1 if not used
      * @see #GET_GENERATED_KEYS_METHOD_CALL
      */
-    public void exceptionOccured(Spy spy, String methodCall, Exception e, String sql, long execTime);
+    public void exceptionOccured(Spy spy, CharSequence methodCall, Exception e, String sql, long execTime);
 
     /**
      * Called when spied upon method call returns.
@@ -99,7 +205,7 @@ public interface SpyLogDelegator
      * @param returnMsg  return value converted to a String for integral types, or String representation for Object
      *                   return types this will be null for void return types.
      */
-    public void methodReturned(Spy spy, String methodCall, String returnMsg);
+    public void methodReturned(Spy spy, CharSequence methodCall, String returnMsg);
 
     /**
      * Called when a spied upon object is constructed.
@@ -116,24 +222,56 @@ public interface SpyLogDelegator
      * @param methodCall a description of the name and call parameters of the method that generated the SQL.
      * @param sql        sql that occurred.
      */
-    public void sqlOccurred(Spy spy, String methodCall, String sql);
+    public void sqlOccurred(Spy spy, CharSequence methodCall, String sql);
 
     /**
      * Similar to sqlOccured, but reported after SQL executes and used to report timing stats on the SQL
      *
      * @param spy the    Spy wrapping the class where the SQL occurred.
-     * @param execTime   how long it took the sql to run, in msec.
+     * @param execTime   how long it took the sql to run, in nanoseconds.
      * @param methodCall a description of the name and call parameters of the method that generated the SQL.
      * @param sql        sql that occurred.
      */
-    public void sqlTimingOccurred(Spy spy, long execTime, String methodCall, String sql);
+    public void sqlTimingOccurred(Spy spy, long execTime, CharSequence methodCall, String sql);
+
+    /**
+     * Called when a statement or a batch was executed successfully, only if 
+     * {@link #EXECUTION_CATEGORY} is enabled, before the call to 
+     * {@link #sqlTimingOccurred(Spy, long, CharSequence, String)} for the same execution, 
+     * if any. Unlike <code>sqlTimingOccurred</code>, it is called for every statement, 
+     * whether it was sampled or not, and the SQL of the statements of a 
+     * <code>PreparedStatement</code> is provided with its placeholders, 
+     * so that the values of the bind variables are not formatted.
+     *
+     * @param spy        the Spy wrapping the statement executed.
+     * @param methodCall a description of the name and call parameters of the method that executed the SQL.
+     * @param sql        the SQL executed, with placeholders for a <code>PreparedStatement</code>, 
+     *                   including for its batches, and the constant "batch" for a batch 
+     *                   of a <code>Statement</code>.
+     * @param execTime   how long it took the SQL to run, in nanoseconds.
+     */
+    public void statementExecuted(Spy spy, CharSequence methodCall, String sql, long execTime);
+
+    /**
+     * Called when an <code>executeUpdate</code> method returned, only if 
+     * {@link #UPDATECOUNT_CATEGORY} is enabled, right after the calls to 
+     * {@link #statementExecuted(Spy, CharSequence, String, long)} and 
+     * {@link #sqlTimingOccurred(Spy, long, CharSequence, String)} for the same execution, 
+     * if any. The count is not converted into a <code>String</code>, 
+     * unlike for {@link #methodReturned(Spy, CharSequence, String)}.
+     *
+     * @param spy         the Spy wrapping the statement executed.
+     * @param methodCall  a description of the name and call parameters of the method that returned.
+     * @param updateCount the number of rows affected by the update.
+     */
+    public void updateCountReturned(Spy spy, CharSequence methodCall, int updateCount);
 
 
     /**
      * Called whenever a new connection spy is created.
      * 
      * @param spy ConnectionSpy that was created.
-     * @param execTime  A <code>long</code> defining the time elapsed to open the connection in ms
+     * @param execTime  A <code>long</code> defining the time elapsed to open the connection, in nanoseconds 
      *          (useful information, as a connection might take some time to be opened sometimes). 
      *                    Caller should pass -1 if not used or unknown.
      */
@@ -143,7 +281,7 @@ public interface SpyLogDelegator
      * Called whenever a connection spy is closed.
      * 
      * @param spy     <code>ConnectionSpy</code> that was closed.
-     * @param execTime  A <code>long</code> defining the time elapsed to close the connection in ms
+     * @param execTime  A <code>long</code> defining the time elapsed to close the connection, in nanoseconds 
      *          (useful information, as a connection might take some time to be closed sometimes). 
      *                    Caller should pass -1 if not used or unknown.
      */
@@ -153,12 +291,22 @@ public interface SpyLogDelegator
      * Called whenever a connection spy is aborted.
      * 
      * @param spy     <code>ConnectionSpy</code> that was aborted.
-     * @param execTime  A <code>long</code> defining the time elapsed to abort the connection in ms
+     * @param execTime  A <code>long</code> defining the time elapsed to abort the connection, in nanoseconds 
      *          (useful information, as a connection might take some time to be aborted sometimes). 
      *                    Caller should pass -1 if not used or unknown.
      */
     public void connectionAborted(Spy spy, long execTime);  
 
+    /**
+     * Called when leak detection is enabled (property "log4jdbc.leak.detection.threshold"), 
+     * whenever a connection is held open for longer than the threshold, or 
+     * a <code>ConnectionSpy</code> is garbage collected without having been closed. 
+     * This method is called by a background thread, or by a thread opening a connection. 
+     * 
+     * @param leak  The <code>ConnectionLeak</code> describing the connection leaked.
+     */
+    public void connectionLeaked(ConnectionLeak leak);
+
     /**
      * Log a Setup and/or administrative log message for log4jdbc.
      *
@@ -166,6 +314,17 @@ public interface SpyLogDelegator
      */
     public void debug(String msg);
 
+    /**
+     * Determine whether the returns of methods called on <code>ResultSet</code>s are logged. 
+     * When they are not, and when result sets are not collected 
+     * (see {@link #isResultSetCollectionEnabled()}), <code>ResultSetSpy</code> 
+     * does not report the returns of its methods at all, so that reading 
+     * a <code>ResultSet</code> does not generate any object.
+     *
+     * @return true if the returns of methods called on <code>ResultSet</code>s are logged.
+     */
+    public boolean isResultSetLoggingEnabled();
+
     /**
      * Determine whether the logger is expecting results sets to be collected
      *
@@ -0,0 +1,408 @@
+package net.sf.log4jdbc.log;
+
+import net.sf.log4jdbc.Properties;
+
+/**
+ * Formats SQL statements before they are logged, to make them more readable:
+ * trims them, breaks them up into lines of a maximum length, appends a semicolon,
+ * and collapses contiguous blank lines (see the properties "log4jdbc.trim.sql",
+ * "log4jdbc.dump.sql.maxlinelength", "log4jdbc.dump.sql.addsemicolon",
+ * and "log4jdbc.trim.sql.extrablanklines").
+ * <p>
+ * This used to be done by the <code>SpyLogDelegator</code> implementations, by trimming
+ * the statement, splitting it with a <code>StringTokenizer</code>, building a first
+ * <code>String</code>, then reading it again line by line to remove the blank lines.
+ * This class does all of this in a single pass over the statement, appending directly
+ * to a <code>StringBuilder</code>, with the same output.
+ * <p>
+ * Instances are immutable and thread-safe. The instances configured from
+ * the log4jdbc properties are obtained through {@link #getInstance(boolean)}.
+ *
+ * @author Arthur Blake
+ * @author Frederic Bastian
+ */
+public final class SqlFormatter {
+    /**
+     * System dependent line separator.
+     */
+    private static final String nl = System.getProperty("line.separator");
+    private static final char[] NL = nl.toCharArray();
+    private static final char[] SPACE = new char[] {' '};
+    private static final char[] SEMICOLON = new char[] {';'};
+    /**
+     * An <code>int</code> that is the maximum capacity of the <code>StringBuilder</code>s
+     * kept in {@link #BUFFERS}, and of the arrays kept in {@link #SCRATCH}, so that a thread that once logged a huge SQL statement
+     * does not retain a huge buffer.
+     */
+    private static final int MAX_BUFFER_CAPACITY = 16384;
+    /**
+     * A <code>ThreadLocal</code> holding the <code>StringBuilder</code> used by each thread
+     * in {@link #format(CharSequence)}.
+     */
+    private static final ThreadLocal<StringBuilder> BUFFERS = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(256);
+        }
+    };
+
+    /**
+     * A <code>ThreadLocal</code> holding the array of <code>char</code>s used by each thread
+     * to copy the statements to format, see {@link #format(CharSequence, StringBuilder)}.
+     */
+    private static final ThreadLocal<char[]> SCRATCH = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[256];
+        }
+    };
+
+    /**
+     * Holds the instances configured from the log4jdbc properties, so that they are
+     * only created when first requested, once the <code>Properties</code> are initialized.
+     */
+    private static final class Configured {
+        private static final SqlFormatter SEPARATED_LINES = new SqlFormatter(
+                Properties.isSqlTrim(), Properties.getDumpSqlMaxLineLength(),
+                Properties.isDumpSqlAddSemicolon(), Properties.isTrimExtraBlankLinesInSql(),
+                false);
+        private static final SqlFormatter TERMINATED_LINES = new SqlFormatter(
+                Properties.isSqlTrim(), Properties.getDumpSqlMaxLineLength(),
+                Properties.isDumpSqlAddSemicolon(), Properties.isTrimExtraBlankLinesInSql(),
+                true);
+    }
+
+    /**
+     * A <code>boolean</code> defining whether the leading and trailing whitespaces
+     * of the statements should be removed.
+     */
+    private final boolean trim;
+    /**
+     * An <code>int</code> that is the length after which a line break is inserted
+     * between two words of the statements. If less than or equal to 0,
+     * no line break is inserted, and the whitespaces are kept as is.
+     */
+    private final int maxLineLength;
+    /**
+     * A <code>boolean</code> defining whether a semicolon should be appended
+     * to the statements.
+     */
+    private final boolean addSemicolon;
+    /**
+     * A <code>boolean</code> defining whether contiguous blank lines should be collapsed
+     * into one empty line.
+     */
+    private final boolean collapseBlankLines;
+    /**
+     * A <code>boolean</code> defining, when <code>collapseBlankLines</code> is
+     * <code>true</code>, whether each line, including the last one, should be followed
+     * by a line separator (as done by <code>Slf4jSpyLogDelegator</code>), rather than
+     * only separating lines (as done by <code>Log4j2SpyLogDelegator</code>).
+     */
+    private final boolean terminateLines;
+
+    /**
+     * @param trim                  A <code>boolean</code> defining whether the leading
+     *                              and trailing whitespaces should be removed.
+     * @param maxLineLength         An <code>int</code> that is the length after which
+     *                              a line break is inserted, 0 or less for no line break.
+     * @param addSemicolon          A <code>boolean</code> defining whether a semicolon
+     *                              should be appended.
+     * @param collapseBlankLines    A <code>boolean</code> defining whether contiguous
+     *                              blank lines should be collapsed.
+     * @param terminateLines        A <code>boolean</code> defining, when
+     *                              <code>collapseBlankLines</code> is <code>true</code>,
+     *                              whether the last line should also be followed
+     *                              by a line separator.
+     */
+    public SqlFormatter(boolean trim, int maxLineLength, boolean addSemicolon,
+            boolean collapseBlankLines, boolean terminateLines) {
+        this.trim = trim;
+        this.maxLineLength = maxLineLength;
+        this.addSemicolon = addSemicolon;
+        this.collapseBlankLines = collapseBlankLines;
+        this.terminateLines = terminateLines;
+    }
+
+    /**
+     * @param terminateLines    A <code>boolean</code> defining whether each line, including
+     *                          the last one, should be followed by a line separator
+     *                          when blank lines are collapsed.
+     * @return                  The <code>SqlFormatter</code> configured from
+     *                          the log4jdbc properties.
+     */
+    public static SqlFormatter getInstance(boolean terminateLines) {
+        return terminateLines ? Configured.TERMINATED_LINES : Configured.SEPARATED_LINES;
+    }
+
+    /**
+     * Format <code>sql</code>.
+     *
+     * @param sql   A <code>CharSequence</code> that is the SQL statement to format.
+     * @return      A <code>String</code> that is the statement formatted,
+     *              <code>null</code> if <code>sql</code> is <code>null</code>.
+     */
+    public String format(CharSequence sql) {
+        if (sql == null) {
+            return null;
+        }
+        StringBuilder buffer = BUFFERS.get();
+        buffer.setLength(0);
+        this.format(sql, buffer);
+        String formatted = buffer.toString();
+        if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+            BUFFERS.set(new StringBuilder(256));
+        }
+        return formatted;
+    }
+
+    /**
+     * Format <code>sql</code>, and append it to <code>out</code>. If <code>sql</code>
+     * is <code>null</code>, "null" is appended, as done by <code>StringBuilder</code>.
+     *
+     * @param sql   A <code>CharSequence</code> that is the SQL statement to format.
+     * @param out   The <code>StringBuilder</code> to append the statement formatted to.
+     */
+    public void format(CharSequence sql, StringBuilder out) {
+        if (sql == null) {
+            out.append((String) null);
+            return;
+        }
+        int start = 0;
+        int end = sql.length();
+        if (this.trim) {
+            while (start < end && sql.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && sql.charAt(end - 1) <= ' ') {
+                end--;
+            }
+        }
+        // the characters are copied in bulk to an array reused by the thread,
+        // as reading them one by one from a CharSequence, and appending ranges
+        // of a CharSequence to a StringBuilder, are much slower
+        int length = end - start;
+        char[] chars = SCRATCH.get();
+        if (chars.length < length) {
+            chars = new char[length];
+            if (length <= MAX_BUFFER_CAPACITY) {
+                SCRATCH.set(chars);
+            }
+        }
+        if (sql instanceof String) {
+            ((String) sql).getChars(start, end, chars, 0);
+        } else if (sql instanceof StringBuilder) {
+            ((StringBuilder) sql).getChars(start, end, chars, 0);
+        } else {
+            sql.toString().getChars(start, end, chars, 0);
+        }
+        // the statement formatted is usually about the same size
+        out.ensureCapacity(out.length() + length + 16);
+        LineWriter writer = this.collapseBlankLines ?
+                new LineWriter(out, this.terminateLines) : null;
+
+        if (this.maxLineLength <= 0) {
+            write(writer, out, chars, 0, length);
+        } else {
+            // insert line breaks into sql to make it more readable,
+            // words being delimited as by a StringTokenizer
+            int lineLength = 0;
+            int i = 0;
+            while (true) {
+                while (i < length && isDelimiter(chars[i])) {
+                    i++;
+                }
+                if (i == length) {
+                    break;
+                }
+                // words separated by a single space are appended at once,
+                // as long as no line break needs to be inserted between them
+                int runStart = i;
+                boolean lineFull;
+                while (true) {
+                    int wordStart = i;
+                    while (i < length && !isDelimiter(chars[i])) {
+                        i++;
+                    }
+                    lineLength += i - wordStart + 1;
+                    lineFull = lineLength > this.maxLineLength;
+                    if (lineFull || i + 1 >= length || chars[i] != ' ' ||
+                            isDelimiter(chars[i + 1])) {
+                        break;
+                    }
+                    i++;
+                }
+                if (i < length && chars[i] == ' ') {
+                    write(writer, out, chars, runStart, i + 1);
+                } else {
+                    write(writer, out, chars, runStart, i);
+                    write(writer, out, SPACE, 0, 1);
+                }
+                if (lineFull) {
+                    write(writer, out, NL, 0, NL.length);
+                    lineLength = 0;
+                }
+            }
+        }
+        if (this.addSemicolon) {
+            write(writer, out, SEMICOLON, 0, 1);
+        }
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    /**
+     * Append the characters of <code>chars</code> from <code>start</code> (inclusive)
+     * to <code>end</code> (exclusive), to <code>writer</code> if not <code>null</code>,
+     * directly to <code>out</code> otherwise.
+     */
+    private static void write(LineWriter writer, StringBuilder out, char[] chars,
+            int start, int end) {
+        if (writer != null) {
+            writer.write(chars, start, end);
+        } else {
+            out.append(chars, start, end - start);
+        }
+    }
+
+    /**
+     * @param c A <code>char</code>.
+     * @return  <code>true</code> if <code>c</code> is a default delimiter
+     *          of <code>StringTokenizer</code>.
+     */
+    private static boolean isDelimiter(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+
+    /**
+     * Appends characters to a <code>StringBuilder</code> line by line, collapsing
+     * contiguous blank lines. Lines are delimited as by
+     * <code>BufferedReader#readLine()</code>. A blank line is appended as an empty line,
+     * as only the first one of contiguous blank lines is kept. Lines are directly
+     * appended to the <code>StringBuilder</code>, then removed if they turn out
+     * to be blank, so that no intermediate buffer is needed.
+     */
+    private static final class LineWriter {
+        /**
+         * The <code>StringBuilder</code> the lines are appended to.
+         */
+        private final StringBuilder out;
+        /**
+         * A <code>boolean</code> defining whether each line should be followed
+         * by a line separator, rather than preceded by one if not the first line.
+         */
+        private final boolean terminateLines;
+        /**
+         * A <code>boolean</code> that is <code>true</code> if characters of the current
+         * line have been written.
+         */
+        private boolean inLine;
+        /**
+         * A <code>boolean</code> that is <code>true</code> if the previous character
+         * was a '\r', so that a following '\n' is part of the same line terminator.
+         */
+        private boolean afterCarriageReturn;
+        /**
+         * A <code>boolean</code> that is <code>true</code> if the current line contains
+         * a character that is not a whitespace.
+         */
+        private boolean notBlank;
+        /**
+         * An <code>int</code> that is the length of <code>out</code> before the current line,
+         * including its preceding separator, was appended.
+         */
+        private int lineMark;
+        /**
+         * An <code>int</code> that is the position in <code>out</code> of the first
+         * character of the current line.
+         */
+        private int lineStart;
+        /**
+         * An <code>int</code> that is the number of contiguous blank lines read.
+         */
+        private int contiguousBlankLines;
+        /**
+         * An <code>int</code> that is the number of lines appended.
+         */
+        private int lineCount;
+
+        private LineWriter(StringBuilder out, boolean terminateLines) {
+            this.out = out;
+            this.terminateLines = terminateLines;
+        }
+
+        private void write(char[] chars, int start, int end) {
+            int i = start;
+            while (i < end) {
+                char c = chars[i];
+                if (c == '\n' || c == '\r') {
+                    i++;
+                    if (c == '\n' && this.afterCarriageReturn) {
+                        this.afterCarriageReturn = false;
+                        continue;
+                    }
+                    this.afterCarriageReturn = (c == '\r');
+                    if (!this.inLine) {
+                        this.startLine();
+                    }
+                    this.endLine();
+                    continue;
+                }
+                this.afterCarriageReturn = false;
+                if (!this.inLine) {
+                    this.startLine();
+                }
+                // append at once the characters up to the next line terminator
+                int runStart = i;
+                boolean notBlank = this.notBlank;
+                while (i < end && (c = chars[i]) != '\n' && c != '\r') {
+                    if (c > ' ') {
+                        notBlank = true;
+                    }
+                    i++;
+                }
+                this.notBlank = notBlank;
+                this.out.append(chars, runStart, i - runStart);
+            }
+        }
+
+        private void startLine() {
+            this.inLine = true;
+            this.notBlank = false;
+            this.lineMark = this.out.length();
+            if (!this.terminateLines && this.lineCount > 0) {
+                this.out.append(nl);
+            }
+            this.lineStart = this.out.length();
+        }
+
+        private void endLine() {
+            this.inLine = false;
+            if (this.notBlank) {
+                this.contiguousBlankLines = 0;
+            } else {
+                this.contiguousBlankLines++;
+                if (this.contiguousBlankLines > 1) {
+                    // skip contiguous blank lines
+                    this.out.setLength(this.lineMark);
+                    return;
+                }
+                this.out.setLength(this.lineStart);
+            }
+            if (this.terminateLines) {
+                this.out.append(nl);
+            }
+            this.lineCount++;
+        }
+
+        /**
+         * Ends the last line, if it was not terminated.
+         */
+        private void close() {
+            if (this.inLine) {
+                this.endLine();
+            }
+        }
+    }
+}
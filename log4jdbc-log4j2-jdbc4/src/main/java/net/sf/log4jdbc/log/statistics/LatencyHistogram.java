@@ -0,0 +1,163 @@
+package net.sf.log4jdbc.log.statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies, in nanoseconds, with a log-linear bucketing similar
+ * to the one of HdrHistogram: values are grouped by power of 2, and each power of 2
+ * is divided into {@link #SUB_BUCKET_COUNT} / 2 linear sub-buckets. The relative error
+ * of the percentiles returned is then bounded (about 6%), whatever the magnitude
+ * of the values, using a fixed and small amount of memory.
+ * <p>
+ * Recording a value is lock-free: it only increments one element
+ * of an <code>AtomicLongArray</code>, and updates the maximum value with
+ * a compare-and-set loop, rarely executed more than once. The total count
+ * is not stored, but computed from the buckets when requested, so that concurrent
+ * recordings do not contend on a same counter. Values read while recordings
+ * are in progress are not an atomic snapshot, which is acceptable for statistics.
+ *
+ * @author Frederic Bastian
+ * @see StatementStatistics
+ */
+final class LatencyHistogram
+{
+    /**
+     * An <code>int</code> that is the number of bits used to define sub-buckets.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+    /**
+     * An <code>int</code> that is the number of sub-buckets in a bucket. Values lower than
+     * twice this number are recorded exactly.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * An <code>int</code> that is the maximum shift applied to values to compute
+     * their sub-bucket. With {@link #SUB_BUCKET_BITS}, this defines the highest
+     * value that can be tracked (more than 9 hours in nanoseconds), higher values
+     * are recorded as this maximum.
+     */
+    private static final int MAX_SHIFT = 40;
+    /**
+     * A <code>long</code> that is the highest value that can be recorded.
+     */
+    private static final long HIGHEST_TRACKABLE_VALUE =
+        ((long) (2 * SUB_BUCKET_COUNT) - 1) << MAX_SHIFT;
+
+    /**
+     * An <code>AtomicLongArray</code> storing the number of values recorded in each bucket.
+     */
+    private final AtomicLongArray counts;
+    /**
+     * An <code>AtomicLong</code> storing the highest value recorded.
+     */
+    private final AtomicLong max;
+
+    LatencyHistogram() {
+        this.counts = new AtomicLongArray((MAX_SHIFT + 2) * SUB_BUCKET_COUNT);
+        this.max = new AtomicLong(0);
+    }
+
+    /**
+     * Record <code>value</code> in this histogram.
+     *
+     * @param value     A <code>long</code> that is the value to record, in nanoseconds.
+     *                  Negative values are recorded as 0.
+     */
+    void record(long value) {
+        long v = value < 0 ? 0 : (value > HIGHEST_TRACKABLE_VALUE ?
+                HIGHEST_TRACKABLE_VALUE : value);
+        this.counts.incrementAndGet(indexOf(v));
+        long currentMax = this.max.get();
+        while (v > currentMax && !this.max.compareAndSet(currentMax, v)) {
+            currentMax = this.max.get();
+        }
+    }
+
+    /**
+     * @return  A <code>long</code> that is the number of values recorded.
+     */
+    long getCount() {
+        long count = 0;
+        for (int i = 0; i < this.counts.length(); i++) {
+            count += this.counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return  A <code>long</code> that is the highest value recorded, 0 if no value
+     *          was recorded.
+     */
+    long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Get the value below which <code>percentile</code> percent of the recorded
+     * values fall, with the precision allowed by the buckets of this histogram.
+     *
+     * @param percentile    A <code>double</code> between 0 and 100.
+     * @return              A <code>long</code> that is the value at <code>percentile</code>,
+     *                      0 if no value was recorded.
+     */
+    long getValueAtPercentile(double percentile) {
+        double p = Math.min(Math.max(percentile, 0), 100);
+        long[] snapshot = new long[this.counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = this.counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(p / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                return Math.min(highestValueOf(i), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    /**
+     * Reset all the counts of this histogram.
+     */
+    void reset() {
+        for (int i = 0; i < this.counts.length(); i++) {
+            this.counts.set(i, 0);
+        }
+        this.max.set(0);
+    }
+
+    /**
+     * @param value     A positive <code>long</code> not greater than
+     *                  {@link #HIGHEST_TRACKABLE_VALUE}.
+     * @return          An <code>int</code> that is the index of the bucket
+     *                  where <code>value</code> is recorded.
+     */
+    private static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * @param index     An <code>int</code> that is the index of a bucket.
+     * @return          A <code>long</code> that is the highest value recorded
+     *                  in the bucket at <code>index</code>.
+     */
+    private static long highestValueOf(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index - shift * SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,332 @@
+package net.sf.log4jdbc.log.statistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.log4jdbc.Properties;
+import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.log.log4j2.Log4j2SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
+import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.jdbcapi.ConnectionLeak;
+import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollector;
+
+/**
+ * A <code>SpyLogDelegator</code> computing statistics about the SQL statements
+ * executed, before delegating all events to another <code>SpyLogDelegator</code>
+ * (for instance, a <code>Log4j2SpyLogDelegator</code> or a
+ * <code>Slf4jSpyLogDelegator</code>).
+ * <p>
+ * Statements are aggregated by fingerprint (see {@link SqlFingerprint}),
+ * and for each fingerprint, the number of executions, the number of errors,
+ * the distribution of execution times (percentiles and maximum),
+ * and the number of rows affected by updates are recorded
+ * (see {@link StatementStatistics}). Recording is lock-free, so that it can be used
+ * by many threads executing statements concurrently. To bound the memory used,
+ * at most <code>maxStatements</code> fingerprints are tracked, further statements
+ * are aggregated under the fingerprint {@link #OTHER_STATEMENTS_FINGERPRINT}.
+ * <p>
+ * To use it as the <code>SpyLogDelegator</code> of log4jdbc, either provide
+ * its name in the property <code>log4jdbc.spylogdelegator.name</code> (it then wraps
+ * a <code>Log4j2SpyLogDelegator</code>), or wrap any <code>SpyLogDelegator</code>
+ * and provide it to <code>SpyLogFactory#setSpyLogDelegator(SpyLogDelegator)</code>.
+ * This delegator always requests the reporting of
+ * {@link SpyLogDelegator#EXECUTION_CATEGORY} events, so that all the statements
+ * executed are recorded, even when the SQL logged is sampled (properties
+ * <code>log4jdbc.sql.sampling.rate</code> and <code>log4jdbc.sql.sampling.fingerprint.rate</code>),
+ * and of {@link SpyLogDelegator#UPDATECOUNT_CATEGORY} events, to obtain the number
+ * of rows affected by updates without having the returns of all methods
+ * converted into <code>String</code>s.
+ *
+ * @author Frederic Bastian
+ * @see StatementStatistics
+ */
+public class StatisticsSpyLogDelegator implements SpyLogDelegator
+{
+    /**
+     * An <code>int</code> that is the default maximum number of fingerprints tracked.
+     */
+    public static final int DEFAULT_MAX_STATEMENTS = 1000;
+    /**
+     * A <code>String</code> that is the fingerprint under which statements are
+     * aggregated when the maximum number of fingerprints tracked is reached.
+     */
+    public static final String OTHER_STATEMENTS_FINGERPRINT = "(other statements)";
+
+    /**
+     * Stores the statistics of the last call to an <code>executeUpdate</code> method
+     * in the current thread, until the number of rows affected is reported
+     * (see {@link StatisticsSpyLogDelegator#updateCountReturned(Spy, CharSequence, int)}).
+     */
+    private static class PendingUpdate {
+        private Spy spy;
+        private CharSequence methodCall;
+        private StatementStatistics statistics;
+    }
+
+    /**
+     * The <code>SpyLogDelegator</code> to which all events are delegated.
+     */
+    private final SpyLogDelegator delegate;
+    /**
+     * An <code>int</code> that is the maximum number of fingerprints tracked.
+     */
+    private final int maxStatements;
+    /**
+     * A <code>ConcurrentMap</code> associating fingerprints to their statistics.
+     */
+    private final ConcurrentMap<String, StatementStatistics> statistics;
+    /**
+     * An <code>AtomicInteger</code> that is the number of fingerprints tracked,
+     * not to call <code>size()</code> on {@link #statistics} for each execution.
+     */
+    private final AtomicInteger statementCount;
+    /**
+     * The <code>StatementStatistics</code> of the statements that could not be tracked
+     * individually.
+     */
+    private final StatementStatistics otherStatements;
+    /**
+     * A <code>ThreadLocal</code> storing the <code>executeUpdate</code> call
+     * whose return is awaited.
+     */
+    private final ThreadLocal<PendingUpdate> pendingUpdate;
+
+    /**
+     * Constructor used when this class is loaded through the property
+     * <code>log4jdbc.spylogdelegator.name</code>, delegating to
+     * a <code>Log4j2SpyLogDelegator</code>.
+     */
+    public StatisticsSpyLogDelegator() {
+        this(new Log4j2SpyLogDelegator());
+    }
+    /**
+     * @param delegate  The <code>SpyLogDelegator</code> to which all events are delegated.
+     */
+    public StatisticsSpyLogDelegator(SpyLogDelegator delegate) {
+        this(delegate, DEFAULT_MAX_STATEMENTS);
+    }
+    /**
+     * @param delegate      The <code>SpyLogDelegator</code> to which all events are delegated.
+     * @param maxStatements An <code>int</code> that is the maximum number of fingerprints
+     *                      tracked individually.
+     */
+    public StatisticsSpyLogDelegator(SpyLogDelegator delegate, int maxStatements) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("log4jdbc: delegate cannot be null.");
+        }
+        if (maxStatements < 0) {
+            throw new IllegalArgumentException(
+                    "log4jdbc: maxStatements cannot be negative.");
+        }
+        this.delegate = delegate;
+        this.maxStatements = maxStatements;
+        this.statistics = new ConcurrentHashMap<String, StatementStatistics>();
+        this.statementCount = new AtomicInteger(0);
+        this.otherStatements = new StatementStatistics(OTHER_STATEMENTS_FINGERPRINT);
+        this.pendingUpdate = new ThreadLocal<PendingUpdate>() {
+            @Override
+            protected PendingUpdate initialValue() {
+                return new PendingUpdate();
+            }
+        };
+    }
+
+    /**
+     * @return  A <code>Collection</code> of <code>StatementStatistics</code>,
+     *          for each fingerprint tracked, and for the statements that could not
+     *          be tracked individually if any. The returned <code>Collection</code>
+     *          is unmodifiable, and reflects the updates of the statistics.
+     */
+    public Collection<StatementStatistics> getStatementStatistics() {
+        Collection<StatementStatistics> values = this.statistics.values();
+        if (this.otherStatements.getCount() == 0 &&
+                this.otherStatements.getErrorCount() == 0) {
+            return Collections.unmodifiableCollection(values);
+        }
+        Collection<StatementStatistics> all = new ArrayList<StatementStatistics>(values);
+        all.add(this.otherStatements);
+        return Collections.unmodifiableCollection(all);
+    }
+
+    /**
+     * @param sql   A <code>String</code> that is a SQL statement.
+     * @return      The <code>StatementStatistics</code> of the fingerprint
+     *              of <code>sql</code>, <code>null</code> if not tracked.
+     */
+    public StatementStatistics getStatementStatistics(String sql) {
+        return this.statistics.get(SqlFingerprint.normalize(sql));
+    }
+
+    /**
+     * Discard all the statistics recorded.
+     */
+    public void resetStatistics() {
+        this.statistics.clear();
+        this.statementCount.set(0);
+        this.otherStatements.reset();
+    }
+
+    /**
+     * @param sql   A <code>String</code> that is the SQL statement executed.
+     * @return      The <code>StatementStatistics</code> where the execution
+     *              of <code>sql</code> should be recorded.
+     */
+    private StatementStatistics getOrCreateStatistics(String sql) {
+        String fingerprint = SqlFingerprint.normalize(sql);
+        StatementStatistics stats = this.statistics.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        if (this.statementCount.incrementAndGet() > this.maxStatements) {
+            this.statementCount.decrementAndGet();
+            return this.otherStatements;
+        }
+        StatementStatistics newStats = new StatementStatistics(fingerprint);
+        stats = this.statistics.putIfAbsent(fingerprint, newStats);
+        if (stats != null) {
+            this.statementCount.decrementAndGet();
+            return stats;
+        }
+        return newStats;
+    }
+
+    /**
+     * @param methodCall    A <code>CharSequence</code> describing a method call.
+     * @return              <code>true</code> if <code>methodCall</code> is a call
+     *                      to an <code>executeUpdate</code> method.
+     */
+    private static boolean isExecuteUpdate(CharSequence methodCall) {
+        if (methodCall instanceof MethodCall) {
+            return "executeUpdate".equals(((MethodCall) methodCall).getMethodName());
+        }
+        return methodCall instanceof String &&
+            ((String) methodCall).startsWith("executeUpdate(");
+    }
+
+    @Override
+    public boolean isJdbcLoggingEnabled() {
+        return true;
+    }
+
+    @Override
+    public int getEnabledCategories() {
+        return this.delegate.getEnabledCategories() | EXECUTION_CATEGORY | UPDATECOUNT_CATEGORY;
+    }
+
+    @Override
+    public void exceptionOccured(Spy spy, CharSequence methodCall, Exception e,
+            String sql, long execTime) {
+        //the exceptions suppressed by the property log4jdbc.suppress.generated.keys.exception
+        //are not errors of the statements
+        if (sql != null && !(Properties.isSuppressGetGeneratedKeysException() &&
+                GET_GENERATED_KEYS_METHOD_CALL.contentEquals(methodCall))) {
+            this.getOrCreateStatistics(sql).recordError(execTime);
+        }
+        this.delegate.exceptionOccured(spy, methodCall, e, sql, execTime);
+    }
+
+    @Override
+    public void methodReturned(Spy spy, CharSequence methodCall, String returnMsg) {
+        this.delegate.methodReturned(spy, methodCall, returnMsg);
+    }
+
+    @Override
+    public void constructorReturned(Spy spy, String constructionInfo) {
+        this.delegate.constructorReturned(spy, constructionInfo);
+    }
+
+    @Override
+    public void sqlOccurred(Spy spy, CharSequence methodCall, String sql) {
+        this.delegate.sqlOccurred(spy, methodCall, sql);
+    }
+
+    @Override
+    public void sqlTimingOccurred(Spy spy, long execTime, CharSequence methodCall,
+            String sql) {
+        this.delegate.sqlTimingOccurred(spy, execTime, methodCall, sql);
+    }
+
+    @Override
+    public void statementExecuted(Spy spy, CharSequence methodCall, String sql,
+            long execTime) {
+        if (sql != null) {
+            StatementStatistics stats = this.getOrCreateStatistics(sql);
+            stats.recordExecution(execTime);
+            if (isExecuteUpdate(methodCall)) {
+                PendingUpdate pending = this.pendingUpdate.get();
+                pending.spy = spy;
+                pending.methodCall = methodCall;
+                pending.statistics = stats;
+            }
+        }
+        if ((this.delegate.getEnabledCategories() & EXECUTION_CATEGORY) != 0) {
+            this.delegate.statementExecuted(spy, methodCall, sql, execTime);
+        }
+    }
+
+    @Override
+    public void updateCountReturned(Spy spy, CharSequence methodCall, int updateCount) {
+        PendingUpdate pending = this.pendingUpdate.get();
+        if (pending.methodCall != null) {
+            if (pending.methodCall == methodCall && pending.spy == spy) {
+                pending.statistics.addRowsAffected(updateCount);
+            }
+            pending.spy = null;
+            pending.methodCall = null;
+            pending.statistics = null;
+        }
+        if ((this.delegate.getEnabledCategories() & UPDATECOUNT_CATEGORY) != 0) {
+            this.delegate.updateCountReturned(spy, methodCall, updateCount);
+        }
+    }
+
+    @Override
+    public void connectionOpened(Spy spy, long execTime) {
+        this.delegate.connectionOpened(spy, execTime);
+    }
+
+    @Override
+    public void connectionClosed(Spy spy, long execTime) {
+        this.delegate.connectionClosed(spy, execTime);
+    }
+
+    @Override
+    public void connectionAborted(Spy spy, long execTime) {
+        this.delegate.connectionAborted(spy, execTime);
+    }
+
+    @Override
+    public void connectionLeaked(ConnectionLeak leak) {
+        this.delegate.connectionLeaked(leak);
+    }
+
+    @Override
+    public void debug(String msg) {
+        this.delegate.debug(msg);
+    }
+
+    @Override
+    public boolean isResultSetLoggingEnabled() {
+        return this.delegate.isResultSetLoggingEnabled();
+    }
+
+    @Override
+    public boolean isResultSetCollectionEnabled() {
+        return this.delegate.isResultSetCollectionEnabled();
+    }
+
+    @Override
+    public boolean isResultSetCollectionEnabledWithUnreadValueFillIn() {
+        return this.delegate.isResultSetCollectionEnabledWithUnreadValueFillIn();
+    }
+
+    @Override
+    public void resultSetCollected(ResultSetCollector resultSetCollector) {
+        this.delegate.resultSetCollected(resultSetCollector);
+    }
+}
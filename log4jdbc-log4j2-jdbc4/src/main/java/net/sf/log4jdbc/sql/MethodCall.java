@@ -0,0 +1,152 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql;
+
+/**
+ * A deferred description of a JDBC method call, used by the <code>Spy</code> classes
+ * to report method calls to a <code>SpyLogDelegator</code>.
+ * <p>
+ * Before, the <code>Spy</code> classes built a <code>String</code> such as
+ * <code>"setTime(" + parameterIndex + ", " + x + ")"</code> before each call
+ * to the real JDBC object, even when nothing was logged. A <code>MethodCall</code>
+ * only stores the name of the method and the raw arguments passed to it,
+ * the <code>String</code> representation is built only when {@link #toString()}
+ * is called, that is to say, when a <code>SpyLogDelegator</code> actually
+ * emits a log event. The <code>String</code> is then cached, so that several
+ * loggers can use it without formatting it again.
+ * <p>
+ * The representation is the same as before: the name of the method, followed
+ * by the arguments separated by commas, between brackets
+ * (e.g., <code>setTime(1, 12:00:00)</code>). <code>Class</code> arguments are
+ * represented by their name, <code>null</code> arguments by "null".
+ * <p>
+ * This class implements <code>CharSequence</code>, so that methods
+ * accepting a method call description accept either a <code>MethodCall</code>,
+ * or a <code>String</code> for methods with no arguments.
+ *
+ * @author Frederic Bastian
+ * @see net.sf.log4jdbc.log.SpyLogDelegator
+ */
+public final class MethodCall implements CharSequence
+{
+	/**
+	 * A <code>String</code> that is the name of the method called.
+	 */
+	private final String methodName;
+	/**
+	 * An <code>Array</code> of <code>Object</code>s that are the arguments
+	 * passed to the method called.
+	 */
+	private final Object[] args;
+	/**
+	 * A <code>String</code> that is the cached representation of
+	 * this <code>MethodCall</code>, built the first time {@link #toString()}
+	 * is called.
+	 */
+	private String rendered;
+
+	/**
+	 * Constructor providing the name of the method called, and the arguments
+	 * passed to it.
+	 *
+	 * @param methodName 	A <code>String</code> that is the name of the method called
+	 * 						(e.g., "setTime").
+	 * @param args 			The <code>Object</code>s that are the arguments
+	 * 						passed to the method, as is.
+	 */
+	public MethodCall(String methodName, Object... args)
+	{
+		this.methodName = methodName;
+		this.args = args;
+	}
+
+	/**
+	 * @return 	A <code>String</code> that is the name of the method called,
+	 * 			without arguments (e.g., "setTime").
+	 */
+	public String getMethodName()
+	{
+		return this.methodName;
+	}
+
+	/**
+	 * @return 	An <code>int</code> that is the number of arguments passed
+	 * 			to the method called.
+	 */
+	public int getArgumentCount()
+	{
+		return (this.args == null ? 0 : this.args.length);
+	}
+
+	/**
+	 * @param index 	An <code>int</code> that is the index of the requested argument,
+	 * 					starting from 0.
+	 * @return 			The <code>Object</code> passed as argument at <code>index</code>
+	 * 					to the method called.
+	 */
+	public Object getArgument(int index)
+	{
+		return this.args[index];
+	}
+
+	@Override
+	public int length()
+	{
+		return this.toString().length();
+	}
+
+	@Override
+	public char charAt(int index)
+	{
+		return this.toString().charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end)
+	{
+		return this.toString().subSequence(start, end);
+	}
+
+	/**
+	 * Returns the representation of this method call, for instance
+	 * <code>setTime(1, 12:00:00)</code>. The <code>String</code> is built
+	 * only the first time this method is called.
+	 */
+	@Override
+	public String toString()
+	{
+		//no need to synchronize, a concurrent call would produce the same String
+		if (this.rendered == null) {
+			StringBuilder sb = new StringBuilder(this.methodName.length() + 16 *
+					this.getArgumentCount());
+			sb.append(this.methodName).append('(');
+			for (int i = 0; i < this.getArgumentCount(); i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				Object arg = this.args[i];
+				if (arg instanceof Class) {
+					sb.append(((Class<?>) arg).getName());
+				} else {
+					sb.append(arg);
+				}
+			}
+			sb.append(')');
+			this.rendered = sb.toString();
+		}
+		return this.rendered;
+	}
+}
@@ -15,6 +15,10 @@
  */
 package net.sf.log4jdbc.sql;
 
+import java.util.concurrent.TimeUnit;
+
+import net.sf.log4jdbc.Properties;
+
 /**
  * Static utility methods for use throughout the project.
  */
@@ -40,4 +44,33 @@ public class Utilities {
     return output.toString();
   }
 
+  /**
+   * Compute the time elapsed since <code>startNanos</code>, in nanoseconds, 
+   * as reported to the <code>SpyLogDelegator</code>. It is converted into the unit 
+   * used to display execution times only when displayed, see {@link #toTimingUnit(long)}.
+   * @param startNanos the value returned by <code>System.nanoTime()</code> 
+   *                   when the measured operation started.
+   * @return the time elapsed since <code>startNanos</code>, in nanoseconds.
+   */
+  public static long getElapsedTime(long startNanos)
+  {
+    return System.nanoTime() - startNanos;
+  }
+
+  /**
+   * Convert a duration in nanoseconds into the unit used to display execution times 
+   * (see {@link Properties#getTimingUnit()}).
+   * @param nanos a duration in nanoseconds, negative if unknown.
+   * @return the duration in the unit returned by {@link Properties#getTimingUnit()}, 
+   *         -1 if <code>nanos</code> is negative.
+   */
+  public static long toTimingUnit(long nanos)
+  {
+    if (nanos < 0)
+    {
+      return -1;
+    }
+    return Properties.getTimingUnit().convert(nanos, TimeUnit.NANOSECONDS);
+  }
+
 }
@@ -0,0 +1,260 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.jdbcapi;
+
+/**
+ * The raw bind values set on a <code>PreparedStatementSpy</code>, stored
+ * in slots indexed by the 0-based parameter index. Primitive values are stored
+ * unboxed, and no value is formatted when it is set: values are boxed
+ * and formatted only when the SQL with its bind values is actually needed
+ * (see {@link #getValue(int)}).
+ * <p>
+ * This class is not thread-safe, the <code>PreparedStatementSpy</code>
+ * synchronizes the accesses to it.
+ *
+ * @author Frederic Bastian
+ * @see PreparedStatementSpy
+ */
+final class BindValues
+{
+	/**
+	 * The type of a slot where no value was set.
+	 */
+	static final byte UNSET = 0;
+	/**
+	 * The type of a slot storing an <code>Object</code>, possibly <code>null</code>.
+	 */
+	static final byte OBJECT = 1;
+	static final byte BOOLEAN = 2;
+	static final byte BYTE = 3;
+	static final byte SHORT = 4;
+	static final byte INT = 5;
+	static final byte LONG = 6;
+	/**
+	 * The type of a slot storing a <code>float</code>, as returned by
+	 * <code>Float.floatToRawIntBits</code>.
+	 */
+	static final byte FLOAT = 7;
+	/**
+	 * The type of a slot storing a <code>double</code>, as returned by
+	 * <code>Double.doubleToRawLongBits</code>.
+	 */
+	static final byte DOUBLE = 8;
+	/**
+	 * The type of a slot storing a <code>String</code> already formatted,
+	 * to be displayed as is.
+	 */
+	static final byte FORMATTED = 9;
+
+	/**
+	 * An <code>Array</code> of <code>byte</code>s that are the types of the slots.
+	 */
+	private byte[] types;
+	/**
+	 * An <code>Array</code> of <code>long</code>s storing the primitive values.
+	 */
+	private long[] primitives;
+	/**
+	 * An <code>Array</code> of <code>Object</code>s storing the non-primitive values.
+	 */
+	private Object[] objects;
+	/**
+	 * An <code>int</code> that is the highest index of a slot set, + 1.
+	 */
+	private int size;
+
+	/**
+	 * @param capacity 	An <code>int</code> that is the number of slots
+	 * 					to allocate initially, for instance the number of placeholders.
+	 */
+	BindValues(int capacity)
+	{
+		capacity = Math.max(capacity, 1);
+		this.types = new byte[capacity];
+		this.primitives = new long[capacity];
+		this.objects = new Object[capacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Store <code>value</code> in the slot at <code>index</code>.
+	 *
+	 * @param index 	An <code>int</code> that is the 0-based index of the parameter.
+	 * @param value 	The <code>Object</code> bound, possibly <code>null</code>.
+	 */
+	void setObject(int index, Object value)
+	{
+		this.ensureSlot(index);
+		this.types[index] = OBJECT;
+		this.objects[index] = value;
+	}
+
+	/**
+	 * Store the <code>String</code> <code>formatted</code>, to be displayed as is,
+	 * in the slot at <code>index</code>.
+	 *
+	 * @param index 		An <code>int</code> that is the 0-based index of the parameter.
+	 * @param formatted 	A <code>String</code> that is the value already formatted.
+	 */
+	void setFormatted(int index, String formatted)
+	{
+		this.ensureSlot(index);
+		this.types[index] = FORMATTED;
+		this.objects[index] = formatted;
+	}
+
+	/**
+	 * Store a primitive value in the slot at <code>index</code>.
+	 *
+	 * @param index 	An <code>int</code> that is the 0-based index of the parameter.
+	 * @param type 		A <code>byte</code> that is the type of the value
+	 * 					(for instance, {@link #INT}).
+	 * @param bits 		A <code>long</code> that is the value (see {@link #FLOAT}
+	 * 					and {@link #DOUBLE}, <code>1</code> or <code>0</code>
+	 * 					for a <code>boolean</code>).
+	 */
+	void setPrimitive(int index, byte type, long bits)
+	{
+		this.ensureSlot(index);
+		this.types[index] = type;
+		this.primitives[index] = bits;
+		this.objects[index] = null;
+	}
+
+	/**
+	 * Make sure that the slot at <code>index</code> exists.
+	 */
+	private void ensureSlot(int index)
+	{
+		if (index >= this.types.length) {
+			int capacity = Math.max(index + 1, this.types.length * 2);
+			byte[] newTypes = new byte[capacity];
+			long[] newPrimitives = new long[capacity];
+			Object[] newObjects = new Object[capacity];
+			System.arraycopy(this.types, 0, newTypes, 0, this.size);
+			System.arraycopy(this.primitives, 0, newPrimitives, 0, this.size);
+			System.arraycopy(this.objects, 0, newObjects, 0, this.size);
+			this.types = newTypes;
+			this.primitives = newPrimitives;
+			this.objects = newObjects;
+		}
+		if (index >= this.size) {
+			this.size = index + 1;
+		}
+	}
+
+	/**
+	 * Remove all values.
+	 */
+	void clear()
+	{
+		for (int i = 0; i < this.size; i++) {
+			this.types[i] = UNSET;
+			this.objects[i] = null;
+		}
+		this.size = 0;
+	}
+
+	/**
+	 * @return 	A new <code>BindValues</code> with the same values,
+	 * 			not affected by later modifications of this one, nor by
+	 * 			later modifications of the mutable values bound (see
+	 * 			{@link #snapshot(Object)}).
+	 */
+	BindValues copy()
+	{
+		BindValues copy = new BindValues(this.size);
+		System.arraycopy(this.types, 0, copy.types, 0, this.size);
+		System.arraycopy(this.primitives, 0, copy.primitives, 0, this.size);
+		for (int i = 0; i < this.size; i++) {
+			copy.objects[i] = this.types[i] == OBJECT ?
+					snapshot(this.objects[i]) : this.objects[i];
+		}
+		copy.size = this.size;
+		return copy;
+	}
+
+	/**
+	 * Copy <code>value</code> if it is a mutable value commonly bound
+	 * (<code>java.util.Date</code>s, including <code>java.sql.Timestamp</code>s,
+	 * and <code>byte</code> arrays), so that an application reusing it
+	 * for the next statement of a batch does not alter the values logged.
+	 *
+	 * @param value 	The <code>Object</code> bound, possibly <code>null</code>.
+	 * @return 			A copy of <code>value</code> if it is mutable,
+	 * 					<code>value</code> itself otherwise.
+	 */
+	private static Object snapshot(Object value)
+	{
+		if (value instanceof java.util.Date) {
+			return ((java.util.Date) value).clone();
+		}
+		if (value instanceof byte[]) {
+			return ((byte[]) value).clone();
+		}
+		return value;
+	}
+
+	/**
+	 * @return 	An <code>int</code> that is the highest index of a slot set, + 1.
+	 */
+	int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * @param index 	An <code>int</code> that is the 0-based index of a parameter.
+	 * @return 			A <code>byte</code> that is the type of the slot at
+	 * 					<code>index</code>, {@link #UNSET} if no value was set.
+	 */
+	byte getType(int index)
+	{
+		return index < this.size ? this.types[index] : UNSET;
+	}
+
+	/**
+	 * @param index 	An <code>int</code> that is the 0-based index of a parameter.
+	 * @return 			The <code>Object</code> set at <code>index</code>, with primitive
+	 * 					values boxed, <code>null</code> if no value was set
+	 * 					(see {@link #getType(int)}).
+	 */
+	Object getValue(int index)
+	{
+		if (index >= this.size) {
+			return null;
+		}
+		long bits = this.primitives[index];
+		switch (this.types[index]) {
+		case BOOLEAN:
+			return bits != 0 ? Boolean.TRUE : Boolean.FALSE;
+		case BYTE:
+			return Byte.valueOf((byte) bits);
+		case SHORT:
+			return Short.valueOf((short) bits);
+		case INT:
+			return Integer.valueOf((int) bits);
+		case LONG:
+			return Long.valueOf(bits);
+		case FLOAT:
+			return Float.valueOf(Float.intBitsToFloat((int) bits));
+		case DOUBLE:
+			return Double.valueOf(Double.longBitsToDouble(bits));
+		default:
+			return this.objects[index];
+		}
+	}
+}
@@ -21,17 +21,22 @@ import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.DriverPropertyInfo;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import net.sf.log4jdbc.Properties;
 import net.sf.log4jdbc.log.SpyLogDelegator;
 import net.sf.log4jdbc.log.SpyLogFactory;
 import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.Utilities;
 import net.sf.log4jdbc.sql.rdbmsspecifics.Db2RdbmsSpecifics;
 import net.sf.log4jdbc.sql.rdbmsspecifics.MySqlRdbmsSpecifics;
 import net.sf.log4jdbc.sql.rdbmsspecifics.OracleRdbmsSpecifics;
@@ -82,6 +87,12 @@ import net.sf.log4jdbc.sql.rdbmsspecifics.SqlServerRdbmsSpecifics;
  * If any of the above driver classes cannot be loaded, the driver continues on
  * without failing.
  * <p/>
+ * When the property <b>log4jdbc.lazy.load.drivers</b> is true, these drivers 
+ * are not loaded at class load time, but only the first time a URL is not accepted 
+ * by any registered driver. Short-lived JVMs using JDBC 4 drivers, registered 
+ * by the <code>DriverManager</code> itself, then never pay for the attempts 
+ * to load them.
+ * <p/>
  * Note that the <code>getMajorVersion</code>, <code>getMinorVersion</code> and
  * <code>jdbcCompliant</code> method calls attempt to delegate to the last
  * underlying driver requested through any other call that accepts a JDBC URL.
@@ -103,6 +114,11 @@ import net.sf.log4jdbc.sql.rdbmsspecifics.SqlServerRdbmsSpecifics;
  * <li>Modification of the method <code>connect(String, Properties)</code> 
  * in order to compute the time taken to open a connection to the database. 
  * Constructors of <code>ConnectionSpy</code> have been modified accordingly.
+ * <li>The underlying driver accepting a URL is cached, so that it is not searched 
+ * by calling <code>acceptsURL</code> on all the registered drivers for each call 
+ * to <code>acceptsURL</code>, <code>connect</code> or <code>getPropertyInfo</code>. 
+ * The cache is discarded whenever a driver is registered or deregistered 
+ * (see <code>UnderlyingDrivers</code>). 
  * </ul>
  *
  * @author Arthur Blake
@@ -112,9 +128,123 @@ import net.sf.log4jdbc.sql.rdbmsspecifics.SqlServerRdbmsSpecifics;
 public class DriverSpy implements Driver
 {
 	/**
-	 * The last actual, underlying driver that was requested via a URL.
+	 * The last actual, underlying driver that was requested via a URL. 
+	 * It is <code>volatile</code>, and read only once by each method using it, 
+	 * as it can be modified concurrently by any thread requesting a URL.
+	 */
+	private volatile Driver lastUnderlyingDriverRequested;
+
+	/**
+	 * The maximum number of URLs whose underlying driver is cached, 
+	 * an entry is evicted when it is reached.
+	 */
+	private static final int MAX_CACHED_URLS = 256;
+
+	/**
+	 * The underlying drivers accepting the URLs requested, for the drivers 
+	 * currently registered to the <code>DriverManager</code>.
 	 */
-	private Driver lastUnderlyingDriverRequested;
+	private volatile UnderlyingDrivers underlyingDrivers = 
+			new UnderlyingDrivers(new Driver[0]);
+
+	/**
+	 * A cache of the underlying drivers accepting real URLs (without 
+	 * the <code>jdbc:log4</code> prefix), valid for the drivers registered 
+	 * to the <code>DriverManager</code> when it was created. As the 
+	 * <code>DriverManager</code> does not notify of the (de)registration of drivers, 
+	 * and listing them is costly, the driver cached for a URL is used as is. 
+	 * The drivers registered are compared, by identity, to the ones of the cache 
+	 * only when no driver is cached for a URL, or when the driver cached fails 
+	 * to connect, which is much cheaper than calling <code>acceptsURL</code> 
+	 * on each of them (most drivers parse the URL). A new cache is used 
+	 * when they differ, so that a driver deregistered is neither used anymore, 
+	 * nor retained.
+	 */
+	private static final class UnderlyingDrivers
+	{
+		/**
+		 * The drivers registered when this cache was created, in order.
+		 */
+		private final Driver[] registeredDrivers;
+		/**
+		 * Maps real URLs to the first registered driver accepting them.
+		 */
+		private final ConcurrentMap<String, Driver> driversByUrl;
+
+		private UnderlyingDrivers(Driver[] registeredDrivers)
+		{
+			this.registeredDrivers = registeredDrivers;
+			this.driversByUrl = new ConcurrentHashMap<String, Driver>();
+		}
+
+		/**
+		 * @param drivers 	The drivers currently registered, in order.
+		 * @return 			<code>true</code> if they are the drivers 
+		 * 					this cache was created for.
+		 */
+		private boolean isFor(Driver[] drivers)
+		{
+			if (drivers.length != this.registeredDrivers.length) {
+				return false;
+			}
+			for (int i = 0; i < drivers.length; i++) {
+				if (drivers[i] != this.registeredDrivers[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @param realUrl 	A <code>String</code> that is a JDBC URL, without 
+		 * 					the <code>jdbc:log4</code> prefix.
+		 * @return 			The driver cached for <code>realUrl</code>, 
+		 * 					<code>null</code> if none.
+		 */
+		private Driver getCachedDriver(String realUrl)
+		{
+			return this.driversByUrl.get(realUrl);
+		}
+
+		/**
+		 * @param realUrl 	A <code>String</code> that is a JDBC URL, without 
+		 * 					the <code>jdbc:log4</code> prefix.
+		 * @return 			The first registered driver accepting <code>realUrl</code>, 
+		 * 					<code>null</code> if none.
+		 * @throws SQLException if a database access error occurs.
+		 */
+		private Driver getDriver(String realUrl) throws SQLException
+		{
+			Driver d = this.driversByUrl.get(realUrl);
+			if (d != null) {
+				return d;
+			}
+			for (Driver registered: this.registeredDrivers) {
+				if (registered.acceptsURL(realUrl)) {
+					if (this.driversByUrl.size() >= MAX_CACHED_URLS) {
+						this.evictUrl();
+					}
+					this.driversByUrl.put(realUrl, registered);
+					return registered;
+				}
+			}
+			// not cached, a driver accepting this URL can still be registered
+			return null;
+		}
+
+		/**
+		 * Remove an arbitrary URL from {@link #driversByUrl}, so that it cannot 
+		 * grow indefinitely, without losing the other URLs cached.
+		 */
+		private void evictUrl()
+		{
+			Iterator<String> urls = this.driversByUrl.keySet().iterator();
+			if (urls.hasNext()) {
+				urls.next();
+				urls.remove();
+			}
+		}
+	}
 
 	/**
 	 * Maps driver class names to RdbmsSpecifics objects for each kind of
@@ -139,6 +269,14 @@ public class DriverSpy implements Driver
 	 */
 	static final private String log4jdbcUrlPrefix = "jdbc:log4";
 
+	/**
+	 * The names of the driver classes whose loading was deferred until a URL 
+	 * is not accepted by any registered driver, <code>null</code> if they were loaded 
+	 * (see <code>Properties#isLazyLoadDrivers()</code>). Guarded by 
+	 * the lock of the <code>DriverSpy</code> class.
+	 */
+	private static Set<String> lazyDrivers;
+
 	/**
 	 * Default constructor.
 	 */
@@ -193,22 +331,13 @@ public class DriverSpy implements Driver
 			("could not register log4jdbc driver!").initCause(s);
 		}
 
-		// instantiate all the supported drivers and remove
-		// those not found
-		String driverClass;
-		for (Iterator<String> i = subDrivers.iterator(); i.hasNext();) {
-			driverClass = i.next();
-			try {
-				Class.forName(driverClass);
-				log.debug("  FOUND DRIVER " + driverClass);
-			} catch (Throwable c) {
-				i.remove();
-			}
-		}
-
-		if (subDrivers.size() == 0) {
-			log.debug("WARNING!  " +
-					"log4jdbc couldn't find any underlying jdbc drivers.");
+		if (Properties.isLazyLoadDrivers()) {
+			lazyDrivers = subDrivers;
+			log.debug("  drivers will be loaded when a URL is not accepted " +
+					"by any registered driver");
+		} else {
+			lazyDrivers = null;
+			loadDrivers(subDrivers);
 		}
 
 		SqlServerRdbmsSpecifics sqlServer = new SqlServerRdbmsSpecifics();
@@ -232,6 +361,50 @@ public class DriverSpy implements Driver
 		log.debug("DriverSpy intialization done.");
 	}
 
+	/**
+	 * Instantiate all the supported drivers, and remove those not found.
+	 *
+	 * @param subDrivers 	A <code>Set</code> of <code>String</code>s that are 
+	 * 						the names of the driver classes to load.
+	 */
+	private static void loadDrivers(Set<String> subDrivers)
+	{
+		String driverClass;
+		for (Iterator<String> i = subDrivers.iterator(); i.hasNext();) {
+			driverClass = i.next();
+			try {
+				Class.forName(driverClass);
+				log.debug("  FOUND DRIVER " + driverClass);
+			} catch (Throwable c) {
+				i.remove();
+			}
+		}
+
+		if (subDrivers.size() == 0) {
+			log.debug("WARNING!  " +
+					"log4jdbc couldn't find any underlying jdbc drivers.");
+		}
+	}
+
+	/**
+	 * Load the drivers whose loading was deferred, if not already done 
+	 * (see <code>Properties#isLazyLoadDrivers()</code>).
+	 *
+	 * @return 	<code>true</code> if drivers were loaded by this call, 
+	 * 			<code>false</code> if they were already loaded.
+	 */
+	private static synchronized boolean loadLazyDrivers()
+	{
+		if (lazyDrivers == null) {
+			return false;
+		}
+		Set<String> subDrivers = lazyDrivers;
+		lazyDrivers = null;
+		log.debug("loading drivers lazily...");
+		loadDrivers(subDrivers);
+		return true;
+	}
+
 	/**
 	 * Get the RdbmsSpecifics object for a given Connection.
 	 *
@@ -268,10 +441,11 @@ public class DriverSpy implements Driver
 	@Override
 	public int getMajorVersion()
 	{
-		if (lastUnderlyingDriverRequested == null) {
+		Driver d = lastUnderlyingDriverRequested;
+		if (d == null) {
 			return 1;
 		} 
-		return lastUnderlyingDriverRequested.getMajorVersion();
+		return d.getMajorVersion();
 	}
 
 	/**
@@ -284,10 +458,11 @@ public class DriverSpy implements Driver
 	@Override
 	public int getMinorVersion()
 	{
-		if (lastUnderlyingDriverRequested == null) {
+		Driver d = lastUnderlyingDriverRequested;
+		if (d == null) {
 			return 0;
 		}
-		return lastUnderlyingDriverRequested.getMinorVersion();
+		return d.getMinorVersion();
 	}
 
 	/**
@@ -301,8 +476,8 @@ public class DriverSpy implements Driver
 	@Override
 	public boolean jdbcCompliant()
 	{
-		return lastUnderlyingDriverRequested != null &&
-			   lastUnderlyingDriverRequested.jdbcCompliant();
+		Driver d = lastUnderlyingDriverRequested;
+		return d != null && d.jdbcCompliant();
 	}
 
 	/**
@@ -343,19 +518,63 @@ public class DriverSpy implements Driver
 		if (url.startsWith(log4jdbcUrlPrefix)) {
 			url = this.getRealUrl(url);
 
-			Enumeration<Driver> e = DriverManager.getDrivers();
-
-			Driver d;
-			while (e.hasMoreElements()) {
-				d = e.nextElement();
-
-				if (d.acceptsURL(url)) {
-					return d;
-				}
+			Driver d = this.getRegisteredDriver(url);
+			if (d == null && loadLazyDrivers()) {
+				// one of the drivers just loaded might accept the URL
+				d = this.getRegisteredDriver(url);
 			}
+			return d;
 		}
 		return null;
 	}
+
+	/**
+	 * Find the driver that accepts a real URL, using first the driver cached 
+	 * in <code>#underlyingDrivers</code>, see {@link #getValidatedDriver(String)} 
+	 * otherwise.
+	 *
+	 * @param realUrl 	A <code>String</code> that is a JDBC URL, without 
+	 * 					the <code>jdbc:log4</code> prefix.
+	 * @return 			The driver accepting <code>realUrl</code>, 
+	 * 					<code>null</code> if none.
+	 * @throws SQLException if a database access error occurs.
+	 */
+	private Driver getRegisteredDriver(String realUrl) throws SQLException
+	{
+		Driver d = this.underlyingDrivers.getCachedDriver(realUrl);
+		if (d != null) {
+			return d;
+		}
+		return this.getValidatedDriver(realUrl);
+	}
+
+	/**
+	 * Find the registered driver that accepts a real URL, using 
+	 * the cache <code>#underlyingDrivers</code> if no driver was (de)registered 
+	 * since it was created.
+	 *
+	 * @param realUrl 	A <code>String</code> that is a JDBC URL, without 
+	 * 					the <code>jdbc:log4</code> prefix.
+	 * @return 			The first registered driver accepting <code>realUrl</code>, 
+	 * 					<code>null</code> if none.
+	 * @throws SQLException if a database access error occurs.
+	 */
+	private Driver getValidatedDriver(String realUrl) throws SQLException
+	{
+		List<Driver> registered = new ArrayList<Driver>();
+		for (Enumeration<Driver> e = DriverManager.getDrivers(); e.hasMoreElements();) {
+			registered.add(e.nextElement());
+		}
+		Driver[] drivers = registered.toArray(new Driver[registered.size()]);
+
+		UnderlyingDrivers cache = this.underlyingDrivers;
+		if (!cache.isFor(drivers)) {
+			// a driver was registered or deregistered since the cache was created
+			cache = new UnderlyingDrivers(drivers);
+			this.underlyingDrivers = cache;
+		}
+		return cache.getDriver(realUrl);
+	}
 	
 	/**
 	 * Get the actual URL that the real driver expects 
@@ -394,20 +613,40 @@ public class DriverSpy implements Driver
 		if (d == null) {
 			return null;
 		}
+		// register the JMX statistics, if enabled, before the first connection is opened
+		JdbcStatistics.getInstance();
 
 		// get actual URL that the real driver expects
 		// (strip off <code>#log4jdbcUrlPrefix</code> from url)
 		url = this.getRealUrl(url);
 
 		lastUnderlyingDriverRequested = d;
-		long tstart = System.currentTimeMillis();
-		Connection c = d.connect(url, info);
+		long tstart = System.nanoTime();
+		Connection c = null;
+		SQLException failure = null;
+		try {
+			c = d.connect(url, info);
+		} catch (SQLException e) {
+			failure = e;
+		}
+		if (c == null) {
+			// the driver cached for this URL might not be registered anymore
+			Driver registered = this.getValidatedDriver(url);
+			if (registered != null && registered != d) {
+				d = registered;
+				lastUnderlyingDriverRequested = d;
+				tstart = System.nanoTime();
+				c = d.connect(url, info);
+			} else if (failure != null) {
+				throw failure;
+			}
+		}
 
 		if (c == null) {
 			throw new SQLException("invalid or unknown driver url: " + url);
 		}
 		if (log.isJdbcLoggingEnabled()) {
-			ConnectionSpy cspy = new ConnectionSpy(c, System.currentTimeMillis() - tstart, log);
+			ConnectionSpy cspy = new ConnectionSpy(c, Utilities.getElapsedTime(tstart), log);
 			RdbmsSpecifics r = null;
 			String dclass = d.getClass().getName();
 			if (dclass != null && dclass.length() > 0)
@@ -452,7 +691,7 @@ public class DriverSpy implements Driver
 		return d.getPropertyInfo(url, info);
 	}
 
-	protected void reportException(String methodCall, SQLException exception)
+	protected void reportException(CharSequence methodCall, SQLException exception)
 	{
 		log.exceptionOccured((Spy) this, methodCall, exception, null, -1L);
 	}  
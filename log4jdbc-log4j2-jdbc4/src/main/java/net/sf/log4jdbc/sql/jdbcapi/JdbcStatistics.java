@@ -0,0 +1,419 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import net.sf.log4jdbc.Properties;
+import net.sf.log4jdbc.log.SpyLogFactory;
+import net.sf.log4jdbc.log.statistics.SqlFingerprint;
+
+/**
+ * Live statistics about the connections opened and the statements executed
+ * through log4jdbc, exposed through JMX (see {@link JdbcStatisticsMBean}),
+ * when the property "log4jdbc.jmx" is <code>true</code>. The MBean is registered
+ * in the platform <code>MBeanServer</code> by <code>DriverSpy</code>
+ * and <code>DataSourceSpy</code>, or at the first connection opened.
+ * <p>
+ * The statistics are updated by <code>ConnectionSpy</code> and <code>StatementSpy</code>,
+ * independently from the <code>SpyLogDelegator</code> used, and whatever is logged.
+ * The counters are <code>StripedCounter</code>s, so that the threads executing
+ * statements do not contend on them. The type of a statement is identified
+ * by its first keyword, as for the markers of <code>Log4j2SpyLogDelegator</code>.
+ * The fingerprint of a statement is computed only if its execution time
+ * is greater than the ones of the slowest fingerprints already known.
+ *
+ * @author Frederic Bastian
+ */
+public final class JdbcStatistics implements JdbcStatisticsMBean
+{
+	/**
+	 * A <code>String</code> that is the name of the MBean registered.
+	 */
+	public static final String OBJECT_NAME = "net.sf.log4jdbc:type=JdbcStatistics";
+
+	private static final int SELECT = 0;
+	private static final int INSERT = 1;
+	private static final int UPDATE = 2;
+	private static final int DELETE = 3;
+	private static final int CREATE = 4;
+	private static final int OTHER = 5;
+	private static final int BATCH = 6;
+	/**
+	 * The first keyword of the statements of each type, in the order of the types.
+	 */
+	private static final String[] KEYWORDS = {"select", "insert", "update", "delete", "create"};
+
+	/**
+	 * The <code>JdbcStatistics</code> used, <code>null</code> if JMX is disabled.
+	 * It is loaded at the first call to {@link #getInstance()}, and not when this class
+	 * is initialized, as <code>Properties</code> might not be initialized yet.
+	 */
+	private static volatile JdbcStatistics instance = null;
+	/**
+	 * A <code>boolean</code> that is <code>true</code> when {@link #instance} was loaded.
+	 */
+	private static volatile boolean instanceLoaded = false;
+
+	/**
+	 * @return 	The <code>JdbcStatistics</code> used, registered in the platform
+	 * 			<code>MBeanServer</code>, or <code>null</code> if JMX is disabled.
+	 */
+	static JdbcStatistics getInstance()
+	{
+		if (!instanceLoaded) {
+			synchronized (JdbcStatistics.class) {
+				if (!instanceLoaded) {
+					if (Properties.isJmxEnabled()) {
+						JdbcStatistics statistics =
+								new JdbcStatistics(Properties.getJmxSlowestStatements());
+						try {
+							ManagementFactory.getPlatformMBeanServer().registerMBean(
+									statistics, new ObjectName(OBJECT_NAME));
+						} catch (JMException e) {
+							//for instance, already registered by another class loader
+							SpyLogFactory.getSpyLogDelegator().debug(
+									"x log4jdbc statistics could not be registered: " + e);
+						}
+						instance = statistics;
+					}
+					instanceLoaded = true;
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Replace the <code>JdbcStatistics</code> used, without registering it.
+	 * This is used by unit tests.
+	 *
+	 * @param statistics 	The <code>JdbcStatistics</code> to use, or <code>null</code>
+	 * 						to disable statistics.
+	 */
+	static void setInstance(JdbcStatistics statistics)
+	{
+		synchronized (JdbcStatistics.class) {
+			instance = statistics;
+			instanceLoaded = true;
+		}
+	}
+
+	private final StripedCounter connectionsOpened;
+	private final StripedCounter connectionsClosed;
+	/**
+	 * The number of statements executed, for each type of statement.
+	 */
+	private final StripedCounter[] executions;
+	private final StripedCounter errors;
+	private final StripedCounter executionNanos;
+	/**
+	 * A <code>long</code> that is the value of <code>System.nanoTime()</code>
+	 * when the statistics were started or reset.
+	 */
+	private volatile long startNanos;
+
+	/**
+	 * An <code>int</code> that is the maximum number of fingerprints
+	 * in {@link #slowest}.
+	 */
+	private final int slowestCount;
+	/**
+	 * A <code>Map</code> associating the slowest fingerprints to their maximum
+	 * execution time in nanoseconds. Access must be synchronized on it.
+	 */
+	private final Map<String, Long> slowest;
+	/**
+	 * A <code>long</code> that is the execution time in nanoseconds under which
+	 * a statement cannot enter {@link #slowest}: the smallest time in it when it is full,
+	 * 0 otherwise.
+	 */
+	private volatile long slowestThresholdNanos;
+
+	/**
+	 * @param slowestCount 	An <code>int</code> that is the number of slowest fingerprints
+	 * 						retained.
+	 */
+	JdbcStatistics(int slowestCount)
+	{
+		this.connectionsOpened = new StripedCounter();
+		this.connectionsClosed = new StripedCounter();
+		this.executions = new StripedCounter[BATCH + 1];
+		for (int i = 0; i < this.executions.length; i++) {
+			this.executions[i] = new StripedCounter();
+		}
+		this.errors = new StripedCounter();
+		this.executionNanos = new StripedCounter();
+		this.startNanos = System.nanoTime();
+		this.slowestCount = Math.max(slowestCount, 0);
+		this.slowest = new HashMap<String, Long>();
+		this.slowestThresholdNanos = 0;
+	}
+
+	/**
+	 * Record that a connection was opened.
+	 */
+	void connectionOpened()
+	{
+		this.connectionsOpened.increment();
+	}
+
+	/**
+	 * Record that a connection was closed.
+	 */
+	void connectionClosed()
+	{
+		this.connectionsClosed.increment();
+	}
+
+	/**
+	 * Record the successful execution of a statement, or of a batch.
+	 *
+	 * @param sql 				A <code>String</code> that is the SQL executed,
+	 * 							with placeholders for the statements of a
+	 * 							<code>PreparedStatement</code>, <code>null</code>
+	 * 							for a batch.
+	 * @param parameterized 	A <code>boolean</code> that is <code>true</code> if
+	 * 							<code>sql</code> has placeholders rather than literal
+	 * 							values, so that it is used as is as fingerprint.
+	 * @param execNanos 		A <code>long</code> that is the execution time
+	 * 							in nanoseconds.
+	 */
+	void executed(String sql, boolean parameterized, long execNanos)
+	{
+		this.executions[sql == null ? BATCH : getType(sql)].increment();
+		this.executionNanos.add(execNanos);
+		if (sql != null && this.slowestCount > 0 && execNanos > this.slowestThresholdNanos) {
+			this.recordSlowest(parameterized ? sql : SqlFingerprint.normalize(sql), execNanos);
+		}
+	}
+
+	/**
+	 * Record that the execution of a statement failed.
+	 */
+	void failed()
+	{
+		this.errors.increment();
+	}
+
+	/**
+	 * @param fingerprint 	A <code>String</code> that is the fingerprint of a statement
+	 * 						slower than the slowest fingerprints, or than one of them.
+	 * @param execNanos 	A <code>long</code> that is the execution time of the statement
+	 * 						in nanoseconds.
+	 */
+	private void recordSlowest(String fingerprint, long execNanos)
+	{
+		synchronized (this.slowest) {
+			Long previous = this.slowest.get(fingerprint);
+			if (previous != null && previous.longValue() >= execNanos) {
+				return;
+			}
+			this.slowest.put(fingerprint, Long.valueOf(execNanos));
+			if (this.slowest.size() < this.slowestCount) {
+				return;
+			}
+			//evict the fastest fingerprint if there are too many,
+			//and update the threshold to enter the slowest fingerprints
+			String fastest = null;
+			long fastestNanos = Long.MAX_VALUE;
+			for (Map.Entry<String, Long> entry: this.slowest.entrySet()) {
+				if (entry.getValue().longValue() < fastestNanos) {
+					fastest = entry.getKey();
+					fastestNanos = entry.getValue().longValue();
+				}
+			}
+			if (this.slowest.size() > this.slowestCount) {
+				this.slowest.remove(fastest);
+				fastestNanos = Long.MAX_VALUE;
+				for (Long nanos: this.slowest.values()) {
+					fastestNanos = Math.min(fastestNanos, nanos.longValue());
+				}
+			}
+			this.slowestThresholdNanos = fastestNanos;
+		}
+	}
+
+	/**
+	 * @param sql 	A <code>String</code> that is a SQL statement.
+	 * @return 		An <code>int</code> that is the type of <code>sql</code>,
+	 * 				identified by its first keyword, {@link #OTHER} if not recognized.
+	 */
+	private static int getType(String sql)
+	{
+		int start = 0;
+		int length = sql.length();
+		while (start < length && Character.isWhitespace(sql.charAt(start))) {
+			start++;
+		}
+		for (int type = 0; type < KEYWORDS.length; type++) {
+			if (sql.regionMatches(true, start, KEYWORDS[type], 0, KEYWORDS[type].length())) {
+				return type;
+			}
+		}
+		return OTHER;
+	}
+
+	/**
+	 * @param count 	A <code>long</code> that is a number of events.
+	 * @return 			A <code>double</code> that is the number of events per second
+	 * 					since the statistics were started or reset.
+	 */
+	private double getRate(long count)
+	{
+		long elapsed = System.nanoTime() - this.startNanos;
+		if (elapsed <= 0) {
+			return 0;
+		}
+		return (double) count * TimeUnit.SECONDS.toNanos(1) / elapsed;
+	}
+
+	@Override
+	public int getOpenConnectionCount()
+	{
+		return ConnectionSpy.getOpenConnectionsCount();
+	}
+
+	@Override
+	public long getConnectionOpenCount()
+	{
+		return this.connectionsOpened.sum();
+	}
+
+	@Override
+	public long getConnectionCloseCount()
+	{
+		return this.connectionsClosed.sum();
+	}
+
+	@Override
+	public double getConnectionOpenRate()
+	{
+		return this.getRate(this.getConnectionOpenCount());
+	}
+
+	@Override
+	public double getConnectionCloseRate()
+	{
+		return this.getRate(this.getConnectionCloseCount());
+	}
+
+	@Override
+	public long getSelectCount()
+	{
+		return this.executions[SELECT].sum();
+	}
+
+	@Override
+	public long getInsertCount()
+	{
+		return this.executions[INSERT].sum();
+	}
+
+	@Override
+	public long getUpdateCount()
+	{
+		return this.executions[UPDATE].sum();
+	}
+
+	@Override
+	public long getDeleteCount()
+	{
+		return this.executions[DELETE].sum();
+	}
+
+	@Override
+	public long getCreateCount()
+	{
+		return this.executions[CREATE].sum();
+	}
+
+	@Override
+	public long getOtherCount()
+	{
+		return this.executions[OTHER].sum();
+	}
+
+	@Override
+	public long getBatchCount()
+	{
+		return this.executions[BATCH].sum();
+	}
+
+	@Override
+	public long getErrorCount()
+	{
+		return this.errors.sum();
+	}
+
+	@Override
+	public double getTotalExecutionTimeMillis()
+	{
+		return this.executionNanos.sum() / 1e6;
+	}
+
+	@Override
+	public String[] getSlowestStatements()
+	{
+		List<Map.Entry<String, Long>> entries;
+		synchronized (this.slowest) {
+			entries = new ArrayList<Map.Entry<String, Long>>(
+					new HashMap<String, Long>(this.slowest).entrySet());
+		}
+		Collections.sort(entries, new Comparator<Map.Entry<String, Long>>() {
+			@Override
+			public int compare(Map.Entry<String, Long> e1, Map.Entry<String, Long> e2)
+			{
+				return e2.getValue().compareTo(e1.getValue());
+			}
+		});
+		String[] descriptions = new String[entries.size()];
+		for (int i = 0; i < descriptions.length; i++) {
+			Map.Entry<String, Long> entry = entries.get(i);
+			descriptions[i] = String.format(Locale.ENGLISH, "%.3f ms: %s",
+					entry.getValue().longValue() / 1e6, entry.getKey());
+		}
+		return descriptions;
+	}
+
+	@Override
+	public void reset()
+	{
+		this.connectionsOpened.reset();
+		this.connectionsClosed.reset();
+		for (StripedCounter counter: this.executions) {
+			counter.reset();
+		}
+		this.errors.reset();
+		this.executionNanos.reset();
+		synchronized (this.slowest) {
+			this.slowest.clear();
+			this.slowestThresholdNanos = 0;
+		}
+		this.startNanos = System.nanoTime();
+	}
+}
@@ -38,9 +38,11 @@ import java.util.Calendar;
 import java.util.Map;
 
 import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.MethodCall;
 import net.sf.log4jdbc.sql.Spy;
 import net.sf.log4jdbc.sql.resultsetcollector.DefaultResultSetCollector;
 import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollector;
+import net.sf.log4jdbc.sql.resultsetcollector.ResultSetMethod;
 
 /**
  * Wraps a ResultSet and reports method calls, returns and exceptions.
@@ -65,7 +67,7 @@ public class ResultSetSpy implements ResultSet, Spy
    * @param methodCall description of method call and arguments passed to it that generated the exception.
    * @param exception exception that was generated
    */
-  protected void reportException(String methodCall, SQLException exception)
+  protected void reportException(CharSequence methodCall, SQLException exception)
   {
     log.exceptionOccured(this, methodCall, exception, null, -1L);
   }
@@ -90,14 +92,16 @@ public class ResultSetSpy implements ResultSet, Spy
    * @param methodCall description of method call and arguments passed to it that returned.
    * @param msg description of what the return value that was returned.  may be an empty String for void return types.
    */
-  protected void reportAllReturns(String methodCall, Object returnValue, Object... methodParams)
+  protected void reportAllReturns(ResultSetMethod method, CharSequence methodCall, 
+      Object returnValue, Object... methodParams)
   {
                 
     if (resultSetCollector != null)
     {
      
       // Give the result set collector a chance to do its work
-      boolean finished = resultSetCollector.methodReturned(this, methodCall, returnValue, realResultSet, methodParams);
+      boolean finished = resultSetCollector.methodReturned(this, method, methodCall, 
+              returnValue, realResultSet, methodParams);
       if (finished)
       {
                 
@@ -106,6 +110,10 @@ public class ResultSetSpy implements ResultSet, Spy
       }
     }
     
+    if (!log.isResultSetLoggingEnabled())
+    {
+      return;
+    }
     String toString = "void";
     if (returnValue != null) {
     	toString = returnValue.toString();
@@ -113,6 +121,21 @@ public class ResultSetSpy implements ResultSet, Spy
     log.methodReturned(this, methodCall, toString);
   }  
 
+  /**
+   * Determine whether the returns of the methods called on this <code>ResultSetSpy</code> 
+   * need to be reported, either to be collected by the <code>ResultSetCollector</code>, 
+   * or to be logged. When they do not, the getters do not call 
+   * {@link #reportReturn(CharSequence, Object, Object...)}, so that they do not create 
+   * any object (no method call description, no boxing of primitive values, 
+   * no array of parameters).
+   * 
+   * @return 	<code>true</code> if the returns of the methods need to be reported.
+   */
+  private boolean isReturnReportingEnabled()
+  {
+    return resultSetCollector != null || log.isResultSetLoggingEnabled();
+  }
+
   private ResultSet realResultSet;
 
   /**
@@ -187,9 +210,25 @@ public class ResultSetSpy implements ResultSet, Spy
    * @param value return T.
    * @return the return Object as passed in.
    */  
-  protected <T> T reportReturn(String methodCall, T returnValue, Object... args)
+  protected <T> T reportReturn(CharSequence methodCall, T returnValue, Object... args)
+  {
+    reportAllReturns(ResultSetMethod.OTHER, methodCall, returnValue, args);
+    return returnValue;
+  }  
+
+  /**
+   * Conveniance method to report (for logging) that a method returned an Object, 
+   * identifying the method for the <code>ResultSetCollector</code>.
+   *
+   * @param method the <code>ResultSetMethod</code> identifying the method.
+   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param value return T.
+   * @return the return Object as passed in.
+   */  
+  protected <T> T reportReturn(ResultSetMethod method, CharSequence methodCall, T returnValue, 
+      Object... args)
   {
-    reportAllReturns(methodCall, returnValue, args);
+    reportAllReturns(method, methodCall, returnValue, args);
     return returnValue;
   }  
 
@@ -198,7 +237,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateAsciiStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateAsciiStream", columnIndex, x, length);
     try
     {
       realResultSet.updateAsciiStream(columnIndex, x, length);
@@ -214,7 +253,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateAsciiStream(String columnName, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateAsciiStream(" + columnName + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateAsciiStream", columnName, x, length);
     try
     {
       realResultSet.updateAsciiStream(columnName, x, length);
@@ -261,14 +300,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Time getTime(int columnIndex) throws SQLException
   {
-    String methodCall = "getTime(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTime(columnIndex), columnIndex);
+      Time value = realResultSet.getTime(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTime", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTime", columnIndex), s);
       throw s;
     }
   }
@@ -276,14 +319,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Time getTime(String columnName) throws SQLException
   {
-    String methodCall = "getTime(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTime(columnName), columnName);
+      Time value = realResultSet.getTime(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTime", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTime", columnName), s);
       throw s;
     }
   }
@@ -291,14 +338,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Time getTime(int columnIndex, Calendar cal) throws SQLException
   {
-    String methodCall = "getTime(" + columnIndex + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTime(columnIndex, cal), columnIndex, cal);
+      Time value = realResultSet.getTime(columnIndex, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTime", columnIndex, cal), value, columnIndex, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTime", columnIndex, cal), s);
       throw s;
     }
   }
@@ -306,14 +357,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Time getTime(String columnName, Calendar cal) throws SQLException
   {
-    String methodCall = "getTime(" + columnName + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTime(columnName, cal), columnName, cal);
+      Time value = realResultSet.getTime(columnName, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTime", columnName, cal), value, columnName, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTime", columnName, cal), s);
       throw s;
     }
   }
@@ -321,7 +376,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public boolean absolute(int row) throws SQLException
   {
-    String methodCall = "absolute(" + row + ")";
+    MethodCall methodCall = new MethodCall("absolute", row);
     try
     {
       return reportReturn(methodCall, realResultSet.absolute(row), row);
@@ -336,14 +391,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Timestamp getTimestamp(int columnIndex) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTimestamp(columnIndex), columnIndex);
+      Timestamp value = realResultSet.getTimestamp(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTimestamp", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTimestamp", columnIndex), s);
       throw s;
     }
   }
@@ -351,14 +410,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Timestamp getTimestamp(String columnName) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTimestamp(columnName), columnName);
+      Timestamp value = realResultSet.getTimestamp(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTimestamp", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTimestamp", columnName), s);
       throw s;
     }
 
@@ -367,14 +430,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnIndex + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTimestamp(columnIndex, cal), columnIndex, cal);
+      Timestamp value = realResultSet.getTimestamp(columnIndex, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTimestamp", columnIndex, cal), value, columnIndex, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTimestamp", columnIndex, cal), s);
       throw s;
     }
 
@@ -383,15 +450,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Timestamp getTimestamp(String columnName, Calendar cal) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnName + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getTimestamp(columnName, cal), 
-    		  columnName, cal);
+      Timestamp value = realResultSet.getTimestamp(columnName, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getTimestamp", columnName, cal), value, columnName, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getTimestamp", columnName, cal), s);
       throw s;
     }
   }
@@ -415,7 +485,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public boolean relative(int rows) throws SQLException
   {
-    String methodCall = "relative(" + rows + ")";
+    MethodCall methodCall = new MethodCall("relative", rows);
     try
     {
       return reportReturn(methodCall, realResultSet.relative(rows), rows);
@@ -461,14 +531,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Ref getRef(int i) throws SQLException
   {
-    String methodCall = "getRef(" + i + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getRef(i), i);
+      Ref value = realResultSet.getRef(i);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getRef", i), value, i);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getRef", i), s);
       throw s;
     }
   }
@@ -476,7 +550,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateRef(int columnIndex, Ref x) throws SQLException
   {
-    String methodCall = "updateRef(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateRef", columnIndex, x);
     try
     {
       realResultSet.updateRef(columnIndex, x);
@@ -492,14 +566,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Ref getRef(String colName) throws SQLException
   {
-    String methodCall = "getRef(" + colName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getRef(colName), colName);
+      Ref value = realResultSet.getRef(colName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getRef", colName), value, colName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getRef", colName), s);
       throw s;
     }
   }
@@ -507,7 +585,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateRef(String columnName, Ref x) throws SQLException
   {
-    String methodCall = "updateRef(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateRef", columnName, x);
     try
     {
       realResultSet.updateRef(columnName, x);
@@ -523,14 +601,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Blob getBlob(int i) throws SQLException
   {
-    String methodCall = "getBlob(" + i + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBlob(i), i);
+      Blob value = realResultSet.getBlob(i);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBlob", i), value, i);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBlob", i), s);
       throw s;
     }
   }
@@ -538,7 +620,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateBlob(int columnIndex, Blob x) throws SQLException
   {
-    String methodCall = "updateBlob(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBlob", columnIndex, x);
     try
     {
       realResultSet.updateBlob(columnIndex, x);
@@ -554,14 +636,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Blob getBlob(String colName) throws SQLException
   {
-    String methodCall = "getBlob(" + colName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBlob(colName), colName);
+      Blob value = realResultSet.getBlob(colName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBlob", colName), value, colName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBlob", colName), s);
       throw s;
     }
   }
@@ -569,7 +655,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateBlob(String columnName, Blob x) throws SQLException
   {
-    String methodCall = "updateBlob(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBlob", columnName, x);
     try
     {
       realResultSet.updateBlob(columnName, x);
@@ -585,14 +671,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Clob getClob(int i) throws SQLException
   {
-    String methodCall = "getClob(" + i + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getClob(i), i);
+      Clob value = realResultSet.getClob(i);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getClob", i), value, i);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getClob", i), s);
       throw s;
     }
   }
@@ -600,7 +690,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateClob(int columnIndex, Clob x) throws SQLException
   {
-    String methodCall = "updateClob(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateClob", columnIndex, x);
     try
     {
       realResultSet.updateClob(columnIndex, x);
@@ -616,14 +706,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Clob getClob(String colName) throws SQLException
   {
-    String methodCall = "getClob(" + colName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getClob(colName), colName);
+      Clob value = realResultSet.getClob(colName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getClob", colName), value, colName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getClob", colName), s);
       throw s;
     }
   }
@@ -631,7 +725,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateClob(String columnName, Clob x) throws SQLException
   {
-    String methodCall = "updateClob(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateClob", columnName, x);
     try
     {
       realResultSet.updateClob(columnName, x);
@@ -647,14 +741,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public boolean getBoolean(int columnIndex) throws SQLException
   {
-    String methodCall = "getBoolean(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBoolean(columnIndex), columnIndex);
+      boolean value = realResultSet.getBoolean(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBoolean", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBoolean", columnIndex), s);
       throw s;
     }
   }
@@ -662,14 +760,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public boolean getBoolean(String columnName) throws SQLException
   {
-    String methodCall = "getBoolean(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBoolean(columnName), columnName);
+      boolean value = realResultSet.getBoolean(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBoolean", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBoolean", columnName), s);
       throw s;
     }
   }
@@ -677,14 +779,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Array getArray(int i) throws SQLException
   {
-    String methodCall = "getArray(" + i + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getArray(i), i);
+      Array value = realResultSet.getArray(i);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getArray", i), value, i);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getArray", i), s);
       throw s;
     }
   }
@@ -692,7 +798,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateArray(int columnIndex, Array x) throws SQLException
   {
-    String methodCall = "updateArray(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateArray", columnIndex, x);
     try
     {
       realResultSet.updateArray(columnIndex, x);
@@ -708,14 +814,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Array getArray(String colName) throws SQLException
   {
-    String methodCall = "getArray(" + colName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getArray(colName), colName);
+      Array value = realResultSet.getArray(colName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getArray", colName), value, colName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getArray", colName), s);
       throw s;
     }
   }
@@ -723,7 +833,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateArray(String columnName, Array x) throws SQLException
   {
-    String methodCall = "updateArray(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateArray", columnName, x);
     try
     {
       realResultSet.updateArray(columnName, x);
@@ -738,35 +848,43 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public RowId getRowId(int columnIndex) throws SQLException {
-    String methodCall = "getRowId(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getRowId(columnIndex), columnIndex);
+      RowId value = realResultSet.getRowId(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getRowId", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getRowId", columnIndex), s);
       throw s;
     }
   }
 
   @Override
   public RowId getRowId(String columnLabel) throws SQLException {
-    String methodCall = "getRowId(" + columnLabel + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getRowId(columnLabel), columnLabel);
+      RowId value = realResultSet.getRowId(columnLabel);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getRowId", columnLabel), value, columnLabel);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getRowId", columnLabel), s);
       throw s;
     }
   }
 
   @Override
   public void updateRowId(int columnIndex, RowId x) throws SQLException {
-    String methodCall = "updateRowId(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateRowId", columnIndex, x);
     try
     {
       realResultSet.updateRowId(columnIndex, x);
@@ -781,7 +899,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateRowId(String columnLabel, RowId x) throws SQLException {
-    String methodCall = "updateRowId(" + columnLabel + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateRowId", columnLabel, x);
     try
     {
       realResultSet.updateRowId(columnLabel, x);
@@ -824,7 +942,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNString(int columnIndex, String nString) throws SQLException {
-    String methodCall = "updateNString(" + columnIndex + ", " + nString + ")";
+    MethodCall methodCall = new MethodCall("updateNString", columnIndex, nString);
     try
     {
       realResultSet.updateNString(columnIndex, nString);
@@ -839,7 +957,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNString(String columnLabel, String nString) throws SQLException {
-    String methodCall = "updateNString(" + columnLabel + ", " + nString + ")";
+    MethodCall methodCall = new MethodCall("updateNString", columnLabel, nString);
     try
     {
       realResultSet.updateNString(columnLabel, nString);
@@ -854,7 +972,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
-    String methodCall = "updateNClob(" + columnIndex + ", " + nClob + ")";
+    MethodCall methodCall = new MethodCall("updateNClob", columnIndex, nClob);
     try
     {
       realResultSet.updateNClob(columnIndex, nClob);
@@ -869,7 +987,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
-    String methodCall = "updateNClob(" + columnLabel + ", " + nClob + ")";
+    MethodCall methodCall = new MethodCall("updateNClob", columnLabel, nClob);
     try
     {
       realResultSet.updateNClob(columnLabel, nClob);
@@ -884,63 +1002,79 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public NClob getNClob(int columnIndex) throws SQLException {
-    String methodCall = "getNClob(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getNClob(columnIndex), columnIndex);
+      NClob value = realResultSet.getNClob(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getNClob", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getNClob", columnIndex), s);
       throw s;
     }
   }
 
   @Override
   public NClob getNClob(String columnLabel) throws SQLException {
-    String methodCall = "getNClob(" + columnLabel + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getNClob(columnLabel), columnLabel);
+      NClob value = realResultSet.getNClob(columnLabel);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getNClob", columnLabel), value, columnLabel);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getNClob", columnLabel), s);
       throw s;
     }
   }
 
   @Override
   public SQLXML getSQLXML(int columnIndex) throws SQLException {
-    String methodCall = "getSQLXML(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getSQLXML(columnIndex), columnIndex);
+      SQLXML value = realResultSet.getSQLXML(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getSQLXML", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getSQLXML", columnIndex), s);
       throw s;
     }
   }
 
   @Override
   public SQLXML getSQLXML(String columnLabel) throws SQLException {
-    String methodCall = "getSQLXML(" + columnLabel + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getSQLXML(columnLabel), columnLabel);
+      SQLXML value = realResultSet.getSQLXML(columnLabel);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getSQLXML", columnLabel), value, columnLabel);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getSQLXML", columnLabel), s);
       throw s;
     }
   }
 
   @Override
   public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
-    String methodCall = "updateSQLXML(" + columnIndex + ", " + xmlObject + ")";
+    MethodCall methodCall = new MethodCall("updateSQLXML", columnIndex, xmlObject);
     try
     {
       realResultSet.updateSQLXML(columnIndex, xmlObject);
@@ -955,7 +1089,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
-    String methodCall = "updateSQLXML(" + columnLabel + ", " + xmlObject + ")";
+    MethodCall methodCall = new MethodCall("updateSQLXML", columnLabel, xmlObject);
     try
     {
       realResultSet.updateSQLXML(columnLabel, xmlObject);
@@ -970,63 +1104,79 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public String getNString(int columnIndex) throws SQLException {
-    String methodCall = "getNString(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getNString(columnIndex), columnIndex);
+      String value = realResultSet.getNString(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getNString", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getNString", columnIndex), s);
       throw s;
     }
   }
 
   @Override
   public String getNString(String columnLabel) throws SQLException {
-    String methodCall = "getNString(" + columnLabel + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getNString(columnLabel), columnLabel);
+      String value = realResultSet.getNString(columnLabel);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getNString", columnLabel), value, columnLabel);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getNString", columnLabel), s);
       throw s;
     }
   }
 
   @Override
   public Reader getNCharacterStream(int columnIndex) throws SQLException {
-    String methodCall = "getNCharacterStream(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getNCharacterStream(columnIndex), columnIndex);
+      Reader value = realResultSet.getNCharacterStream(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getNCharacterStream", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getNCharacterStream", columnIndex), s);
       throw s;
     }
   }
 
   @Override
   public Reader getNCharacterStream(String columnLabel) throws SQLException {
-    String methodCall = "getNCharacterStream(" + columnLabel + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getNCharacterStream(columnLabel), columnLabel);
+      Reader value = realResultSet.getNCharacterStream(columnLabel);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getNCharacterStream", columnLabel), value, columnLabel);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getNCharacterStream", columnLabel), s);
       throw s;
     }
   }
 
   @Override
   public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
-    String methodCall = "updateNCharacterStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateNCharacterStream", columnIndex, x, length);
     try
     {
       realResultSet.updateNCharacterStream(columnIndex, x, length);
@@ -1041,7 +1191,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
-    String methodCall = "updateNCharacterStream(" + columnLabel + ", " + reader + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateNCharacterStream", columnLabel, reader, length);
     try
     {
       realResultSet.updateNCharacterStream(columnLabel, reader, length);
@@ -1056,7 +1206,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
-    String methodCall = "updateAsciiStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateAsciiStream", columnIndex, x, length);
     try
     {
       realResultSet.updateAsciiStream(columnIndex, x, length);
@@ -1071,7 +1221,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
-    String methodCall = "updateBinaryStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateBinaryStream", columnIndex, x, length);
     try
     {
       realResultSet.updateBinaryStream(columnIndex, x, length);
@@ -1086,7 +1236,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
-    String methodCall = "updateCharacterStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateCharacterStream", columnIndex, x, length);
     try
     {
       realResultSet.updateCharacterStream(columnIndex, x, length);
@@ -1101,7 +1251,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
-    String methodCall = "updateAsciiStream(" + columnLabel + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateAsciiStream", columnLabel, x, length);
     try
     {
       realResultSet.updateAsciiStream(columnLabel, x, length);
@@ -1116,7 +1266,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
-    String methodCall = "updateBinaryStream(" + columnLabel + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateBinaryStream", columnLabel, x, length);
     try
     {
       realResultSet.updateBinaryStream(columnLabel, x, length);
@@ -1131,7 +1281,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
-    String methodCall = "updateCharacterStream(" + columnLabel + ", " + reader + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateCharacterStream", columnLabel, reader, length);
     try
     {
       realResultSet.updateCharacterStream(columnLabel, reader, length);
@@ -1146,7 +1296,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
-    String methodCall = "updateBlob(" + columnIndex + ", " + inputStream + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateBlob", columnIndex, inputStream, length);
     try
     {
       realResultSet.updateBlob(columnIndex, inputStream, length);
@@ -1161,7 +1311,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
-    String methodCall = "updateBlob(" + columnLabel + ", " + inputStream + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateBlob", columnLabel, inputStream, length);
     try
     {
       realResultSet.updateBlob(columnLabel, inputStream, length);
@@ -1176,7 +1326,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "updateClob(" + columnIndex + ", " + reader + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateClob", columnIndex, reader, length);
     try
     {
       realResultSet.updateClob(columnIndex, reader, length);
@@ -1191,7 +1341,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
-    String methodCall = "updateClob(" + columnLabel + ", " + reader + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateClob", columnLabel, reader, length);
     try
     {
       realResultSet.updateClob(columnLabel, reader, length);
@@ -1206,7 +1356,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "updateNClob(" + columnIndex + ", " + reader + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateNClob", columnIndex, reader, length);
     try
     {
       realResultSet.updateNClob(columnIndex, reader, length);
@@ -1221,7 +1371,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
-    String methodCall = "updateNClob(" + columnLabel + ", " + reader + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateNClob", columnLabel, reader, length);
     try
     {
       realResultSet.updateNClob(columnLabel, reader, length);
@@ -1236,7 +1386,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNCharacterStream(int columnIndex, Reader reader) throws SQLException {
-    String methodCall = "updateNCharacterStream(" + columnIndex + ", " + reader + ")";
+    MethodCall methodCall = new MethodCall("updateNCharacterStream", columnIndex, reader);
     try
     {
       realResultSet.updateNCharacterStream(columnIndex, reader);
@@ -1251,7 +1401,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
-    String methodCall = "updateNCharacterStream(" + columnLabel + ", " + reader + ")";
+    MethodCall methodCall = new MethodCall("updateNCharacterStream", columnLabel, reader);
     try
     {
       realResultSet.updateNCharacterStream(columnLabel, reader);
@@ -1266,7 +1416,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
-    String methodCall = "updateAsciiStream(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateAsciiStream", columnIndex, x);
     try
     {
       realResultSet.updateAsciiStream(columnIndex, x);
@@ -1281,7 +1431,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
-    String methodCall = "updateBinaryStream(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBinaryStream", columnIndex, x);
     try
     {
       realResultSet.updateBinaryStream(columnIndex, x);
@@ -1296,7 +1446,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
-    String methodCall = "updateCharacterStream(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateCharacterStream", columnIndex, x);
     try
     {
       realResultSet.updateCharacterStream(columnIndex, x);
@@ -1311,7 +1461,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
-    String methodCall = "updateAsciiStream(" + columnLabel + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateAsciiStream", columnLabel, x);
     try
     {
       realResultSet.updateAsciiStream(columnLabel, x);
@@ -1326,7 +1476,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
-    String methodCall = "updateBinaryStream(" + columnLabel + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBinaryStream", columnLabel, x);
     try
     {
       realResultSet.updateBinaryStream(columnLabel, x);
@@ -1341,7 +1491,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
-    String methodCall = "updateCharacterStream(" + columnLabel + ", " + reader + ")";
+    MethodCall methodCall = new MethodCall("updateCharacterStream", columnLabel, reader);
     try
     {
       realResultSet.updateCharacterStream(columnLabel, reader);
@@ -1356,7 +1506,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
-    String methodCall = "updateBlob(" + columnIndex + ", " + inputStream + ")";
+    MethodCall methodCall = new MethodCall("updateBlob", columnIndex, inputStream);
     try
     {
       realResultSet.updateBlob(columnIndex, inputStream);
@@ -1371,7 +1521,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
-    String methodCall = "updateBlob(" + columnLabel + ", " + inputStream + ")";
+    MethodCall methodCall = new MethodCall("updateBlob", columnLabel, inputStream);
     try
     {
       realResultSet.updateBlob(columnLabel, inputStream);
@@ -1386,7 +1536,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateClob(int columnIndex, Reader reader) throws SQLException {
-    String methodCall = "updateClob(" + columnIndex + ", " + reader + ")";
+    MethodCall methodCall = new MethodCall("updateClob", columnIndex, reader);
     try
     {
       realResultSet.updateClob(columnIndex, reader);
@@ -1401,7 +1551,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateClob(String columnLabel, Reader reader) throws SQLException {
-    String methodCall = "updateClob(" + columnLabel + ", " + reader + ")";
+    MethodCall methodCall = new MethodCall("updateClob", columnLabel, reader);
     try
     {
       realResultSet.updateClob(columnLabel, reader);
@@ -1416,7 +1566,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNClob(int columnIndex, Reader reader) throws SQLException {
-    String methodCall = "updateNClob(" + columnIndex + ", " + reader + ")";
+    MethodCall methodCall = new MethodCall("updateNClob", columnIndex, reader);
     try
     {
       realResultSet.updateNClob(columnIndex, reader);
@@ -1431,7 +1581,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public void updateNClob(String columnLabel, Reader reader) throws SQLException {
-    String methodCall = "updateNClob(" + columnLabel + ", " + reader + ")";
+    MethodCall methodCall = new MethodCall("updateNClob", columnLabel, reader);
     try
     {
       realResultSet.updateNClob(columnLabel, reader);
@@ -1462,14 +1612,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public short getShort(int columnIndex) throws SQLException
   {
-    String methodCall = "getShort(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getShort(columnIndex), columnIndex);
+      short value = realResultSet.getShort(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getShort", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getShort", columnIndex), s);
       throw s;
     }
   }
@@ -1477,14 +1631,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public short getShort(String columnName) throws SQLException
   {
-    String methodCall = "getShort(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getShort(columnName), columnName);
+      short value = realResultSet.getShort(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getShort", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getShort", columnName), s);
       throw s;
     }
   }
@@ -1492,14 +1650,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public int getInt(int columnIndex) throws SQLException
   {
-    String methodCall = "getInt(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getInt(columnIndex), columnIndex);
+      int value = realResultSet.getInt(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getInt", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getInt", columnIndex), s);
       throw s;
     }
   }
@@ -1507,14 +1669,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public int getInt(String columnName) throws SQLException
   {
-    String methodCall = "getInt(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getInt(columnName), columnName);
+      int value = realResultSet.getInt(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getInt", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getInt", columnName), s);
       throw s;
     }
   }
@@ -1536,7 +1702,7 @@ public class ResultSetSpy implements ResultSet, Spy
     	if (resultSetCollector != null)
         {
           // Give the result set collector a chance to fill in unread values from the result set row if that option has been selected
-          resultSetCollector.preMethod(this, methodCall, (Object[]) null);
+          resultSetCollector.preMethod(this, ResultSetMethod.CLOSE, methodCall, (Object[]) null);
         }
     	
         realResultSet.close();
@@ -1546,7 +1712,7 @@ public class ResultSetSpy implements ResultSet, Spy
       reportException(methodCall, s);
       throw s;
     }
-    reportReturn(methodCall, (Object[]) null);
+    reportReturn(ResultSetMethod.CLOSE, methodCall, (Object[]) null);
   }
 
   @Override
@@ -1555,7 +1721,8 @@ public class ResultSetSpy implements ResultSet, Spy
     String methodCall = "getMetaData()";
     try
     {
-      return reportReturn(methodCall, realResultSet.getMetaData(), (Object[]) null);
+      return reportReturn(ResultSetMethod.GET_META_DATA, methodCall, realResultSet.getMetaData(), 
+          (Object[]) null);
     }
     catch (SQLException s)
     {
@@ -1582,14 +1749,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public double getDouble(int columnIndex) throws SQLException
   {
-    String methodCall = "getDouble(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDouble(columnIndex), columnIndex);
+      double value = realResultSet.getDouble(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDouble", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDouble", columnIndex), s);
       throw s;
     }
   }
@@ -1597,14 +1768,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public double getDouble(String columnName) throws SQLException
   {
-    String methodCall = "getDouble(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDouble(columnName), columnName);
+      double value = realResultSet.getDouble(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDouble", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDouble", columnName), s);
       throw s;
     }
   }
@@ -1658,14 +1833,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Date getDate(int columnIndex) throws SQLException
   {
-    String methodCall = "getDate(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDate(columnIndex), columnIndex);
+      Date value = realResultSet.getDate(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDate", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDate", columnIndex), s);
       throw s;
     }
   }
@@ -1673,14 +1852,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Date getDate(String columnName) throws SQLException
   {
-    String methodCall = "getDate(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDate(columnName), columnName);
+      Date value = realResultSet.getDate(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDate", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDate", columnName), s);
       throw s;
     }
   }
@@ -1688,14 +1871,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Date getDate(int columnIndex, Calendar cal) throws SQLException
   {
-    String methodCall = "getDate(" + columnIndex + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDate(columnIndex, cal), columnIndex, cal);
+      Date value = realResultSet.getDate(columnIndex, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDate", columnIndex, cal), value, columnIndex, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDate", columnIndex, cal), s);
       throw s;
     }
 
@@ -1704,14 +1891,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Date getDate(String columnName, Calendar cal) throws SQLException
   {
-    String methodCall = "getDate(" + columnName + ", " + cal + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getDate(columnName, cal), columnName, cal);
+      Date value = realResultSet.getDate(columnName, cal);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getDate", columnName, cal), value, columnName, cal);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getDate", columnName, cal), s);
       throw s;
     }
   }
@@ -1764,7 +1955,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateNull(int columnIndex) throws SQLException
   {
-    String methodCall = "updateNull(" + columnIndex + ")";
+    MethodCall methodCall = new MethodCall("updateNull", columnIndex);
     try
     {
       realResultSet.updateNull(columnIndex);
@@ -1780,7 +1971,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateNull(String columnName) throws SQLException
   {
-    String methodCall = "updateNull(" + columnName + ")";
+    MethodCall methodCall = new MethodCall("updateNull", columnName);
     try
     {
       realResultSet.updateNull(columnName);
@@ -1796,7 +1987,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateShort(int columnIndex, short x) throws SQLException
   {
-    String methodCall = "updateShort(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateShort", columnIndex, x);
     try
     {
       realResultSet.updateShort(columnIndex, x);
@@ -1812,7 +2003,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateShort(String columnName, short x) throws SQLException
   {
-    String methodCall = "updateShort(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateShort", columnName, x);
     try
     {
       realResultSet.updateShort(columnName, x);
@@ -1828,7 +2019,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateBoolean(int columnIndex, boolean x) throws SQLException
   {
-    String methodCall = "updateBoolean(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBoolean", columnIndex, x);
     try
     {
       realResultSet.updateBoolean(columnIndex, x);
@@ -1844,7 +2035,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateBoolean(String columnName, boolean x) throws SQLException
   {
-    String methodCall = "updateBoolean(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBoolean", columnName, x);
     try
     {
       realResultSet.updateBoolean(columnName, x);
@@ -1860,7 +2051,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateByte(int columnIndex, byte x) throws SQLException
   {
-    String methodCall = "updateByte(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateByte", columnIndex, x);
     try
     {
       realResultSet.updateByte(columnIndex, x);
@@ -1876,7 +2067,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateByte(String columnName, byte x) throws SQLException
   {
-    String methodCall = "updateByte(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateByte", columnName, x);
     try
     {
       realResultSet.updateByte(columnName, x);
@@ -1892,7 +2083,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateInt(int columnIndex, int x) throws SQLException
   {
-    String methodCall = "updateInt(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateInt", columnIndex, x);
     try
     {
       realResultSet.updateInt(columnIndex, x);
@@ -1908,7 +2099,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateInt(String columnName, int x) throws SQLException
   {
-    String methodCall = "updateInt(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateInt", columnName, x);
     try
     {
       realResultSet.updateInt(columnName, x);
@@ -1924,15 +2115,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Object getObject(int columnIndex) throws SQLException
   {
-    String methodCall = "getObject(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getObject(columnIndex), new Object[]
-      { columnIndex });
+      Object value = realResultSet.getObject(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getObject", columnIndex), value, new Object[] { columnIndex });
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getObject", columnIndex), s);
       throw s;
     }
   }
@@ -1940,15 +2134,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Object getObject(String columnName) throws SQLException
   {
-    String methodCall = "getObject(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getObject(columnName), new Object[]
-      { columnName });
+      Object value = realResultSet.getObject(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getObject", columnName), value, new Object[] { columnName });
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getObject", columnName), s);
       throw s;
     }
   }
@@ -1956,15 +2153,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Object getObject(String colName, Map<String, Class<?>> map) throws SQLException
   {
-    String methodCall = "getObject(" + colName + ", " + map + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getObject(colName, map), new Object[]
-      { colName, map });
+      Object value = realResultSet.getObject(colName, map);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getObject", colName, map), value, new Object[] { colName, map });
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getObject", colName, map), s);
       throw s;
     }
   }
@@ -1978,9 +2178,9 @@ public class ResultSetSpy implements ResultSet, Spy
       if (resultSetCollector != null)
       {
         // Give the result set collector a chance to fill in unread values from the result set row if that option has been selected
-        resultSetCollector.preMethod(this, methodCall, (Object[]) null);
+        resultSetCollector.preMethod(this, ResultSetMethod.NEXT, methodCall, (Object[]) null);
       }
-      return reportReturn(methodCall, realResultSet.next(), (Object[]) null);
+      return reportReturn(ResultSetMethod.NEXT, methodCall, realResultSet.next(), (Object[]) null);
     }
     catch (SQLException s)
     {
@@ -1992,7 +2192,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateLong(int columnIndex, long x) throws SQLException
   {
-    String methodCall = "updateLong(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateLong", columnIndex, x);
     try
     {
       realResultSet.updateLong(columnIndex, x);
@@ -2008,7 +2208,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateLong(String columnName, long x) throws SQLException
   {
-    String methodCall = "updateLong(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateLong", columnName, x);
     try
     {
       realResultSet.updateLong(columnName, x);
@@ -2024,7 +2224,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateFloat(int columnIndex, float x) throws SQLException
   {
-    String methodCall = "updateFloat(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateFloat", columnIndex, x);
     try
     {
       realResultSet.updateFloat(columnIndex, x);
@@ -2041,7 +2241,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateFloat(String columnName, float x) throws SQLException
   {
-    String methodCall = "updateFloat(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateFloat", columnName, x);
     try
     {
       realResultSet.updateFloat(columnName, x);
@@ -2057,7 +2257,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateDouble(int columnIndex, double x) throws SQLException
   {
-    String methodCall = "updateDouble(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateDouble", columnIndex, x);
     try
     {
       realResultSet.updateDouble(columnIndex, x);
@@ -2073,7 +2273,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateDouble(String columnName, double x) throws SQLException
   {
-    String methodCall = "updateDouble(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateDouble", columnName, x);
     try
     {
       realResultSet.updateDouble(columnName, x);
@@ -2096,15 +2296,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException
   {
-    String methodCall = "getObject(" + columnIndex + ", " + map + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getObject(columnIndex, map), new Object[]
-      { columnIndex, map });
+      Object value = realResultSet.getObject(columnIndex, map);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getObject", columnIndex, map), value, new Object[] { columnIndex, map });
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getObject", columnIndex, map), s);
       throw s;
     }
   }
@@ -2112,7 +2315,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateString(int columnIndex, String x) throws SQLException
   {
-    String methodCall = "updateString(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateString", columnIndex, x);
     try
     {
       realResultSet.updateString(columnIndex, x);
@@ -2128,7 +2331,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateString(String columnName, String x) throws SQLException
   {
-    String methodCall = "updateString(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateString", columnName, x);
     try
     {
       realResultSet.updateString(columnName, x);
@@ -2144,14 +2347,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public InputStream getAsciiStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getAsciiStream(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getAsciiStream(columnIndex), columnIndex);
+      InputStream value = realResultSet.getAsciiStream(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getAsciiStream", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getAsciiStream", columnIndex), s);
       throw s;
     }
   }
@@ -2159,14 +2366,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public InputStream getAsciiStream(String columnName) throws SQLException
   {
-    String methodCall = "getAsciiStream(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getAsciiStream(columnName), columnName);
+      InputStream value = realResultSet.getAsciiStream(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getAsciiStream", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getAsciiStream", columnName), s);
       throw s;
     }
   }
@@ -2174,7 +2385,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException
   {
-    String methodCall = "updateBigDecimal(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBigDecimal", columnIndex, x);
     try
     {
       realResultSet.updateBigDecimal(columnIndex, x);
@@ -2190,14 +2401,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public URL getURL(int columnIndex) throws SQLException
   {
-    String methodCall = "getURL(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getURL(columnIndex), columnIndex);
+      URL value = realResultSet.getURL(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getURL", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getURL", columnIndex), s);
       throw s;
     }
   }
@@ -2205,7 +2420,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateBigDecimal(String columnName, BigDecimal x) throws SQLException
   {
-    String methodCall = "updateBigDecimal(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBigDecimal", columnName, x);
     try
     {
       realResultSet.updateBigDecimal(columnName, x);
@@ -2221,14 +2436,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public URL getURL(String columnName) throws SQLException
   {
-    String methodCall = "getURL(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getURL(columnName), (Object[]) null);
+      URL value = realResultSet.getURL(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getURL", columnName), value, (Object[]) null);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getURL", columnName), s);
       throw s;
     }
   }
@@ -2237,7 +2456,7 @@ public class ResultSetSpy implements ResultSet, Spy
   public void updateBytes(int columnIndex, byte[] x) throws SQLException
   {
     // todo: dump array?
-    String methodCall = "updateBytes(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBytes", columnIndex, x);
     try
     {
       realResultSet.updateBytes(columnIndex, x);
@@ -2254,7 +2473,7 @@ public class ResultSetSpy implements ResultSet, Spy
   public void updateBytes(String columnName, byte[] x) throws SQLException
   {
     // todo: dump array?
-    String methodCall = "updateBytes(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateBytes", columnName, x);
     try
     {
       realResultSet.updateBytes(columnName, x);
@@ -2273,14 +2492,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public InputStream getUnicodeStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getUnicodeStream(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getUnicodeStream(columnIndex), columnIndex);
+      InputStream value = realResultSet.getUnicodeStream(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getUnicodeStream", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getUnicodeStream", columnIndex), s);
       throw s;
     }
   }
@@ -2291,14 +2514,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public InputStream getUnicodeStream(String columnName) throws SQLException
   {
-    String methodCall = "getUnicodeStream(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getUnicodeStream(columnName), columnName);
+      InputStream value = realResultSet.getUnicodeStream(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getUnicodeStream", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getUnicodeStream", columnName), s);
       throw s;
     }
   }
@@ -2306,7 +2533,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateDate(int columnIndex, Date x) throws SQLException
   {
-    String methodCall = "updateDate(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateDate", columnIndex, x);
     try
     {
       realResultSet.updateDate(columnIndex, x);
@@ -2321,7 +2548,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateDate(String columnName, Date x) throws SQLException
   {
-    String methodCall = "updateDate(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateDate", columnName, x);
     try
     {
       realResultSet.updateDate(columnName, x);
@@ -2367,14 +2594,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public InputStream getBinaryStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getBinaryStream(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBinaryStream(columnIndex), columnIndex);
+      InputStream value = realResultSet.getBinaryStream(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBinaryStream", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBinaryStream", columnIndex), s);
       throw s;
     }
   }
@@ -2382,14 +2613,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public InputStream getBinaryStream(String columnName) throws SQLException
   {
-    String methodCall = "getBinaryStream(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBinaryStream(columnName), columnName);
+      InputStream value = realResultSet.getBinaryStream(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBinaryStream", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBinaryStream", columnName), s);
       throw s;
     }
   }
@@ -2413,7 +2648,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException
   {
-    String methodCall = "updateTimestamp(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateTimestamp", columnIndex, x);
     try
     {
       realResultSet.updateTimestamp(columnIndex, x);
@@ -2429,7 +2664,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateTimestamp(String columnName, Timestamp x) throws SQLException
   {
-    String methodCall = "updateTimestamp(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateTimestamp", columnName, x);
     try
     {
       realResultSet.updateTimestamp(columnName, x);
@@ -2448,7 +2683,7 @@ public class ResultSetSpy implements ResultSet, Spy
     String methodCall = "first()";
     try
     {
-      return reportReturn(methodCall, realResultSet.first(), (Object[]) null);
+      return reportReturn(ResultSetMethod.FIRST, methodCall, realResultSet.first(), (Object[]) null);
     }
     catch (SQLException s)
     {
@@ -2475,7 +2710,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public int findColumn(String columnName) throws SQLException
   {
-    String methodCall = "findColumn(" + columnName + ")";
+    MethodCall methodCall = new MethodCall("findColumn", columnName);
     try
     {
       return reportReturn(methodCall, realResultSet.findColumn(columnName), columnName);
@@ -2493,7 +2728,8 @@ public class ResultSetSpy implements ResultSet, Spy
     String methodCall = "wasNull()";
     try
     {
-      return reportReturn(methodCall, realResultSet.wasNull(), (Object[]) null);
+      return reportReturn(ResultSetMethod.WAS_NULL, methodCall, realResultSet.wasNull(), 
+          (Object[]) null);
     }
     catch (SQLException s)
     {
@@ -2505,7 +2741,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateBinaryStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateBinaryStream", columnIndex, x, length);
     try
     {
       realResultSet.updateBinaryStream(columnIndex, x, length);
@@ -2521,7 +2757,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateBinaryStream(String columnName, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateBinaryStream(" + columnName + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateBinaryStream", columnName, x, length);
     try
     {
       realResultSet.updateBinaryStream(columnName, x, length);
@@ -2537,14 +2773,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public String getString(int columnIndex) throws SQLException
   {
-    String methodCall = "getString(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getString(columnIndex), columnIndex);
+      String value = realResultSet.getString(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getString", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getString", columnIndex), s);
       throw s;
     }
   }
@@ -2552,14 +2792,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public String getString(String columnName) throws SQLException
   {
-    String methodCall = "getString(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getString(columnName), columnName);
+      String value = realResultSet.getString(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getString", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getString", columnName), s);
       throw s;
     }
   }
@@ -2567,14 +2811,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Reader getCharacterStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getCharacterStream(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getCharacterStream(columnIndex), columnIndex);
+      Reader value = realResultSet.getCharacterStream(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getCharacterStream", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getCharacterStream", columnIndex), s);
       throw s;
     }
   }
@@ -2582,14 +2830,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public Reader getCharacterStream(String columnName) throws SQLException
   {
-    String methodCall = "getCharacterStream(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getCharacterStream(columnName), columnName);
+      Reader value = realResultSet.getCharacterStream(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getCharacterStream", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getCharacterStream", columnName), s);
       throw s;
     }
   }
@@ -2597,7 +2849,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void setFetchDirection(int direction) throws SQLException
   {
-    String methodCall = "setFetchDirection(" + direction + ")";
+    MethodCall methodCall = new MethodCall("setFetchDirection", direction);
     try
     {
       realResultSet.setFetchDirection(direction);
@@ -2613,7 +2865,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException
   {
-    String methodCall = "updateCharacterStream(" + columnIndex + ", " + x + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateCharacterStream", columnIndex, x, length);
     try
     {
       realResultSet.updateCharacterStream(columnIndex, x, length);
@@ -2629,7 +2881,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateCharacterStream(String columnName, Reader reader, int length) throws SQLException
   {
-    String methodCall = "updateCharacterStream(" + columnName + ", " + reader + ", " + length + ")";
+    MethodCall methodCall = new MethodCall("updateCharacterStream", columnName, reader, length);
     try
     {
       realResultSet.updateCharacterStream(columnName, reader, length);
@@ -2645,14 +2897,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public byte getByte(int columnIndex) throws SQLException
   {
-    String methodCall = "getByte(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getByte(columnIndex), columnIndex);
+      byte value = realResultSet.getByte(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getByte", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getByte", columnIndex), s);
       throw s;
     }
   }
@@ -2660,14 +2916,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public byte getByte(String columnName) throws SQLException
   {
-    String methodCall = "getByte(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getByte(columnName), columnName);
+      byte value = realResultSet.getByte(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getByte", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getByte", columnName), s);
       throw s;
     }
   }
@@ -2675,7 +2935,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateTime(int columnIndex, Time x) throws SQLException
   {
-    String methodCall = "updateTime(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateTime", columnIndex, x);
     try
     {
       realResultSet.updateTime(columnIndex, x);
@@ -2691,7 +2951,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateTime(String columnName, Time x) throws SQLException
   {
-    String methodCall = "updateTime(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateTime", columnName, x);
     try
     {
       realResultSet.updateTime(columnName, x);
@@ -2707,14 +2967,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public byte[] getBytes(int columnIndex) throws SQLException
   {
-    String methodCall = "getBytes(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBytes(columnIndex), columnIndex);
+      byte[] value = realResultSet.getBytes(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBytes", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBytes", columnIndex), s);
       throw s;
     }
   }
@@ -2722,14 +2986,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public byte[] getBytes(String columnName) throws SQLException
   {
-    String methodCall = "getBytes(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBytes(columnName), (Object[]) null);
+      byte[] value = realResultSet.getBytes(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBytes", columnName), value, (Object[]) null);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBytes", columnName), s);
       throw s;
     }
   }
@@ -2752,7 +3020,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateObject(int columnIndex, Object x, int scale) throws SQLException
   {
-    String methodCall = "updateObject(" + columnIndex + ", " + x + ", " + scale + ")";
+    MethodCall methodCall = new MethodCall("updateObject", columnIndex, x, scale);
     try
     {
       realResultSet.updateObject(columnIndex, x, scale);
@@ -2768,7 +3036,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateObject(int columnIndex, Object x) throws SQLException
   {
-    String methodCall = "updateObject(" + columnIndex + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateObject", columnIndex, x);
     try
     {
       realResultSet.updateObject(columnIndex, x);
@@ -2784,7 +3052,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateObject(String columnName, Object x, int scale) throws SQLException
   {
-    String methodCall = "updateObject(" + columnName + ", " + x + ", " + scale + ")";
+    MethodCall methodCall = new MethodCall("updateObject", columnName, x, scale);
     try
     {
       realResultSet.updateObject(columnName, x, scale);
@@ -2800,7 +3068,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void updateObject(String columnName, Object x) throws SQLException
   {
-    String methodCall = "updateObject(" + columnName + ", " + x + ")";
+    MethodCall methodCall = new MethodCall("updateObject", columnName, x);
     try
     {
       realResultSet.updateObject(columnName, x);
@@ -2831,14 +3099,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public long getLong(int columnIndex) throws SQLException
   {
-    String methodCall = "getLong(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getLong(columnIndex), columnIndex);
+      long value = realResultSet.getLong(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getLong", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getLong", columnIndex), s);
       throw s;
     }
   }
@@ -2846,14 +3118,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public long getLong(String columnName) throws SQLException
   {
-    String methodCall = "getLong(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getLong(columnName), columnName);
+      long value = realResultSet.getLong(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getLong", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getLong", columnName), s);
       throw s;
     }
   }
@@ -2891,14 +3167,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public float getFloat(int columnIndex) throws SQLException
   {
-    String methodCall = "getFloat(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getFloat(columnIndex), columnIndex);
+      float value = realResultSet.getFloat(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getFloat", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getFloat", columnIndex), s);
       throw s;
     }
   }
@@ -2906,14 +3186,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public float getFloat(String columnName) throws SQLException
   {
-    String methodCall = "getFloat(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getFloat(columnName), columnName);
+      float value = realResultSet.getFloat(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getFloat", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getFloat", columnName), s);
       throw s;
     }
   }
@@ -2936,7 +3220,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public void setFetchSize(int rows) throws SQLException
   {
-    String methodCall = "setFetchSize(" + rows + ")";
+    MethodCall methodCall = new MethodCall("setFetchSize", rows);
     try
     {
       realResultSet.setFetchSize(rows);
@@ -2987,14 +3271,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnIndex + ", " + scale + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBigDecimal(columnIndex, scale), columnIndex, scale);
+      BigDecimal value = realResultSet.getBigDecimal(columnIndex, scale);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBigDecimal", columnIndex, scale), value, columnIndex, scale);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBigDecimal", columnIndex, scale), s);
       throw s;
     }
   }
@@ -3005,14 +3293,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public BigDecimal getBigDecimal(String columnName, int scale) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnName + ", " + scale + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBigDecimal(columnName, scale), columnName, scale);
+      BigDecimal value = realResultSet.getBigDecimal(columnName, scale);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBigDecimal", columnName, scale), value, columnName, scale);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBigDecimal", columnName, scale), s);
       throw s;
     }
   }
@@ -3020,14 +3312,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public BigDecimal getBigDecimal(int columnIndex) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnIndex + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBigDecimal(columnIndex), columnIndex);
+      BigDecimal value = realResultSet.getBigDecimal(columnIndex);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBigDecimal", columnIndex), value, columnIndex);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBigDecimal", columnIndex), s);
       throw s;
     }
   }
@@ -3035,14 +3331,18 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public BigDecimal getBigDecimal(String columnName) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnName + ")";
     try
     {
-      return reportReturn(methodCall, realResultSet.getBigDecimal(columnName), columnName);
+      BigDecimal value = realResultSet.getBigDecimal(columnName);
+      if (this.isReturnReportingEnabled())
+      {
+        reportReturn(ResultSetMethod.GET_VALUE, new MethodCall("getBigDecimal", columnName), value, columnName);
+      }
+      return value;
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException(new MethodCall("getBigDecimal", columnName), s);
       throw s;
     }
   }
@@ -3080,7 +3380,7 @@ public class ResultSetSpy implements ResultSet, Spy
 
   @Override
   public <T> T unwrap(Class<T> iface) throws SQLException {
-    String methodCall = "unwrap(" + (iface==null?"null":iface.getName()) + ")";
+    MethodCall methodCall = new MethodCall("unwrap", iface);
     try
     {
       //todo: double check this logic
@@ -3096,7 +3396,7 @@ public class ResultSetSpy implements ResultSet, Spy
   @Override
   public boolean isWrapperFor(Class<?> iface) throws SQLException
   {
-    String methodCall = "isWrapperFor(" + (iface==null?"null":iface.getName()) + ")";
+    MethodCall methodCall = new MethodCall("isWrapperFor", iface);
     try
     {
       return reportReturn(methodCall, (iface != null && (iface == ResultSet.class || iface == Spy.class)) ||
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.sql.jdbcapi;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import net.sf.log4jdbc.log.SpyLogDelegator;
+
+/**
+ * The entry of an open <code>ConnectionSpy</code> in the registry of open connections
+ * of <code>ConnectionSpy</code>. The <code>ConnectionSpy</code> is only weakly
+ * referenced, so that a connection never closed by the application is not retained
+ * by the registry: when it is garbage collected, this entry is enqueued,
+ * and removed from the registry (see <code>ConnectionSpy#expungeCollectedConnections()</code>).
+ * The entry keeps what is needed to report the leak once the <code>ConnectionSpy</code>
+ * is gone.
+ *
+ * @author Frederic Bastian
+ * @see ConnectionLeakDetector
+ */
+final class TrackedConnection extends WeakReference<ConnectionSpy>
+{
+	/**
+	 * An <code>Integer</code> that is the number of the connection.
+	 */
+	private final Integer connectionNumber;
+	/**
+	 * The <code>SpyLogDelegator</code> used by the connection.
+	 */
+	private final SpyLogDelegator logDelegator;
+	/**
+	 * A <code>long</code> that is the value of <code>System.nanoTime()</code>
+	 * when the connection was opened.
+	 */
+	private final long openNanos;
+	/**
+	 * A <code>Throwable</code> whose stack trace is where the connection was opened,
+	 * <code>null</code> if it was not captured.
+	 */
+	private final Throwable allocationSite;
+	/**
+	 * A <code>boolean</code> that is <code>true</code> when the connection
+	 * was already reported as held for too long.
+	 */
+	private volatile boolean leakReported;
+
+	/**
+	 * @param spy 				The <code>ConnectionSpy</code> tracked.
+	 * @param queue 			The <code>ReferenceQueue</code> to which this entry
+	 * 							is enqueued when <code>spy</code> is garbage collected.
+	 * @param logDelegator 		The <code>SpyLogDelegator</code> used by <code>spy</code>.
+	 * @param openNanos		A <code>long</code> that is the value of
+	 * 							<code>System.nanoTime()</code> when <code>spy</code>
+	 * 							was opened.
+	 * @param allocationSite 	A <code>Throwable</code> whose stack trace is where
+	 * 							<code>spy</code> was opened, or <code>null</code>.
+	 */
+	TrackedConnection(ConnectionSpy spy, ReferenceQueue<? super ConnectionSpy> queue,
+			SpyLogDelegator logDelegator, long openNanos, Throwable allocationSite)
+	{
+		super(spy, queue);
+		this.connectionNumber = spy.getConnectionNumber();
+		this.logDelegator = logDelegator;
+		this.openNanos = openNanos;
+		this.allocationSite = allocationSite;
+		this.leakReported = false;
+	}
+
+	Integer getConnectionNumber()
+	{
+		return this.connectionNumber;
+	}
+	SpyLogDelegator getLogDelegator()
+	{
+		return this.logDelegator;
+	}
+	long getOpenNanos()
+	{
+		return this.openNanos;
+	}
+	Throwable getAllocationSite()
+	{
+		return this.allocationSite;
+	}
+	boolean isLeakReported()
+	{
+		return this.leakReported;
+	}
+	void setLeakReported(boolean leakReported)
+	{
+		this.leakReported = leakReported;
+	}
+}
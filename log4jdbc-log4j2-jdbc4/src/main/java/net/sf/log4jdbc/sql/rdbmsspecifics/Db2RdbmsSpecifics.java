@@ -15,7 +15,6 @@
  */
 package net.sf.log4jdbc.sql.rdbmsspecifics;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
 /**
@@ -26,6 +25,7 @@ import java.util.Date;
 public class Db2RdbmsSpecifics extends RdbmsSpecifics {
 
     private static final String DATE_FORMAT = "'TIMESTAMP('''yyyy-MM-dd HH:mm:ss.SSS''')'";
+    private static final DatePattern DATE_PATTERN = new DatePattern(DATE_FORMAT);
 
 	public Db2RdbmsSpecifics() {
 		super();
@@ -34,8 +34,23 @@ public class Db2RdbmsSpecifics extends RdbmsSpecifics {
 	@Override
 	public String formatParameterObject(Object object) {
 		if (object instanceof Date) {
-			return new SimpleDateFormat(DATE_FORMAT).format((Date) object);
+			return DATE_PATTERN.format((Date) object);
 		} 
 		return super.formatParameterObject(object);
 	}
+
+	@Override
+	protected String formatJavaTime(JavaTimeType type, String literal) {
+		switch (type) {
+		case LOCAL_DATE:
+			return "DATE('" + literal + "')";
+		case LOCAL_TIME:
+			return "TIME('" + literal + "')";
+		case LOCAL_DATE_TIME:
+			return "TIMESTAMP('" + literal + "')";
+		default:
+			// DB2 timestamps have no time zone
+			return super.formatJavaTime(type, literal);
+		}
+	}
 }
\ No newline at end of file
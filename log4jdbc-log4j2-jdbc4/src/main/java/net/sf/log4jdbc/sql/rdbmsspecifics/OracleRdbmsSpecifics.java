@@ -16,7 +16,6 @@
 package net.sf.log4jdbc.sql.rdbmsspecifics;
 
 import java.sql.Timestamp;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
 /**
@@ -26,6 +25,11 @@ import java.util.Date;
  */
 public class OracleRdbmsSpecifics extends RdbmsSpecifics
 {
+  private static final DatePattern timestampPattern = 
+    new DatePattern("'to_timestamp('''MM/dd/yyyy HH:mm:ss.SSS''', ''mm/dd/yyyy hh24:mi:ss.ff3'')'");
+  private static final DatePattern datePattern = 
+    new DatePattern("'to_date('''MM/dd/yyyy HH:mm:ss''', ''mm/dd/yyyy hh24:mi:ss'')'");
+
   public OracleRdbmsSpecifics()
   {
     super();
@@ -36,17 +40,35 @@ public class OracleRdbmsSpecifics extends RdbmsSpecifics
   {
     if (object instanceof Timestamp)
     {
-      return "to_timestamp('" + new SimpleDateFormat("MM/dd/yyyy HH:mm:ss.SSS").
-        format(object) + "', 'mm/dd/yyyy hh24:mi:ss.ff3')";
+      return timestampPattern.format((Timestamp) object);
     }
     else if (object instanceof Date)
     {
-      return "to_date('" + new SimpleDateFormat("MM/dd/yyyy HH:mm:ss").
-        format(object) + "', 'mm/dd/yyyy hh24:mi:ss')";
+      return datePattern.format((Date) object);
     }
     else
     {
       return super.formatParameterObject(object);
     }
   }
+
+  @Override
+  protected String formatJavaTime(JavaTimeType type, String literal)
+  {
+    switch (type)
+    {
+      case LOCAL_DATE:
+        return "DATE '" + literal + "'";
+      case LOCAL_TIME:
+        // Oracle has no time type
+        return super.formatJavaTime(type, literal);
+      case OFFSET_DATE_TIME:
+        // Oracle separates the offset by a space: 'yyyy-mm-dd hh:mi:ss.ff TZH:TZM'
+        int offset = Math.max(literal.lastIndexOf('+'), literal.lastIndexOf('-'));
+        return "TIMESTAMP '" + literal.substring(0, offset) + " " + 
+            literal.substring(offset) + "'";
+      default:
+        return "TIMESTAMP '" + literal + "'";
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package net.sf.log4jdbc.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import net.sf.log4jdbc.TestAncestor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing {@link CallerLocator}.
+ *
+ * @author Frederic Bastian
+ */
+public class CallerLocatorTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(CallerLocatorTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Locate the caller from the whole stack trace, as log4jdbc used to do
+     * when no application prefix is defined.
+     */
+    private static String locateFromWholeStackTrace() {
+        StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+        int lastLog4jdbcCall = 0;
+        for (int i = 0; i < stackTrace.length; i++) {
+            if (stackTrace[i].getClassName().startsWith("net.sf.log4jdbc")) {
+                lastLog4jdbcCall = i;
+            }
+        }
+        StackTraceElement frame = stackTrace[lastLog4jdbcCall + 1];
+        return " " + frame.getClassName() + "." + frame.getMethodName() + "(" +
+            frame.getFileName() + ":" + frame.getLineNumber() + ")";
+    }
+
+    /**
+     * Test that {@link CallerLocator#getDebugInfo()} returns the frame following
+     * the deepest log4jdbc frame, as before.
+     */
+    @Test
+    public void shouldLocateCaller() {
+        //this test class belongs to log4jdbc, so the caller located is the one
+        //calling this test method, the same whatever the line of the call
+        String expected = locateFromWholeStackTrace();
+        log.debug("Caller located: {}", expected);
+        assertFalse(expected.startsWith(" net.sf.log4jdbc"));
+        assertEquals(expected, CallerLocator.getDebugInfo());
+        //the second call uses the cached kinds of classes
+        assertEquals(expected, CallerLocator.getDebugInfo());
+    }
+
+    /**
+     * Test that <code>java.lang.StackWalker</code> is used when the JVM provides it.
+     */
+    @Test
+    public void shouldUseStackWalkerFromJdk9() {
+        //"1.5" to "1.8" before JDK 9, "9", "10", ... from JDK 9
+        boolean stackWalkerProvided =
+            !System.getProperty("java.specification.version").startsWith("1.");
+        assertEquals(stackWalkerProvided, CallerLocator.isStackWalkerUsed());
+    }
+}
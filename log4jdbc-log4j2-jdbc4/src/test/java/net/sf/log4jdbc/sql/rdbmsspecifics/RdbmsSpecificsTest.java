@@ -0,0 +1,171 @@
+package net.sf.log4jdbc.sql.rdbmsspecifics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Method;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import net.sf.log4jdbc.TestAncestor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Class testing the formatting of dates by {@link RdbmsSpecifics} and its subclasses,
+ * by comparing it to the previous implementation using <code>SimpleDateFormat</code>.
+ *
+ * @author Frederic Bastian
+ */
+public class RdbmsSpecificsTest extends TestAncestor
+{
+    private final static Logger log = LogManager.getLogger(RdbmsSpecificsTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * The format of dates previously produced by each <code>RdbmsSpecifics</code>.
+     */
+    private static String legacyFormat(RdbmsSpecifics specifics, Date date) {
+        if (specifics instanceof MySqlRdbmsSpecifics) {
+            if (date instanceof Time) {
+                return "'" + new SimpleDateFormat("HH:mm:ss").format(date) + "'";
+            } else if (date instanceof java.sql.Date) {
+                return "'" + new SimpleDateFormat("yyyy-MM-dd").format(date) + "'";
+            }
+            return "'" + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(date) + "'";
+        } else if (specifics instanceof OracleRdbmsSpecifics) {
+            if (date instanceof Timestamp) {
+                return "to_timestamp('" + new SimpleDateFormat("MM/dd/yyyy HH:mm:ss.SSS").
+                        format(date) + "', 'mm/dd/yyyy hh24:mi:ss.ff3')";
+            }
+            return "to_date('" + new SimpleDateFormat("MM/dd/yyyy HH:mm:ss").
+                    format(date) + "', 'mm/dd/yyyy hh24:mi:ss')";
+        } else if (specifics instanceof Db2RdbmsSpecifics) {
+            return new SimpleDateFormat("'TIMESTAMP('''yyyy-MM-dd HH:mm:ss.SSS''')'")
+                    .format(date);
+        }
+        return "'" + new SimpleDateFormat("MM/dd/yyyy HH:mm:ss.SSS").format(date) + "'";
+    }
+
+    /**
+     * Test that dates are formatted as before, for all the <code>RdbmsSpecifics</code>
+     * and types of dates, including after a change of the default time zone.
+     */
+    @Test
+    public void shouldFormatDatesAsBefore() {
+        RdbmsSpecifics[] allSpecifics = new RdbmsSpecifics[] {new RdbmsSpecifics(),
+                new MySqlRdbmsSpecifics(), new OracleRdbmsSpecifics(),
+                new Db2RdbmsSpecifics(), new SqlServerRdbmsSpecifics()};
+        TimeZone defaultZone = TimeZone.getDefault();
+        Random random = new Random(42);
+        try {
+            for (String zone: new String[] {"UTC", "Europe/Paris", "America/Los_Angeles"}) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                for (int i = 0; i < 1000; i++) {
+                    //dates from 1900 to 2100
+                    long time = -2208988800000L + (long) (random.nextDouble() * 6311520000000L);
+                    for (Date date: new Date[] {new Date(time), new Time(time),
+                            new java.sql.Date(time), new Timestamp(time)}) {
+                        for (RdbmsSpecifics specifics: allSpecifics) {
+                            assertEquals(legacyFormat(specifics, date),
+                                    specifics.formatParameterObject(date));
+                        }
+                    }
+                }
+            }
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    /**
+     * Test the compilation of patterns by {@link DatePattern}.
+     */
+    @Test
+    public void shouldCompilePatterns() {
+        Date date = new Date(1234567890123L);
+        for (String pattern: new String[] {"yy/M/d H:m:s.S", "'''quoted'' text'yyyy''",
+                "", "''", "'a'", "yyyyy-MM-ddd"}) {
+            assertEquals(new SimpleDateFormat(pattern).format(date),
+                    new DatePattern(pattern).format(date));
+        }
+        for (String pattern: new String[] {"MMM", "EEE", "'unterminated"}) {
+            try {
+                new DatePattern(pattern);
+                fail("An IllegalArgumentException should have been thrown");
+            } catch (IllegalArgumentException e) {
+                //test passed
+            }
+        }
+    }
+
+    /**
+     * Invoke the static method <code>parse</code> of the <code>java.time</code>
+     * class <code>className</code>, to get a value of this class while compiling
+     * for JVMs without <code>java.time</code>.
+     */
+    private static Object parseJavaTime(String className, String text) throws Exception {
+        Method parse = Class.forName(className).getMethod("parse", CharSequence.class);
+        return parse.invoke(null, text);
+    }
+
+    /**
+     * Test the formatting of <code>java.time</code> values.
+     */
+    @Test
+    public void shouldFormatJavaTime() throws Exception {
+        try {
+            Class.forName("java.time.LocalDate");
+        } catch (ClassNotFoundException e) {
+            Assume.assumeNoException(e);
+        }
+        RdbmsSpecifics specifics = new RdbmsSpecifics();
+        assertEquals("'2014-02-03'", specifics.formatParameterObject(
+                parseJavaTime("java.time.LocalDate", "2014-02-03")));
+        assertEquals("'10:15:00'", specifics.formatParameterObject(
+                parseJavaTime("java.time.LocalTime", "10:15")));
+        assertEquals("'2014-02-03 10:15:30.123'", specifics.formatParameterObject(
+                parseJavaTime("java.time.LocalDateTime", "2014-02-03T10:15:30.123")));
+        assertEquals("'2014-02-03 10:15:00+01:00'", specifics.formatParameterObject(
+                parseJavaTime("java.time.OffsetDateTime", "2014-02-03T10:15+01:00")));
+        assertEquals("'2014-02-03 10:15:30+01:00'", specifics.formatParameterObject(
+                parseJavaTime("java.time.ZonedDateTime",
+                        "2014-02-03T10:15:30+01:00[Europe/Paris]")));
+        assertEquals("'2014-02-03 10:15:30.500+00:00'", specifics.formatParameterObject(
+                parseJavaTime("java.time.Instant", "2014-02-03T10:15:30.500Z")));
+
+        Object localDate = parseJavaTime("java.time.LocalDate", "2014-02-03");
+        Object localDateTime = parseJavaTime("java.time.LocalDateTime", "2014-02-03T10:15:30");
+        assertEquals("DATE '2014-02-03'",
+                new OracleRdbmsSpecifics().formatParameterObject(localDate));
+        assertEquals("TIMESTAMP '2014-02-03 10:15:30'",
+                new OracleRdbmsSpecifics().formatParameterObject(localDateTime));
+        //the format of the TIMESTAMP WITH TIME ZONE literals of Oracle
+        assertEquals("TIMESTAMP '2014-02-03 10:15:30.123 +01:00'",
+                new OracleRdbmsSpecifics().formatParameterObject(parseJavaTime(
+                        "java.time.OffsetDateTime", "2014-02-03T10:15:30.123+01:00")));
+        assertEquals("TIMESTAMP '2014-02-03 10:15:00 -08:00'",
+                new OracleRdbmsSpecifics().formatParameterObject(parseJavaTime(
+                        "java.time.ZonedDateTime",
+                        "2014-02-03T10:15-08:00[America/Los_Angeles]")));
+        assertEquals("TIMESTAMP '2014-02-03 10:15:30.500 +00:00'",
+                new OracleRdbmsSpecifics().formatParameterObject(
+                        parseJavaTime("java.time.Instant", "2014-02-03T10:15:30.500Z")));
+        assertEquals("DATE('2014-02-03')",
+                new Db2RdbmsSpecifics().formatParameterObject(localDate));
+        assertEquals("TIMESTAMP('2014-02-03 10:15:30')",
+                new Db2RdbmsSpecifics().formatParameterObject(localDateTime));
+        assertEquals("'2014-02-03 10:15:30'",
+                new MySqlRdbmsSpecifics().formatParameterObject(localDateTime));
+    }
+}
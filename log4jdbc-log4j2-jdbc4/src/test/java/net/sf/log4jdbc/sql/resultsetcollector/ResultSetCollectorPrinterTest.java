@@ -0,0 +1,97 @@
+package net.sf.log4jdbc.sql.resultsetcollector;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.log4jdbc.TestAncestor;
+import net.sf.log4jdbc.sql.jdbcapi.ResultSetSpy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Class testing {@link ResultSetCollectorPrinter}. Its output is compared to the one
+ * of the previous implementation by the tests of the module log4jdbc-log4j2-jdbc4.1,
+ * sharing the same <code>ResultSetCollectorPrinter</code>.
+ *
+ * @author Frederic Bastian
+ */
+public class ResultSetCollectorPrinterTest extends TestAncestor
+{
+    private final static Logger log =
+            LogManager.getLogger(ResultSetCollectorPrinterTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * A <code>ResultSetCollector</code> returning predefined rows, that can be
+     * printed several times, as {@link #reset()} does nothing.
+     */
+    static class FixedResultSetCollector implements ResultSetCollector
+    {
+        private final List<String> columnNames;
+        private final List<List<Object>> rows;
+
+        FixedResultSetCollector(List<String> columnNames, List<List<Object>> rows) {
+            this.columnNames = columnNames;
+            this.rows = rows;
+        }
+        @Override
+        public boolean methodReturned(ResultSetSpy resultSetSpy, ResultSetMethod method,
+                CharSequence methodCall, Object returnValue, Object targetObject,
+                Object... methodParams) {
+            return false;
+        }
+        @Override
+        public void preMethod(ResultSetSpy resultSetSpy, ResultSetMethod method,
+                CharSequence methodCall, Object... methodParams) {
+        }
+        @Override
+        public List<List<Object>> getRows() {
+            return this.rows;
+        }
+        @Override
+        public int getColumnCount() {
+            return this.columnNames.size();
+        }
+        @Override
+        public String getColumnName(int column) {
+            return this.columnNames.get(column - 1);
+        }
+        @Override
+        public void reset() {
+        }
+        @Override
+        public void loadMetaDataIfNeeded(ResultSet rs) {
+        }
+    }
+
+    /**
+     * Test the table printed for a small <code>ResultSetCollector</code>, whose
+     * <code>null</code> values are not taken into account for the widths of the columns.
+     */
+    @Test
+    public void shouldPrintTable() {
+        String nl = System.getProperty("line.separator");
+        List<List<Object>> rows = new ArrayList<List<Object>>();
+        rows.add(Arrays.<Object>asList(null, "xyz"));
+        rows.add(Arrays.<Object>asList(12, null));
+        FixedResultSetCollector collector = new FixedResultSetCollector(
+                Arrays.asList("a", "bb"), rows);
+        assertEquals(nl +
+                "|---|----|" + nl +
+                "|a  |bb  |" + nl +
+                "|---|----|" + nl +
+                "|null|xyz |" + nl +
+                "|12 |null|" + nl +
+                "|---|----|" + nl,
+                new ResultSetCollectorPrinter().getResultSetToPrint(collector));
+    }
+}
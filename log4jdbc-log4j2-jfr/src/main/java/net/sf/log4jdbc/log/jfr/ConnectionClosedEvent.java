@@ -0,0 +1,47 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.log.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Event committed when a connection was closed or aborted,
+ * see {@link JfrSpyLogDelegator#connectionClosed(net.sf.log4jdbc.sql.Spy, long)}
+ * and {@link JfrSpyLogDelegator#connectionAborted(net.sf.log4jdbc.sql.Spy, long)}.
+ *
+ * @author Frederic Bastian
+ */
+@Name("net.sf.log4jdbc.ConnectionClosed")
+@Label("JDBC Connection Closed")
+@Category("log4jdbc")
+final class ConnectionClosedEvent extends Event
+{
+	@Label("Connection Number")
+	int connectionNumber;
+
+	@Label("Aborted")
+	boolean aborted;
+
+	@Label("Closing Time")
+	@Description("The time spent closing the connection, if measured")
+	@Timespan(Timespan.NANOSECONDS)
+	long closingTime;
+}
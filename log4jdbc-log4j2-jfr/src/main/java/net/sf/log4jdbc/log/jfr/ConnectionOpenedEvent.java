@@ -0,0 +1,43 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.log.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Event committed when a connection was opened,
+ * see {@link JfrSpyLogDelegator#connectionOpened(net.sf.log4jdbc.sql.Spy, long)}.
+ *
+ * @author Frederic Bastian
+ */
+@Name("net.sf.log4jdbc.ConnectionOpened")
+@Label("JDBC Connection Opened")
+@Category("log4jdbc")
+final class ConnectionOpenedEvent extends Event
+{
+	@Label("Connection Number")
+	int connectionNumber;
+
+	@Label("Opening Time")
+	@Description("The time spent opening the connection, if measured")
+	@Timespan(Timespan.NANOSECONDS)
+	long openingTime;
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.log.jfr;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.SettingControl;
+
+/**
+ * The setting "executionThreshold" of the events reporting an execution time
+ * measured by the spies, for instance,
+ * <code>net.sf.log4jdbc.StatementExecuted#executionThreshold=20 ms</code>.
+ * These events are committed after the execution, so that the built-in setting
+ * "threshold", applying to the duration between <code>begin()</code> and
+ * <code>end()</code>, cannot be used. The values have the same format
+ * as the values of "threshold" (for instance, "0 ns", "10 ms", "1 s").
+ * When several recordings are running, the lowest threshold is used.
+ *
+ * @author Frederic Bastian
+ */
+public final class ExecutionThresholdSetting extends SettingControl
+{
+	/**
+	 * A <code>String</code> that is the value used when no recording
+	 * requests a threshold.
+	 */
+	private static final String DEFAULT_VALUE = "0 ns";
+
+	private volatile String value = DEFAULT_VALUE;
+	/**
+	 * A <code>long</code> that is {@link #value} in nanoseconds.
+	 */
+	private volatile long thresholdNanos = 0;
+
+	/**
+	 * @return 	A <code>long</code> that is the threshold in nanoseconds,
+	 * 			<code>Long.MAX_VALUE</code> if it is "infinity".
+	 */
+	long getThresholdNanos()
+	{
+		return this.thresholdNanos;
+	}
+
+	@Override
+	public String combine(Set<String> values)
+	{
+		String lowest = null;
+		long lowestNanos = Long.MAX_VALUE;
+		for (String candidate: values) {
+			long nanos = toNanos(candidate);
+			if (lowest == null || nanos < lowestNanos) {
+				lowest = candidate;
+				lowestNanos = nanos;
+			}
+		}
+		return lowest == null ? DEFAULT_VALUE : lowest;
+	}
+
+	@Override
+	public void setValue(String value)
+	{
+		this.thresholdNanos = toNanos(value);
+		this.value = value;
+	}
+
+	@Override
+	public String getValue()
+	{
+		return this.value;
+	}
+
+	/**
+	 * @param value 	A <code>String</code> that is a value of this setting.
+	 * @return 			A <code>long</code> that is <code>value</code> in nanoseconds,
+	 * 					<code>Long.MAX_VALUE</code> for "infinity", 0 if it cannot
+	 * 					be parsed, so that the events are not lost because of a typo.
+	 */
+	static long toNanos(String value)
+	{
+		if (value == null) {
+			return 0;
+		}
+		String trimmed = value.trim().toLowerCase(Locale.ENGLISH);
+		if ("infinity".equals(trimmed)) {
+			return Long.MAX_VALUE;
+		}
+		int unitStart = 0;
+		while (unitStart < trimmed.length() && Character.isDigit(trimmed.charAt(unitStart))) {
+			unitStart++;
+		}
+		if (unitStart == 0) {
+			return 0;
+		}
+		long amount;
+		try {
+			amount = Long.parseLong(trimmed.substring(0, unitStart));
+		} catch (NumberFormatException e) {
+			return Long.MAX_VALUE;
+		}
+		String unit = trimmed.substring(unitStart).trim();
+		if (unit.isEmpty() || "ns".equals(unit)) {
+			return amount;
+		} else if ("us".equals(unit)) {
+			return TimeUnit.MICROSECONDS.toNanos(amount);
+		} else if ("ms".equals(unit)) {
+			return TimeUnit.MILLISECONDS.toNanos(amount);
+		} else if ("s".equals(unit)) {
+			return TimeUnit.SECONDS.toNanos(amount);
+		} else if ("m".equals(unit)) {
+			return TimeUnit.MINUTES.toNanos(amount);
+		} else if ("h".equals(unit)) {
+			return TimeUnit.HOURS.toNanos(amount);
+		} else if ("d".equals(unit)) {
+			return TimeUnit.DAYS.toNanos(amount);
+		}
+		return 0;
+	}
+}
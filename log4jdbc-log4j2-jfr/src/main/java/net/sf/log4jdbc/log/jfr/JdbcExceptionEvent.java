@@ -0,0 +1,61 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.log.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Event committed when a JDBC method threw an exception,
+ * see {@link JfrSpyLogDelegator#exceptionOccured(net.sf.log4jdbc.sql.Spy, CharSequence, Exception, String, long)}.
+ * The stack trace of the event is the stack trace of the caller of the JDBC method.
+ *
+ * @author Frederic Bastian
+ */
+@Name("net.sf.log4jdbc.JdbcException")
+@Label("JDBC Exception")
+@Description("An exception thrown by a JDBC method")
+@Category("log4jdbc")
+final class JdbcExceptionEvent extends Event
+{
+	@Label("Connection Number")
+	int connectionNumber;
+
+	@Label("Method")
+	String method;
+
+	@Label("SQL Fingerprint")
+	@Description("The SQL executed if any, with its literal values replaced by '?'")
+	String fingerprint;
+
+	@Label("Exception Class")
+	String exceptionClass;
+
+	@Label("Message")
+	String message;
+
+	@Label("SQL State")
+	String sqlState;
+
+	@Label("Execution Time")
+	@Description("The time spent executing the SQL before the exception, if any")
+	@Timespan(Timespan.NANOSECONDS)
+	long executionTime;
+}
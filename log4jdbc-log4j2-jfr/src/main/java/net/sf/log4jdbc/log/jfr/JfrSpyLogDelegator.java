@@ -0,0 +1,333 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.log.jfr;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import jdk.jfr.EventType;
+import net.sf.log4jdbc.Properties;
+import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.log.log4j2.Log4j2SpyLogDelegator;
+import net.sf.log4jdbc.log.statistics.SqlFingerprint;
+import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.jdbcapi.ConnectionLeak;
+import net.sf.log4jdbc.sql.jdbcapi.ResultSetSpy;
+import net.sf.log4jdbc.sql.resultsetcollector.ResultSetCollector;
+
+/**
+ * A <code>SpyLogDelegator</code> emitting Java Flight Recorder events
+ * from the events reported by the spies, before delegating all events
+ * to another <code>SpyLogDelegator</code> (for instance,
+ * a <code>Log4j2SpyLogDelegator</code> or a <code>Slf4jSpyLogDelegator</code>).
+ * The following events are emitted:
+ * <ul>
+ * <li>"net.sf.log4jdbc.ConnectionOpened" and "net.sf.log4jdbc.ConnectionClosed",
+ * when a connection is opened, and closed or aborted.
+ * <li>"net.sf.log4jdbc.StatementExecuted", when a statement or a batch
+ * is executed successfully, with the fingerprint of its SQL (see
+ * <code>SqlFingerprint</code>) and its execution time. Its setting
+ * "executionThreshold" allows to record only the slow statements
+ * (see {@link ExecutionThresholdSetting}).
+ * <li>"net.sf.log4jdbc.JdbcException", when a JDBC method throws an exception.
+ * <li>"net.sf.log4jdbc.ResultSetIterated", when a <code>ResultSet</code>
+ * is exhausted or closed, with the number of rows read. This event
+ * is disabled by default.
+ * </ul>
+ * The categories of events requested to the spies, see {@link #getEnabledCategories()},
+ * depend on the JFR events enabled, so that this delegator costs nothing more
+ * than its delegate when no recording is running. All the statements are recorded,
+ * including the statements whose SQL is not logged because of the property
+ * <code>log4jdbc.sql.sampling.rate</code>.
+ * <p>
+ * To use it as the <code>SpyLogDelegator</code> of log4jdbc, either provide
+ * its name in the property <code>log4jdbc.spylogdelegator.name</code> (it then wraps
+ * a <code>Log4j2SpyLogDelegator</code>), or wrap any <code>SpyLogDelegator</code>
+ * and provide it to <code>SpyLogFactory#setSpyLogDelegator(SpyLogDelegator)</code>.
+ * It requires a JVM providing the API <code>jdk.jfr</code> (JDK 8u272, JDK 11
+ * and later).
+ *
+ * @author Frederic Bastian
+ */
+public class JfrSpyLogDelegator implements SpyLogDelegator
+{
+    private static final EventType CONNECTION_OPENED =
+            EventType.getEventType(ConnectionOpenedEvent.class);
+    private static final EventType CONNECTION_CLOSED =
+            EventType.getEventType(ConnectionClosedEvent.class);
+    private static final EventType STATEMENT_EXECUTED =
+            EventType.getEventType(StatementExecutedEvent.class);
+    private static final EventType JDBC_EXCEPTION =
+            EventType.getEventType(JdbcExceptionEvent.class);
+    private static final EventType RESULT_SET_ITERATED =
+            EventType.getEventType(ResultSetIteratedEvent.class);
+
+    /**
+     * The <code>SpyLogDelegator</code> to which all events are delegated.
+     */
+    private final SpyLogDelegator delegate;
+    /**
+     * A <code>Map</code> associating the <code>ResultSetSpy</code>s being iterated
+     * to their <code>ResultSetIteratedEvent</code>. The keys are weak references,
+     * not to retain the <code>ResultSetSpy</code>s never exhausted nor closed.
+     */
+    private final Map<Spy, ResultSetIteratedEvent> iterations;
+
+    /**
+     * Constructor used when this class is loaded through the property
+     * <code>log4jdbc.spylogdelegator.name</code>, delegating to
+     * a <code>Log4j2SpyLogDelegator</code>.
+     */
+    public JfrSpyLogDelegator() {
+        this(new Log4j2SpyLogDelegator());
+    }
+    /**
+     * @param delegate  The <code>SpyLogDelegator</code> to which all events are delegated.
+     */
+    public JfrSpyLogDelegator(SpyLogDelegator delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("log4jdbc: delegate cannot be null.");
+        }
+        this.delegate = delegate;
+        this.iterations = Collections.synchronizedMap(
+                new WeakHashMap<Spy, ResultSetIteratedEvent>());
+    }
+
+    /**
+     * @param spy   The <code>Spy</code> reporting an event.
+     * @return      An <code>int</code> that is the number of the connection
+     *              of <code>spy</code>, 0 if unknown.
+     */
+    private static int getConnectionNumber(Spy spy) {
+        Integer number = spy.getConnectionNumber();
+        return number == null ? 0 : number;
+    }
+
+    /**
+     * @param execTime  A <code>long</code> that is a time reported by the spies,
+     *                  in nanoseconds, negative if not measured.
+     * @return          A <code>long</code> that is <code>execTime</code>,
+     *                  0 if not measured.
+     */
+    private static long measuredNanos(long execTime) {
+        return execTime < 0 ? 0 : execTime;
+    }
+
+    @Override
+    public boolean isJdbcLoggingEnabled() {
+        return true;
+    }
+
+    @Override
+    public int getEnabledCategories() {
+        int categories = this.delegate.getEnabledCategories();
+        if (CONNECTION_OPENED.isEnabled() || CONNECTION_CLOSED.isEnabled()) {
+            categories |= CONNECTION_CATEGORY;
+        }
+        if (STATEMENT_EXECUTED.isEnabled()) {
+            categories |= EXECUTION_CATEGORY;
+        }
+        if (RESULT_SET_ITERATED.isEnabled()) {
+            categories |= RESULTSET_CATEGORY;
+        }
+        return categories;
+    }
+
+    @Override
+    public void exceptionOccured(Spy spy, CharSequence methodCall, Exception e,
+            String sql, long execTime) {
+        if (JDBC_EXCEPTION.isEnabled() && 
+                !(Properties.isSuppressGetGeneratedKeysException() && 
+                  GET_GENERATED_KEYS_METHOD_CALL.contentEquals(methodCall))) {
+            JdbcExceptionEvent event = new JdbcExceptionEvent();
+            if (event.shouldCommit()) {
+                event.connectionNumber = getConnectionNumber(spy);
+                event.method = String.valueOf(methodCall);
+                event.fingerprint = sql == null ? null : SqlFingerprint.normalize(sql);
+                event.exceptionClass = e.getClass().getName();
+                event.message = e.getMessage();
+                if (e instanceof SQLException) {
+                    event.sqlState = ((SQLException) e).getSQLState();
+                }
+                event.executionTime = measuredNanos(execTime);
+                event.commit();
+            }
+        }
+        this.delegate.exceptionOccured(spy, methodCall, e, sql, execTime);
+    }
+
+    @Override
+    public void methodReturned(Spy spy, CharSequence methodCall, String returnMsg) {
+        if (spy instanceof ResultSetSpy && RESULT_SET_ITERATED.isEnabled()) {
+            this.resultSetMethodReturned(spy, methodCall, returnMsg);
+        }
+        this.delegate.methodReturned(spy, methodCall, returnMsg);
+    }
+
+    /**
+     * Track the iteration over the rows of a <code>ResultSetSpy</code>, and commit
+     * its <code>ResultSetIteratedEvent</code> when it is exhausted or closed.
+     *
+     * @param spy           The <code>ResultSetSpy</code> reporting a method return.
+     * @param methodCall    A <code>CharSequence</code> describing the method called.
+     * @param returnMsg     A <code>String</code> describing the returned value.
+     */
+    private void resultSetMethodReturned(Spy spy, CharSequence methodCall,
+            String returnMsg) {
+        boolean next = "next()".contentEquals(methodCall);
+        if (next || "new ResultSet".contentEquals(methodCall)) {
+            ResultSetIteratedEvent event = this.iterations.get(spy);
+            if (event == null) {
+                event = new ResultSetIteratedEvent();
+                event.begin();
+                event.connectionNumber = getConnectionNumber(spy);
+                this.iterations.put(spy, event);
+            }
+            if (!next) {
+                return;
+            }
+            if ("true".equals(returnMsg)) {
+                event.rowCount++;
+                return;
+            }
+        } else if (!"close()".contentEquals(methodCall)) {
+            return;
+        }
+        ResultSetIteratedEvent event = this.iterations.remove(spy);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void constructorReturned(Spy spy, String constructionInfo) {
+        this.delegate.constructorReturned(spy, constructionInfo);
+    }
+
+    @Override
+    public void sqlOccurred(Spy spy, CharSequence methodCall, String sql) {
+        this.delegate.sqlOccurred(spy, methodCall, sql);
+    }
+
+    @Override
+    public void sqlTimingOccurred(Spy spy, long execTime, CharSequence methodCall,
+            String sql) {
+        this.delegate.sqlTimingOccurred(spy, execTime, methodCall, sql);
+    }
+
+    @Override
+    public void statementExecuted(Spy spy, CharSequence methodCall, String sql,
+            long execTime) {
+        if (STATEMENT_EXECUTED.isEnabled()) {
+            StatementExecutedEvent event = new StatementExecutedEvent();
+            //the execution time is needed by the setting executionThreshold
+            event.executionTime = measuredNanos(execTime);
+            if (event.shouldCommit()) {
+                event.connectionNumber = getConnectionNumber(spy);
+                event.statementType = spy.getClassType();
+                event.method = String.valueOf(methodCall);
+                event.fingerprint = sql == null ? null : SqlFingerprint.normalize(sql);
+                event.commit();
+            }
+        }
+        if ((this.delegate.getEnabledCategories() & EXECUTION_CATEGORY) != 0) {
+            this.delegate.statementExecuted(spy, methodCall, sql, execTime);
+        }
+    }
+
+    @Override
+    public void updateCountReturned(Spy spy, CharSequence methodCall, int updateCount) {
+        this.delegate.updateCountReturned(spy, methodCall, updateCount);
+    }
+
+    @Override
+    public void connectionOpened(Spy spy, long execTime) {
+        if (CONNECTION_OPENED.isEnabled()) {
+            ConnectionOpenedEvent event = new ConnectionOpenedEvent();
+            if (event.shouldCommit()) {
+                event.connectionNumber = getConnectionNumber(spy);
+                event.openingTime = measuredNanos(execTime);
+                event.commit();
+            }
+        }
+        this.delegate.connectionOpened(spy, execTime);
+    }
+
+    @Override
+    public void connectionClosed(Spy spy, long execTime) {
+        this.commitConnectionClosed(spy, execTime, false);
+        this.delegate.connectionClosed(spy, execTime);
+    }
+
+    @Override
+    public void connectionAborted(Spy spy, long execTime) {
+        this.commitConnectionClosed(spy, execTime, true);
+        this.delegate.connectionAborted(spy, execTime);
+    }
+
+    /**
+     * @param spy       The <code>Spy</code> of the connection closed.
+     * @param execTime  A <code>long</code> that is the time spent closing the connection.
+     * @param aborted   A <code>boolean</code> <code>true</code> if the connection
+     *                  was aborted.
+     */
+    private void commitConnectionClosed(Spy spy, long execTime, boolean aborted) {
+        if (CONNECTION_CLOSED.isEnabled()) {
+            ConnectionClosedEvent event = new ConnectionClosedEvent();
+            if (event.shouldCommit()) {
+                event.connectionNumber = getConnectionNumber(spy);
+                event.aborted = aborted;
+                event.closingTime = measuredNanos(execTime);
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void connectionLeaked(ConnectionLeak leak) {
+        this.delegate.connectionLeaked(leak);
+    }
+
+    @Override
+    public void debug(String msg) {
+        this.delegate.debug(msg);
+    }
+
+    @Override
+    public boolean isResultSetLoggingEnabled() {
+        return this.delegate.isResultSetLoggingEnabled() || RESULT_SET_ITERATED.isEnabled();
+    }
+
+    @Override
+    public boolean isResultSetCollectionEnabled() {
+        return this.delegate.isResultSetCollectionEnabled();
+    }
+
+    @Override
+    public boolean isResultSetCollectionEnabledWithUnreadValueFillIn() {
+        return this.delegate.isResultSetCollectionEnabledWithUnreadValueFillIn();
+    }
+
+    @Override
+    public void resultSetCollected(ResultSetCollector resultSetCollector) {
+        this.delegate.resultSetCollected(resultSetCollector);
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.log.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event lasting from the creation of a <code>ResultSet</code>, or from the first call
+ * to its method <code>next()</code>, until it is exhausted or closed. Counting
+ * the rows requires the <code>ResultSetSpy</code>s to report the returns of all
+ * their methods, so this event is disabled by default.
+ *
+ * @author Frederic Bastian
+ * @see JfrSpyLogDelegator#methodReturned(net.sf.log4jdbc.sql.Spy, CharSequence, String)
+ */
+@Name("net.sf.log4jdbc.ResultSetIterated")
+@Label("JDBC ResultSet Iterated")
+@Description("The iteration over the rows of a ResultSet")
+@Category("log4jdbc")
+@Enabled(false)
+@StackTrace(false)
+final class ResultSetIteratedEvent extends Event
+{
+	@Label("Connection Number")
+	int connectionNumber;
+
+	@Label("Row Count")
+	long rowCount;
+}
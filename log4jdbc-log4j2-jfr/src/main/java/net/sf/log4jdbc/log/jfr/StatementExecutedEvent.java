@@ -0,0 +1,65 @@
+/**
+ * Copyright 2007-2012 Arthur Blake
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.sf.log4jdbc.log.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Event committed when a SQL statement or a batch was executed successfully,
+ * see {@link JfrSpyLogDelegator#sqlTimingOccurred(net.sf.log4jdbc.sql.Spy, long, CharSequence, String)}.
+ *
+ * @author Frederic Bastian
+ */
+@Name("net.sf.log4jdbc.StatementExecuted")
+@Label("JDBC Statement Executed")
+@Description("A SQL statement or a batch executed, identified by its fingerprint")
+@Category("log4jdbc")
+@StackTrace(false)
+final class StatementExecutedEvent extends Event
+{
+	@Label("Connection Number")
+	int connectionNumber;
+
+	@Label("Statement Type")
+	String statementType;
+
+	@Label("Method")
+	String method;
+
+	@Label("SQL Fingerprint")
+	@Description("The SQL executed, with its literal values replaced by '?'")
+	String fingerprint;
+
+	@Label("Execution Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long executionTime;
+
+	@Label("Execution Threshold")
+	@Description("Record the statements whose execution time is at least this value")
+	@Name("executionThreshold")
+	@SettingDefinition
+	protected boolean executionThreshold(ExecutionThresholdSetting setting)
+	{
+		return this.executionTime >= setting.getThresholdNanos();
+	}
+}
@@ -0,0 +1,217 @@
+package net.sf.log4jdbc.log.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.sf.log4jdbc.log.SpyLogDelegator;
+import net.sf.log4jdbc.sql.Spy;
+import net.sf.log4jdbc.sql.jdbcapi.ConnectionSpy;
+
+import org.junit.Test;
+
+/**
+ * Class testing the Java Flight Recorder events emitted by {@link JfrSpyLogDelegator}.
+ *
+ * @author Frederic Bastian
+ */
+public class JfrSpyLogDelegatorTest
+{
+    /**
+     * Test that the events are emitted from the events reported by the spies,
+     * and that all events are delegated.
+     */
+    @Test
+    public void shouldEmitEvents() throws Exception {
+        SpyLogDelegator delegate = mock(SpyLogDelegator.class);
+        JfrSpyLogDelegator jfrDelegator = new JfrSpyLogDelegator(delegate);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SELECT * FROM a WHERE b = 1")).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        SQLException exception = new SQLException("failed", "42000");
+        when(statement.executeUpdate("DELETE FROM a WHERE b = 'c'")).thenThrow(exception);
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("net.sf.log4jdbc.ConnectionOpened");
+            recording.enable("net.sf.log4jdbc.ConnectionClosed");
+            recording.enable("net.sf.log4jdbc.StatementExecuted");
+            recording.enable("net.sf.log4jdbc.JdbcException");
+            recording.enable("net.sf.log4jdbc.ResultSetIterated");
+            recording.start();
+
+            ConnectionSpy connectionSpy = new ConnectionSpy(connection, jfrDelegator);
+            Statement statementSpy = connectionSpy.createStatement();
+            ResultSet resultSetSpy = statementSpy.executeQuery("SELECT * FROM a WHERE b = 1");
+            while (resultSetSpy.next()) {
+                //iterate
+            }
+            resultSetSpy.close();
+            try {
+                statementSpy.executeUpdate("DELETE FROM a WHERE b = 'c'");
+                fail("A SQLException should have been thrown");
+            } catch (SQLException e) {
+                //test passed
+            }
+            connectionSpy.close();
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        RecordedEvent opened = getEvent(events, "net.sf.log4jdbc.ConnectionOpened");
+        int connectionNumber = opened.getInt("connectionNumber");
+        assertTrue(connectionNumber > 0);
+
+        RecordedEvent executed = getEvent(events, "net.sf.log4jdbc.StatementExecuted");
+        assertEquals(connectionNumber, executed.getInt("connectionNumber"));
+        assertEquals("Statement", executed.getString("statementType"));
+        assertEquals("SELECT * FROM a WHERE b = ?", executed.getString("fingerprint"));
+
+        RecordedEvent iterated = getEvent(events, "net.sf.log4jdbc.ResultSetIterated");
+        assertEquals(2, iterated.getLong("rowCount"));
+
+        RecordedEvent failed = getEvent(events, "net.sf.log4jdbc.JdbcException");
+        assertEquals("DELETE FROM a WHERE b = ?", failed.getString("fingerprint"));
+        assertEquals(SQLException.class.getName(), failed.getString("exceptionClass"));
+        assertEquals("42000", failed.getString("sqlState"));
+
+        RecordedEvent closed = getEvent(events, "net.sf.log4jdbc.ConnectionClosed");
+        assertEquals(connectionNumber, closed.getInt("connectionNumber"));
+        assertFalse(closed.getBoolean("aborted"));
+
+        verify(delegate).exceptionOccured(any(Spy.class), any(CharSequence.class),
+                eq(exception), eq("DELETE FROM a WHERE b = 'c'"), anyLong());
+    }
+
+    /**
+     * Test that the categories requested to the spies depend on the events enabled.
+     */
+    @Test
+    public void shouldRequestCategoriesOfEnabledEvents() {
+        SpyLogDelegator delegate = mock(SpyLogDelegator.class);
+        when(delegate.getEnabledCategories()).thenReturn(SpyLogDelegator.AUDIT_CATEGORY);
+        JfrSpyLogDelegator jfrDelegator = new JfrSpyLogDelegator(delegate);
+        assertEquals(SpyLogDelegator.AUDIT_CATEGORY, jfrDelegator.getEnabledCategories());
+        assertFalse(jfrDelegator.isResultSetLoggingEnabled());
+
+        //the events not configured by a recording are enabled by default,
+        //except the event ResultSetIterated
+        try (Recording recording = new Recording()) {
+            recording.disable("net.sf.log4jdbc.ConnectionOpened");
+            recording.disable("net.sf.log4jdbc.ConnectionClosed");
+            recording.start();
+            assertEquals(SpyLogDelegator.AUDIT_CATEGORY | SpyLogDelegator.EXECUTION_CATEGORY,
+                    jfrDelegator.getEnabledCategories());
+            assertFalse(jfrDelegator.isResultSetLoggingEnabled());
+        }
+        assertEquals(SpyLogDelegator.AUDIT_CATEGORY, jfrDelegator.getEnabledCategories());
+    }
+
+    /**
+     * Test that only the statements slower than the setting "executionThreshold"
+     * are recorded.
+     */
+    @Test
+    public void shouldApplyExecutionThreshold() throws Exception {
+        JfrSpyLogDelegator jfrDelegator = new JfrSpyLogDelegator(mock(SpyLogDelegator.class));
+        Spy spy = mock(Spy.class);
+        long threshold = TimeUnit.MILLISECONDS.toNanos(10);
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("net.sf.log4jdbc.StatementExecuted")
+                .with("executionThreshold", "10 ms");
+            recording.start();
+            jfrDelegator.statementExecuted(spy, "executeQuery()", "SELECT 1", threshold - 1);
+            jfrDelegator.statementExecuted(spy, "executeQuery()", "SELECT 2", threshold);
+            recording.stop();
+            events = readEvents(recording);
+        }
+        assertEquals(1, events.size());
+        assertEquals("SELECT ?", events.get(0).getString("fingerprint"));
+        assertEquals(0, events.get(0).getInt("connectionNumber"));
+    }
+
+    /**
+     * Test the parsing and the combination of the values of
+     * the setting "executionThreshold".
+     */
+    @Test
+    public void shouldParseExecutionThreshold() {
+        assertEquals(0, ExecutionThresholdSetting.toNanos("0 ns"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), ExecutionThresholdSetting.toNanos("20 ms"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), ExecutionThresholdSetting.toNanos(" 1 s"));
+        assertEquals(Long.MAX_VALUE, ExecutionThresholdSetting.toNanos("infinity"));
+        assertEquals(0, ExecutionThresholdSetting.toNanos("fast"));
+
+        ExecutionThresholdSetting setting = new ExecutionThresholdSetting();
+        assertEquals("5 ms", setting.combine(
+                new HashSet<String>(Arrays.asList("1 s", "5 ms", "infinity"))));
+        assertEquals("0 ns", setting.combine(new HashSet<String>()));
+        setting.setValue("5 ms");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), setting.getThresholdNanos());
+        assertEquals("5 ms", setting.getValue());
+    }
+
+    /**
+     * @param recording The stopped <code>Recording</code> to read.
+     * @return          A <code>List</code> of the <code>RecordedEvent</code>s
+     *                  of <code>recording</code>, in chronological order.
+     */
+    private static List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = Files.createTempFile("log4jdbc", ".jfr");
+        try {
+            recording.dump(file);
+            return new ArrayList<RecordedEvent>(RecordingFile.readAllEvents(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * @param events    A <code>List</code> of <code>RecordedEvent</code>s.
+     * @param name      A <code>String</code> that is the name of an event type.
+     * @return          The only <code>RecordedEvent</code> of this type in <code>events</code>.
+     */
+    private static RecordedEvent getEvent(List<RecordedEvent> events, String name) {
+        RecordedEvent found = null;
+        for (RecordedEvent event: events) {
+            if (name.equals(event.getEventType().getName())) {
+                assertNull("More than one event " + name, found);
+                found = event;
+            }
+        }
+        if (found == null) {
+            fail("No event " + name + " recorded");
+        }
+        return found;
+    }
+}